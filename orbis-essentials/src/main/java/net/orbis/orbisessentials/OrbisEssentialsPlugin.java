@@ -341,7 +341,8 @@ public final class OrbisEssentialsPlugin extends JavaPlugin {
 
     Player requester = Bukkit.getPlayer(r.requester());
     if (requester == null) {
-      target.sendMessage(msg.pref(msg.tpaExpired()));
+      String name = requesterName(r.requester());
+      target.sendMessage(msg.pref(name == null ? msg.tpaExpired() : msg.tpaOffline().replace("{player}", name)));
       return true;
     }
 
@@ -372,6 +373,11 @@ public final class OrbisEssentialsPlugin extends JavaPlugin {
     return true;
   }
 
+  /** Last-known name of a player who has gone offline; null when not cached (never blocks). */
+  private String requesterName(UUID requester) {
+    return zakum.names().map(names -> names.cached(requester)).orElse(null);
+  }
+
   private void rememberBack(Player p) {
     if (users == null) return;
     var l = p.getLocation();
@@ -32,6 +32,7 @@ public final class Messages {
   public String tpaSent() { return Color.legacy(cfg.getString("messages.tpaSent", "&7Sent teleport request to &b{player}&7.")); }
   public String tpaReceived() { return Color.legacy(cfg.getString("messages.tpaReceived", "&7Teleport request from &b{player}&7. Use &b/otpaccept&7 or &b/otpdeny&7.")); }
   public String tpaExpired() { return Color.legacy(cfg.getString("messages.tpaExpired", "&cTeleport request expired.")); }
+  public String tpaOffline() { return Color.legacy(cfg.getString("messages.tpaOffline", "&b{player}&c is no longer online.")); }
   public String tpaDenied() { return Color.legacy(cfg.getString("messages.tpaDenied", "&cTeleport request denied.")); }
   public String tpaAccepted() { return Color.legacy(cfg.getString("messages.tpaAccepted", "&aTeleport request accepted.")); }
   public String backMissing() { return Color.legacy(cfg.getString("messages.backMissing", "&cNo previous location.")); }
@@ -1,13 +1,26 @@
 plugins {
   `java-library`
+  alias(libs.plugins.jmh)
 }
 
 dependencies {
   compileOnly(libs.paper.api)
   compileOnly(libs.annotations)
   compileOnly(project(":zakum-api"))
+  testRuntimeOnly(libs.paper.api)
+  testImplementation(libs.junit.jupiter.api)
+  testRuntimeOnly(libs.junit.jupiter.engine)
+  testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 tasks.processResources {
   filesMatching("plugin.yml") { expand("version" to project.version) }
-}
\ No newline at end of file
+}
+
+// Grid query benchmarks (src/jmh): ./gradlew :orbis-holograms:jmh
+jmh {
+  jmhVersion.set(libs.versions.jmh)
+  fork.set(1)
+  warmupIterations.set(2)
+  iterations.set(3)
+}
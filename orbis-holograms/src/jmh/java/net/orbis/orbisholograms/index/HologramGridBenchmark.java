@@ -0,0 +1,103 @@
+package net.orbis.orbisholograms.index;
+
+import net.orbis.orbisholograms.config.HologramDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One render pass: every viewer's candidate query through {@link HologramGrid}
+ * against a brute-force distance scan of every hologram, followed by the
+ * nearest-N cut the tick applies.
+ *
+ * Run: ./gradlew :orbis-holograms:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HologramGridBenchmark {
+
+  private static final double RADIUS = 48.0;
+  private static final int MAX_VISIBLE = 32;
+
+  @Param({"2000"})
+  public int holograms;
+
+  @Param({"300"})
+  public int viewers;
+
+  private HologramEntry[] entries;
+  private HologramGrid grid;
+  private double[][] positions;
+  private Candidates candidates;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42L);
+    List<HologramEntry> list = new ArrayList<>(holograms);
+    for (int i = 0; i < holograms; i++) {
+      HologramDefinition def = new HologramDefinition(
+        "h" + i,
+        "world",
+        random.nextDouble(-1_000, 1_000),
+        random.nextDouble(0, 128),
+        random.nextDouble(-1_000, 1_000),
+        List.of("h" + i)
+      );
+      list.add(new HologramEntry(def, i + 1, def.id()));
+    }
+    entries = list.toArray(HologramEntry[]::new);
+    grid = HologramGrid.build(list);
+    positions = new double[viewers][];
+    for (int v = 0; v < viewers; v++) {
+      positions[v] = new double[]{
+        random.nextDouble(-1_000, 1_000),
+        random.nextDouble(0, 128),
+        random.nextDouble(-1_000, 1_000)
+      };
+    }
+    candidates = new Candidates();
+  }
+
+  @Benchmark
+  public int grid() {
+    int visible = 0;
+    for (double[] p : positions) {
+      grid.collect("world", p[0], p[1], p[2], RADIUS, candidates);
+      candidates.retainNearest(MAX_VISIBLE);
+      visible += candidates.size();
+    }
+    return visible;
+  }
+
+  @Benchmark
+  public int bruteForce() {
+    double max = RADIUS * RADIUS;
+    int visible = 0;
+    for (double[] p : positions) {
+      candidates.clear();
+      for (HologramEntry entry : entries) {
+        HologramDefinition def = entry.definition();
+        if (!def.world().equals("world")) continue;
+        double dx = def.x() - p[0];
+        double dy = def.y() - p[1];
+        double dz = def.z() - p[2];
+        double d = dx * dx + dy * dy + dz * dz;
+        if (d <= max) candidates.add(entry, d);
+      }
+      candidates.retainNearest(MAX_VISIBLE);
+      visible += candidates.size();
+    }
+    return visible;
+  }
+}
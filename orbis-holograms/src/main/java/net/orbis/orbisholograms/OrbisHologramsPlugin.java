@@ -2,6 +2,7 @@ package net.orbis.orbisholograms;
 
 import net.orbis.orbisholograms.command.OrbisHologramsCommand;
 import net.orbis.orbisholograms.config.HologramsConfig;
+import net.orbis.orbisholograms.listener.HologramViewerListener;
 import net.orbis.orbisholograms.service.DefaultHologramsService;
 import net.orbis.orbisholograms.service.HologramsService;
 import net.orbis.zakum.api.ZakumApi;
@@ -17,6 +18,7 @@ public final class OrbisHologramsPlugin extends ZakumPluginBase {
     saveDefaultConfig();
     HologramsConfig config = HologramsConfig.load(getConfig(), getLogger());
     hologramsService = new DefaultHologramsService(this, zakum, config, getLogger());
+    getServer().getPluginManager().registerEvents(new HologramViewerListener(hologramsService), this);
 
     PluginCommand command = getCommand("orbishologram");
     if (command != null) {
@@ -0,0 +1,100 @@
+package net.orbis.orbisholograms.index;
+
+import java.util.Arrays;
+
+/**
+ * Reusable candidate buffer (parallel entry/distance arrays).
+ *
+ * One instance per viewer; only touched from that viewer's scheduler.
+ */
+public final class Candidates {
+
+  private HologramEntry[] entries = new HologramEntry[16];
+  private double[] distances = new double[16];
+  private int size;
+
+  public void clear() {
+    Arrays.fill(entries, 0, size, null);
+    size = 0;
+  }
+
+  public void add(HologramEntry entry, double distanceSquared) {
+    if (size == entries.length) {
+      entries = Arrays.copyOf(entries, size * 2);
+      distances = Arrays.copyOf(distances, size * 2);
+    }
+    entries[size] = entry;
+    distances[size] = distanceSquared;
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public HologramEntry entry(int index) {
+    return entries[index];
+  }
+
+  public double distanceSquared(int index) {
+    return distances[index];
+  }
+
+  /**
+   * Removes the candidate at {@code index} by swapping in the last element.
+   */
+  public void removeAt(int index) {
+    int last = --size;
+    entries[index] = entries[last];
+    distances[index] = distances[last];
+    entries[last] = null;
+  }
+
+  /**
+   * Keeps only the {@code max} nearest candidates (unordered), via quickselect.
+   */
+  public void retainNearest(int max) {
+    if (max <= 0) {
+      clear();
+      return;
+    }
+    if (size <= max) return;
+    int lo = 0;
+    int hi = size - 1;
+    int k = max - 1;
+    while (lo < hi) {
+      int pivot = partition(lo, hi, lo + ((hi - lo) >>> 1));
+      if (pivot == k) break;
+      if (pivot < k) {
+        lo = pivot + 1;
+      } else {
+        hi = pivot - 1;
+      }
+    }
+    Arrays.fill(entries, max, size, null);
+    size = max;
+  }
+
+  private int partition(int lo, int hi, int pivotIndex) {
+    double pivot = distances[pivotIndex];
+    swap(pivotIndex, hi);
+    int store = lo;
+    for (int i = lo; i < hi; i++) {
+      if (distances[i] < pivot) {
+        swap(i, store++);
+      }
+    }
+    swap(store, hi);
+    return store;
+  }
+
+  private void swap(int a, int b) {
+    if (a == b) return;
+    HologramEntry entry = entries[a];
+    entries[a] = entries[b];
+    entries[b] = entry;
+    double distance = distances[a];
+    distances[a] = distances[b];
+    distances[b] = distance;
+  }
+}
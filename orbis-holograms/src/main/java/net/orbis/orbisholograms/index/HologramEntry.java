@@ -0,0 +1,23 @@
+package net.orbis.orbisholograms.index;
+
+import net.orbis.orbisholograms.config.HologramDefinition;
+
+/**
+ * Indexed hologram: definition plus its client-side entity id and rendered text.
+ */
+public record HologramEntry(
+  HologramDefinition definition,
+  int entityId,
+  String text
+) {
+
+  public String id() {
+    return definition.id();
+  }
+
+  public boolean samePosition(HologramEntry other) {
+    HologramDefinition a = definition;
+    HologramDefinition b = other.definition;
+    return a.x() == b.x() && a.y() == b.y() && a.z() == b.z() && a.world().equals(b.world());
+  }
+}
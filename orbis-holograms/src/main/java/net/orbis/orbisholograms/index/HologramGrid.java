@@ -0,0 +1,146 @@
+package net.orbis.orbisholograms.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-world chunk-cell index of holograms.
+ *
+ * Built once per config load; the tick swaps in a new instance on reload, so
+ * queries never lock. A query only touches cells overlapping the view radius.
+ */
+public final class HologramGrid {
+
+  private static final int CELL_SHIFT = 4;
+
+  private static final HologramGrid EMPTY = new HologramGrid(Map.of(), 0);
+
+  private final Map<String, CellTable> worlds;
+  private final int size;
+
+  private HologramGrid(Map<String, CellTable> worlds, int size) {
+    this.worlds = worlds;
+    this.size = size;
+  }
+
+  public static HologramGrid empty() {
+    return EMPTY;
+  }
+
+  public static HologramGrid build(Collection<HologramEntry> entries) {
+    Map<String, Map<Long, List<HologramEntry>>> staging = new HashMap<>();
+    for (HologramEntry entry : entries) {
+      int cx = cell(entry.definition().x());
+      int cz = cell(entry.definition().z());
+      staging
+        .computeIfAbsent(entry.definition().world(), ignored -> new HashMap<>())
+        .computeIfAbsent(cellKey(cx, cz), ignored -> new ArrayList<>())
+        .add(entry);
+    }
+
+    Map<String, CellTable> worlds = new HashMap<>();
+    for (Map.Entry<String, Map<Long, List<HologramEntry>>> world : staging.entrySet()) {
+      worlds.put(world.getKey(), CellTable.of(world.getValue()));
+    }
+    return new HologramGrid(Map.copyOf(worlds), entries.size());
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Collects every hologram within {@code radius} of the point into {@code out}.
+   *
+   * @return holograms distance-checked, i.e. those in cells overlapping the radius
+   */
+  public int collect(String world, double x, double y, double z, double radius, Candidates out) {
+    out.clear();
+    CellTable cells = worlds.get(world);
+    if (cells == null) return 0;
+
+    double radiusSquared = radius * radius;
+    int minX = cell(x - radius);
+    int maxX = cell(x + radius);
+    int minZ = cell(z - radius);
+    int maxZ = cell(z + radius);
+    int scanned = 0;
+    for (int cx = minX; cx <= maxX; cx++) {
+      for (int cz = minZ; cz <= maxZ; cz++) {
+        HologramEntry[] bucket = cells.get(cellKey(cx, cz));
+        if (bucket == null) continue;
+        scanned += bucket.length;
+        for (HologramEntry entry : bucket) {
+          double dx = entry.definition().x() - x;
+          double dy = entry.definition().y() - y;
+          double dz = entry.definition().z() - z;
+          double distanceSquared = dx * dx + dy * dy + dz * dz;
+          if (distanceSquared <= radiusSquared) {
+            out.add(entry, distanceSquared);
+          }
+        }
+      }
+    }
+    return scanned;
+  }
+
+  static int cell(double coordinate) {
+    return ((int) Math.floor(coordinate)) >> CELL_SHIFT;
+  }
+
+  static long cellKey(int cx, int cz) {
+    return ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Open-addressed long -> bucket table. Boxed Long keys hash to {@code cx ^ cz},
+   * which collides along every diagonal, so keys are mixed before probing.
+   */
+  private static final class CellTable {
+
+    private final long[] keys;
+    private final HologramEntry[][] buckets;
+    private final int mask;
+
+    private CellTable(long[] keys, HologramEntry[][] buckets) {
+      this.keys = keys;
+      this.buckets = buckets;
+      this.mask = keys.length - 1;
+    }
+
+    static CellTable of(Map<Long, List<HologramEntry>> cells) {
+      int capacity = Integer.highestOneBit(Math.max(4, cells.size() * 2 - 1)) << 1;
+      long[] keys = new long[capacity];
+      HologramEntry[][] buckets = new HologramEntry[capacity][];
+      int mask = capacity - 1;
+      for (Map.Entry<Long, List<HologramEntry>> cell : cells.entrySet()) {
+        long key = cell.getKey();
+        int slot = mix(key) & mask;
+        while (buckets[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        buckets[slot] = cell.getValue().toArray(HologramEntry[]::new);
+      }
+      return new CellTable(keys, buckets);
+    }
+
+    HologramEntry[] get(long key) {
+      int slot = mix(key) & mask;
+      HologramEntry[] bucket;
+      while ((bucket = buckets[slot]) != null) {
+        if (keys[slot] == key) return bucket;
+        slot = (slot + 1) & mask;
+      }
+      return null;
+    }
+
+    private static int mix(long key) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+  }
+}
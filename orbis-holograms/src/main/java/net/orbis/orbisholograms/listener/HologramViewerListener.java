@@ -0,0 +1,27 @@
+package net.orbis.orbisholograms.listener;
+
+import net.orbis.orbisholograms.service.HologramsService;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public final class HologramViewerListener implements Listener {
+
+  private final HologramsService service;
+
+  public HologramViewerListener(HologramsService service) {
+    this.service = service;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onQuit(PlayerQuitEvent event) {
+    service.onPlayerQuit(event.getPlayer());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onWorldChange(PlayerChangedWorldEvent event) {
+    service.onWorldChange(event.getPlayer());
+  }
+}
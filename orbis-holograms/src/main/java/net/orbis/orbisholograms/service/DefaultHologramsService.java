@@ -2,25 +2,52 @@ package net.orbis.orbisholograms.service;
 
 import net.orbis.orbisholograms.config.HologramDefinition;
 import net.orbis.orbisholograms.config.HologramsConfig;
+import net.orbis.orbisholograms.index.Candidates;
+import net.orbis.orbisholograms.index.HologramEntry;
+import net.orbis.orbisholograms.index.HologramGrid;
 import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.capability.ZakumCapabilities;
+import net.orbis.zakum.api.packet.TextDisplayService;
+import net.orbis.zakum.api.util.BrandingText;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public final class DefaultHologramsService implements HologramsService {
 
+  private static final String ID_OWNER = "orbis-holograms";
+  // Only used when no packet backend leases ids (nothing is sent then).
+  private static final int UNLEASED_ID_BASE = 2_300_000;
+
   private final Plugin plugin;
   private final ZakumApi zakum;
   private final Logger logger;
+  private final ConcurrentHashMap<UUID, HologramViewer> viewers = new ConcurrentHashMap<>();
+  private final AtomicInteger nextUnleasedId = new AtomicInteger(UNLEASED_ID_BASE);
 
   private volatile HologramsConfig config;
+  private volatile HologramGrid grid = HologramGrid.empty();
+  private volatile Map<String, HologramEntry> entries = Map.of();
+  private volatile TextDisplayService displays;
   private volatile boolean running;
   private volatile int taskId = -1;
-  private volatile int visibleAssignments;
 
   public DefaultHologramsService(Plugin plugin, ZakumApi zakum, HologramsConfig config, Logger logger) {
     this.plugin = plugin;
@@ -33,9 +60,10 @@ public final class DefaultHologramsService implements HologramsService {
   public void start() {
     if (running) return;
     running = true;
+    displays = resolveDisplays();
+    rebuildIndex(config);
     if (config.enabled()) {
       startTask();
-      tick();
     }
   }
 
@@ -44,26 +72,39 @@ public final class DefaultHologramsService implements HologramsService {
     if (!running) return;
     running = false;
     stopTask();
-    visibleAssignments = 0;
+    // Ids go back only after every viewer destroyed them, so no new owner's entity gets removed.
+    List<HologramEntry> leased = List.copyOf(entries.values());
+    resetAllViewers(true).thenRun(() -> releaseIds(leased));
+    entries = Map.of();
+    grid = HologramGrid.empty();
   }
 
   @Override
   public void reload(HologramsConfig config) {
     this.config = config;
     if (!running) return;
+    displays = resolveDisplays();
+    List<HologramEntry> removed = rebuildIndex(config);
+    // Removed holograms' ids go back once every viewer destroyed them, as in stop().
+    CompletableFuture<Void> destroyed;
     if (config.enabled()) {
       startTask();
-      tick();
+      destroyed = retireFromViewers(removed);
     } else {
       stopTask();
-      visibleAssignments = 0;
+      destroyed = resetAllViewers(true);
     }
+    destroyed.thenRun(() -> releaseIds(removed));
     logger.info("OrbisHolograms config reloaded. definitions=" + config.definitions().size());
   }
 
   @Override
   public HologramsStatus snapshot() {
     HologramsConfig cfg = config;
+    int assignments = 0;
+    for (HologramViewer viewer : viewers.values()) {
+      assignments += viewer.visible();
+    }
     return new HologramsStatus(
       running,
       cfg.enabled(),
@@ -72,33 +113,174 @@ public final class DefaultHologramsService implements HologramsService {
       cfg.maxVisiblePerPlayer(),
       cfg.hideThroughWalls(),
       cfg.definitions().size(),
-      visibleAssignments,
+      assignments,
       taskId
     );
   }
 
+  @Override
+  public void onPlayerQuit(Player player) {
+    if (player == null) return;
+    viewers.remove(player.getUniqueId());
+  }
+
+  @Override
+  public void onWorldChange(Player player) {
+    if (player == null) return;
+    // The client already dropped entities of the old world; forget without packets.
+    zakum.getScheduler().runAtEntity(player, () -> {
+      HologramViewer viewer = viewers.get(player.getUniqueId());
+      if (viewer != null) viewer.reset(player, null, false);
+    });
+  }
+
   private void tick() {
+    if (!running) return;
     HologramsConfig cfg = config;
-    int assignments = 0;
-    double maxDistanceSquared = (double) cfg.viewDistance() * (double) cfg.viewDistance();
-
+    HologramGrid snapshot = grid;
+    TextDisplayService out = displays;
     for (Player player : Bukkit.getOnlinePlayers()) {
-      int playerVisible = 0;
-      for (HologramDefinition def : cfg.definitions().values()) {
-        World world = Bukkit.getWorld(def.world());
-        if (world == null || world != player.getWorld()) continue;
-        Location point = new Location(world, def.x(), def.y(), def.z());
-        if (player.getLocation().distanceSquared(point) <= maxDistanceSquared) {
-          assignments++;
-          playerVisible++;
-          if (playerVisible >= cfg.maxVisiblePerPlayer()) {
-            break;
-          }
-        }
+      // Each viewer is evaluated on its own region thread.
+      zakum.getScheduler().runAtEntity(player, () -> updateViewer(player, snapshot, cfg, out));
+    }
+  }
+
+  private void updateViewer(Player player, HologramGrid snapshot, HologramsConfig cfg, TextDisplayService out) {
+    // A rebuild after this update was queued retires ids the old grid still holds.
+    if (!running || snapshot != grid || !player.isOnline()) return;
+    try {
+      HologramViewer viewer = viewers.computeIfAbsent(player.getUniqueId(), ignored -> new HologramViewer());
+      Location location = player.getLocation();
+      Candidates candidates = viewer.candidates;
+      snapshot.collect(
+        location.getWorld().getName(),
+        location.getX(),
+        location.getY(),
+        location.getZ(),
+        cfg.viewDistance(),
+        candidates
+      );
+      candidates.retainNearest(cfg.maxVisiblePerPlayer());
+      // Ray casts only for what could be shown, not every hologram in range.
+      if (cfg.hideThroughWalls()) {
+        removeOccluded(player, location.getWorld(), candidates, viewer.probe);
       }
+      viewer.sync(player, out);
+    } catch (Throwable t) {
+      logger.log(Level.WARNING, "Hologram update failed for " + player.getName() + ": " + t.getMessage(), t);
     }
+  }
+
+  private static void removeOccluded(Player player, World world, Candidates candidates, Location probe) {
+    probe.setWorld(world);
+    for (int i = candidates.size() - 1; i >= 0; i--) {
+      HologramDefinition def = candidates.entry(i).definition();
+      probe.setX(def.x());
+      probe.setY(def.y());
+      probe.setZ(def.z());
+      if (!player.hasLineOfSight(probe)) {
+        candidates.removeAt(i);
+      }
+    }
+  }
 
-    visibleAssignments = assignments;
+  /**
+   * Rebuilds the grid, keeping entity ids (and unchanged entries) stable per
+   * hologram id so viewers only receive packets for real differences.
+   *
+   * @return entries of removed holograms, whose ids are still leased
+   */
+  private List<HologramEntry> rebuildIndex(HologramsConfig cfg) {
+    Map<String, HologramEntry> previous = entries;
+    Map<String, HologramEntry> next = new HashMap<>();
+    List<HologramEntry> indexed = new ArrayList<>(cfg.definitions().size());
+    for (HologramDefinition def : cfg.definitions().values()) {
+      HologramEntry old = previous.get(def.id());
+      HologramEntry entry;
+      if (old != null && old.definition().equals(def)) {
+        entry = old;
+      } else {
+        int entityId = old != null ? old.entityId() : allocateId();
+        entry = new HologramEntry(def, entityId, BrandingText.render(String.join("\n", def.lines())));
+      }
+      next.put(def.id(), entry);
+      indexed.add(entry);
+    }
+    List<HologramEntry> removed = new ArrayList<>();
+    for (HologramEntry old : previous.values()) {
+      if (!next.containsKey(old.id())) removed.add(old);
+    }
+    entries = Map.copyOf(next);
+    grid = HologramGrid.build(indexed);
+    return removed;
+  }
+
+  private int allocateId() {
+    TextDisplayService out = displays;
+    int id = out == null ? -1 : out.allocateEntityId(ID_OWNER);
+    return id >= 0 ? id : nextUnleasedId.getAndIncrement();
+  }
+
+  private void releaseIds(Collection<HologramEntry> released) {
+    TextDisplayService out = displays;
+    if (out == null) return;
+    for (HologramEntry entry : released) {
+      out.releaseEntityId(entry.entityId());
+    }
+  }
+
+  /**
+   * Resets every viewer on its player's entity scheduler, after any update
+   * already queued there; completes once all of them ran.
+   */
+  private CompletableFuture<Void> resetAllViewers(boolean destroy) {
+    TextDisplayService out = displays;
+    return onEveryViewer(true, (player, viewer) -> viewer.reset(player, out, destroy));
+  }
+
+  /**
+   * Destroys removed holograms for every viewer still showing them; completes
+   * once each viewer's entity scheduler ran past the grid swap.
+   */
+  private CompletableFuture<Void> retireFromViewers(List<HologramEntry> removed) {
+    if (removed.isEmpty()) return CompletableFuture.completedFuture(null);
+    TextDisplayService out = displays;
+    Set<Integer> entityIds = new HashSet<>();
+    for (HologramEntry entry : removed) entityIds.add(entry.entityId());
+    return onEveryViewer(false, (player, viewer) -> viewer.retire(player, out, entityIds));
+  }
+
+  private CompletableFuture<Void> onEveryViewer(boolean forget, BiConsumer<Player, HologramViewer> action) {
+    List<CompletableFuture<Void>> pending = new ArrayList<>();
+    for (Map.Entry<UUID, HologramViewer> entry : viewers.entrySet()) {
+      UUID playerId = entry.getKey();
+      HologramViewer viewer = entry.getValue();
+      Player player = Bukkit.getPlayer(playerId);
+      if (player == null) {
+        viewers.remove(playerId, viewer);
+        continue;
+      }
+      CompletableFuture<Void> done = new CompletableFuture<>();
+      pending.add(done);
+      zakum.getScheduler().runAtEntity(player, () -> {
+        try {
+          if (forget) viewers.remove(playerId, viewer);
+          action.accept(player, viewer);
+        } finally {
+          done.complete(null);
+        }
+      });
+    }
+    return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+  }
+
+  private TextDisplayService resolveDisplays() {
+    TextDisplayService service = zakum.capability(ZakumCapabilities.TEXT_DISPLAYS).orElse(null);
+    if (service == null || !service.available()) {
+      logger.warning("No text display packet backend available (PacketEvents). Holograms are tracked but not shown.");
+      return null;
+    }
+    return service;
   }
 
   private void startTask() {
@@ -0,0 +1,127 @@
+package net.orbis.orbisholograms.service;
+
+import net.orbis.orbisholograms.index.Candidates;
+import net.orbis.orbisholograms.index.HologramEntry;
+import net.orbis.zakum.api.packet.TextDisplayService;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-viewer visible set. Mutated only on the viewer's entity scheduler.
+ */
+final class HologramViewer {
+
+  final Candidates candidates = new Candidates();
+  // Reused target for line-of-sight checks.
+  final Location probe = new Location(null, 0, 0, 0);
+  private final Map<String, HologramEntry> shown = new HashMap<>();
+  private final Set<String> selected = new HashSet<>();
+  private int[] removals = new int[16];
+  private volatile int visible;
+
+  int visible() {
+    return visible;
+  }
+
+  /**
+   * Diffs the selected candidates against what the client currently shows and
+   * sends spawn / metadata / one batched destroy packet.
+   */
+  void sync(Player player, TextDisplayService displays) {
+    if (displays == null) {
+      // Nothing reaches the client without a packet backend, so nothing counts as shown.
+      shown.clear();
+      candidates.clear();
+      visible = 0;
+      return;
+    }
+
+    selected.clear();
+    for (int i = 0; i < candidates.size(); i++) {
+      HologramEntry entry = candidates.entry(i);
+      selected.add(entry.id());
+      HologramEntry previous = shown.put(entry.id(), entry);
+      if (previous == entry) continue;
+      if (previous == null) {
+        spawn(player, entry, displays);
+        continue;
+      }
+      if (!previous.samePosition(entry) || previous.entityId() != entry.entityId()) {
+        displays.destroy(player, new int[]{previous.entityId()});
+        spawn(player, entry, displays);
+      } else if (!previous.text().equals(entry.text())) {
+        displays.updateText(player, entry.entityId(), entry.text());
+      }
+    }
+
+    int removed = 0;
+    Iterator<Map.Entry<String, HologramEntry>> it = shown.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, HologramEntry> current = it.next();
+      if (selected.contains(current.getKey())) continue;
+      if (removed == removals.length) {
+        removals = Arrays.copyOf(removals, removed * 2);
+      }
+      removals[removed++] = current.getValue().entityId();
+      it.remove();
+    }
+    if (removed > 0) {
+      displays.destroy(player, Arrays.copyOf(removals, removed));
+    }
+    candidates.clear();
+    visible = shown.size();
+  }
+
+  /**
+   * Destroys and forgets the shown holograms whose entity id is in {@code entityIds}.
+   */
+  void retire(Player player, TextDisplayService displays, Set<Integer> entityIds) {
+    int removed = 0;
+    Iterator<HologramEntry> it = shown.values().iterator();
+    while (it.hasNext()) {
+      int entityId = it.next().entityId();
+      if (!entityIds.contains(entityId)) continue;
+      if (removed == removals.length) {
+        removals = Arrays.copyOf(removals, removed * 2);
+      }
+      removals[removed++] = entityId;
+      it.remove();
+    }
+    if (removed > 0 && displays != null && player != null) {
+      displays.destroy(player, Arrays.copyOf(removals, removed));
+    }
+    visible = shown.size();
+  }
+
+  /**
+   * Forgets all shown holograms, optionally destroying them client-side.
+   */
+  void reset(Player player, TextDisplayService displays, boolean destroy) {
+    if (destroy && displays != null && player != null && !shown.isEmpty()) {
+      int[] ids = new int[shown.size()];
+      int i = 0;
+      for (HologramEntry entry : shown.values()) ids[i++] = entry.entityId();
+      displays.destroy(player, ids);
+    }
+    shown.clear();
+    visible = 0;
+  }
+
+  private static void spawn(Player player, HologramEntry entry, TextDisplayService displays) {
+    displays.spawn(
+      player,
+      entry.entityId(),
+      entry.definition().x(),
+      entry.definition().y(),
+      entry.definition().z(),
+      entry.text()
+    );
+  }
+}
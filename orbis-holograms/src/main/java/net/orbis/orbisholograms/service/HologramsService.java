@@ -1,6 +1,7 @@
 package net.orbis.orbisholograms.service;
 
 import net.orbis.orbisholograms.config.HologramsConfig;
+import org.bukkit.entity.Player;
 
 public interface HologramsService {
 
@@ -11,4 +12,8 @@ public interface HologramsService {
   void reload(HologramsConfig config);
 
   HologramsStatus snapshot();
+
+  void onPlayerQuit(Player player);
+
+  void onWorldChange(Player player);
 }
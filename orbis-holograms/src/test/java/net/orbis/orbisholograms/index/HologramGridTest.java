@@ -0,0 +1,153 @@
+package net.orbis.orbisholograms.index;
+
+import net.orbis.orbisholograms.config.HologramDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for HologramGrid and Candidates.
+ *
+ * Verifies:
+ * - Grid queries match a brute-force distance scan
+ * - World isolation
+ * - retainNearest keeps the closest entries
+ * - Holograms checked per query, as counted by collect, stay under 1% of a brute-force scan
+ */
+class HologramGridTest {
+
+    private static final int HOLOGRAMS = 2_000;
+    private static final int VIEWERS = 300;
+    private static final double RADIUS = 48.0;
+
+    @Test
+    void testGridMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(42L);
+        List<HologramEntry> entries = randomEntries(random);
+        HologramGrid grid = HologramGrid.build(entries);
+        Candidates candidates = new Candidates();
+
+        for (int v = 0; v < VIEWERS; v++) {
+            String world = v % 3 == 0 ? "world_nether" : "world";
+            double x = random.nextDouble(-1_000, 1_000);
+            double y = random.nextDouble(0, 128);
+            double z = random.nextDouble(-1_000, 1_000);
+
+            candidates.clear();
+            grid.collect(world, x, y, z, RADIUS, candidates);
+            Set<String> fromGrid = new HashSet<>();
+            for (int i = 0; i < candidates.size(); i++) {
+                assertTrue(fromGrid.add(candidates.entry(i).id()), "Duplicate candidate");
+            }
+
+            assertEquals(bruteForce(entries, world, x, y, z), fromGrid);
+        }
+    }
+
+    @Test
+    void testWorldIsolation() {
+        HologramGrid grid = HologramGrid.build(List.of(
+            entry("a", "world", 0, 64, 0, 1),
+            entry("b", "world_nether", 0, 64, 0, 2)
+        ));
+        Candidates candidates = new Candidates();
+
+        grid.collect("world", 0, 64, 0, RADIUS, candidates);
+
+        assertEquals(1, candidates.size());
+        assertEquals("a", candidates.entry(0).id());
+
+        candidates.clear();
+        grid.collect("world_the_end", 0, 64, 0, RADIUS, candidates);
+        assertEquals(0, candidates.size());
+    }
+
+    @Test
+    void testRetainNearest() {
+        List<HologramEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            entries.add(entry("h" + i, "world", i, 64, 0, i + 1));
+        }
+        HologramGrid grid = HologramGrid.build(entries);
+        Candidates candidates = new Candidates();
+
+        grid.collect("world", 0, 64, 0, RADIUS, candidates);
+        assertEquals(40, candidates.size());
+
+        candidates.retainNearest(5);
+
+        assertEquals(5, candidates.size());
+        Set<String> kept = new HashSet<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            kept.add(candidates.entry(i).id());
+        }
+        assertEquals(Set.of("h0", "h1", "h2", "h3", "h4"), kept);
+    }
+
+    @Test
+    void testQueryScansOnlyOverlappingCells() {
+        SplittableRandom random = new SplittableRandom(7L);
+        List<HologramEntry> entries = randomEntries(random);
+        HologramGrid grid = HologramGrid.build(entries);
+        Candidates candidates = new Candidates();
+
+        long scanned = 0;
+        for (int v = 0; v < VIEWERS; v++) {
+            double x = random.nextDouble(-1_000, 1_000);
+            double y = random.nextDouble(0, 128);
+            double z = random.nextDouble(-1_000, 1_000);
+
+            int checked = grid.collect("world", x, y, z, RADIUS, candidates);
+            assertTrue(checked >= candidates.size(), "Collected more than it checked");
+            scanned += checked;
+        }
+
+        // A brute-force scan compares every hologram for every viewer.
+        long bruteForce = (long) HOLOGRAMS * VIEWERS;
+        assertTrue(scanned * 100 < bruteForce, "Grid scanned " + scanned + " of " + bruteForce + " entries");
+
+        // Nothing nearby: no cell overlaps, nothing is checked.
+        assertEquals(0, grid.collect("world", 50_000, 64, 50_000, RADIUS, candidates));
+        assertEquals(0, grid.collect("world_the_end", 0, 64, 0, RADIUS, candidates));
+    }
+
+    private static Set<String> bruteForce(List<HologramEntry> entries, String world, double x, double y, double z) {
+        Set<String> out = new HashSet<>();
+        double max = RADIUS * RADIUS;
+        for (HologramEntry entry : entries) {
+            HologramDefinition def = entry.definition();
+            if (!def.world().equals(world)) continue;
+            double dx = def.x() - x;
+            double dy = def.y() - y;
+            double dz = def.z() - z;
+            if (dx * dx + dy * dy + dz * dz <= max) out.add(entry.id());
+        }
+        return out;
+    }
+
+    private static List<HologramEntry> randomEntries(SplittableRandom random) {
+        List<HologramEntry> entries = new ArrayList<>(HOLOGRAMS);
+        for (int i = 0; i < HOLOGRAMS; i++) {
+            String world = i % 4 == 0 ? "world_nether" : "world";
+            entries.add(entry(
+                "h" + i,
+                world,
+                random.nextDouble(-1_000, 1_000),
+                random.nextDouble(0, 128),
+                random.nextDouble(-1_000, 1_000),
+                i + 1
+            ));
+        }
+        return entries;
+    }
+
+    private static HologramEntry entry(String id, String world, double x, double y, double z, int entityId) {
+        return new HologramEntry(new HologramDefinition(id, world, x, y, z, List.of(id)), entityId, id);
+    }
+}
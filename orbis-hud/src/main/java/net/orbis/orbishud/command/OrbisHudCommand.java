@@ -44,6 +44,7 @@ public final class OrbisHudCommand implements CommandExecutor, TabCompleter {
       send(sender, "&7updateIntervalTicks=&f" + status.updateIntervalTicks());
       send(sender, "&7profiles=&f" + status.profiles());
       send(sender, "&7defaultProfile=&f" + status.defaultProfile());
+      send(sender, "&7renderer=&f" + status.renderer());
       send(sender, "&7trackedPlayers=&f" + status.trackedPlayers());
       send(sender, "&7onlinePlayers=&f" + status.onlinePlayers());
       send(sender, "&7taskId=&f" + status.taskId());
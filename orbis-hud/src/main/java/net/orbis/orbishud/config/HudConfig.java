@@ -15,10 +15,22 @@ import java.util.logging.Logger;
 public record HudConfig(
   boolean enabled,
   int updateIntervalTicks,
+  int safetyRefreshTicks,
   String defaultProfile,
   boolean hideWhenInSpectator,
+  RendererMode renderer,
   Map<String, HudProfile> profiles
 ) {
+
+  /**
+   * AUTO prefers client-side packets when a sidebar packet backend is installed.
+   */
+  public enum RendererMode {
+    AUTO,
+    PACKET,
+    SCOREBOARD
+  }
+
   private static final Pattern PROFILE_ID_PATTERN = Pattern.compile("[a-z0-9_-]{1,32}");
 
   public static HudConfig load(FileConfiguration config, Logger logger) {
@@ -29,7 +41,14 @@ public record HudConfig(
       logger.warning("hud.updateIntervalTicks out of range, clamped to " + interval);
     }
 
+    int configuredSafety = config.getInt("hud.safetyRefreshTicks", 600);
+    int safetyRefresh = clamp(configuredSafety, interval, 72_000);
+    if (safetyRefresh != configuredSafety) {
+      logger.warning("hud.safetyRefreshTicks out of range, clamped to " + safetyRefresh);
+    }
+
     boolean hideWhenInSpectator = config.getBoolean("hud.hideWhenInSpectator", true);
+    RendererMode renderer = parseRenderer(config.getString("hud.renderer", "auto"), logger);
 
     Map<String, HudProfile> loadedProfiles = new LinkedHashMap<>();
     ConfigurationSection profilesSection = config.getConfigurationSection("profiles");
@@ -64,8 +83,10 @@ public record HudConfig(
     return new HudConfig(
       enabled,
       interval,
+      safetyRefresh,
       configuredDefault,
       hideWhenInSpectator,
+      renderer,
       Map.copyOf(loadedProfiles)
     );
   }
@@ -111,6 +132,16 @@ public record HudConfig(
     );
   }
 
+  private static RendererMode parseRenderer(String raw, Logger logger) {
+    if (raw == null || raw.isBlank()) return RendererMode.AUTO;
+    try {
+      return RendererMode.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      logger.warning("hud.renderer='" + raw + "' is invalid. Using AUTO.");
+      return RendererMode.AUTO;
+    }
+  }
+
   private static int clamp(int value, int min, int max) {
     return Math.max(min, Math.min(max, value));
   }
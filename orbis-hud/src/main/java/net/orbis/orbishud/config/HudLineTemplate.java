@@ -0,0 +1,101 @@
+package net.orbis.orbishud.config;
+
+import net.orbis.zakum.api.util.BrandingText;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A HUD line compiled into literal segments and typed placeholder slots.
+ *
+ * Layout: literals[0] slot[0] literals[1] slot[1] ... literals[n].
+ * Unknown %tokens% stay literal. Lines without slots are colored once here.
+ */
+public final class HudLineTemplate {
+
+  private final String raw;
+  private final String[] literals;
+  private final HudPlaceholder[] slots;
+  private final Set<HudSource> sources;
+  private final String rendered;
+  private final int sizeHint;
+
+  private HudLineTemplate(String raw, String[] literals, HudPlaceholder[] slots) {
+    this.raw = raw;
+    this.literals = literals;
+    this.slots = slots;
+    EnumSet<HudSource> found = EnumSet.noneOf(HudSource.class);
+    for (HudPlaceholder slot : slots) found.add(slot.source());
+    this.sources = Set.copyOf(found);
+    this.rendered = slots.length == 0 ? BrandingText.render(raw) : null;
+    this.sizeHint = raw.length() + slots.length * 8;
+  }
+
+  public static HudLineTemplate compile(String raw) {
+    String line = raw == null ? "" : raw;
+    List<String> literals = new ArrayList<>();
+    List<HudPlaceholder> slots = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    int i = 0;
+    while (i < line.length()) {
+      char c = line.charAt(i);
+      if (c == '%') {
+        int end = line.indexOf('%', i + 1);
+        if (end > i + 1) {
+          HudPlaceholder placeholder = HudPlaceholder.byToken(line.substring(i + 1, end));
+          if (placeholder != null) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slots.add(placeholder);
+            i = end + 1;
+            continue;
+          }
+        }
+      }
+      literal.append(c);
+      i++;
+    }
+    literals.add(literal.toString());
+    return new HudLineTemplate(line, literals.toArray(String[]::new), slots.toArray(HudPlaceholder[]::new));
+  }
+
+  public String raw() {
+    return raw;
+  }
+
+  public int slotCount() {
+    return slots.length;
+  }
+
+  public HudPlaceholder slot(int index) {
+    return slots[index];
+  }
+
+  public String literal(int index) {
+    return literals[index];
+  }
+
+  public boolean dependsOn(HudSource source) {
+    return sources.contains(source);
+  }
+
+  public boolean dependsOnAction(String type) {
+    for (HudPlaceholder slot : slots) {
+      if (slot.actionTypes().contains(type)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * @return pre-colored text for slot-free lines, otherwise null
+   */
+  public String staticText() {
+    return rendered;
+  }
+
+  public int sizeHint() {
+    return sizeHint;
+  }
+}
@@ -0,0 +1,63 @@
+package net.orbis.orbishud.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fixed placeholder table for HUD lines, keyed by token name (without '%').
+ */
+public enum HudPlaceholder {
+  PLAYER("player", HudSource.STATIC),
+  SERVER_ID("server_id", HudSource.STATIC),
+  DISPLAY_NAME("display_name", HudSource.ACTION, "player_join", "rank_change", "display_name_change"),
+  RANK("rank", HudSource.ACTION, "player_join", "rank_change"),
+  WORLD("world", HudSource.ACTION, "player_join", "world_change"),
+  LEVEL("level", HudSource.ACTION, "level_change", "xp_gain"),
+  BALANCE("balance", HudSource.ECONOMY),
+  ONLINE("online", HudSource.TICK),
+  X("x", HudSource.TICK),
+  Y("y", HudSource.TICK),
+  Z("z", HudSource.TICK),
+  HEALTH("health", HudSource.TICK),
+  MAX_HEALTH("max_health", HudSource.TICK),
+  PING("ping", HudSource.TICK),
+  TIME("time", HudSource.TICK);
+
+  private static final Map<String, HudPlaceholder> BY_TOKEN = new HashMap<>();
+
+  static {
+    for (HudPlaceholder placeholder : values()) {
+      BY_TOKEN.put(placeholder.token, placeholder);
+    }
+  }
+
+  private final String token;
+  private final HudSource source;
+  private final Set<String> actionTypes;
+
+  HudPlaceholder(String token, HudSource source, String... actionTypes) {
+    this.token = token;
+    this.source = source;
+    this.actionTypes = Set.of(actionTypes);
+  }
+
+  public String token() {
+    return token;
+  }
+
+  public HudSource source() {
+    return source;
+  }
+
+  /**
+   * ActionBus event types that invalidate this placeholder (ACTION source only).
+   */
+  public Set<String> actionTypes() {
+    return actionTypes;
+  }
+
+  public static HudPlaceholder byToken(String token) {
+    return BY_TOKEN.get(token);
+  }
+}
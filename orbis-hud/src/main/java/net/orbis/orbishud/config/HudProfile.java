@@ -6,12 +6,20 @@ import java.util.Locale;
 public record HudProfile(
   String id,
   String title,
-  List<String> lines
+  List<String> lines,
+  HudProfileTemplate compiled
 ) {
 
   public HudProfile {
     id = id == null || id.isBlank() ? "default" : id.trim().toLowerCase(Locale.ROOT);
     title = title == null || title.isBlank() ? "&b&lORBIS" : title;
     lines = lines == null ? List.of() : List.copyOf(lines);
+    if (compiled == null) {
+      compiled = HudProfileTemplate.compile(title, lines);
+    }
   }
-}
\ No newline at end of file
+
+  public HudProfile(String id, String title, List<String> lines) {
+    this(id, title, lines, null);
+  }
+}
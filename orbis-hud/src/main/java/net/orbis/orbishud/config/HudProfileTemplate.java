@@ -0,0 +1,57 @@
+package net.orbis.orbishud.config;
+
+import net.orbis.zakum.api.util.BrandingText;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a profile: colored title, line templates and per-source
+ * line bitmasks (bit i = line i) used for dirty tracking.
+ */
+public record HudProfileTemplate(
+  String title,
+  List<HudLineTemplate> lines,
+  int tickMask,
+  int economyMask,
+  Map<String, Integer> actionMasks
+) {
+
+  public static final int MAX_LINES = 15;
+  public static final int ALL_LINES = (1 << MAX_LINES) - 1;
+
+  public static HudProfileTemplate compile(String title, List<String> rawLines) {
+    List<HudLineTemplate> lines = new ArrayList<>();
+    int tickMask = 0;
+    int economyMask = 0;
+    Map<String, Integer> actionMasks = new HashMap<>();
+    for (String raw : rawLines) {
+      if (lines.size() >= MAX_LINES) break;
+      int bit = 1 << lines.size();
+      HudLineTemplate line = HudLineTemplate.compile(raw);
+      if (line.dependsOn(HudSource.TICK)) tickMask |= bit;
+      if (line.dependsOn(HudSource.ECONOMY)) economyMask |= bit;
+      for (int i = 0; i < line.slotCount(); i++) {
+        for (String type : line.slot(i).actionTypes()) {
+          actionMasks.merge(type, bit, (a, b) -> a | b);
+        }
+      }
+      lines.add(line);
+    }
+    String renderedTitle = BrandingText.render(title);
+    if (renderedTitle.length() > 64) renderedTitle = renderedTitle.substring(0, 64);
+    return new HudProfileTemplate(renderedTitle, List.copyOf(lines), tickMask, economyMask, Map.copyOf(actionMasks));
+  }
+
+  public int actionMask(String type) {
+    if (type == null) return 0;
+    Integer mask = actionMasks.get(type);
+    return mask == null ? 0 : mask;
+  }
+
+  public int lineMask() {
+    return lines.isEmpty() ? 0 : (1 << lines.size()) - 1;
+  }
+}
@@ -0,0 +1,15 @@
+package net.orbis.orbishud.config;
+
+/**
+ * What invalidates a placeholder value.
+ */
+public enum HudSource {
+  /** Resolved once per player/profile bind (server id, player name). */
+  STATIC,
+  /** Re-resolved on every HUD tick (coords, ping, clock). */
+  TICK,
+  /** Re-resolved when a matching ActionBus event arrives for the player. */
+  ACTION,
+  /** Re-resolved on economy change notifications. */
+  ECONOMY
+}
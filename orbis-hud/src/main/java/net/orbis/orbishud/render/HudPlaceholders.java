@@ -0,0 +1,92 @@
+package net.orbis.orbishud.render;
+
+import net.orbis.orbishud.config.HudLineTemplate;
+import net.orbis.orbishud.config.HudPlaceholder;
+import net.orbis.zakum.api.util.BrandingText;
+import net.orbis.zakum.api.vault.EconomyService;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
+
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Resolves compiled HUD line templates for a player.
+ */
+public final class HudPlaceholders {
+
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+  private static final NamespacedKey RANK_KEY = new NamespacedKey("orbis", "cloud_rank");
+
+  private HudPlaceholders() {}
+
+  /**
+   * Renders a line: literals and slot values are joined first, then colored,
+   * so gradients and rank branding spanning slots keep working.
+   */
+  public static String render(HudLineTemplate line, Player player, String serverId, EconomyService economy) {
+    String fixed = line.staticText();
+    if (fixed != null) return fixed;
+
+    StringBuilder out = new StringBuilder(line.sizeHint());
+    int slots = line.slotCount();
+    for (int i = 0; i < slots; i++) {
+      out.append(line.literal(i));
+      appendValue(out, line.slot(i), player, serverId, economy);
+    }
+    out.append(line.literal(slots));
+    return BrandingText.render(out.toString());
+  }
+
+  private static void appendValue(StringBuilder out, HudPlaceholder placeholder, Player player, String serverId, EconomyService economy) {
+    switch (placeholder) {
+      case PLAYER -> out.append(player.getName());
+      case DISPLAY_NAME -> out.append(player.getDisplayName());
+      case WORLD -> out.append(player.getWorld().getName());
+      case ONLINE -> out.append(Bukkit.getOnlinePlayers().size());
+      case X -> out.append(player.getLocation().getBlockX());
+      case Y -> out.append(player.getLocation().getBlockY());
+      case Z -> out.append(player.getLocation().getBlockZ());
+      case HEALTH -> out.append((int) Math.floor(player.getHealth()));
+      case MAX_HEALTH -> out.append((int) Math.floor(player.getMaxHealth()));
+      case TIME -> out.append(LocalTime.now(ZoneOffset.UTC).format(TIME_FORMAT));
+      case SERVER_ID -> out.append(serverId == null ? "unknown" : serverId);
+      case RANK -> out.append(readRank(player));
+      case LEVEL -> out.append(player.getLevel());
+      case BALANCE -> out.append(readBalance(player, economy));
+      case PING -> out.append(readPing(player));
+    }
+  }
+
+  static String truncate(String input, int max) {
+    if (input == null) return "";
+    if (input.length() <= max) return input;
+    return input.substring(0, max);
+  }
+
+  private static int readPing(Player player) {
+    try {
+      return Math.max(0, player.getPing());
+    } catch (Throwable ignored) {
+      return 0;
+    }
+  }
+
+  private static String readBalance(Player player, EconomyService economy) {
+    if (economy == null || !economy.available()) return "0";
+    try {
+      return String.format(Locale.ROOT, "%,.2f", economy.balance(player.getUniqueId()));
+    } catch (Throwable ignored) {
+      return "0";
+    }
+  }
+
+  private static String readRank(Player player) {
+    String rank = player.getPersistentDataContainer().get(RANK_KEY, PersistentDataType.STRING);
+    return rank == null || rank.isBlank() ? "Cirrus" : rank;
+  }
+}
@@ -0,0 +1,26 @@
+package net.orbis.orbishud.render;
+
+import net.orbis.orbishud.state.HudPlayerState;
+import org.bukkit.entity.Player;
+
+/**
+ * Sidebar renderer contract.
+ *
+ * Calls for a given player are expected on that player's entity scheduler.
+ * Title and lines arrive already resolved and colored; renderers must not
+ * retain the {@code lines} array (the service reuses it between renders).
+ */
+public interface HudRenderer {
+
+  /**
+   * @return short backend id (ex: "packet", "scoreboard")
+   */
+  String id();
+
+  /**
+   * @return true when anything was sent to the player
+   */
+  boolean render(Player player, String title, String[] lines, HudPlayerState state, boolean hideWhenInSpectator);
+
+  void clear(Player player, HudPlayerState state);
+}
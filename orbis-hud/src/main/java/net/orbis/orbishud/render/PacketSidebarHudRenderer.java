@@ -0,0 +1,108 @@
+package net.orbis.orbishud.render;
+
+import net.orbis.orbishud.state.HudPlayerState;
+import net.orbis.zakum.api.packets.SidebarPacketWriter;
+import org.bukkit.ChatColor;
+import org.bukkit.GameMode;
+import org.bukkit.entity.Player;
+
+import java.util.Objects;
+
+/**
+ * Client-side sidebar renderer.
+ *
+ * Each line owns a fixed team + invisible entry; only lines whose text changed
+ * since the last render produce a team update packet. No Bukkit scoreboard is
+ * created, so this is safe on Folia region threads.
+ */
+public final class PacketSidebarHudRenderer implements HudRenderer {
+
+  private static final String OBJECTIVE_ID = "orbishud";
+  private static final String TEAM_PREFIX = "ohud_";
+  private static final int MAX_LINES = 15;
+  private static final int MAX_LINE_LENGTH = 128;
+  private static final String[] ENTRIES = new String[MAX_LINES];
+  private static final String[] TEAMS = new String[MAX_LINES];
+
+  static {
+    for (int i = 0; i < MAX_LINES; i++) {
+      ENTRIES[i] = String.valueOf(ChatColor.COLOR_CHAR) + Character.forDigit(i, 16) + ChatColor.RESET;
+      TEAMS[i] = TEAM_PREFIX + i;
+    }
+  }
+
+  private final SidebarPacketWriter writer;
+
+  public PacketSidebarHudRenderer(SidebarPacketWriter writer) {
+    this.writer = Objects.requireNonNull(writer, "writer");
+  }
+
+  @Override
+  public String id() {
+    return "packet";
+  }
+
+  @Override
+  public boolean render(Player player, String title, String[] lines, HudPlayerState state, boolean hideWhenInSpectator) {
+    if (hideWhenInSpectator && player.getGameMode() == GameMode.SPECTATOR) {
+      clear(player, state);
+      return false;
+    }
+
+    int count = Math.min(MAX_LINES, lines.length);
+    String[] next = new String[count];
+    for (int i = 0; i < count; i++) {
+      next[i] = HudPlaceholders.truncate(lines[i], MAX_LINE_LENGTH);
+    }
+
+    boolean sent = false;
+    if (!state.packetObjectiveSent()) {
+      writer.createObjective(player, OBJECTIVE_ID, title);
+      sent = true;
+    } else if (!title.equals(state.packetTitle())) {
+      writer.updateTitle(player, OBJECTIVE_ID, title);
+      sent = true;
+    }
+
+    String[] previous = state.packetLines();
+    boolean layoutChanged = previous.length != count;
+    for (int i = 0; i < count; i++) {
+      if (i >= previous.length) {
+        writer.createLine(player, OBJECTIVE_ID, TEAMS[i], ENTRIES[i], count - i, next[i]);
+        sent = true;
+        continue;
+      }
+      if (layoutChanged) {
+        // Scores encode ordering; re-score when the line count shifts.
+        writer.removeLine(player, OBJECTIVE_ID, TEAMS[i], ENTRIES[i]);
+        writer.createLine(player, OBJECTIVE_ID, TEAMS[i], ENTRIES[i], count - i, next[i]);
+        sent = true;
+        continue;
+      }
+      if (!next[i].equals(previous[i])) {
+        writer.updateLine(player, TEAMS[i], next[i]);
+        sent = true;
+      }
+    }
+    for (int i = count; i < previous.length; i++) {
+      writer.removeLine(player, OBJECTIVE_ID, TEAMS[i], ENTRIES[i]);
+      sent = true;
+    }
+
+    state.updatePacketState(title, next);
+    return sent;
+  }
+
+  @Override
+  public void clear(Player player, HudPlayerState state) {
+    if (!state.packetObjectiveSent()) return;
+    if (player.isOnline()) {
+      String[] previous = state.packetLines();
+      for (int i = 0; i < previous.length; i++) {
+        writer.removeLine(player, OBJECTIVE_ID, TEAMS[i], ENTRIES[i]);
+      }
+      writer.removeObjective(player, OBJECTIVE_ID);
+    }
+    state.clearPacketState();
+  }
+}
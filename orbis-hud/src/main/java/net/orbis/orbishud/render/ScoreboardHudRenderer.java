@@ -3,35 +3,30 @@ package net.orbis.orbishud.render;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
-import net.orbis.orbishud.config.HudProfile;
 import net.orbis.orbishud.state.HudPlayerState;
-import net.orbis.zakum.api.util.BrandingText;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.GameMode;
-import org.bukkit.NamespacedKey;
 import org.bukkit.entity.Player;
-import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.scoreboard.DisplaySlot;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
 import org.bukkit.scoreboard.ScoreboardManager;
 
-import java.time.LocalTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
-public final class ScoreboardHudRenderer {
+/**
+ * Bukkit scoreboard renderer. Fallback when no packet backend is installed.
+ */
+public final class ScoreboardHudRenderer implements HudRenderer {
 
   private static final String OBJECTIVE_ID = "orbishud";
   private static final int MAX_ENTRY_LENGTH = 40;
   private static final int MAX_LINES = 15;
-  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
   private static final ChatColor[] COLOR_POOL = {
     ChatColor.DARK_BLUE, ChatColor.DARK_GREEN, ChatColor.DARK_AQUA,
     ChatColor.DARK_RED, ChatColor.DARK_PURPLE, ChatColor.GOLD,
@@ -40,7 +35,13 @@ public final class ScoreboardHudRenderer {
     ChatColor.LIGHT_PURPLE, ChatColor.YELLOW, ChatColor.WHITE
   };
 
-  public boolean render(Player player, HudProfile profile, HudPlayerState state, String serverId, boolean hideWhenInSpectator) {
+  @Override
+  public String id() {
+    return "scoreboard";
+  }
+
+  @Override
+  public boolean render(Player player, String renderedTitle, String[] lines, HudPlayerState state, boolean hideWhenInSpectator) {
     if (hideWhenInSpectator && player.getGameMode() == GameMode.SPECTATOR) {
       clear(player, state);
       return false;
@@ -61,13 +62,13 @@ public final class ScoreboardHudRenderer {
         objective = scoreboard.registerNewObjective(
           OBJECTIVE_ID, 
           "dummy", 
-          LegacyComponentSerializer.legacySection().deserialize(color(profile.title()))
+          LegacyComponentSerializer.legacySection().deserialize(renderedTitle)
         );
       }
       objective.setDisplaySlot(DisplaySlot.SIDEBAR);
     }
 
-    String title = truncate(color(profile.title()), 64);
+    String title = truncate(renderedTitle, 64);
     Component titleComponent = LegacyComponentSerializer.legacySection().deserialize(title);
     Component currentTitle = objective.displayName();
     String currentTitlePlain = PlainTextComponentSerializer.plainText().serialize(currentTitle);
@@ -75,7 +76,7 @@ public final class ScoreboardHudRenderer {
       objective.displayName(titleComponent);
     }
 
-    List<String> renderedEntries = buildEntries(profile, player, serverId);
+    List<String> renderedEntries = buildEntries(lines);
     String signature = title + "|" + String.join("|", renderedEntries);
     if (signature.equals(state.lastSignature())) {
       if (player.getScoreboard() != scoreboard) {
@@ -104,6 +105,7 @@ public final class ScoreboardHudRenderer {
     return true;
   }
 
+  @Override
   public void clear(Player player, HudPlayerState state) {
     Scoreboard scoreboard = state.scoreboard();
     Objective objective = state.objective();
@@ -125,45 +127,19 @@ public final class ScoreboardHudRenderer {
     state.clearRenderState();
   }
 
-  private List<String> buildEntries(HudProfile profile, Player player, String serverId) {
+  private List<String> buildEntries(String[] lines) {
     List<String> entries = new ArrayList<>();
     Set<String> used = new HashSet<>();
     int index = 0;
-    for (String line : profile.lines()) {
+    for (String line : lines) {
       if (entries.size() >= MAX_LINES) break;
-      String replaced = replacePlaceholders(line, player, serverId);
-      String colored = truncate(color(replaced), MAX_ENTRY_LENGTH);
+      String colored = truncate(line, MAX_ENTRY_LENGTH);
       String unique = makeUnique(colored, used, index++);
       entries.add(unique);
     }
     return entries;
   }
 
-  private String replacePlaceholders(String line, Player player, String serverId) {
-    String out = line;
-    out = out.replace("%player%", player.getName());
-    out = out.replace("%display_name%", player.getDisplayName());
-    out = out.replace("%world%", player.getWorld().getName());
-    out = out.replace("%online%", String.valueOf(Bukkit.getOnlinePlayers().size()));
-    out = out.replace("%x%", String.valueOf(player.getLocation().getBlockX()));
-    out = out.replace("%y%", String.valueOf(player.getLocation().getBlockY()));
-    out = out.replace("%z%", String.valueOf(player.getLocation().getBlockZ()));
-    out = out.replace("%health%", String.valueOf((int) Math.floor(player.getHealth())));
-    out = out.replace("%max_health%", String.valueOf((int) Math.floor(player.getMaxHealth())));
-    out = out.replace("%time%", LocalTime.now(ZoneOffset.UTC).format(TIME_FORMAT));
-    out = out.replace("%server_id%", serverId == null ? "unknown" : serverId);
-    out = out.replace("%rank%", readRank(player));
-
-    String ping = "0";
-    try {
-      ping = String.valueOf(Math.max(0, player.getPing()));
-    } catch (Throwable ignored) {
-      // Keep fallback.
-    }
-    out = out.replace("%ping%", ping);
-    return out;
-  }
-
   private static String makeUnique(String base, Set<String> used, int saltSeed) {
     String candidate = base == null || base.isBlank() ? " " : base;
     int salt = saltSeed;
@@ -175,19 +151,7 @@ public final class ScoreboardHudRenderer {
     return candidate;
   }
 
-  private static String color(String input) {
-    return BrandingText.render(input);
-  }
-
   private static String truncate(String input, int max) {
-    if (input == null) return "";
-    if (input.length() <= max) return input;
-    return input.substring(0, max);
-  }
-
-  private static String readRank(Player player) {
-    NamespacedKey rankKey = new NamespacedKey("orbis", "cloud_rank");
-    String rank = player.getPersistentDataContainer().get(rankKey, PersistentDataType.STRING);
-    return rank == null || rank.isBlank() ? "Cirrus" : rank;
+    return HudPlaceholders.truncate(input, max);
   }
 }
@@ -2,10 +2,20 @@ package net.orbis.orbishud.service;
 
 import net.orbis.orbishud.config.HudConfig;
 import net.orbis.orbishud.config.HudProfile;
+import net.orbis.orbishud.config.HudProfileTemplate;
+import net.orbis.orbishud.config.HudSource;
+import net.orbis.orbishud.render.HudPlaceholders;
+import net.orbis.orbishud.render.HudRenderer;
+import net.orbis.orbishud.render.PacketSidebarHudRenderer;
 import net.orbis.orbishud.render.ScoreboardHudRenderer;
 import net.orbis.orbishud.state.HudPlayerState;
 import net.orbis.orbishud.state.HudStateCache;
 import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.actions.ActionEvent;
+import net.orbis.zakum.api.actions.ActionSubscription;
+import net.orbis.zakum.api.capability.ZakumCapabilities;
+import net.orbis.zakum.api.packets.SidebarPacketWriter;
+import net.orbis.zakum.api.vault.EconomyService;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
@@ -18,15 +28,22 @@ import java.util.logging.Logger;
 
 public final class DefaultHudService implements HudService {
 
+  /** ActionBus type economy services publish after a balance change. */
+  public static final String ECONOMY_CHANGE_ACTION = EconomyService.CHANGE_ACTION;
+
   private final Plugin plugin;
   private final ZakumApi api;
   private final Logger logger;
   private final HudStateCache stateCache;
-  private final ScoreboardHudRenderer renderer;
+  private final ScoreboardHudRenderer scoreboardRenderer;
 
   private volatile HudConfig config;
+  private volatile HudRenderer renderer;
+  private volatile EconomyService economy;
+  private volatile ActionSubscription actionSubscription;
   private volatile int taskId = -1;
   private volatile boolean running;
+  private long ticksSinceSafetyRefresh;
 
   public DefaultHudService(Plugin plugin, ZakumApi api, HudConfig initialConfig, Logger logger) {
     this.plugin = plugin;
@@ -34,20 +51,24 @@ public final class DefaultHudService implements HudService {
     this.config = initialConfig;
     this.logger = logger;
     this.stateCache = new HudStateCache();
-    this.renderer = new ScoreboardHudRenderer();
+    this.scoreboardRenderer = new ScoreboardHudRenderer();
+    this.renderer = scoreboardRenderer;
   }
 
   @Override
   public void start() {
     if (running) return;
     running = true;
+    renderer = resolveRenderer(config);
+    economy = api.capability(ZakumCapabilities.ECONOMY).orElse(null);
+    actionSubscription = api.actions().subscribe(this::onAction);
     if (config.enabled()) {
       startTask();
     } else {
       stopTask();
     }
     for (Player player : Bukkit.getOnlinePlayers()) {
-      renderPlayer(player);
+      scheduleRender(player);
     }
   }
 
@@ -56,6 +77,9 @@ public final class DefaultHudService implements HudService {
     if (!running) return;
     running = false;
     stopTask();
+    ActionSubscription subscription = actionSubscription;
+    actionSubscription = null;
+    if (subscription != null) subscription.close();
     for (Player player : Bukkit.getOnlinePlayers()) {
       HudPlayerState state = stateCache.remove(player.getUniqueId());
       if (state != null) {
@@ -74,6 +98,7 @@ public final class DefaultHudService implements HudService {
       cfg.updateIntervalTicks(),
       cfg.profileIds().size(),
       cfg.defaultProfile(),
+      renderer.id(),
       stateCache.size(),
       Bukkit.getOnlinePlayers().size(),
       taskId
@@ -84,16 +109,27 @@ public final class DefaultHudService implements HudService {
   public void reload(HudConfig newConfig) {
     this.config = newConfig;
     if (!running) return;
+    HudRenderer previous = renderer;
+    HudRenderer next = resolveRenderer(newConfig);
+    if (!previous.id().equals(next.id())) {
+      for (Player player : Bukkit.getOnlinePlayers()) {
+        HudPlayerState state = stateCache.getOrCreate(player.getUniqueId());
+        api.getScheduler().runAtEntity(player, () -> previous.clear(player, state));
+      }
+    }
+    renderer = next;
+    economy = api.capability(ZakumCapabilities.ECONOMY).orElse(null);
     if (newConfig.enabled()) {
       startTask();
     } else {
       stopTask();
     }
     for (Player player : Bukkit.getOnlinePlayers()) {
-      renderPlayer(player);
+      scheduleRender(player);
     }
     logger.info(
       "HUD config reloaded. enabled=" + newConfig.enabled() +
+        ", renderer=" + next.id() +
         ", intervalTicks=" + newConfig.updateIntervalTicks() +
         ", profiles=" + newConfig.profileIds().size() +
         ", defaultProfile=" + newConfig.defaultProfile()
@@ -112,7 +148,7 @@ public final class DefaultHudService implements HudService {
 
     Player player = Bukkit.getPlayer(playerId);
     if (player != null && player.isOnline()) {
-      renderPlayer(player);
+      scheduleRender(player);
     }
     return true;
   }
@@ -124,7 +160,7 @@ public final class DefaultHudService implements HudService {
     state.forcedProfileId(null);
     Player player = Bukkit.getPlayer(playerId);
     if (player != null && player.isOnline()) {
-      renderPlayer(player);
+      scheduleRender(player);
     }
     return true;
   }
@@ -142,7 +178,7 @@ public final class DefaultHudService implements HudService {
   @Override
   public void onPlayerJoin(Player player) {
     if (player == null) return;
-    renderPlayer(player);
+    scheduleRender(player);
   }
 
   @Override
@@ -157,16 +193,53 @@ public final class DefaultHudService implements HudService {
   @Override
   public void refreshPlayer(Player player) {
     if (player == null) return;
-    renderPlayer(player);
+    stateCache.markAll(player.getUniqueId());
+    scheduleRender(player);
+  }
+
+  @Override
+  public void invalidate(UUID playerId, HudSource source) {
+    if (playerId == null || source == null) return;
+    stateCache.markSource(playerId, source);
+  }
+
+  private void onAction(ActionEvent event) {
+    if (!running) return;
+    if (ECONOMY_CHANGE_ACTION.equals(event.type())) {
+      stateCache.markSource(event.playerId(), HudSource.ECONOMY);
+      return;
+    }
+    stateCache.markAction(event.playerId(), event.type());
   }
 
   private void tick() {
     if (!running) return;
-    for (Player player : Bukkit.getOnlinePlayers()) {
-      renderPlayer(player);
+    HudConfig cfg = config;
+    ticksSinceSafetyRefresh += cfg.updateIntervalTicks();
+    if (ticksSinceSafetyRefresh >= cfg.safetyRefreshTicks()) {
+      ticksSinceSafetyRefresh = 0L;
+      economy = api.capability(ZakumCapabilities.ECONOMY).orElse(null);
+      for (Player player : Bukkit.getOnlinePlayers()) {
+        stateCache.markAll(player.getUniqueId());
+        scheduleRender(player);
+      }
+      return;
+    }
+
+    // Only players with invalidated lines or per-tick lines are visited.
+    for (UUID playerId : stateCache.drainVisits()) {
+      Player player = Bukkit.getPlayer(playerId);
+      if (player != null) {
+        scheduleRender(player);
+      }
     }
   }
 
+  private void scheduleRender(Player player) {
+    // Per-player HUD state is only touched on the owning entity's scheduler.
+    api.getScheduler().runAtEntity(player, () -> renderPlayer(player));
+  }
+
   private void renderPlayer(Player player) {
     if (player == null || !player.isOnline()) return;
 
@@ -186,12 +259,35 @@ public final class DefaultHudService implements HudService {
     }
 
     try {
-      renderer.render(player, profile, state, api.server().serverId(), cfg.hideWhenInSpectator());
+      HudProfileTemplate template = profile.compiled();
+      int dirty = stateCache.bind(state, template)
+        ? HudProfileTemplate.ALL_LINES
+        : state.drainDirty() | template.tickMask();
+      String[] lines = state.resolvedLines();
+      String serverId = api.server().serverId();
+      EconomyService eco = economy;
+      for (int i = 0; i < lines.length; i++) {
+        if (lines[i] != null && (dirty & (1 << i)) == 0) continue;
+        lines[i] = HudPlaceholders.render(template.lines().get(i), player, serverId, eco);
+      }
+      renderer.render(player, template.title(), lines, state, cfg.hideWhenInSpectator());
     } catch (Throwable t) {
       logger.log(Level.WARNING, "Failed rendering HUD for " + player.getName() + ": " + t.getMessage(), t);
     }
   }
 
+  private HudRenderer resolveRenderer(HudConfig cfg) {
+    if (cfg.renderer() == HudConfig.RendererMode.SCOREBOARD) return scoreboardRenderer;
+    SidebarPacketWriter writer = api.capability(ZakumCapabilities.SIDEBAR_PACKETS).orElse(null);
+    if (writer != null) {
+      return new PacketSidebarHudRenderer(writer);
+    }
+    if (cfg.renderer() == HudConfig.RendererMode.PACKET) {
+      logger.warning("hud.renderer=packet but no sidebar packet backend is installed (ZakumPackets). Using scoreboard.");
+    }
+    return scoreboardRenderer;
+  }
+
   private void startTask() {
     stopTask();
     HudConfig cfg = config;
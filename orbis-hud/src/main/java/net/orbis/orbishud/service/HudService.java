@@ -1,6 +1,7 @@
 package net.orbis.orbishud.service;
 
 import net.orbis.orbishud.config.HudConfig;
+import net.orbis.orbishud.config.HudSource;
 import org.bukkit.entity.Player;
 
 import java.util.Set;
@@ -29,4 +30,9 @@ public interface HudService {
   void onPlayerQuit(Player player);
 
   void refreshPlayer(Player player);
+
+  /**
+   * Marks lines depending on {@code source} dirty; they are re-resolved on the next HUD tick.
+   */
+  void invalidate(UUID playerId, HudSource source);
 }
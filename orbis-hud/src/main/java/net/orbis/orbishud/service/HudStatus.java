@@ -6,6 +6,7 @@ public record HudStatus(
   int updateIntervalTicks,
   int profiles,
   String defaultProfile,
+  String renderer,
   int trackedPlayers,
   int onlinePlayers,
   int taskId
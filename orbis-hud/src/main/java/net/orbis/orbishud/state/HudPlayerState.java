@@ -1,11 +1,13 @@
 package net.orbis.orbishud.state;
 
+import net.orbis.orbishud.config.HudProfileTemplate;
 import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Scoreboard;
 
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class HudPlayerState {
 
@@ -14,9 +16,19 @@ public final class HudPlayerState {
   private String lastSignature;
   private final Set<String> lastEntries;
 
+  // Compiled profile currently bound + resolved line cache; dirty bits arrive from any thread.
+  private volatile HudProfileTemplate template;
+  private String[] resolvedLines = new String[0];
+  private final AtomicInteger dirtyLines = new AtomicInteger();
+
   private Scoreboard scoreboard;
   private Objective objective;
 
+  // Packet sidebar state: what the client currently shows, line by line.
+  private boolean packetObjectiveSent;
+  private String packetTitle;
+  private String[] packetLines = new String[0];
+
   public HudPlayerState(UUID playerId) {
     this.playerId = playerId;
     this.lastEntries = new LinkedHashSet<>();
@@ -34,6 +46,34 @@ public final class HudPlayerState {
     this.forcedProfileId = forcedProfileId;
   }
 
+  public HudProfileTemplate template() {
+    return template;
+  }
+
+  /**
+   * Binds a compiled profile. Returns true when the binding changed and every
+   * line must be resolved again.
+   */
+  public boolean bind(HudProfileTemplate next) {
+    if (next == template) return false;
+    this.template = next;
+    this.resolvedLines = new String[next.lines().size()];
+    this.dirtyLines.set(0);
+    return true;
+  }
+
+  public String[] resolvedLines() {
+    return resolvedLines;
+  }
+
+  public void markDirty(int lineMask) {
+    if (lineMask != 0) dirtyLines.getAndUpdate(current -> current | lineMask);
+  }
+
+  public int drainDirty() {
+    return dirtyLines.getAndSet(0);
+  }
+
   public String lastSignature() {
     return lastSignature;
   }
@@ -64,4 +104,28 @@ public final class HudPlayerState {
     this.scoreboard = null;
     this.objective = null;
   }
-}
\ No newline at end of file
+
+  public boolean packetObjectiveSent() {
+    return packetObjectiveSent;
+  }
+
+  public String packetTitle() {
+    return packetTitle;
+  }
+
+  public String[] packetLines() {
+    return packetLines;
+  }
+
+  public void updatePacketState(String title, String[] lines) {
+    this.packetObjectiveSent = true;
+    this.packetTitle = title;
+    this.packetLines = lines == null ? new String[0] : lines;
+  }
+
+  public void clearPacketState() {
+    this.packetObjectiveSent = false;
+    this.packetTitle = null;
+    this.packetLines = new String[0];
+  }
+}
@@ -1,18 +1,33 @@
 package net.orbis.orbishud.state;
 
+import net.orbis.orbishud.config.HudProfileTemplate;
+import net.orbis.orbishud.config.HudSource;
+
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Per-player HUD state plus the visit sets used by the HUD tick:
+ * - dirty: players with event-driven line invalidations pending
+ * - ticking: players whose bound profile has per-tick lines
+ */
 public final class HudStateCache {
 
   private final ConcurrentHashMap<UUID, HudPlayerState> states = new ConcurrentHashMap<>();
+  private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+  private final Set<UUID> ticking = ConcurrentHashMap.newKeySet();
 
   public HudPlayerState getOrCreate(UUID playerId) {
     return states.computeIfAbsent(playerId, HudPlayerState::new);
   }
 
   public HudPlayerState remove(UUID playerId) {
+    dirty.remove(playerId);
+    ticking.remove(playerId);
     return states.remove(playerId);
   }
 
@@ -26,5 +41,69 @@ public final class HudStateCache {
 
   public void clear() {
     states.clear();
+    dirty.clear();
+    ticking.clear();
+  }
+
+  /**
+   * Binds the player's compiled profile and updates tick membership.
+   *
+   * @return true when the binding changed (full re-resolve required)
+   */
+  public boolean bind(HudPlayerState state, HudProfileTemplate template) {
+    boolean changed = state.bind(template);
+    if (changed) {
+      if (template.tickMask() != 0) {
+        ticking.add(state.playerId());
+      } else {
+        ticking.remove(state.playerId());
+      }
+    }
+    return changed;
+  }
+
+  public void markAction(UUID playerId, String type) {
+    HudPlayerState state = states.get(playerId);
+    if (state == null) return;
+    HudProfileTemplate template = state.template();
+    if (template == null) return;
+    mark(state, template.actionMask(type));
+  }
+
+  public void markSource(UUID playerId, HudSource source) {
+    HudPlayerState state = states.get(playerId);
+    if (state == null) return;
+    HudProfileTemplate template = state.template();
+    if (template == null) return;
+    int mask = switch (source) {
+      case TICK -> template.tickMask();
+      case ECONOMY -> template.economyMask();
+      case ACTION, STATIC -> template.lineMask();
+    };
+    mark(state, mask);
+  }
+
+  public void markAll(UUID playerId) {
+    HudPlayerState state = states.get(playerId);
+    if (state == null) return;
+    mark(state, HudProfileTemplate.ALL_LINES);
+  }
+
+  /**
+   * Drains the dirty set and returns it together with the ticking set.
+   */
+  public List<UUID> drainVisits() {
+    List<UUID> out = new ArrayList<>(dirty.size() + ticking.size());
+    for (UUID id : dirty) {
+      if (dirty.remove(id) && !ticking.contains(id)) out.add(id);
+    }
+    out.addAll(ticking);
+    return out;
+  }
+
+  private void mark(HudPlayerState state, int mask) {
+    if (mask == 0) return;
+    state.markDirty(mask);
+    dirty.add(state.playerId());
   }
-}
\ No newline at end of file
+}
@@ -2,25 +2,29 @@ package net.orbis.orbisloot.command;
 
 import net.orbis.orbisloot.OrbisLootPlugin;
 import net.orbis.orbisloot.config.LootConfig;
+import net.orbis.orbisloot.config.LootRewardConfig;
 import net.orbis.orbisloot.service.LootService;
 import net.orbis.orbisloot.service.LootStatus;
 import net.orbis.zakum.api.util.BrandingText;
+import net.orbis.zakum.api.util.SamplerSimulation;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 
-import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public final class OrbisLootCommand implements CommandExecutor, TabCompleter {
 
-  private static final DecimalFormat PERCENT = new DecimalFormat("0.00");
+  private static final long MAX_SIMULATION_ROLLS = 100_000_000L;
 
   private final OrbisLootPlugin plugin;
   private final LootService service;
@@ -65,39 +69,52 @@ public final class OrbisLootCommand implements CommandExecutor, TabCompleter {
     if (sub.equals("simulate")) {
       if (!has(sender, "orbisloot.simulate")) return noPermission(sender);
       if (args.length < 3) {
-        send(sender, "&cUsage: /" + label + " simulate <crate> <rolls>");
+        send(sender, "&cUsage: /" + label + " simulate <crate> <rolls> [seed]");
         return true;
       }
 
-      int rolls;
+      long rolls;
       try {
-        rolls = Integer.parseInt(args[2]);
+        rolls = Long.parseLong(args[2]);
       } catch (NumberFormatException ignored) {
         send(sender, "&cInvalid rolls value: " + args[2]);
         return true;
       }
 
-      if (rolls < 1 || rolls > 1_000_000) {
-        send(sender, "&cRolls must be between 1 and 1,000,000.");
+      if (rolls < 1 || rolls > MAX_SIMULATION_ROLLS) {
+        send(sender, "&cRolls must be between 1 and 100,000,000.");
         return true;
       }
 
-      Map<String, Integer> counts = service.simulate(args[1], rolls);
-      if (counts.isEmpty()) {
-        send(sender, "&cUnknown crate or no rewards: " + args[1]);
-        return true;
+      long seed;
+      if (args.length >= 4) {
+        try {
+          seed = Long.parseLong(args[3]);
+        } catch (NumberFormatException ignored) {
+          send(sender, "&cInvalid seed: " + args[3]);
+          return true;
+        }
+      } else {
+        seed = ThreadLocalRandom.current().nextLong();
       }
 
-      send(sender, "&8[<gradient:#38bdf8:#60a5fa>Orbis</gradient>&8] &bSimulation &7(" + args[1] + ", rolls=" + rolls + ")");
-      counts.entrySet().stream()
-        .sorted(Comparator.comparingInt((Map.Entry<String, Integer> e) -> e.getValue()).reversed())
-        .forEach(entry -> {
-          double pct = (double) entry.getValue() * 100.0D / (double) rolls;
-          send(
-            sender,
-            "&7" + entry.getKey() + "=&f" + entry.getValue() + "&8 (" + PERCENT.format(pct) + "%)"
-          );
-        });
+      String crateId = args[1];
+      send(sender, "&8[<gradient:#38bdf8:#60a5fa>Orbis</gradient>&8] &bSimulating &7(" + crateId + ", rolls=" + rolls + ", seed=" + seed + ")");
+      AtomicInteger reportedQuarter = new AtomicInteger();
+      service.simulate(crateId, rolls, seed, (completed, total) -> {
+        int quarter = (int) (completed * 4L / total);
+        int previous = reportedQuarter.get();
+        if (quarter > previous && quarter < 4 && reportedQuarter.compareAndSet(previous, quarter)) {
+          send(sender, "&7Simulation " + (quarter * 25) + "% &8(" + completed + "/" + total + ")");
+        }
+      }).whenComplete((result, error) -> {
+        if (error != null) {
+          Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+          send(sender, "&c" + cause.getMessage());
+          return;
+        }
+        sendSimulation(sender, crateId, result);
+      });
       return true;
     }
 
@@ -140,7 +157,33 @@ public final class OrbisLootCommand implements CommandExecutor, TabCompleter {
     send(sender, "&8[<gradient:#38bdf8:#60a5fa>Orbis</gradient>&8] &bLoot Commands");
     if (has(sender, "orbisloot.admin")) send(sender, "&7/orbisloot status");
     if (has(sender, "orbisloot.reload")) send(sender, "&7/orbisloot reload");
-    if (has(sender, "orbisloot.simulate")) send(sender, "&7/orbisloot simulate <crate> <rolls>");
+    if (has(sender, "orbisloot.simulate")) send(sender, "&7/orbisloot simulate <crate> <rolls> [seed]");
+  }
+
+  private static void sendSimulation(CommandSender sender, String crateId, SamplerSimulation.Result<LootRewardConfig> result) {
+    send(
+      sender,
+      "&8[<gradient:#38bdf8:#60a5fa>Orbis</gradient>&8] &bSimulation &7(" + crateId
+        + ", rolls=" + result.rolls()
+        + ", seed=" + result.seed()
+        + ", " + TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()) + "ms)"
+    );
+    result.outcomes().stream()
+      .sorted(Comparator.comparingLong((SamplerSimulation.Outcome<LootRewardConfig> o) -> o.count()).reversed())
+      .forEach(outcome -> send(
+        sender,
+        "&7" + outcome.item().id() + "=&f" + outcome.count()
+          + "&8 (" + percent(outcome.observedRate()) + "%"
+          + ", expected " + Math.round(outcome.expectedCount())
+          + " +/- " + Math.round(Math.sqrt(outcome.countVariance()))
+          + ", 95% " + percent(outcome.lower95()) + "-" + percent(outcome.upper95()) + "%)"
+          + (outcome.withinInterval() ? "" : " &c!")
+      ));
+  }
+
+  // DecimalFormat is not thread-safe; simulation results arrive on worker threads.
+  private static String percent(double rate) {
+    return String.format(Locale.ROOT, "%.2f", rate * 100.0D);
   }
 
   private static void send(CommandSender sender, String message) {
@@ -4,16 +4,19 @@ import net.orbis.orbisloot.config.LootConfig;
 import net.orbis.orbisloot.config.LootCrateConfig;
 import net.orbis.orbisloot.config.LootRewardConfig;
 import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.util.AliasSampler;
+import net.orbis.zakum.api.util.SamplerSimulation;
 import org.bukkit.plugin.Plugin;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 public final class DefaultLootService implements LootService {
@@ -24,6 +27,7 @@ public final class DefaultLootService implements LootService {
   private final ConcurrentHashMap<UUID, Instant> cooldowns = new ConcurrentHashMap<>();
 
   private volatile LootConfig config;
+  private volatile Map<String, AliasSampler<LootRewardConfig>> samplers;
   private volatile boolean running;
   private volatile int taskId = -1;
 
@@ -32,6 +36,7 @@ public final class DefaultLootService implements LootService {
     this.zakum = zakum;
     this.config = config;
     this.logger = logger;
+    this.samplers = buildSamplers(config);
   }
 
   @Override
@@ -53,6 +58,7 @@ public final class DefaultLootService implements LootService {
 
   @Override
   public void reload(LootConfig config) {
+    this.samplers = buildSamplers(config);
     this.config = config;
     if (!running) return;
     if (config.enabled()) {
@@ -79,21 +85,21 @@ public final class DefaultLootService implements LootService {
   }
 
   @Override
-  public Map<String, Integer> simulate(String crateId, int rolls) {
+  public CompletableFuture<SamplerSimulation.Result<LootRewardConfig>> simulate(
+    String crateId,
+    long rolls,
+    long seed,
+    SamplerSimulation.Progress progress
+  ) {
     LootCrateConfig crate = config.crate(crateId);
-    if (crate == null || rolls <= 0) return Map.of();
-
-    Map<String, Integer> counts = new LinkedHashMap<>();
-    for (LootRewardConfig reward : crate.rewards()) {
-      counts.put(reward.id(), 0);
+    AliasSampler<LootRewardConfig> sampler = crate == null ? null : samplers.get(crate.id());
+    if (sampler == null) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown crate or no rewards: " + crateId));
     }
-
-    for (int i = 0; i < rolls; i++) {
-      LootRewardConfig reward = pick(crate);
-      if (reward == null) continue;
-      counts.computeIfPresent(reward.id(), (k, v) -> v + 1);
+    if (rolls <= 0) {
+      return CompletableFuture.failedFuture(new IllegalArgumentException("rolls must be positive"));
     }
-    return Map.copyOf(counts);
+    return SamplerSimulation.run(sampler, rolls, seed, ForkJoinPool.commonPool(), progress);
   }
 
   @Override
@@ -101,17 +107,13 @@ public final class DefaultLootService implements LootService {
     return config.crates().keySet();
   }
 
-  private LootRewardConfig pick(LootCrateConfig crate) {
-    double total = crate.totalWeight();
-    if (total <= 0.0D) return null;
-
-    double roll = ThreadLocalRandom.current().nextDouble(total);
-    double cursor = 0.0D;
-    for (LootRewardConfig reward : crate.rewards()) {
-      cursor += reward.weight();
-      if (roll <= cursor) return reward;
+  private static Map<String, AliasSampler<LootRewardConfig>> buildSamplers(LootConfig config) {
+    Map<String, AliasSampler<LootRewardConfig>> out = new HashMap<>();
+    for (LootCrateConfig crate : config.crates().values()) {
+      if (crate.totalWeight() <= 0.0D) continue;
+      out.put(crate.id(), AliasSampler.of(crate.rewards(), LootRewardConfig::weight));
     }
-    return crate.rewards().isEmpty() ? null : crate.rewards().get(crate.rewards().size() - 1);
+    return Map.copyOf(out);
   }
 
   private void cleanupCooldowns() {
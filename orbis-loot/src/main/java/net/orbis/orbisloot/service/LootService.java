@@ -1,9 +1,11 @@
 package net.orbis.orbisloot.service;
 
 import net.orbis.orbisloot.config.LootConfig;
+import net.orbis.orbisloot.config.LootRewardConfig;
+import net.orbis.zakum.api.util.SamplerSimulation;
 
-import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public interface LootService {
 
@@ -15,7 +17,16 @@ public interface LootService {
 
   LootStatus snapshot();
 
-  Map<String, Integer> simulate(String crateId, int rolls);
+  /**
+   * Rolls a crate's reward table off-thread. Results are deterministic for a given seed.
+   * Completes exceptionally with {@link IllegalArgumentException} for unknown or empty crates.
+   */
+  CompletableFuture<SamplerSimulation.Result<LootRewardConfig>> simulate(
+    String crateId,
+    long rolls,
+    long seed,
+    SamplerSimulation.Progress progress
+  );
 
   Set<String> crateIds();
 }
@@ -1,5 +1,6 @@
 plugins {
   `java-library`
+  alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -10,3 +11,11 @@ dependencies {
   testRuntimeOnly(libs.junit.jupiter.engine)
   testRuntimeOnly(libs.junit.platform.launcher)
 }
+
+// Sampling benchmarks (src/jmh): ./gradlew :zakum-api:jmh
+jmh {
+  jmhVersion.set(libs.versions.jmh)
+  fork.set(1)
+  warmupIterations.set(2)
+  iterations.set(3)
+}
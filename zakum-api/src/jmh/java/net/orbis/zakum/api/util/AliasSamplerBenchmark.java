@@ -0,0 +1,80 @@
+package net.orbis.zakum.api.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One weighted draw through {@link AliasSampler} against a linear cumulative
+ * scan and a binary search over cumulative weights.
+ *
+ * Run: ./gradlew :zakum-api:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AliasSamplerBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int size;
+
+  private double[] weights;
+  private double[] cumulative;
+  private double total;
+  private AliasSampler<Integer> sampler;
+  private SplittableRandom random;
+
+  @Setup
+  public void setup() {
+    weights = new double[size];
+    cumulative = new double[size];
+    SplittableRandom seed = new SplittableRandom(size);
+    AliasSampler.Builder<Integer> builder = AliasSampler.builder();
+    total = 0.0;
+    for (int i = 0; i < size; i++) {
+      weights[i] = 1.0 + seed.nextDouble(100.0);
+      total += weights[i];
+      cumulative[i] = total;
+      builder.add(i, weights[i]);
+    }
+    sampler = builder.build();
+    random = new SplittableRandom(1L);
+  }
+
+  @Benchmark
+  public int linear() {
+    double roll = random.nextDouble() * total;
+    double cursor = 0.0;
+    for (int i = 0; i < weights.length; i++) {
+      cursor += weights[i];
+      if (roll <= cursor) return i;
+    }
+    return weights.length - 1;
+  }
+
+  @Benchmark
+  public int binary() {
+    double roll = random.nextDouble() * total;
+    int lo = 0;
+    int hi = cumulative.length - 1;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (roll <= cumulative[mid]) hi = mid;
+      else lo = mid + 1;
+    }
+    return lo;
+  }
+
+  @Benchmark
+  public int alias() {
+    return sampler.sampleIndex(random);
+  }
+}
@@ -12,6 +12,7 @@ import net.orbis.zakum.api.chat.ChatPacketBuffer;
 import net.orbis.zakum.api.concurrent.ZakumScheduler;
 import net.orbis.zakum.api.db.ZakumDatabase;
 import net.orbis.zakum.api.entitlements.EntitlementService;
+import net.orbis.zakum.api.names.NameResolver;
 import net.orbis.zakum.api.net.ControlPlaneClient;
 import net.orbis.zakum.api.packet.AnimationService;
 import net.orbis.zakum.api.progression.ProgressionService;
@@ -91,6 +92,13 @@ public interface ZakumApi {
     return capability(ZakumCapabilities.CHAT_BUFFER);
   }
 
+  /**
+   * Optional shared UUID to player-name resolver (leaderboards, menus, history).
+   */
+  default Optional<NameResolver> names() {
+    return capability(ZakumCapabilities.NAMES);
+  }
+
   /**
    * Optional: Orbis Cloud Bot / control-plane integration.
    * Keep this interface stable; implementation can evolve.
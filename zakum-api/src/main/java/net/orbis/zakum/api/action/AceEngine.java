@@ -1,8 +1,11 @@
 package net.orbis.zakum.api.action;
 
+import net.orbis.zakum.api.util.Template;
+import net.orbis.zakum.api.util.TemplateContext;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +15,17 @@ public interface AceEngine {
 
   void executeScript(List<String> script, ActionContext context);
 
+  /**
+   * Runs pre-compiled script lines rendered with {@code values}, so callers
+   * need no per-run placeholder replace chains.
+   */
+  default void executeScript(List<Template> script, TemplateContext values, ActionContext context) {
+    if (script == null || script.isEmpty()) return;
+    List<String> lines = new ArrayList<>(script.size());
+    for (Template line : script) lines.add(line.render(values));
+    executeScript(lines, context);
+  }
+
   void registerEffect(String key, EffectAction action);
 
   record ActionContext(Player actor, Optional<Entity> victim, Map<String, Object> metadata) {
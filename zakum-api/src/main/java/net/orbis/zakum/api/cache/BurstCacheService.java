@@ -1,5 +1,6 @@
 package net.orbis.zakum.api.cache;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -27,8 +28,35 @@ public interface BurstCacheService {
 
   CompletableFuture<Void> remove(String namespace, String key);
 
+  /**
+   * Sorted set: sets a member's score (Redis {@code ZADD}).
+   *
+   * Sorted sets have no local fallback; these futures fail when Redis is
+   * unavailable so callers can fall back to their own in-memory ranking.
+   */
+  default CompletableFuture<Void> scoreSet(String namespace, String key, String member, double score) {
+    return CompletableFuture.failedFuture(new UnsupportedOperationException("sorted sets not supported"));
+  }
+
+  /**
+   * Sorted set: 0-based rank by descending score (Redis {@code ZREVRANK}); null when absent.
+   */
+  default CompletableFuture<Long> reverseRank(String namespace, String key, String member) {
+    return CompletableFuture.failedFuture(new UnsupportedOperationException("sorted sets not supported"));
+  }
+
+  /**
+   * Sorted set: members at descending ranks {@code [start, stop]} with scores
+   * (Redis {@code ZREVRANGE ... WITHSCORES}).
+   */
+  default CompletableFuture<List<ScoredMember>> reverseRange(String namespace, String key, long start, long stop) {
+    return CompletableFuture.failedFuture(new UnsupportedOperationException("sorted sets not supported"));
+  }
+
   Snapshot snapshot();
 
+  record ScoredMember(String member, double score) {}
+
   record Snapshot(
     boolean configuredEnabled,
     boolean runtimeEnabled,
@@ -12,9 +12,13 @@ import net.orbis.zakum.api.action.AceEngine;
 import net.orbis.zakum.api.progression.ProgressionService;
 import net.orbis.zakum.api.storage.StorageService;
 import net.orbis.zakum.api.luckperms.LuckPermsService;
+import net.orbis.zakum.api.names.NameResolver;
 import net.orbis.zakum.api.net.ControlPlaneClient;
 import net.orbis.zakum.api.packet.AnimationService;
+import net.orbis.zakum.api.packet.TextDisplayService;
+import net.orbis.zakum.api.packet.VirtualEntityService;
 import net.orbis.zakum.api.packets.PacketService;
+import net.orbis.zakum.api.packets.SidebarPacketWriter;
 import net.orbis.zakum.api.placeholders.PlaceholderService;
 import net.orbis.zakum.api.social.SocialService;
 import net.orbis.zakum.api.storage.DataStore;
@@ -50,12 +54,18 @@ public final class ZakumCapabilities {
     Capability.of("zakum:burst_cache", BurstCacheService.class);
   public static final Capability<AnimationService> ANIMATIONS =
     Capability.of("zakum:animations", AnimationService.class);
+  public static final Capability<TextDisplayService> TEXT_DISPLAYS =
+    Capability.of("zakum:text_displays", TextDisplayService.class);
+  public static final Capability<VirtualEntityService> VIRTUAL_ENTITIES =
+    Capability.of("zakum:virtual_entities", VirtualEntityService.class);
   public static final Capability<ControlPlaneClient> CONTROL_PLANE =
     Capability.of("zakum:control_plane", ControlPlaneClient.class);
   public static final Capability<DataStore> DATA_STORE =
     Capability.of("zakum:data_store", DataStore.class);
   public static final Capability<SocialService> SOCIAL =
     Capability.of("zakum:social", SocialService.class);
+  public static final Capability<NameResolver> NAMES =
+    Capability.of("zakum:names", NameResolver.class);
   public static final Capability<ChatPacketBuffer> CHAT_BUFFER =
     Capability.of("zakum:chat_buffer", ChatPacketBuffer.class);
   public static final Capability<BridgeManager> BRIDGE_MANAGER =
@@ -65,6 +75,8 @@ public final class ZakumCapabilities {
 
   public static final Capability<PacketService> PACKETS =
     Capability.of("zakum:packets", PacketService.class);
+  public static final Capability<SidebarPacketWriter> SIDEBAR_PACKETS =
+    Capability.of("zakum:sidebar_packets", SidebarPacketWriter.class);
   public static final Capability<PlaceholderService> PLACEHOLDERS =
     Capability.of("zakum:placeholders", PlaceholderService.class);
   public static final Capability<EconomyService> ECONOMY =
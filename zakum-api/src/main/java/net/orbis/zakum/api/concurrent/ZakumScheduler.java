@@ -16,6 +16,14 @@ public interface ZakumScheduler {
 
   void runAtEntity(Entity entity, Runnable task);
 
+  /**
+   * Repeats {@code task} on the entity's scheduler until cancelled or the
+   * entity is removed (e.g. the player quits).
+   *
+   * @return task id for {@link #cancelTask(int)}, or -1 if the entity is already gone
+   */
+  int runAtEntityTimer(Plugin owner, Entity entity, Runnable task, long delayTicks, long periodTicks);
+
   Executor asyncExecutor();
 
   default <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
@@ -144,7 +144,8 @@ public record ZakumSettings(
 
   public record Cache(
     Defaults defaults,
-    Burst burst
+    Burst burst,
+    Names names
   ) {
     public record Defaults(
       long maximumSize,
@@ -159,6 +160,15 @@ public record ZakumSettings(
       long defaultTtlSeconds,
       long maximumLocalEntries
     ) {}
+
+    public record Names(
+      long maximumSize,
+      long expireAfterAccessSeconds,
+      int flushIntervalSeconds,
+      boolean redisEnabled,
+      String redisUri,
+      String redisKey
+    ) {}
   }
 
   public record Social(
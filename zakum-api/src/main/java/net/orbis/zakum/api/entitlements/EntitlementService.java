@@ -1,15 +1,49 @@
 package net.orbis.zakum.api.entitlements;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Entitlements are gameplay-authoritative.
+ *
+ * Grants and revokes publish an {@link #CHANGED_ACTION} ActionEvent
+ * (key = entitlement key, value = scope) so modules can react within a tick
+ * instead of polling every player.
  */
 public interface EntitlementService {
 
+  /** ActionBus event type published after a grant or revoke. */
+  String CHANGED_ACTION = "entitlement_changed";
+
   CompletableFuture<Boolean> has(UUID playerId, EntitlementScope scope, String serverId, String entitlementKey);
 
+  /**
+   * Bulk check: the subset of {@code playerIds} holding the entitlement.
+   *
+   * Implementations should answer with one query per chunk rather than one per
+   * player. The default fans out to {@link #has}.
+   */
+  default CompletableFuture<Set<UUID>> hasMany(Collection<UUID> playerIds, EntitlementScope scope, String serverId, String entitlementKey) {
+    if (playerIds == null || playerIds.isEmpty()) return CompletableFuture.completedFuture(Set.of());
+
+    List<UUID> ids = List.copyOf(playerIds);
+    List<CompletableFuture<Boolean>> checks = ids.stream()
+      .map(id -> has(id, scope, serverId, entitlementKey))
+      .toList();
+
+    return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)).thenApply(v -> {
+      Set<UUID> out = new HashSet<>();
+      for (int i = 0; i < ids.size(); i++) {
+        if (Boolean.TRUE.equals(checks.get(i).join())) out.add(ids.get(i));
+      }
+      return out;
+    });
+  }
+
   CompletableFuture<Void> grant(UUID playerId, EntitlementScope scope, String serverId, String entitlementKey, Long expiresAtEpochSeconds);
 
   CompletableFuture<Void> revoke(UUID playerId, EntitlementScope scope, String serverId, String entitlementKey);
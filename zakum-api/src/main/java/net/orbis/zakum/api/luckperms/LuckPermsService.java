@@ -2,6 +2,7 @@ package net.orbis.zakum.api.luckperms;
 
 import org.bukkit.entity.Player;
 
+import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -9,7 +10,8 @@ import java.util.concurrent.CompletableFuture;
  * Optional LuckPerms bridge.
  *
  * Read-only by default: this service is intended to expose authoritative meta
- * (prefix/suffix/groups) without mutating permission state.
+ * (prefix/suffix/groups) without mutating permission state. The one write path
+ * is {@link #grant(UUID, Collection)}, which implementations may batch.
  */
 public interface LuckPermsService {
 
@@ -49,4 +51,15 @@ public interface LuckPermsService {
    * Async: checks if user is in a group (inherited groups included).
    */
   CompletableFuture<Boolean> inGroup(UUID uuid, String groupName);
+
+  /**
+   * Async: adds permission nodes to a user, loading offline users if necessary.
+   *
+   * Grants submitted for the same user within one tick are coalesced into a
+   * single load/modify/save. Completes with false when no permission backend
+   * is available.
+   */
+  default CompletableFuture<Boolean> grant(UUID uuid, Collection<PermissionGrant> grants) {
+    return CompletableFuture.completedFuture(false);
+  }
 }
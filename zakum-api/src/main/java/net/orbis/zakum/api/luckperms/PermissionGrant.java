@@ -0,0 +1,66 @@
+package net.orbis.zakum.api.luckperms;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A parsed permission node grant.
+ *
+ * Built once when reward or script definitions load, so granting never
+ * re-parses command strings. A zero duration means permanent.
+ */
+public record PermissionGrant(String node, Duration duration) {
+
+  public PermissionGrant {
+    Objects.requireNonNull(node, "node");
+    node = node.trim();
+    if (node.isEmpty()) throw new IllegalArgumentException("node is blank");
+    duration = duration == null || duration.isNegative() ? Duration.ZERO : duration;
+  }
+
+  public static PermissionGrant permanent(String node) {
+    return new PermissionGrant(node, Duration.ZERO);
+  }
+
+  public boolean temporary() {
+    return !duration.isZero();
+  }
+
+  /**
+   * Parses {@code "<node> [duration]"}, e.g. {@code "vip.fly 1d"}.
+   *
+   * @return null when the spec is blank
+   */
+  public static PermissionGrant parse(String spec) {
+    if (spec == null || spec.isBlank()) return null;
+    String[] parts = spec.trim().split("\\s+");
+    Duration duration = parts.length >= 2 ? parseDuration(parts[1]) : Duration.ZERO;
+    return new PermissionGrant(parts[0], duration);
+  }
+
+  /**
+   * Parses {@code 30s}, {@code 5m}, {@code 2h}, {@code 1d}, {@code 1w} or plain seconds.
+   * Malformed values yield {@link Duration#ZERO}.
+   */
+  public static Duration parseDuration(String raw) {
+    if (raw == null || raw.isBlank()) return Duration.ZERO;
+    String s = raw.trim().toLowerCase(Locale.ROOT);
+    try {
+      char unit = s.charAt(s.length() - 1);
+      if (Character.isDigit(unit)) return Duration.ofSeconds(Long.parseLong(s));
+
+      long value = Long.parseLong(s.substring(0, s.length() - 1));
+      return switch (unit) {
+        case 's' -> Duration.ofSeconds(value);
+        case 'm' -> Duration.ofMinutes(value);
+        case 'h' -> Duration.ofHours(value);
+        case 'd' -> Duration.ofDays(value);
+        case 'w' -> Duration.ofDays(value * 7);
+        default -> Duration.ZERO;
+      };
+    } catch (RuntimeException e) {
+      return Duration.ZERO;
+    }
+  }
+}
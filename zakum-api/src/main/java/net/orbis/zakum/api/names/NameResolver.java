@@ -0,0 +1,39 @@
+package net.orbis.zakum.api.names;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Last-known player names by UUID, shared by every module.
+ *
+ * Lookups never block: {@link #cached} answers from memory only, and
+ * {@link #resolveAll} resolves every miss in one bulk lookup off-thread.
+ * Memory is bounded; names of players not seen recently are reloaded on demand.
+ */
+public interface NameResolver {
+
+  /**
+   * @return the last-known name, or null when it is not in memory
+   */
+  String cached(UUID playerId);
+
+  /**
+   * Names for the given players. Ids with no recorded name are absent from the result.
+   */
+  CompletableFuture<Map<UUID, String>> resolveAll(Collection<UUID> playerIds);
+
+  default CompletableFuture<String> resolve(UUID playerId) {
+    if (playerId == null) return CompletableFuture.completedFuture(null);
+    String hit = cached(playerId);
+    if (hit != null) return CompletableFuture.completedFuture(hit);
+    return resolveAll(List.of(playerId)).thenApply(names -> names.get(playerId));
+  }
+
+  /**
+   * Records a name seen now (normally at login). Persisted by the next batched write.
+   */
+  void remember(UUID playerId, String name);
+}
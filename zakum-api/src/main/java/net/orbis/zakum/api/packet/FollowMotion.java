@@ -0,0 +1,130 @@
+package net.orbis.zakum.api.packet;
+
+/**
+ * Follow path of one virtual entity trailing its owner.
+ *
+ * Each step eases the entity toward a point behind the owner; it stays put
+ * while the owner is within {@code minDistance}, and snaps when the gap grows
+ * past {@code snapDistance}. Not thread-safe: a motion belongs to the thread
+ * that ticks its owner.
+ */
+public final class FollowMotion {
+
+  public enum Step {
+    /** Position unchanged. */
+    NONE,
+    /** Moved by {@link #dx()}/{@link #dy()}/{@link #dz()}, which fit a relative move. */
+    MOVE,
+    /** Jumped to {@link #x()}/{@link #y()}/{@link #z()}; send a teleport. */
+    TELEPORT
+  }
+
+  private static final double SETTLE_DISTANCE_SQ = 0.0025;
+
+  private final double backOffset;
+  private final double minDistanceSq;
+  private final double snapDistanceSq;
+  private final double smoothing;
+
+  private double x;
+  private double y;
+  private double z;
+  private float yaw;
+  private double dx;
+  private double dy;
+  private double dz;
+
+  /**
+   * @param backOffset  blocks behind the owner the entity settles at
+   * @param minDistance owner distance below which the entity does not move
+   * @param snapDistance distance to the target above which the entity jumps
+   * @param smoothing   fraction of the remaining distance covered per step, in (0, 1]
+   */
+  public FollowMotion(double backOffset, double minDistance, double snapDistance, double smoothing) {
+    if (!(smoothing > 0.0 && smoothing <= 1.0)) throw new IllegalArgumentException("smoothing must be in (0, 1]");
+    this.backOffset = backOffset;
+    this.minDistanceSq = minDistance * minDistance;
+    this.snapDistanceSq = snapDistance * snapDistance;
+    this.smoothing = smoothing;
+  }
+
+  /**
+   * Places the entity behind an owner at the given position, without a step.
+   */
+  public void reset(double ownerX, double ownerY, double ownerZ, float ownerYaw) {
+    double rad = Math.toRadians(ownerYaw);
+    this.x = ownerX + Math.sin(rad) * backOffset;
+    this.y = ownerY;
+    this.z = ownerZ - Math.cos(rad) * backOffset;
+    this.yaw = ownerYaw;
+    this.dx = 0.0;
+    this.dy = 0.0;
+    this.dz = 0.0;
+  }
+
+  public Step step(double ownerX, double ownerY, double ownerZ, float ownerYaw) {
+    dx = 0.0;
+    dy = 0.0;
+    dz = 0.0;
+
+    double ox = ownerX - x;
+    double oy = ownerY - y;
+    double oz = ownerZ - z;
+    if (ox * ox + oy * oy + oz * oz < minDistanceSq) return Step.NONE;
+
+    // Minecraft yaw: 0 faces +Z, 90 faces -X; "behind" is the opposite.
+    double rad = Math.toRadians(ownerYaw);
+    double tx = ownerX + Math.sin(rad) * backOffset;
+    double tz = ownerZ - Math.cos(rad) * backOffset;
+
+    double gx = tx - x;
+    double gy = ownerY - y;
+    double gz = tz - z;
+    double gap = gx * gx + gy * gy + gz * gz;
+    if (gap < SETTLE_DISTANCE_SQ) return Step.NONE;
+
+    if (gap > snapDistanceSq) {
+      x = tx;
+      y = ownerY;
+      z = tz;
+      yaw = ownerYaw;
+      return Step.TELEPORT;
+    }
+
+    dx = gx * smoothing;
+    dy = gy * smoothing;
+    dz = gz * smoothing;
+    double limit = VirtualEntityService.MAX_RELATIVE_MOVE;
+    if (Math.abs(dx) > limit || Math.abs(dy) > limit || Math.abs(dz) > limit) {
+      x += dx;
+      y += dy;
+      z += dz;
+      dx = 0.0;
+      dy = 0.0;
+      dz = 0.0;
+      return Step.TELEPORT;
+    }
+
+    x += dx;
+    y += dy;
+    z += dz;
+    if (dx * dx + dz * dz > 1.0E-6) {
+      yaw = (float) Math.toDegrees(Math.atan2(-dx, dz));
+    }
+    return Step.MOVE;
+  }
+
+  public double x() { return x; }
+
+  public double y() { return y; }
+
+  public double z() { return z; }
+
+  public float yaw() { return yaw; }
+
+  public double dx() { return dx; }
+
+  public double dy() { return dy; }
+
+  public double dz() { return dz; }
+}
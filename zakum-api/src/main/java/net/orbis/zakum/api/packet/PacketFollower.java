@@ -0,0 +1,196 @@
+package net.orbis.zakum.api.packet;
+
+import net.orbis.zakum.api.concurrent.ZakumScheduler;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Virtual entities that trail their owners (pets, companions).
+ *
+ * Each follower ticks on its owner's entity scheduler, so the follow step
+ * runs on the region that owns the player (Folia-safe). Viewers are the
+ * owner plus players already tracking the owner within {@code viewDistance};
+ * they get a spawn when entering range, relative moves while in range and a
+ * destroy when leaving. Nothing is added to the world.
+ */
+public final class PacketFollower {
+
+  public record Settings(
+    double backOffset,
+    double minDistance,
+    double snapDistance,
+    double smoothing,
+    double viewDistance,
+    long periodTicks
+  ) {
+
+    public Settings {
+      if (viewDistance <= 0.0) throw new IllegalArgumentException("viewDistance must be positive");
+      periodTicks = Math.max(1L, periodTicks);
+    }
+  }
+
+  private final Plugin plugin;
+  private final ZakumScheduler scheduler;
+  private final VirtualEntityService entities;
+  private final Settings settings;
+  private final double viewDistanceSq;
+
+  private final ConcurrentHashMap<UUID, Follower> followers = new ConcurrentHashMap<>();
+
+  public PacketFollower(Plugin plugin, ZakumScheduler scheduler, VirtualEntityService entities, Settings settings) {
+    this.plugin = Objects.requireNonNull(plugin, "plugin");
+    this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+    this.entities = Objects.requireNonNull(entities, "entities");
+    this.settings = Objects.requireNonNull(settings, "settings");
+    this.viewDistanceSq = settings.viewDistance() * settings.viewDistance();
+  }
+
+  /**
+   * Replaces the owner's follower with a new {@code type} entity.
+   *
+   * @return false when no entity id or scheduler slot could be obtained
+   */
+  public boolean follow(Player owner, EntityType type) {
+    stop(owner.getUniqueId());
+
+    int entityId = entities.allocateEntityId(plugin.getName() + ":follower");
+    if (entityId < 0) return false;
+
+    Location at = owner.getLocation();
+    Follower f = new Follower(owner, entityId, type, new FollowMotion(
+      settings.backOffset(),
+      settings.minDistance(),
+      settings.snapDistance(),
+      settings.smoothing()
+    ));
+    f.motion.reset(at.getX(), at.getY(), at.getZ(), at.getYaw());
+    f.world = at.getWorld();
+    followers.put(owner.getUniqueId(), f);
+
+    f.taskId = scheduler.runAtEntityTimer(plugin, owner, () -> tick(f), 1L, settings.periodTicks());
+    if (f.taskId < 0) {
+      followers.remove(owner.getUniqueId(), f);
+      entities.releaseEntityId(entityId);
+      return false;
+    }
+    return true;
+  }
+
+  public void stop(UUID owner) {
+    Follower f = followers.remove(owner);
+    if (f == null) return;
+    scheduler.cancelTask(f.taskId);
+
+    int[] ids = {f.entityId};
+    synchronized (f) {
+      f.stopped = true;
+      for (Player viewer : f.viewers.values()) entities.destroy(viewer, ids);
+      f.viewers.clear();
+    }
+    entities.releaseEntityId(f.entityId);
+  }
+
+  public void stopAll() {
+    for (UUID owner : List.copyOf(followers.keySet())) stop(owner);
+  }
+
+  public boolean active(UUID owner) {
+    return followers.containsKey(owner);
+  }
+
+  public int size() {
+    return followers.size();
+  }
+
+  private void tick(Follower f) {
+    synchronized (f) {
+      if (f.stopped) return;
+      Player owner = f.owner;
+      if (!owner.isOnline()) return;
+
+      Location at = owner.getLocation();
+      World world = at.getWorld();
+      FollowMotion.Step step;
+      if (world != f.world) {
+        // Old-world viewers lose the entity; new-world viewers spawn it below.
+        int[] ids = {f.entityId};
+        for (Player viewer : f.viewers.values()) entities.destroy(viewer, ids);
+        f.viewers.clear();
+        f.world = world;
+        f.motion.reset(at.getX(), at.getY(), at.getZ(), at.getYaw());
+        step = FollowMotion.Step.NONE;
+      } else {
+        step = f.motion.step(at.getX(), at.getY(), at.getZ(), at.getYaw());
+      }
+
+      FollowMotion m = f.motion;
+      List<Player> inRange = viewers(owner, world, m);
+      for (Player viewer : inRange) {
+        if (f.viewers.putIfAbsent(viewer.getUniqueId(), viewer) == null) {
+          entities.spawn(viewer, f.entityId, f.type, m.x(), m.y(), m.z(), m.yaw());
+        } else if (step == FollowMotion.Step.MOVE) {
+          entities.move(viewer, f.entityId, m.dx(), m.dy(), m.dz(), m.yaw(), true);
+        } else if (step == FollowMotion.Step.TELEPORT) {
+          entities.teleport(viewer, f.entityId, m.x(), m.y(), m.z(), m.yaw(), true);
+        }
+      }
+
+      if (f.viewers.size() == inRange.size()) return;
+      int[] ids = {f.entityId};
+      Iterator<Map.Entry<UUID, Player>> it = f.viewers.entrySet().iterator();
+      while (it.hasNext()) {
+        Player viewer = it.next().getValue();
+        if (inRange.contains(viewer)) continue;
+        entities.destroy(viewer, ids);
+        it.remove();
+      }
+    }
+  }
+
+  private List<Player> viewers(Player owner, World world, FollowMotion m) {
+    List<Player> out = new ArrayList<>();
+    out.add(owner);
+    for (Player p : owner.getTrackedBy()) {
+      Location l = p.getLocation();
+      if (l.getWorld() != world) continue;
+      double x = l.getX() - m.x();
+      double y = l.getY() - m.y();
+      double z = l.getZ() - m.z();
+      if (x * x + y * y + z * z <= viewDistanceSq) out.add(p);
+    }
+    return out;
+  }
+
+  private static final class Follower {
+
+    final Player owner;
+    final int entityId;
+    final EntityType type;
+    final FollowMotion motion;
+    // Confined to the owner's scheduler thread except in stop(), both under the monitor.
+    final Map<UUID, Player> viewers = new HashMap<>();
+    World world;
+    volatile int taskId = -1;
+    boolean stopped;
+
+    Follower(Player owner, int entityId, EntityType type, FollowMotion motion) {
+      this.owner = owner;
+      this.entityId = entityId;
+      this.type = type;
+      this.motion = motion;
+    }
+  }
+}
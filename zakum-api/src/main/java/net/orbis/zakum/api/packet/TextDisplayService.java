@@ -0,0 +1,37 @@
+package net.orbis.zakum.api.packet;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Client-side text display entities (packet-only, never added to the world).
+ *
+ * Coordinates are in the viewer's current world. Text is a legacy
+ * section-coded string; '\n' separates lines. Entity ids should come from
+ * {@link #allocateEntityId(String)} so they never collide with other virtual
+ * entities (animations, crate effects).
+ */
+public interface TextDisplayService {
+
+  /**
+   * @return false when no packet backend is installed (calls become no-ops)
+   */
+  boolean available();
+
+  /**
+   * Leases a client-side entity id until {@link #releaseEntityId(int)}.
+   *
+   * @return the id, or -1 when the shared id range is exhausted
+   */
+  int allocateEntityId(String owner);
+
+  void releaseEntityId(int entityId);
+
+  boolean spawn(Player viewer, int entityId, double x, double y, double z, String text);
+
+  void updateText(Player viewer, int entityId, String text);
+
+  /**
+   * Destroys all given entities with a single packet.
+   */
+  void destroy(Player viewer, int[] entityIds);
+}
@@ -0,0 +1,47 @@
+package net.orbis.zakum.api.packet;
+
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+
+/**
+ * Client-side mobs and displays (packet-only, never added to the world).
+ *
+ * Entity ids share the range used by {@link TextDisplayService} and
+ * animations, so they never collide. Movement is sent as relative moves;
+ * callers fall back to {@link #teleport} when a single step exceeds
+ * {@link #MAX_RELATIVE_MOVE} on any axis. Implementations must be safe to
+ * call from any thread.
+ */
+public interface VirtualEntityService {
+
+  /** Largest per-axis delta a relative-move packet can encode. */
+  double MAX_RELATIVE_MOVE = 7.99;
+
+  /**
+   * @return false when no packet backend is installed (calls become no-ops)
+   */
+  boolean available();
+
+  /**
+   * Leases a client-side entity id until {@link #releaseEntityId(int)}.
+   *
+   * @return the id, or -1 when the shared id range is exhausted
+   */
+  int allocateEntityId(String owner);
+
+  void releaseEntityId(int entityId);
+
+  boolean spawn(Player viewer, int entityId, EntityType type, double x, double y, double z, float yaw);
+
+  /**
+   * Moves an entity by a delta and turns its body and head to {@code yaw}.
+   */
+  void move(Player viewer, int entityId, double dx, double dy, double dz, float yaw, boolean onGround);
+
+  void teleport(Player viewer, int entityId, double x, double y, double z, float yaw, boolean onGround);
+
+  /**
+   * Destroys all given entities with a single packet.
+   */
+  void destroy(Player viewer, int[] entityIds);
+}
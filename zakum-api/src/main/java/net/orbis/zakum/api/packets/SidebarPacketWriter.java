@@ -0,0 +1,39 @@
+package net.orbis.zakum.api.packets;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Client-side sidebar writer.
+ *
+ * Sends scoreboard objective/team packets directly to a single viewer without
+ * touching Bukkit scoreboards. Each sidebar line is one team whose prefix holds
+ * the line text, so a text change is a single team update packet.
+ *
+ * Text arguments are legacy section-coded strings (already colorized).
+ * Implementations must be safe to call from any thread.
+ */
+public interface SidebarPacketWriter {
+
+  /**
+   * @return true when objectives can hide score numbers (1.20.3+ number format)
+   */
+  boolean supportsBlankNumberFormat();
+
+  void createObjective(Player viewer, String objectiveId, String title);
+
+  void updateTitle(Player viewer, String objectiveId, String title);
+
+  void removeObjective(Player viewer, String objectiveId);
+
+  /**
+   * Creates a line team holding {@code entry}, and scores the entry on the objective.
+   */
+  void createLine(Player viewer, String objectiveId, String teamId, String entry, int score, String text);
+
+  /**
+   * Updates only the team prefix of an existing line.
+   */
+  void updateLine(Player viewer, String teamId, String text);
+
+  void removeLine(Player viewer, String objectiveId, String teamId, String entry);
+}
@@ -0,0 +1,146 @@
+package net.orbis.zakum.api.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Weighted sampler using Vose's alias method.
+ *
+ * O(n) build, O(1) sample (one bounded int + one double per draw).
+ * Immutable once built; build once per table at load and swap the reference
+ * on reload. The caller supplies the {@link RandomGenerator}, so a seeded
+ * generator makes outcomes reproducible and a per-thread one avoids contention.
+ */
+public final class AliasSampler<T> {
+
+  private final List<T> items;
+  private final double[] weights;
+  private final double total;
+  private final double[] probability;
+  private final int[] alias;
+
+  private AliasSampler(List<T> items, double[] weights, double total) {
+    this.items = items;
+    this.weights = weights;
+    this.total = total;
+
+    int n = weights.length;
+    this.probability = new double[n];
+    this.alias = new int[n];
+
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int smallSize = 0;
+    int largeSize = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / total;
+      if (scaled[i] < 1.0) small[smallSize++] = i;
+      else large[largeSize++] = i;
+    }
+
+    while (smallSize > 0 && largeSize > 0) {
+      int less = small[--smallSize];
+      int more = large[--largeSize];
+      probability[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+      if (scaled[more] < 1.0) small[smallSize++] = more;
+      else large[largeSize++] = more;
+    }
+    // Leftovers are 1.0 up to rounding error.
+    while (largeSize > 0) {
+      int index = large[--largeSize];
+      probability[index] = 1.0;
+      alias[index] = index;
+    }
+    while (smallSize > 0) {
+      int index = small[--smallSize];
+      probability[index] = 1.0;
+      alias[index] = index;
+    }
+  }
+
+  public static <T> Builder<T> builder() {
+    return new Builder<>();
+  }
+
+  /**
+   * Builds a sampler over {@code items}; non-positive or non-finite weights are skipped.
+   */
+  public static <T> AliasSampler<T> of(Collection<? extends T> items, ToDoubleFunction<? super T> weight) {
+    Objects.requireNonNull(items, "items");
+    Objects.requireNonNull(weight, "weight");
+    Builder<T> builder = new Builder<>();
+    for (T item : items) {
+      builder.add(item, weight.applyAsDouble(item));
+    }
+    return builder.build();
+  }
+
+  public T sample(RandomGenerator random) {
+    return items.get(sampleIndex(random));
+  }
+
+  public int sampleIndex(RandomGenerator random) {
+    Objects.requireNonNull(random, "random");
+    int column = random.nextInt(probability.length);
+    return random.nextDouble() < probability[column] ? column : alias[column];
+  }
+
+  public int size() {
+    return items.size();
+  }
+
+  public List<T> items() {
+    return items;
+  }
+
+  public double weight(int index) {
+    return weights[index];
+  }
+
+  public double totalWeight() {
+    return total;
+  }
+
+  /**
+   * @return probability of {@code index} in [0, 1]
+   */
+  public double chance(int index) {
+    return weights[index] / total;
+  }
+
+  public static final class Builder<T> {
+
+    private final List<T> items = new ArrayList<>();
+    private double[] weights = new double[8];
+
+    public Builder<T> add(T item, double weight) {
+      Objects.requireNonNull(item, "item");
+      if (Double.isNaN(weight) || Double.isInfinite(weight) || weight <= 0.0) return this;
+
+      if (items.size() == weights.length) {
+        weights = Arrays.copyOf(weights, weights.length * 2);
+      }
+      weights[items.size()] = weight;
+      items.add(item);
+      return this;
+    }
+
+    public AliasSampler<T> build() {
+      if (items.isEmpty()) throw new IllegalStateException("no items");
+
+      double[] w = Arrays.copyOf(weights, items.size());
+      double sum = 0.0;
+      for (double value : w) sum += value;
+      if (Double.isInfinite(sum)) throw new IllegalStateException("total weight overflows");
+      return new AliasSampler<>(List.copyOf(items), w, sum);
+    }
+  }
+}
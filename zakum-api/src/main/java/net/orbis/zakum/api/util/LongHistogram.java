@@ -0,0 +1,85 @@
+package net.orbis.zakum.api.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram over non-negative longs with power-of-two buckets.
+ *
+ * Bucket {@code i} holds values in {@code [2^(i-1), 2^i)} (bucket 0 holds 0),
+ * so recording is a leading-zero count plus one atomic increment. Percentiles
+ * are reported as the bucket's upper bound, which is within 2x of the true
+ * value: coarse, but cheap enough to record on every flush or tick.
+ */
+public final class LongHistogram {
+
+  private static final int BUCKETS = 64;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long value) {
+    long v = Math.max(0L, value);
+    buckets.incrementAndGet(bucket(v));
+    count.increment();
+    sum.add(v);
+    max.accumulateAndGet(v, Math::max);
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+  public long max() {
+    return max.get();
+  }
+
+  public double mean() {
+    long n = count.sum();
+    return n == 0 ? 0.0 : (double) sum.sum() / n;
+  }
+
+  /**
+   * @param quantile in {@code [0, 1]}
+   * @return upper bound of the bucket containing the quantile, capped at {@link #max()}
+   */
+  public long percentile(double quantile) {
+    long n = count.sum();
+    if (n == 0) return 0L;
+
+    long rank = (long) Math.ceil(Math.min(1.0, Math.max(0.0, quantile)) * n);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += buckets.get(i);
+      if (seen >= Math.max(1L, rank)) return Math.min(upperBound(i), max.get());
+    }
+    return max.get();
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0L);
+    count.reset();
+    sum.reset();
+    max.set(0L);
+  }
+
+  /**
+   * Compact one-line form: {@code n=.. p50=.. p99=.. max=..}.
+   */
+  public String summary() {
+    return "n=" + count() + " p50=" + percentile(0.50) + " p99=" + percentile(0.99) + " max=" + max();
+  }
+
+  static int bucket(long value) {
+    return value == 0L ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+  }
+
+  private static long upperBound(int bucket) {
+    if (bucket == 0) return 0L;
+    if (bucket >= 63) return Long.MAX_VALUE;
+    return (1L << bucket) - 1;
+  }
+}
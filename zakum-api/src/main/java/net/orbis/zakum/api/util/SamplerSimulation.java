@@ -0,0 +1,176 @@
+package net.orbis.zakum.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Parallel, seedable Monte-Carlo simulation of an {@link AliasSampler}.
+ *
+ * Rolls are split into a fixed number of chunks (independent of pool size),
+ * each with its own {@link SplittableRandom} split from the seed and its own
+ * {@code long[]} histogram, merged at the end. The same seed and roll count
+ * always produce the same histogram.
+ */
+public final class SamplerSimulation {
+
+  private static final long CHUNK_ROLLS = 1L << 16;
+  private static final int MAX_CHUNKS = 256;
+  private static final long PROGRESS_STEP = 1L << 16;
+  private static final double Z_95 = 1.959963984540054;
+
+  @FunctionalInterface
+  public interface Progress {
+    Progress NONE = (completed, total) -> {};
+
+    /**
+     * Called from worker threads; implementations must be thread-safe.
+     */
+    void update(long completed, long total);
+  }
+
+  /**
+   * Per-item result. Rates are in [0, 1]; the interval is a 95% Wilson score interval.
+   * Expected count and variance are the binomial moments implied by the configured weight.
+   */
+  public record Outcome<T>(
+    T item,
+    long count,
+    double expectedRate,
+    double observedRate,
+    double lower95,
+    double upper95,
+    double expectedCount,
+    double countVariance
+  ) {
+
+    public boolean withinInterval() {
+      return expectedRate >= lower95 && expectedRate <= upper95;
+    }
+  }
+
+  public record Result<T>(long rolls, long seed, long elapsedNanos, List<Outcome<T>> outcomes) {
+
+    /**
+     * Expected value per roll of {@code value}, from the observed histogram.
+     */
+    public double mean(ToDoubleFunction<? super T> value) {
+      if (rolls <= 0) return 0.0;
+      double sum = 0.0;
+      for (Outcome<T> outcome : outcomes) {
+        sum += value.applyAsDouble(outcome.item()) * outcome.count();
+      }
+      return sum / rolls;
+    }
+
+    /**
+     * Population variance per roll of {@code value}, from the observed histogram.
+     */
+    public double variance(ToDoubleFunction<? super T> value) {
+      if (rolls <= 0) return 0.0;
+      double mean = mean(value);
+      double sum = 0.0;
+      for (Outcome<T> outcome : outcomes) {
+        double diff = value.applyAsDouble(outcome.item()) - mean;
+        sum += diff * diff * outcome.count();
+      }
+      return sum / rolls;
+    }
+  }
+
+  private SamplerSimulation() {}
+
+  public static <T> CompletableFuture<Result<T>> run(AliasSampler<T> sampler, long rolls, long seed) {
+    return run(sampler, rolls, seed, ForkJoinPool.commonPool(), Progress.NONE);
+  }
+
+  public static <T> CompletableFuture<Result<T>> run(
+    AliasSampler<T> sampler,
+    long rolls,
+    long seed,
+    Executor executor,
+    Progress progress
+  ) {
+    Objects.requireNonNull(sampler, "sampler");
+    Objects.requireNonNull(executor, "executor");
+    if (rolls <= 0) throw new IllegalArgumentException("rolls must be positive");
+    Progress listener = progress == null ? Progress.NONE : progress;
+
+    int chunks = (int) Math.min(MAX_CHUNKS, Math.max(1L, (rolls + CHUNK_ROLLS - 1) / CHUNK_ROLLS));
+    long base = rolls / chunks;
+    long remainder = rolls % chunks;
+    AtomicLong completed = new AtomicLong();
+    long started = System.nanoTime();
+
+    // Split sequentially so chunk i always gets the same stream.
+    SplittableRandom root = new SplittableRandom(seed);
+    List<CompletableFuture<long[]>> parts = new ArrayList<>(chunks);
+    for (int i = 0; i < chunks; i++) {
+      SplittableRandom random = root.split();
+      long chunkRolls = base + (i < remainder ? 1 : 0);
+      parts.add(CompletableFuture.supplyAsync(
+        () -> histogram(sampler, chunkRolls, random, completed, rolls, listener),
+        executor
+      ));
+    }
+
+    return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+      long[] merged = new long[sampler.size()];
+      for (CompletableFuture<long[]> part : parts) {
+        long[] counts = part.join();
+        for (int i = 0; i < merged.length; i++) merged[i] += counts[i];
+      }
+      return new Result<>(rolls, seed, System.nanoTime() - started, outcomes(sampler, merged, rolls));
+    });
+  }
+
+  private static long[] histogram(
+    AliasSampler<?> sampler,
+    long rolls,
+    SplittableRandom random,
+    AtomicLong completed,
+    long total,
+    Progress progress
+  ) {
+    long[] counts = new long[sampler.size()];
+    long done = 0;
+    while (done < rolls) {
+      long batch = Math.min(PROGRESS_STEP, rolls - done);
+      for (long i = 0; i < batch; i++) {
+        counts[sampler.sampleIndex(random)]++;
+      }
+      done += batch;
+      progress.update(completed.addAndGet(batch), total);
+    }
+    return counts;
+  }
+
+  private static <T> List<Outcome<T>> outcomes(AliasSampler<T> sampler, long[] counts, long rolls) {
+    List<Outcome<T>> out = new ArrayList<>(counts.length);
+    double n = rolls;
+    double z2 = Z_95 * Z_95;
+    for (int i = 0; i < counts.length; i++) {
+      double p = counts[i] / n;
+      double denominator = 1.0 + z2 / n;
+      double center = (p + z2 / (2.0 * n)) / denominator;
+      double margin = Z_95 * Math.sqrt(p * (1.0 - p) / n + z2 / (4.0 * n * n)) / denominator;
+      out.add(new Outcome<>(
+        sampler.items().get(i),
+        counts[i],
+        sampler.chance(i),
+        p,
+        Math.max(0.0, center - margin),
+        Math.min(1.0, center + margin),
+        n * sampler.chance(i),
+        n * sampler.chance(i) * (1.0 - sampler.chance(i))
+      ));
+    }
+    return List.copyOf(out);
+  }
+}
@@ -0,0 +1,181 @@
+package net.orbis.zakum.api.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A configured string compiled once into literal and slot segments.
+ *
+ * Placeholders are {@code %name%} or {@code {name}} where {@code name} is in
+ * the template's {@link Slots} table; anything else stays literal. Rendering
+ * appends literals and slot values from a {@link TemplateContext} into a
+ * per-thread builder, so a render is one String allocation instead of one
+ * per {@code String.replace} call.
+ */
+public final class Template {
+
+  private static final int POOLED_BUILDER_LIMIT = 4096;
+  private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  private final String source;
+  private final Slots slots;
+  // literals.length == slotIndex.length + 1
+  private final String[] literals;
+  private final int[] slotIndex;
+  private final long slotMask;
+
+  private Template(String source, Slots slots, String[] literals, int[] slotIndex) {
+    this.source = source;
+    this.slots = slots;
+    this.literals = literals;
+    this.slotIndex = slotIndex;
+    long mask = 0L;
+    for (int slot : slotIndex) mask |= 1L << slot;
+    this.slotMask = mask;
+  }
+
+  public static Template compile(String source, Slots slots) {
+    Objects.requireNonNull(slots, "slots");
+    String s = source == null ? "" : source;
+
+    List<String> literals = new ArrayList<>();
+    List<Integer> slotIndex = new ArrayList<>();
+    StringBuilder literal = new StringBuilder(s.length());
+
+    int i = 0;
+    while (i < s.length()) {
+      char c = s.charAt(i);
+      char close = c == '%' ? '%' : c == '{' ? '}' : 0;
+      if (close != 0) {
+        int end = s.indexOf(close, i + 1);
+        if (end > i + 1) {
+          int slot = slots.index(s.substring(i + 1, end));
+          if (slot >= 0) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+            slotIndex.add(slot);
+            i = end + 1;
+            continue;
+          }
+        }
+      }
+      literal.append(c);
+      i++;
+    }
+    literals.add(literal.toString());
+
+    int[] idx = new int[slotIndex.size()];
+    for (int n = 0; n < idx.length; n++) idx[n] = slotIndex.get(n);
+    return new Template(s, slots, literals.toArray(String[]::new), idx);
+  }
+
+  public static List<Template> compileAll(List<String> sources, Slots slots) {
+    if (sources == null || sources.isEmpty()) return List.of();
+    List<Template> out = new ArrayList<>(sources.size());
+    for (String source : sources) {
+      if (source != null) out.add(compile(source, slots));
+    }
+    return List.copyOf(out);
+  }
+
+  public String source() {
+    return source;
+  }
+
+  public Slots slots() {
+    return slots;
+  }
+
+  /**
+   * @return true when the template has no slots (render never allocates)
+   */
+  public boolean constant() {
+    return slotIndex.length == 0;
+  }
+
+  /**
+   * @return true when slot {@code index} appears, so callers can skip computing unused values
+   */
+  public boolean uses(int index) {
+    return index >= 0 && index < 64 && (slotMask & (1L << index)) != 0L;
+  }
+
+  public String render(TemplateContext context) {
+    if (slotIndex.length == 0) return literals[0];
+
+    StringBuilder sb = BUILDER.get();
+    sb.setLength(0);
+    renderTo(sb, context);
+    String out = sb.toString();
+    if (sb.capacity() > POOLED_BUILDER_LIMIT) BUILDER.remove();
+    return out;
+  }
+
+  public void renderTo(StringBuilder out, TemplateContext context) {
+    if (context != null && context.slots() != slots) {
+      throw new IllegalArgumentException("context was built for a different slot table");
+    }
+    out.append(literals[0]);
+    for (int n = 0; n < slotIndex.length; n++) {
+      String value = context == null ? null : context.get(slotIndex[n]);
+      out.append(value == null ? "" : value);
+      out.append(literals[n + 1]);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return source;
+  }
+
+  /**
+   * Fixed, ordered table of slot names; a name's position is its slot index.
+   */
+  public static final class Slots {
+
+    private final String[] names;
+    private final Map<String, Integer> index;
+
+    private Slots(String[] names) {
+      this.names = names;
+      Map<String, Integer> map = new HashMap<>();
+      for (int i = 0; i < names.length; i++) {
+        if (map.put(names[i], i) != null) throw new IllegalArgumentException("duplicate slot: " + names[i]);
+      }
+      this.index = Map.copyOf(map);
+    }
+
+    public static Slots of(String... names) {
+      if (names.length > 64) throw new IllegalArgumentException("at most 64 slots");
+      for (String name : names) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("blank slot name");
+      }
+      return new Slots(names.clone());
+    }
+
+    /**
+     * @return the slot index, or -1 when {@code name} is not a slot
+     */
+    public int index(String name) {
+      Integer i = index.get(name);
+      return i == null ? -1 : i;
+    }
+
+    public String name(int index) {
+      return names[index];
+    }
+
+    public int size() {
+      return names.length;
+    }
+
+    @Override
+    public String toString() {
+      return Arrays.toString(names);
+    }
+  }
+}
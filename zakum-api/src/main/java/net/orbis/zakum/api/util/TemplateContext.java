@@ -0,0 +1,53 @@
+package net.orbis.zakum.api.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Slot values for rendering {@link Template}s that share one slot table.
+ *
+ * A context is a plain array and is not thread-safe; build one per render
+ * (or reuse one on a single thread after {@link #clear()}).
+ */
+public final class TemplateContext {
+
+  private final Template.Slots slots;
+  private final String[] values;
+
+  public TemplateContext(Template.Slots slots) {
+    this.slots = Objects.requireNonNull(slots, "slots");
+    this.values = new String[slots.size()];
+  }
+
+  public Template.Slots slots() {
+    return slots;
+  }
+
+  public TemplateContext set(int slot, String value) {
+    values[slot] = value;
+    return this;
+  }
+
+  public TemplateContext set(int slot, long value) {
+    values[slot] = Long.toString(value);
+    return this;
+  }
+
+  /**
+   * Sets a slot by name; unknown names are ignored.
+   */
+  public TemplateContext set(String name, String value) {
+    int slot = slots.index(name);
+    if (slot >= 0) values[slot] = value;
+    return this;
+  }
+
+  public String get(int slot) {
+    return values[slot];
+  }
+
+  public TemplateContext clear() {
+    Arrays.fill(values, null);
+    return this;
+  }
+}
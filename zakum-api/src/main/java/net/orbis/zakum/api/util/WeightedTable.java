@@ -1,26 +1,23 @@
 package net.orbis.zakum.api.util;
 
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 
 /**
  * Small weighted selection utility.
  *
- * O(n) build, O(log n) pick.
+ * O(n) build, O(1) pick (backed by {@link AliasSampler}).
  * Intended for: crate rewards, loot tables, etc.
  */
-public final class WeightedTable<T> {
+public final class WeightedTable<T> implements Iterable<T> {
 
-  private final List<T> items;
-  private final double[] cumulative;
-  private final double total;
+  private final AliasSampler<T> sampler;
 
-  private WeightedTable(List<T> items, double[] cumulative, double total) {
-    this.items = items;
-    this.cumulative = cumulative;
-    this.total = total;
+  private WeightedTable(AliasSampler<T> sampler) {
+    this.sampler = sampler;
   }
 
   public static <T> Builder<T> builder() {
@@ -28,47 +25,36 @@ public final class WeightedTable<T> {
   }
 
   public T pick(Random random) {
+    return pick((RandomGenerator) random);
+  }
+
+  public T pick(RandomGenerator random) {
     Objects.requireNonNull(random, "random");
-    if (items.isEmpty()) throw new IllegalStateException("table is empty");
+    return sampler.sample(random);
+  }
 
-    double r = random.nextDouble() * total;
+  public int size() { return sampler.size(); }
 
-    int lo = 0;
-    int hi = cumulative.length - 1;
-    while (lo < hi) {
-      int mid = (lo + hi) >>> 1;
-      if (r <= cumulative[mid]) hi = mid;
-      else lo = mid + 1;
-    }
-    return items.get(lo);
-  }
+  public List<T> items() { return sampler.items(); }
 
-  public int size() { return items.size(); }
+  public AliasSampler<T> sampler() { return sampler; }
+
+  @Override
+  public Iterator<T> iterator() {
+    return sampler.items().iterator();
+  }
 
   public static final class Builder<T> {
 
-    private final List<T> items = new ArrayList<>();
-    private final List<Double> weights = new ArrayList<>();
+    private final AliasSampler.Builder<T> sampler = AliasSampler.builder();
 
     public Builder<T> add(T item, double weight) {
-      Objects.requireNonNull(item, "item");
-      if (Double.isNaN(weight) || Double.isInfinite(weight) || weight <= 0.0) return this;
-
-      items.add(item);
-      weights.add(weight);
+      sampler.add(item, weight);
       return this;
     }
 
     public WeightedTable<T> build() {
-      if (items.isEmpty()) throw new IllegalStateException("no items");
-
-      double[] cum = new double[items.size()];
-      double sum = 0.0;
-      for (int i = 0; i < items.size(); i++) {
-        sum += weights.get(i);
-        cum[i] = sum;
-      }
-      return new WeightedTable<>(List.copyOf(items), cum, sum);
+      return new WeightedTable<>(sampler.build());
     }
   }
 }
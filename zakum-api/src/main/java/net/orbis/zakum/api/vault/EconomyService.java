@@ -14,6 +14,9 @@ import java.util.UUID;
  */
 public interface EconomyService {
 
+  /** ActionBus type published for the player after a deposit or withdraw succeeds. */
+  String CHANGE_ACTION = "economy_change";
+
   boolean available();
 
   EconomyResult deposit(UUID playerId, double amount);
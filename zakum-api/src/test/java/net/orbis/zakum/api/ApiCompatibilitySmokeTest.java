@@ -77,6 +77,7 @@ final class ApiCompatibilitySmokeTest {
     assertTrue(signatures.contains("runAsync#1"));
     assertTrue(signatures.contains("runAtLocation#2"));
     assertTrue(signatures.contains("runAtEntity#2"));
+    assertTrue(signatures.contains("runAtEntityTimer#5"));
     assertTrue(signatures.contains("runGlobal#1"));
     assertTrue(signatures.contains("supplyAsync#1"));
   }
@@ -0,0 +1,114 @@
+package net.orbis.zakum.api.packet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class FollowMotionTest {
+
+  @Test
+  void resetPlacesEntityBehindOwner() {
+    FollowMotion m = new FollowMotion(1.5, 3.0, 16.0, 0.35);
+
+    // Yaw 0 faces +Z, so behind is -Z.
+    m.reset(10.0, 64.0, 10.0, 0f);
+    assertEquals(10.0, m.x(), 1.0E-9);
+    assertEquals(8.5, m.z(), 1.0E-9);
+
+    // Yaw 90 faces -X, so behind is +X.
+    m.reset(10.0, 64.0, 10.0, 90f);
+    assertEquals(11.5, m.x(), 1.0E-9);
+    assertEquals(10.0, m.z(), 1.0E-9);
+  }
+
+  @Test
+  void staysPutWhileOwnerIsClose() {
+    FollowMotion m = new FollowMotion(1.5, 3.0, 16.0, 0.35);
+    m.reset(0.0, 64.0, 0.0, 0f);
+
+    assertEquals(FollowMotion.Step.NONE, m.step(0.5, 64.0, 1.0, 45f));
+    assertEquals(0.0, m.dx(), 0.0);
+    assertEquals(0.0, m.dz(), 0.0);
+  }
+
+  @Test
+  void easesTowardTargetWithRelativeDeltas() {
+    FollowMotion m = new FollowMotion(1.5, 1.0, 16.0, 0.5);
+    m.reset(0.0, 64.0, 0.0, 0f);
+    double startZ = m.z();
+
+    assertEquals(FollowMotion.Step.MOVE, m.step(0.0, 64.0, 6.0, 0f));
+    // Target is z = 4.5; half the gap is covered.
+    assertEquals((4.5 - startZ) * 0.5, m.dz(), 1.0E-9);
+    assertEquals(startZ + m.dz(), m.z(), 1.0E-9);
+    // Walking toward +Z faces yaw 0.
+    assertEquals(0f, m.yaw(), 1.0E-3f);
+
+    for (int i = 0; i < 40; i++) m.step(0.0, 64.0, 6.0, 0f);
+    assertEquals(4.5, m.z(), 0.05);
+  }
+
+  @Test
+  void snapsWhenOwnerJumpsAway() {
+    FollowMotion m = new FollowMotion(1.5, 3.0, 16.0, 0.35);
+    m.reset(0.0, 64.0, 0.0, 0f);
+
+    assertEquals(FollowMotion.Step.TELEPORT, m.step(100.0, 70.0, 0.0, 0f));
+    assertEquals(100.0, m.x(), 1.0E-9);
+    assertEquals(70.0, m.y(), 1.0E-9);
+    assertEquals(-1.5, m.z(), 1.0E-9);
+  }
+
+  @Test
+  void largeStepsFallBackToTeleport() {
+    // Snap disabled and full smoothing: a 12 block gap cannot be a relative move.
+    FollowMotion m = new FollowMotion(0.0, 0.0, 1000.0, 1.0);
+    m.reset(0.0, 64.0, 0.0, 0f);
+
+    assertEquals(FollowMotion.Step.TELEPORT, m.step(12.0, 64.0, 0.0, 0f));
+    assertEquals(12.0, m.x(), 1.0E-9);
+    assertEquals(0.0, m.dx(), 0.0);
+  }
+
+  @Test
+  void rejectsInvalidSmoothing() {
+    assertThrows(IllegalArgumentException.class, () -> new FollowMotion(1.5, 3.0, 16.0, 0.0));
+    assertThrows(IllegalArgumentException.class, () -> new FollowMotion(1.5, 3.0, 16.0, 1.5));
+  }
+
+  @Test
+  void fiveHundredPetsStayLeashedToMovingOwners() {
+    int pets = 500;
+    int ticks = 1200;
+    FollowMotion[] motions = new FollowMotion[pets];
+    double[] ox = new double[pets];
+    double[] oz = new double[pets];
+    SplittableRandom random = new SplittableRandom(37L);
+    for (int i = 0; i < pets; i++) {
+      motions[i] = new FollowMotion(1.5, 3.0, 16.0, 0.35);
+      ox[i] = random.nextDouble(-500, 500);
+      oz[i] = random.nextDouble(-500, 500);
+      motions[i].reset(ox[i], 64.0, oz[i], 0f);
+    }
+
+    long moves = 0;
+    for (int t = 0; t < ticks; t++) {
+      for (int i = 0; i < pets; i++) {
+        ox[i] += 0.28;
+        oz[i] += (i & 1) == 0 ? 0.1 : -0.1;
+        if (motions[i].step(ox[i], 64.0, oz[i], (float) (t % 360)) != FollowMotion.Step.NONE) moves++;
+
+        // Never further from the owner than the snap distance plus the back offset.
+        double gx = ox[i] - motions[i].x();
+        double gz = oz[i] - motions[i].z();
+        assertTrue(gx * gx + gz * gz <= 17.5 * 17.5, "pet " + i + " fell behind at tick " + t);
+      }
+    }
+
+    assertTrue(moves > 0);
+  }
+}
@@ -0,0 +1,89 @@
+package net.orbis.zakum.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class AliasSamplerTest {
+
+  // Chi-squared critical value, df = 7, p = 0.001.
+  private static final double CHI_SQUARED_CRITICAL = 24.322;
+
+  @Test
+  void distributionPassesChiSquared() {
+    double[] weights = {1, 2, 3, 5, 8, 13, 21, 47};
+    AliasSampler.Builder<Integer> builder = AliasSampler.builder();
+    for (int i = 0; i < weights.length; i++) builder.add(i, weights[i]);
+    AliasSampler<Integer> sampler = builder.build();
+
+    int draws = 500_000;
+    long[] observed = new long[weights.length];
+    RandomGenerator random = new SplittableRandom(20260101L);
+    for (int i = 0; i < draws; i++) {
+      observed[sampler.sampleIndex(random)]++;
+    }
+
+    double chiSquared = 0.0;
+    for (int i = 0; i < weights.length; i++) {
+      double expected = draws * sampler.chance(i);
+      double diff = observed[i] - expected;
+      chiSquared += diff * diff / expected;
+    }
+    assertTrue(chiSquared < CHI_SQUARED_CRITICAL, "chi-squared too large: " + chiSquared);
+  }
+
+  @Test
+  void seededGeneratorsAreReproducible() {
+    AliasSampler<String> sampler = AliasSampler.<String>builder()
+      .add("common", 90)
+      .add("rare", 9)
+      .add("legendary", 1)
+      .build();
+
+    SplittableRandom a = new SplittableRandom(42L);
+    SplittableRandom b = new SplittableRandom(42L);
+    for (int i = 0; i < 1_000; i++) {
+      assertEquals(sampler.sample(a), sampler.sample(b));
+    }
+  }
+
+  @Test
+  void invalidWeightsAreSkipped() {
+    AliasSampler<String> sampler = AliasSampler.<String>builder()
+      .add("zero", 0)
+      .add("negative", -5)
+      .add("nan", Double.NaN)
+      .add("only", 3)
+      .build();
+
+    assertEquals(1, sampler.size());
+    assertEquals(1.0, sampler.chance(0));
+    assertEquals("only", sampler.sample(new SplittableRandom(1L)));
+    assertThrows(IllegalStateException.class, () -> AliasSampler.<String>builder().add("zero", 0).build());
+  }
+
+  @Test
+  void weightedTableMatchesSamplerAndIterates() {
+    WeightedTable<String> table = WeightedTable.<String>builder()
+      .add("a", 1)
+      .add("b", 3)
+      .build();
+
+    List<String> seen = new ArrayList<>();
+    table.forEach(seen::add);
+    assertEquals(List.of("a", "b"), seen);
+
+    Random legacy = new Random(7L);
+    for (int i = 0; i < 100; i++) {
+      assertTrue(seen.contains(table.pick(legacy)));
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package net.orbis.zakum.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class SamplerSimulationTest {
+
+  private static final AliasSampler<String> SAMPLER = AliasSampler.<String>builder()
+    .add("common", 70)
+    .add("rare", 25)
+    .add("legendary", 5)
+    .build();
+
+  @Test
+  void sameSeedIsDeterministicAcrossExecutors() throws Exception {
+    ExecutorService single = Executors.newSingleThreadExecutor();
+    ExecutorService wide = Executors.newFixedThreadPool(8);
+    try {
+      var a = SamplerSimulation.run(SAMPLER, 1_000_003L, 99L, single, null).get();
+      var b = SamplerSimulation.run(SAMPLER, 1_000_003L, 99L, wide, null).get();
+      for (int i = 0; i < SAMPLER.size(); i++) {
+        assertEquals(a.outcomes().get(i).count(), b.outcomes().get(i).count());
+      }
+    } finally {
+      single.shutdownNow();
+      wide.shutdownNow();
+    }
+  }
+
+  @Test
+  void countsSumToRollsAndMatchWeights() throws Exception {
+    AtomicLong lastProgress = new AtomicLong();
+    var result = SamplerSimulation.run(
+      SAMPLER,
+      2_000_000L,
+      7L,
+      java.util.concurrent.ForkJoinPool.commonPool(),
+      (completed, total) -> lastProgress.accumulateAndGet(completed, Math::max)
+    ).get();
+
+    long sum = 0;
+    for (var outcome : result.outcomes()) {
+      sum += outcome.count();
+      // Counts should sit within ~5 standard deviations of the binomial expectation.
+      assertTrue(Math.abs(outcome.count() - outcome.expectedCount()) < 5.0 * Math.sqrt(outcome.countVariance()));
+      assertTrue(outcome.lower95() <= outcome.observedRate() && outcome.observedRate() <= outcome.upper95());
+      assertEquals(outcome.expectedRate(), outcome.observedRate(), 0.002);
+    }
+    assertEquals(2_000_000L, sum);
+    assertEquals(2_000_000L, lastProgress.get());
+  }
+
+  @Test
+  void meanAndVarianceUseObservedHistogram() throws Exception {
+    var result = SamplerSimulation.run(SAMPLER, 500_000L, 3L).get();
+    double mean = result.mean(item -> item.equals("legendary") ? 100.0 : 0.0);
+    double variance = result.variance(item -> item.equals("legendary") ? 100.0 : 0.0);
+
+    assertEquals(5.0, mean, 0.2);
+    // Bernoulli(0.05) scaled by 100: variance = 100^2 * p * (1 - p)
+    assertEquals(475.0, variance, 15.0);
+  }
+}
@@ -1,5 +1,6 @@
 plugins {
   `java-library`
+  alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -11,6 +12,21 @@ dependencies {
 
   // Optional (only if PlaceholderAPI installed)
   compileOnly(libs.placeholderapi)
+
+  testImplementation(project(":zakum-api"))
+  testImplementation(libs.junit.jupiter.api)
+  // Embedded MySQL-mode database for the archive integration test
+  testImplementation(libs.h2)
+  testRuntimeOnly(libs.junit.jupiter.engine)
+  testRuntimeOnly(libs.junit.platform.launcher)
+}
+
+// Contention benchmarks (src/jmh): ./gradlew :zakum-battlepass:jmh
+jmh {
+  jmhVersion.set(libs.versions.jmh)
+  fork.set(1)
+  warmupIterations.set(2)
+  iterations.set(3)
 }
 
 tasks.processResources {
@@ -0,0 +1,140 @@
+package net.orbis.zakum.battlepass.papi;
+
+import net.orbis.zakum.battlepass.model.QuestCadence;
+import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.model.QuestStep;
+import net.orbis.zakum.battlepass.state.PlayerBpState;
+import net.orbis.zakum.battlepass.state.QuestSlots;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A scoreboard-style mix of placeholders resolved through the compiled
+ * {@link PlaceholderDispatcher} and through a copy of the previous
+ * string-parsing expansion.
+ *
+ * Run: ./gradlew :zakum-battlepass:jmh
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlaceholderDispatchBenchmark {
+
+  private static final String[] PARAMS = {
+    "tier", "points", "rank", "premium",
+    "quest_mine_stone_progress", "quest_mine_stone_required", "quest_fish_cod_step", "quest_kill_zombie_progress"
+  };
+
+  private UUID player;
+  private PlaceholderDispatcher compiled;
+  private LegacyParser legacy;
+
+  @Setup
+  public void setup() {
+    List<String> ids = List.of("mine_stone", "fish_cod", "kill_zombie");
+    QuestSlots slots = QuestSlots.of(ids);
+    Map<String, QuestDef> quests = new HashMap<>();
+    for (String id : ids) {
+      List<QuestStep> steps = new ArrayList<>();
+      steps.add(new QuestStep("BLOCK_BREAK", "block", "STONE", 64));
+      steps.add(new QuestStep("BLOCK_BREAK", "block", "STONE", 256));
+      quests.put(id, new QuestDef(id, id, 10, false, 0, QuestCadence.DAILY, List.of(), steps));
+    }
+
+    player = UUID.randomUUID();
+    PlayerBpState st = new PlayerBpState(slots);
+    st.seedProgress(12, 5_230);
+    st.seedQuest("mine_stone", 1, 97);
+    st.seedQuest("kill_zombie", 0, 31);
+
+    PlaceholderDispatcher.Source source = new PlaceholderDispatcher.Source() {
+      @Override public PlayerBpState state(UUID uuid) { return uuid.equals(player) ? st : null; }
+      @Override public QuestDef quest(String questId) { return quests.get(questId); }
+      @Override public QuestSlots slots() { return slots; }
+      @Override public Object version() { return slots; }
+      @Override public int season() { return 4; }
+      @Override public String serverId() { return "survival-1"; }
+      @Override public int rank(UUID uuid) { return 42; }
+    };
+    compiled = new PlaceholderDispatcher(source);
+    legacy = new LegacyParser(source);
+  }
+
+  @Benchmark
+  public void compiled(Blackhole bh) {
+    for (String p : PARAMS) bh.consume(compiled.resolve(player, p));
+  }
+
+  @Benchmark
+  public void legacy(Blackhole bh) {
+    for (String p : PARAMS) bh.consume(legacy.resolve(player, p));
+  }
+
+  /** The previous onPlaceholderRequest body, parsing params on every call. */
+  static final class LegacyParser {
+    private final PlaceholderDispatcher.Source source;
+
+    LegacyParser(PlaceholderDispatcher.Source source) {
+      this.source = source;
+    }
+
+    String resolve(UUID uuid, String params) {
+      String p = params.toLowerCase(Locale.ROOT);
+
+      PlayerBpState st = source.state(uuid);
+
+      if (p.equals("tier")) return st == null ? "0" : String.valueOf(st.tier());
+      if (p.equals("points")) return st == null ? "0" : String.valueOf(st.points());
+      if (p.equals("premium")) return st != null && st.premium ? "yes" : "no";
+      if (p.equals("season")) return String.valueOf(source.season());
+      if (p.equals("server")) return source.serverId();
+      if (p.equals("rank")) {
+        int rank = source.rank(uuid);
+        return rank <= 0 ? "-" : String.valueOf(rank);
+      }
+
+      if (p.startsWith("quest_")) {
+        String rest = params.substring("quest_".length());
+        int idx = rest.lastIndexOf('_');
+        if (idx <= 0 || idx >= rest.length() - 1) return "";
+        String questId = rest.substring(0, idx);
+        String field = rest.substring(idx + 1).toLowerCase(Locale.ROOT);
+
+        Optional<QuestDef> q = Optional.ofNullable(source.quest(questId));
+        if (q.isEmpty()) return "";
+
+        PlayerBpState.StepStateSnap ss = st == null ? new PlayerBpState.StepStateSnap(0, 0) : st.getQuest(questId);
+
+        int stepIdx = ss.stepIdx();
+        long progress = ss.progress();
+
+        if (field.equals("step")) return String.valueOf(stepIdx + 1);
+        if (field.equals("progress")) return String.valueOf(progress);
+
+        if (field.equals("required")) {
+          int steps = q.get().steps().size();
+          if (steps == 0) return "0";
+          int s = Math.min(stepIdx, steps - 1);
+          return String.valueOf(q.get().steps().get(s).required());
+        }
+      }
+
+      return "";
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package net.orbis.zakum.battlepass.state;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One action-bus writer against HUD-style readers polling points, tier and a
+ * quest line, for {@link PlayerBpState} and a synchronized map-backed baseline
+ * shaped like the previous implementation.
+ *
+ * Run: ./gradlew :zakum-battlepass:jmh
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlayerBpStateBenchmark {
+
+  private static final int QUESTS = 48;
+
+  private PlayerBpState state;
+  private LockedState locked;
+  private String[] ids;
+  private int next;
+
+  @Setup
+  public void setup() {
+    List<String> list = new ArrayList<>(QUESTS);
+    for (int i = 0; i < QUESTS; i++) list.add("quest_" + i);
+    ids = list.toArray(String[]::new);
+
+    state = new PlayerBpState(QuestSlots.of(list));
+    state.seedProgress(1, 0);
+    locked = new LockedState();
+  }
+
+  @Benchmark
+  @Group("arrays")
+  @GroupThreads(1)
+  public void arraysWriter() {
+    String q = ids[next++ & 31];
+    PlayerBpState.StepStateSnap cur = state.getQuest(q);
+    state.setQuest(q, cur.stepIdx(), cur.progress() + 1);
+    state.addPoints(1);
+  }
+
+  @Benchmark
+  @Group("arrays")
+  @GroupThreads(3)
+  public void arraysHudReader(Blackhole bh) {
+    bh.consume(state.points());
+    bh.consume(state.tier());
+    bh.consume(state.getQuest("quest_7"));
+  }
+
+  @Benchmark
+  @Group("locked")
+  @GroupThreads(1)
+  public void lockedWriter() {
+    String q = ids[next++ & 31];
+    long[] cur = locked.getQuest(q);
+    locked.setQuest(q, (int) cur[0], cur[1] + 1);
+    locked.addPoints(1);
+  }
+
+  @Benchmark
+  @Group("locked")
+  @GroupThreads(3)
+  public void lockedHudReader(Blackhole bh) {
+    bh.consume(locked.points());
+    bh.consume(locked.tier());
+    bh.consume(locked.getQuest("quest_7"));
+  }
+
+  /** Baseline: every access under one monitor, quests in a HashMap. */
+  static final class LockedState {
+    private final Object lock = new Object();
+    private final Map<String, long[]> quests = new HashMap<>();
+    private long points;
+    private int tier = 1;
+
+    long points() { synchronized (lock) { return points; } }
+    int tier() { synchronized (lock) { return tier; } }
+
+    void addPoints(long delta) {
+      synchronized (lock) { points += delta; }
+    }
+
+    long[] getQuest(String id) {
+      synchronized (lock) {
+        long[] ss = quests.computeIfAbsent(id, k -> new long[2]);
+        return new long[] {ss[0], ss[1]};
+      }
+    }
+
+    void setQuest(String id, int step, long progress) {
+      synchronized (lock) {
+        long[] ss = quests.computeIfAbsent(id, k -> new long[2]);
+        ss[0] = step;
+        ss[1] = progress;
+      }
+    }
+  }
+}
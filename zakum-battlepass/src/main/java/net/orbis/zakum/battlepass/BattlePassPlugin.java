@@ -6,6 +6,7 @@ import net.orbis.zakum.api.actions.ActionSubscription;
 import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.api.util.AtomicFiles;
 import net.orbis.zakum.api.util.FileBackups;
+import net.orbis.zakum.battlepass.backup.ArchiveOptions;
 import net.orbis.zakum.battlepass.backup.BattlePassBackupService;
 import net.orbis.zakum.battlepass.backup.BattlePassBatchFiles;
 import net.orbis.zakum.battlepass.db.BattlePassSchema;
@@ -61,6 +62,7 @@ private EditorSessionManager editorSessions;
   private int flushTaskId = -1;
   private int premiumTaskId = -1;
   private int leaderboardTaskId = -1;
+  private int rolloverTaskId = -1;
 
   // Long-uptime safety: prevent overlapping destructive admin jobs.
   private final java.util.concurrent.atomic.AtomicBoolean adminJobRunning = new java.util.concurrent.atomic.AtomicBoolean(false);
@@ -106,13 +108,18 @@ private EditorSessionManager editorSessions;
       if (runtime != null && !maintenanceMode.get()) runtime.refreshPremiumAllAsync();
     }, premiumTicks, premiumTicks);
 
-    // Leaderboard refresh (async).
-    int lbSeconds = Math.max(10, getConfig().getInt("battlepass.leaderboard.refreshSeconds", 30));
+    // Leaderboard reconcile with SQL (async); live ranks come from progress updates.
+    int lbSeconds = Math.max(10, getConfig().getInt("battlepass.leaderboard.refreshSeconds", 120));
     long lbTicks = lbSeconds * 20L;
     this.leaderboardTaskId = zakum.getScheduler().runTaskTimerAsynchronously(this, () -> {
       if (leaderboard != null && !maintenanceMode.get()) leaderboard.refreshNow();
     }, 20L, lbTicks);
 
+    // Daily/weekly period boundary check (sync; resets are season-wide and async).
+    this.rolloverTaskId = zakum.getScheduler().scheduleSyncRepeatingTask(this, () -> {
+      if (runtime != null && !maintenanceMode.get()) runtime.checkRollover();
+    }, 200L, 200L);
+
     getLogger().info("OrbisBattlePass enabled.");
   }
 
@@ -134,22 +141,33 @@ private EditorSessionManager editorSessions;
       zakum.getScheduler().cancelTask(leaderboardTaskId);
       leaderboardTaskId = -1;
     }
+    if (rolloverTaskId != -1) {
+      zakum.getScheduler().cancelTask(rolloverTaskId);
+      rolloverTaskId = -1;
+    }
     stopRuntime();
   }
 
   private void startRuntime() {
     this.runtime = new BattlePassRuntime(this, zakum);
+
+    // Leaderboard first, so it sees points from the very first player load.
+    int max = Math.max(50, getConfig().getInt("battlepass.leaderboard.maxEntries", 250));
+    int seedLimit = Math.max(max, getConfig().getInt("battlepass.leaderboard.seedLimit", 100_000));
+    BattlePassLeaderboard.Backend backend = "REDIS".equalsIgnoreCase(getConfig().getString("battlepass.leaderboard.backend", "LOCAL"))
+      ? BattlePassLeaderboard.Backend.REDIS
+      : BattlePassLeaderboard.Backend.LOCAL;
+    this.leaderboard = new BattlePassLeaderboard(zakum, zakum.async(), runtime, max, seedLimit, backend);
+    this.runtime.progressSink(leaderboard::update);
+    this.leaderboard.refreshAsync();
+
     this.runtime.start();
 
-    this.names = new NameCache();
+    this.names = new NameCache(zakum.names().orElse(null));
     for (Player p : Bukkit.getOnlinePlayers()) {
       names.put(p.getUniqueId(), p.getName());
     }
 
-    int max = Math.max(50, getConfig().getInt("battlepass.leaderboard.maxEntries", 250));
-    this.leaderboard = new BattlePassLeaderboard(zakum, zakum.async(), runtime, max);
-    this.leaderboard.refreshAsync();
-
     this.menus = new BattlePassMenus(runtime, leaderboard, names);
 
     this.playerListener = new BpPlayerListener(runtime, names, npcOpenCooldownMs);
@@ -289,7 +307,7 @@ editor = null;
     if (papi == null) return;
 
     try {
-      this.expansion = new OrbisBattlePassExpansion(runtime);
+      this.expansion = new OrbisBattlePassExpansion(runtime, leaderboard);
       this.expansion.register();
       getLogger().info("PlaceholderAPI expansion registered: %orbisbp_*%");
     } catch (Throwable t) {
@@ -302,6 +320,52 @@ editor = null;
     return s.hasPermission("orbis.battlepass.admin");
   }
 
+  /**
+   * Archive/restore tuning from config. Throttling follows {@code live}'s flush latency;
+   * pass null when the runtime is stopped for the job (nothing to yield to).
+   */
+  private ArchiveOptions archiveOptions(BattlePassRuntime live) {
+    return new ArchiveOptions(
+      getConfig().getInt("battlepass.backups.chunkSize", 2000),
+      getConfig().getInt("battlepass.backups.parallelism", 2),
+      getConfig().getLong("battlepass.backups.throttle.targetFlushMs", 250L),
+      getConfig().getLong("battlepass.backups.throttle.maxPauseMs", 2000L),
+      live == null ? null : live::recentFlushLatencyMs
+    );
+  }
+
+  private void onBackupDone(CommandSender sender, BattlePassBackupService.BackupResult res, Throwable err) {
+    if (!isEnabled()) { adminJobRunning.set(false); return; }
+
+    // Best-effort: also snapshot YAML/config into backups/batch-<id>/.
+    if (err == null && res != null && res.ok()) {
+      try {
+        boolean fEnabled = getConfig().getBoolean("battlepass.backups.files.enabled", true);
+        int keep = Math.max(0, getConfig().getInt("battlepass.backups.files.keep", 20));
+        if (fEnabled) BattlePassBatchFiles.backupBatchFiles(this, res.batchId(), keep);
+      } catch (Throwable t) {
+        getLogger().warning("Batch file backup skipped: " + t.getMessage());
+      }
+    }
+
+    ZakumApi.get().getScheduler().runTask(this, () -> {
+      adminJobRunning.set(false);
+      if (err != null) {
+        sender.sendMessage(ChatColor.RED + "Backup failed: " + err.getClass().getSimpleName());
+        return;
+      }
+      if (res == null || !res.ok()) {
+        sender.sendMessage(ChatColor.RED + "Backup failed: " + (res == null ? "unknown" : res.message()));
+        if (res != null && res.batchId() > 0) {
+          sender.sendMessage(ChatColor.GRAY + "Resume with /battlepass backup resume " + res.batchId());
+        }
+        return;
+      }
+      sender.sendMessage(ChatColor.GREEN + "Backup OK (batch " + res.batchId() + ")" + ChatColor.GRAY +
+        " [progress=" + res.progressRows() + ", steps=" + res.stepRows() + ", claims=" + res.claimRows() + ", periods=" + res.periodRows() + "]");
+    });
+  }
+
   private void restartRuntimeForConfigChange(CommandSender sender, String msg) {
     // Save first so runtime reload sees the new values.
     try {
@@ -320,14 +384,29 @@ editor = null;
 
 
 /**
- * Reloads the BattlePass runtime to apply YAML changes (quests.yml / rewards.yml).
+ * Applies YAML changes (quests.yml / rewards.yml) to the running runtime.
  *
- * Editor posture: sync restart (listeners, tasks) but no config.yml persistence.
+ * Editor posture: no restart. Loaded players, pending deltas, listeners and the
+ * editor itself stay; the new content is built async and swapped in
+ * ({@link BattlePassRuntime#reloadAsync()}). No config.yml persistence.
  */
-public void restartRuntimeForYamlChange(CommandSender sender) {
-  stopRuntime();
-  startRuntime();
-  if (sender != null) sender.sendMessage(ChatColor.GREEN + "BattlePass runtime reloaded.");
+public void reloadRuntimeContent(CommandSender sender) {
+  BattlePassRuntime rt = runtime;
+  if (rt == null) {
+    startRuntime();
+    if (sender != null) sender.sendMessage(ChatColor.GREEN + "BattlePass runtime reloaded.");
+    return;
+  }
+
+  rt.reloadAsync().whenComplete((report, err) -> zakum.getScheduler().runTask(this, () -> {
+    if (err != null) {
+      getLogger().warning("BattlePass content reload failed: " + err.getMessage());
+      if (sender != null) sender.sendMessage(ChatColor.RED + "BattlePass reload failed. Check console.");
+      return;
+    }
+    getLogger().info("BattlePass content reloaded: " + report.summary());
+    if (sender != null) sender.sendMessage(ChatColor.GREEN + "BattlePass runtime reloaded. " + ChatColor.GRAY + report.summary());
+  }));
 }
 
   private void applyRolloverAndRestart(CommandSender sender, int nextSeason) {
@@ -475,6 +554,10 @@ if (sub.equals("edit") || sub.equals("editor")) {
         + " db=" + zakum.database().state()
         + " tiers=" + runtime.rewards().maxTier()
       );
+      sender.sendMessage(ChatColor.GRAY + "flush ms: " + runtime.flushLatencyMs().summary());
+      sender.sendMessage(ChatColor.GRAY + "flush rows: " + runtime.flushRows().summary());
+      var job = BattlePassBackupService.lastJob();
+      if (job != null) sender.sendMessage(ChatColor.GRAY + "archive: " + job.summary());
       return true;
     }
 
@@ -565,7 +648,6 @@ if (sub.equals("edit") || sub.equals("editor")) {
       boolean backupsEnabled = getConfig().getBoolean("battlepass.backups.enabled", true);
       boolean backupBeforeChange = getConfig().getBoolean("battlepass.rollover.backupBeforeChange", true);
       boolean purgeOldSeason = getConfig().getBoolean("battlepass.rollover.purgeOldSeason", false);
-      int chunk = Math.max(50, getConfig().getInt("battlepass.backups.chunkSize", 200));
       int deleteLimit = Math.max(100, getConfig().getInt("battlepass.rollover.purgeDeleteLimit", 5000));
 
       if (!adminJobRunning.compareAndSet(false, true)) {
@@ -604,7 +686,7 @@ if (sub.equals("edit") || sub.equals("editor")) {
         java.util.concurrent.CompletableFuture<BattlePassBackupService.BackupResult> backupFuture;
         if (backupsEnabled && backupBeforeChange) {
           String createdBy = (sender instanceof Player p) ? p.getName() : "CONSOLE";
-          backupFuture = BattlePassBackupService.backupSeasonAsync(zakum, sid, oldSeason, createdBy, "rollover", chunk);
+          backupFuture = BattlePassBackupService.backupSeasonAsync(zakum, sid, oldSeason, createdBy, "rollover", archiveOptions(null));
         } else {
           backupFuture = java.util.concurrent.CompletableFuture.completedFuture(null);
         }
@@ -691,6 +773,21 @@ if (sub.equals("edit") || sub.equals("editor")) {
         return true;
       }
 
+      // /battlepass backup resume <batchId>
+      if (args.length >= 2 && args[1].equalsIgnoreCase("resume")) {
+        long batchId;
+        try { batchId = Long.parseLong(args.length >= 3 ? args[2] : ""); }
+        catch (NumberFormatException ex) {
+          adminJobRunning.set(false);
+          sender.sendMessage(ChatColor.RED + "Usage: /battlepass backup resume <batchId>");
+          return true;
+        }
+        sender.sendMessage(ChatColor.GRAY + "Resuming DB backup batch " + batchId + "...");
+        BattlePassBackupService.resumeBackupAsync(zakum, batchId, archiveOptions(runtime))
+          .whenComplete((res, err) -> onBackupDone(sender, res, err));
+        return true;
+      }
+
       int season = runtime.season();
       String note = null;
       int noteStart = 2;
@@ -708,40 +805,12 @@ if (sub.equals("edit") || sub.equals("editor")) {
         note = String.join(" ", java.util.Arrays.copyOfRange(args, noteStart, args.length));
       }
 
-      int chunk = Math.max(50, getConfig().getInt("battlepass.backups.chunkSize", 200));
       String createdBy = (sender instanceof Player p) ? p.getName() : "CONSOLE";
 
       sender.sendMessage(ChatColor.GRAY + "Starting DB backup for season " + season + "...");
 
-      BattlePassBackupService.backupSeasonAsync(zakum, runtime.progressServerId(), season, createdBy, note, chunk)
-        .whenComplete((res, err) -> {
-          if (!isEnabled()) { adminJobRunning.set(false); return; }
-
-          // Best-effort: also snapshot YAML/config into backups/batch-<id>/.
-          if (err == null && res != null && res.ok()) {
-            try {
-              boolean fEnabled = getConfig().getBoolean("battlepass.backups.files.enabled", true);
-              int keep = Math.max(0, getConfig().getInt("battlepass.backups.files.keep", 20));
-              if (fEnabled) BattlePassBatchFiles.backupBatchFiles(this, res.batchId(), keep);
-            } catch (Throwable t) {
-              getLogger().warning("Batch file backup skipped: " + t.getMessage());
-            }
-          }
-
-          ZakumApi.get().getScheduler().runTask(this, () -> {
-            adminJobRunning.set(false);
-            if (err != null) {
-              sender.sendMessage(ChatColor.RED + "Backup failed: " + err.getClass().getSimpleName());
-              return;
-            }
-            if (res == null || !res.ok()) {
-              sender.sendMessage(ChatColor.RED + "Backup failed: " + (res == null ? "unknown" : res.message()));
-              return;
-            }
-            sender.sendMessage(ChatColor.GREEN + "Backup OK (batch " + res.batchId() + ")" + ChatColor.GRAY +
-              " [progress=" + res.progressRows() + ", steps=" + res.stepRows() + ", claims=" + res.claimRows() + ", periods=" + res.periodRows() + "]");
-          });
-        });
+      BattlePassBackupService.backupSeasonAsync(zakum, runtime.progressServerId(), season, createdBy, note, archiveOptions(runtime))
+        .whenComplete((res, err) -> onBackupDone(sender, res, err));
       return true;
     }
 
@@ -900,7 +969,6 @@ if (sub.equals("edit") || sub.equals("editor")) {
         return true;
       }
 
-      int chunk = Math.max(50, getConfig().getInt("battlepass.backups.chunkSize", 200));
       int deleteLimit = Math.max(100, getConfig().getInt("battlepass.rollover.purgeDeleteLimit", 5000));
 
       maintenanceMode.set(true);
@@ -916,7 +984,7 @@ if (sub.equals("edit") || sub.equals("editor")) {
 
       java.util.concurrent.CompletableFuture<BattlePassBackupService.RestoreResult> dbFuture;
       if (mode.equals("db") || mode.equals("all")) {
-        dbFuture = BattlePassBackupService.restoreBatchAsync(zakum, batchId, overwrite, chunk, deleteLimit);
+        dbFuture = BattlePassBackupService.restoreBatchAsync(zakum, batchId, overwrite, archiveOptions(null), deleteLimit);
       } else {
         dbFuture = java.util.concurrent.CompletableFuture.completedFuture(new BattlePassBackupService.RestoreResult(true, batchId, "SKIP", 0, 0, 0, 0));
       }
@@ -1081,10 +1149,9 @@ if (sub.equals("edit") || sub.equals("editor")) {
             return true;
           }
 
-          // Reload runtime to apply quests/rewards changes immediately.
-          stopRuntime();
-          startRuntime();
-          sender.sendMessage(ChatColor.GREEN + "Restored " + kind + " from backup and reloaded BattlePass runtime.");
+          // Apply quests/rewards changes immediately.
+          sender.sendMessage(ChatColor.GREEN + "Restored " + kind + " from backup.");
+          reloadRuntimeContent(sender);
         } catch (Exception ex) {
           sender.sendMessage(ChatColor.RED + "Restore failed: " + ex.getMessage());
         } finally {
@@ -8,7 +8,10 @@ import net.orbis.zakum.api.capability.ZakumCapabilities;
 import net.orbis.zakum.api.chat.ChatPacketBuffer;
 import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.api.entitlements.EntitlementScope;
-import net.orbis.zakum.battlepass.index.QuestIndex;
+import net.orbis.zakum.api.entitlements.EntitlementService;
+import net.orbis.zakum.api.util.LongHistogram;
+import net.orbis.zakum.battlepass.index.QuestCatalog;
+import net.orbis.zakum.battlepass.index.QuestReload;
 import net.orbis.zakum.battlepass.model.QuestCadence;
 import net.orbis.zakum.battlepass.model.QuestDef;
 import net.orbis.zakum.battlepass.model.QuestStep;
@@ -18,15 +21,20 @@ import net.orbis.zakum.battlepass.rewards.RewardLoader;
 import net.orbis.zakum.battlepass.rewards.RewardTrack;
 import net.orbis.zakum.battlepass.rewards.RewardsTable;
 import net.orbis.zakum.battlepass.state.PlayerBpState;
+import net.orbis.zakum.battlepass.state.QuestSlots;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.lang.management.ManagementFactory;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.temporal.WeekFields;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * BattlePass runtime.
@@ -34,9 +42,14 @@ import java.util.concurrent.ConcurrentHashMap;
  * Threading rules:
  * - ActionBus callback is typically main thread. Keep it lean.
  * - DB load/flush happens on Zakum async executor.
+ * - Quests, rewards and the active-quest mask are one immutable {@link Content},
+ *   replaced by a single volatile write (reload, rollover); the action path
+ *   reads it once per event.
  */
 public final class BattlePassRuntime {
 
+  private static final long RECENT_FLUSH_NANOS = 30_000_000_000L;
+
   private final Plugin plugin;
   private final ZakumApi zakum;
 
@@ -45,19 +58,47 @@ public final class BattlePassRuntime {
   private final ZoneId zoneId;
   private final int currentWeek;
 
-  private final Map<String, QuestDef> quests;
-  private final Set<String> dailyQuestIds;
-  private final Set<String> weeklyQuestIds;
-
-  private final QuestIndex index;
+  private volatile Content content;
+  // Writers of content (rollover swaps the mask, reload swaps everything).
+  private final Object contentLock = new Object();
+  // One reload at a time: each extends the slot table of the previous one.
+  private final Object reloadLock = new Object();
+  // Migration that produced each catalog generation since start (catch-up for states behind it).
+  private final ConcurrentHashMap<Long, QuestReload.Migration> migrations = new ConcurrentHashMap<>();
+  // Catalog generation the stored step rows of offline players follow (advanced under flushLock).
+  private volatile long dbGeneration;
+
+  // Period tokens last applied (written on the main thread).
+  private volatile long dailyToken;
+  private volatile long weeklyToken;
+  // Completes when the season-wide DB reset for the current period is done; loads wait on it.
+  private volatile CompletableFuture<Void> rolloverGate = CompletableFuture.completedFuture(null);
+  // Rollover retry state (main thread): slots owed an in-memory reset once the DB reset lands.
+  private final BitSet pendingReset = new BitSet();
+  private boolean rolloverPending;
+  private boolean rolloverInFlight;
 
   private final PremiumResolver premium;
-  private final RewardsTable rewards;
+  // Issued per premium lookup so a slower, older answer never overwrites a newer one.
+  private final AtomicLong premiumTickets = new AtomicLong();
   private final RewardExecutor rewardExec;
 
   private final ConcurrentHashMap<UUID, PlayerBpState> states = new ConcurrentHashMap<>();
+  // Quit players whose deltas are not written yet; dropped by the group flush once clean.
+  private final ConcurrentHashMap<UUID, PlayerBpState> departed = new ConcurrentHashMap<>();
+  private final AtomicBoolean departedFlushQueued = new AtomicBoolean();
   private volatile ActionSubscription sub;
 
+  private volatile ProgressSink progressSink;
+
+  private final Object flushLock = new Object();
+  private final int maxStatementBytes;
+  private final LongHistogram flushLatencyMs = new LongHistogram();
+  private final LongHistogram flushRows = new LongHistogram();
+  // Latest group commit, failed or not (archive throttle input).
+  private volatile long lastFlushMs;
+  private volatile long lastFlushAtNanos;
+
   public BattlePassRuntime(Plugin plugin, ZakumApi zakum) {
     this.plugin = plugin;
     this.zakum = zakum;
@@ -68,29 +109,29 @@ public final class BattlePassRuntime {
     this.zoneId = parseZone(plugin.getConfig().getString("battlepass.timezone", "UTC"));
     this.currentWeek = Math.max(1, plugin.getConfig().getInt("battlepass.weeks.current", 1));
 
-    this.quests = QuestLoader.load(plugin);
-    this.index = new QuestIndex(quests.values());
-
-    Set<String> d = new HashSet<>();
-    Set<String> w = new HashSet<>();
-    for (QuestDef q : quests.values()) {
-      if (q.cadence() == QuestCadence.DAILY) d.add(q.id());
-      else if (q.cadence() == QuestCadence.WEEKLY) w.add(q.id());
-    }
-    this.dailyQuestIds = Set.copyOf(d);
-    this.weeklyQuestIds = Set.copyOf(w);
+    QuestCatalog catalog = QuestCatalog.of(QuestLoader.load(plugin));
 
     String premiumScope = plugin.getConfig().getString("battlepass.premiumScope", "SERVER");
     String entKey = plugin.getConfig().getString("battlepass.premiumEntitlementKey", "battlepass_premium");
     this.premium = new PremiumResolver(zakum, premiumScope, entKey, progressServerId);
 
-    this.rewards = RewardLoader.load(plugin);
+    this.content = new Content(catalog, RewardLoader.load(plugin), catalog.mask(this::isQuestActive));
+    this.dbGeneration = catalog.generation();
     this.rewardExec = new RewardExecutor(plugin);
+
+    this.maxStatementBytes = Math.max(16 * 1024, plugin.getConfig().getInt("battlepass.flush.maxStatementBytes", 1024 * 1024));
   }
 
   public void start() {
     this.sub = zakum.actions().subscribe(this::onAction);
 
+    // Catch up on any period boundary missed while offline before loading anyone.
+    this.dailyToken = epochDayNow();
+    this.weeklyToken = weeklyTokenNow();
+    this.rolloverGate = new CompletableFuture<>();
+    this.rolloverPending = true;
+    attemptRollover();
+
     for (Player p : Bukkit.getOnlinePlayers()) {
       loadPlayerAsync(p.getUniqueId());
     }
@@ -125,15 +166,114 @@ public final class BattlePassRuntime {
   public int season() { return season; }
   public int week() { return currentWeek; }
   public String timezone() { return zoneId.getId(); }
-  public RewardsTable rewards() { return rewards; }
+  public RewardsTable rewards() { return content.rewards(); }
 
   public java.util.Collection<QuestDef> allQuests() {
-    return quests.values();
+    return content.quests().all();
   }
 
+  /** Current quest definitions; a new instance after every reload. */
+  public QuestCatalog questCatalog() { return content.quests(); }
+
+  /** Slot table every loaded {@link PlayerBpState} is bound to (grows on reload, never reorders). */
+  public QuestSlots questSlots() { return content.quests().slots(); }
+
   public java.util.Optional<QuestDef> quest(String id) {
-    if (id == null) return java.util.Optional.empty();
-    return java.util.Optional.ofNullable(quests.get(id));
+    return java.util.Optional.ofNullable(content.quests().quest(id));
+  }
+
+  /** Immutable quests + rewards snapshot; {@code activeSlots} is read-only. */
+  private record Content(QuestCatalog quests, RewardsTable rewards, BitSet activeSlots) {}
+
+  /**
+   * Outcome of {@link #reloadAsync()}.
+   *
+   * @param allocatedBytes allocated by the reload thread, or -1 when the JVM can't tell
+   */
+  public record ReloadReport(
+    int quests,
+    int added,
+    int removed,
+    int changed,
+    int updated,
+    int migratedPlayers,
+    int retieredPlayers,
+    long buildMicros,
+    long publishMicros,
+    long allocatedBytes
+  ) {
+    public String summary() {
+      return quests + " quests (+" + added + " -" + removed + " ~" + changed + " steps, " + updated + " other)"
+        + ", migrated=" + migratedPlayers + ", retiered=" + retieredPlayers
+        + ", build=" + (buildMicros / 1000.0) + "ms, publish=" + (publishMicros / 1000.0) + "ms"
+        + (allocatedBytes < 0 ? "" : ", alloc=" + (allocatedBytes / 1024) + "KiB");
+    }
+  }
+
+  /**
+   * Reloads quests.yml and rewards.yml in place.
+   *
+   * Parsing, index building and the structural diff run on the async executor.
+   * Publishing is one volatile write; loaded states, pending deltas and the
+   * action subscription are untouched except for players with progress in a
+   * quest whose steps changed ({@link QuestReload}) or whose tier moved with
+   * the new rewards thresholds. Offline players' rows are migrated by the
+   * next group flush; loads that read rows older than that catch up in memory.
+   */
+  public CompletableFuture<ReloadReport> reloadAsync() {
+    return CompletableFuture.supplyAsync(() -> {
+      synchronized (reloadLock) {
+        long allocStart = allocatedBytes();
+        long started = System.nanoTime();
+
+        QuestReload reload = QuestReload.prepare(content.quests(), QuestLoader.load(plugin));
+        RewardsTable nextRewards = RewardLoader.load(plugin);
+        long built = System.nanoTime();
+
+        // Before publish: anyone seeing the new generation can find how to reach it.
+        migrations.put(reload.catalog().generation(), reload.migration());
+
+        Collection<PlayerBpState> held = heldStates();
+        int migrated = reload.apply(held, catalog -> {
+          synchronized (contentLock) {
+            this.content = new Content(catalog, nextRewards, catalog.mask(this::isQuestActive));
+          }
+        });
+
+        // Same resync as the load path, for the new thresholds.
+        int retiered = 0;
+        for (PlayerBpState st : held) {
+          int expected = nextRewards.tierForPoints(st.points());
+          if (expected == st.tier()) continue;
+          st.setTier(expected);
+          retiered++;
+        }
+        long done = System.nanoTime();
+        if (!reload.changed().isEmpty()) flushAllAsync();
+
+        long allocEnd = allocatedBytes();
+        return new ReloadReport(
+          reload.catalog().quests().size(),
+          reload.added().size(),
+          reload.removed().size(),
+          reload.changed().size(),
+          reload.updated().size(),
+          migrated,
+          retiered,
+          (built - started) / 1_000L,
+          (done - built) / 1_000L,
+          allocStart < 0 || allocEnd < 0 ? -1L : allocEnd - allocStart
+        );
+      }
+    }, zakum.async());
+  }
+
+  private static long allocatedBytes() {
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mx
+      && mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled()) {
+      return mx.getCurrentThreadAllocatedBytes();
+    }
+    return -1L;
   }
 
 
@@ -141,19 +281,65 @@ public final class BattlePassRuntime {
     loadPlayerAsync(uuid);
   }
 
+  /**
+   * Hands the state to the group flush: it stays in {@code departed} (still
+   * reset by rollovers and migrated by reloads) until its deltas are written,
+   * and a rejoin before then picks it back up instead of reading stale rows.
+   */
   public void onQuit(UUID uuid) {
-    flushPlayerAsync(uuid);
-    states.remove(uuid);
+    PlayerBpState st = states.get(uuid);
+    if (st == null) return;
+    // Into departed before out of states, so passes over both never miss it.
+    departed.put(uuid, st);
+    states.remove(uuid, st);
+    flushDepartedAsync();
   }
 
+  /**
+   * Re-reads premium for every loaded player with one bulk entitlement check.
+   * Individual grants/revokes are picked up immediately via entitlement change events.
+   */
   public void refreshPremiumAllAsync() {
-    for (UUID uuid : states.keySet()) refreshPremiumAsync(uuid);
+    if (states.isEmpty()) return;
+
+    Map<UUID, PlayerBpState> queried = Map.copyOf(states);
+    long ticket = premiumTickets.incrementAndGet();
+    premium.premiumAmong(List.copyOf(queried.keySet())).whenComplete((held, err) -> {
+      if (err != null || held == null) return;
+      // Only players that were asked about and are still loaded; joins since then have their own lookup.
+      queried.forEach((uuid, st) -> {
+        if (states.get(uuid) == st) st.applyPremium(ticket, held.contains(uuid));
+      });
+    });
   }
 
   public PlayerBpState state(UUID uuid) {
     return states.get(uuid);
   }
 
+  /**
+   * Receives every points/tier change of loaded players (leaderboard feed).
+   */
+  @FunctionalInterface
+  public interface ProgressSink {
+    void onProgress(UUID uuid, long points, int tier);
+  }
+
+  /**
+   * Installs the progress sink and replays current values for loaded players.
+   */
+  public void progressSink(ProgressSink sink) {
+    this.progressSink = sink;
+    states.forEach(this::track);
+  }
+
+  private void track(UUID uuid, PlayerBpState st) {
+    st.listen((points, tier) -> {
+      ProgressSink sink = progressSink;
+      if (sink != null) sink.onProgress(uuid, points, tier);
+    });
+  }
+
   public record ClaimResult(boolean ok, String message) {}
 
   public ClaimResult claim(Player player, int tier, RewardTrack track) {
@@ -166,7 +352,7 @@ public final class BattlePassRuntime {
     int curTier = st.tier();
     if (curTier < tier) return new ClaimResult(false, "tier not reached (" + curTier + ")");
 
-    var t = rewards.tier(tier);
+    var t = content.rewards().tier(tier);
     if (t.isEmpty()) return new ClaimResult(false, "no rewards for tier " + tier);
 
     boolean did = false;
@@ -189,34 +375,49 @@ public final class BattlePassRuntime {
     PlayerBpState st = states.get(player.getUniqueId());
     if (st == null) return 0;
 
-    int curTier = st.tier();
+    RewardsTable rewards = content.rewards();
+    int curTier = Math.min(st.tier(), rewards.maxTier());
+    if (curTier <= 0) return 0;
+
+    boolean prem = st.premium;
+    BitSet free = st.claimsInRange(false, 1, curTier);
+    BitSet paid = prem ? st.claimsInRange(true, 1, curTier) : null;
+
     int claimed = 0;
+    List<List<net.orbis.zakum.battlepass.rewards.RewardDef>> batch = new ArrayList<>();
 
     for (int tier = 1; tier <= curTier; tier++) {
       var t = rewards.tier(tier);
       if (t.isEmpty()) continue;
 
       boolean did = false;
-      did = claimFree(player, st, t.get()) || did;
-      did = claimPremium(player, st, t.get()) || did;
+      // markClaim re-checks under the claim lock, so a racing single claim can't double-grant.
+      if (!free.get(tier - 1) && st.markClaim(false, tier)) {
+        batch.add(t.get().freeRewards());
+        did = true;
+      }
+      if (prem && !paid.get(tier - 1) && st.markClaim(true, tier)) {
+        batch.add(t.get().premiumRewards());
+        did = true;
+      }
 
       if (did) claimed++;
     }
 
+    // One aggregated script for every tier instead of one run per tier and track.
+    rewardExec.executeAll(player, batch);
     return claimed;
   }
 
   private boolean claimFree(Player player, PlayerBpState st, net.orbis.zakum.battlepass.rewards.TierRewards t) {
-    if (st.hasClaim(false, t.tier())) return false;
-    st.markClaim(false, t.tier());
+    if (!st.markClaim(false, t.tier())) return false;
     rewardExec.execute(player, t.freeRewards());
     return true;
   }
 
   private boolean claimPremium(Player player, PlayerBpState st, net.orbis.zakum.battlepass.rewards.TierRewards t) {
     if (!st.premium) return false;
-    if (st.hasClaim(true, t.tier())) return false;
-    st.markClaim(true, t.tier());
+    if (!st.markClaim(true, t.tier())) return false;
     rewardExec.execute(player, t.premiumRewards());
     return true;
   }
@@ -225,9 +426,10 @@ public final class BattlePassRuntime {
     PlayerBpState st = states.get(uuid);
     if (st == null) return;
 
+    long ticket = premiumTickets.incrementAndGet();
     premium.isPremium(uuid).whenComplete((ok, err) -> {
       if (err != null) return;
-      st.premium = Boolean.TRUE.equals(ok);
+      st.applyPremium(ticket, Boolean.TRUE.equals(ok));
     });
   }
 
@@ -235,16 +437,25 @@ public final class BattlePassRuntime {
     PlayerBpState st = states.get(e.playerId());
     if (st == null) return;
 
+    if (EntitlementService.CHANGED_ACTION.equals(e.type())) {
+      if (premium.matches(e.key(), e.value())) refreshPremiumAsync(e.playerId());
+      return;
+    }
+
     // Apply progress booster.
     long amt = e.amount();
     double progMult = zakum.boosters().multiplier(e.playerId(), EntitlementScope.SERVER, progressServerId, BoosterKind.BATTLEPASS_PROGRESS);
     long boosted = (long) Math.max(1, Math.floor(amt * progMult));
     ActionEvent boostedEvent = (boosted == amt) ? e : new ActionEvent(e.type(), e.playerId(), boosted, e.key(), e.value());
 
-    for (QuestDef q : index.candidates(boostedEvent)) {
-      if (!isQuestActive(q)) continue;
+    Content c = content;
+    if (st.generation() < c.quests().generation()) catchUp(st);
+    QuestSlots slots = c.quests().slots();
+    for (QuestDef q : c.quests().index().candidates(boostedEvent)) {
+      int slot = slots.slot(q.id());
+      if (slot < 0 || !c.activeSlots().get(slot)) continue;
       if (q.premiumOnly() && !st.premium) continue;
-      applyQuest(boostedEvent, q, st);
+      applyQuest(boostedEvent, q, st, c);
     }
   }
 
@@ -262,31 +473,57 @@ public final class BattlePassRuntime {
     return true;
   }
 
-  private void applyQuest(ActionEvent e, QuestDef q, PlayerBpState st) {
-    var cur = st.getQuest(q.id());
-    if (cur.stepIdx() >= q.steps().size()) return;
-
-    QuestStep step = q.steps().get(cur.stepIdx());
-
-    if (!step.type().equalsIgnoreCase(e.type())) return;
-    if (!step.key().isBlank() && !step.key().equalsIgnoreCase(e.key())) return;
-    if (!step.value().isBlank() && !step.value().equalsIgnoreCase(e.value())) return;
+  /**
+   * Read-modify-write by compare-and-set against the catalog generation, so a
+   * reload migrating this player in between is retried on, never overwritten.
+   */
+  private void applyQuest(ActionEvent e, QuestDef q, PlayerBpState st, Content c) {
+    while (true) {
+      var cur = st.getQuest(q.id());
+      if (cur.stepIdx() >= q.steps().size()) return;
+
+      QuestStep step = q.steps().get(cur.stepIdx());
+
+      if (!step.type().equalsIgnoreCase(e.type())) return;
+      if (!step.key().isBlank() && !step.key().equalsIgnoreCase(e.key())) return;
+      if (!step.value().isBlank() && !step.value().equalsIgnoreCase(e.value())) return;
+
+      long next = cur.progress() + e.amount();
+      boolean stepDone = next >= step.required();
+      int nextIdx = stepDone ? cur.stepIdx() + 1 : cur.stepIdx();
+      if (st.compareAndSetQuest(q.id(), cur, nextIdx, stepDone ? 0L : next, c.quests().generation())) {
+        if (nextIdx >= q.steps().size()) awardPoints(e.playerId(), q, st, c.rewards());
+        return;
+      }
 
-    long next = cur.progress() + e.amount();
-    if (next < step.required()) {
-      st.setQuest(q.id(), cur.stepIdx(), next);
-      return;
+      if (st.generation() != c.quests().generation()) {
+        // Migrated by a reload after this event read its catalog: go on with the live definition.
+        c = content;
+        catchUp(st);
+        q = c.quests().quest(q.id());
+        if (q == null) return;
+        int slot = c.quests().slots().slot(q.id());
+        if (slot < 0 || !c.activeSlots().get(slot)) return;
+      }
     }
+  }
 
-    int nextIdx = cur.stepIdx() + 1;
-    st.setQuest(q.id(), nextIdx, 0);
-
-    if (nextIdx >= q.steps().size()) {
-      awardPoints(e.playerId(), q, st);
+  /**
+   * Brings a state up to the live catalog generation, one recorded migration
+   * at a time. Each step is a single write section and a no-op once applied,
+   * so any thread may call it and callers may race.
+   */
+  private void catchUp(PlayerBpState st) {
+    QuestCatalog live = content.quests();
+    st.rebind(live.slots());
+    for (long g = st.generation() + 1; g <= live.generation(); g++) {
+      QuestReload.Migration m = migrations.get(g);
+      if (m != null) m.apply(st);
+      else st.advance(g);
     }
   }
 
-  private void awardPoints(UUID playerId, QuestDef q, PlayerBpState st) {
+  private void awardPoints(UUID playerId, QuestDef q, PlayerBpState st, RewardsTable rewards) {
     long base = q.points();
     if (base <= 0) return;
 
@@ -328,14 +565,30 @@ public final class BattlePassRuntime {
 
   public void flushAllAsync() {
     if (zakum.database().state() != DatabaseState.ONLINE) return;
+    if (states.isEmpty() && departed.isEmpty()) return;
 
-    // Avoid spawning N async tasks for N players (task spam under load).
-    // Take a stable snapshot and flush in bounded batches.
-    java.util.ArrayList<UUID> uuids = new java.util.ArrayList<>(states.keySet());
-    if (uuids.isEmpty()) return;
+    zakum.async().execute(() -> {
+      try {
+        flushGroupNow(true);
+      } catch (Throwable ignored) {
+        // Best-effort: deltas were re-marked dirty and retry on the next interval.
+      }
+    });
+  }
 
-    int maxPerBatch = Math.max(10, plugin.getConfig().getInt("battlepass.flush.maxPlayersPerBatch", 200));
-    scheduleFlushBatch(uuids, 0, maxPerBatch);
+  /** Quit flush: one queued group flush of departed players, however many quit meanwhile. */
+  private void flushDepartedAsync() {
+    if (zakum.database().state() != DatabaseState.ONLINE) return;
+    if (!departedFlushQueued.compareAndSet(false, true)) return;
+
+    zakum.async().execute(() -> {
+      departedFlushQueued.set(false);
+      try {
+        flushGroupNow(false);
+      } catch (Throwable ignored) {
+        // Still in departed and dirty: the next interval flush retries.
+      }
+    });
   }
 
   /**
@@ -348,144 +601,254 @@ public final class BattlePassRuntime {
     if (zakum.database().state() != DatabaseState.ONLINE) {
       return java.util.concurrent.CompletableFuture.completedFuture(null);
     }
+    if (states.isEmpty() && departed.isEmpty()) return java.util.concurrent.CompletableFuture.completedFuture(null);
+
+    return java.util.concurrent.CompletableFuture.runAsync(() -> flushGroupNow(true), zakum.async());
+  }
 
-    java.util.ArrayList<UUID> uuids = new java.util.ArrayList<>(states.keySet());
-    if (uuids.isEmpty()) return java.util.concurrent.CompletableFuture.completedFuture(null);
+  /** Flush latency (ms) and rows written per group commit. */
+  public LongHistogram flushLatencyMs() { return flushLatencyMs; }
+  public LongHistogram flushRows() { return flushRows; }
 
-    int maxPerBatch = Math.max(10, plugin.getConfig().getInt("battlepass.flush.maxPlayersPerBatch", 200));
-    java.util.concurrent.CompletableFuture<Void> done = new java.util.concurrent.CompletableFuture<>();
-    scheduleFlushBatchDone(uuids, 0, maxPerBatch, done);
-    return done;
+  /**
+   * Duration of the latest group commit, or 0 if none ran in the last 30s
+   * (an idle server should not keep background jobs throttled).
+   */
+  public long recentFlushLatencyMs() {
+    long ms = lastFlushMs;
+    if (ms == 0L || System.nanoTime() - lastFlushAtNanos > RECENT_FLUSH_NANOS) return 0L;
+    return ms;
   }
 
-  private void scheduleFlushBatch(java.util.List<UUID> uuids, int start, int maxPerBatch) {
-    if (uuids == null) return;
-    if (start >= uuids.size()) return;
-    int end = Math.min(uuids.size(), start + Math.max(1, maxPerBatch));
+  /**
+   * Group commit: snapshots every dirty player and writes them in one transaction.
+   *
+   * Serialized so an older snapshot can never commit after a newer one; quit
+   * flushes go through here too. On failure every snapshot is re-marked dirty
+   * on the state it came from (loaded or departed) and the error rethrown.
+   *
+   * @param loaded also flush loaded players, not only departed ones
+   */
+  private void flushGroupNow(boolean loaded) {
+    synchronized (flushLock) {
+      migrateRowsLocked();
 
-    zakum.async().execute(() -> {
-      for (int i = start; i < end; i++) {
+      List<BattlePassStorage.PlayerDelta> batch = new ArrayList<>();
+      List<PlayerBpState> owners = new ArrayList<>();
+      if (loaded) snapshotInto(states, batch, owners);
+      snapshotInto(departed, batch, owners);
+
+      if (!batch.isEmpty()) {
+        long started = System.nanoTime();
         try {
-          flushPlayerDeltaNow(uuids.get(i));
-        } catch (Throwable ignored) {
-          // Best-effort: don't let one bad row kill the whole batch.
+          var result = BattlePassStorage.flushGroup(zakum.database().dataSource(), progressServerId, season, batch, maxStatementBytes);
+          long ms = noteFlush(started);
+          flushLatencyMs.record(ms);
+          flushRows.record(result.rows());
+        } catch (Exception e) {
+          noteFlush(started);
+          for (int i = 0; i < batch.size(); i++) owners.get(i).restoreDelta(batch.get(i).delta());
+          plugin.getLogger().warning("BattlePass flush failed; " + batch.size() + " players re-marked dirty: " + e.getMessage());
+          throw new IllegalStateException("BattlePass group flush failed", e);
         }
       }
 
-      if (end < uuids.size()) {
-        scheduleFlushBatch(uuids, end, maxPerBatch);
-      }
-    });
-  }
-
-  private void scheduleFlushBatchDone(java.util.List<UUID> uuids, int start, int maxPerBatch, java.util.concurrent.CompletableFuture<Void> done) {
-    if (done == null) return;
-    if (uuids == null) {
-      done.complete(null);
-      return;
-    }
-    if (start >= uuids.size()) {
-      done.complete(null);
-      return;
+      // Written: departed players are done unless a rollover or reload dirtied them again.
+      departed.forEach((uuid, st) -> {
+        if (!st.isDirty()) departed.remove(uuid, st);
+      });
     }
-    int end = Math.min(uuids.size(), start + Math.max(1, maxPerBatch));
-
-    zakum.async().execute(() -> {
-      try {
-        for (int i = start; i < end; i++) {
-          try {
-            flushPlayerDeltaNow(uuids.get(i));
-          } catch (Throwable ignored) {}
-        }
+  }
 
-        if (end < uuids.size()) {
-          scheduleFlushBatchDone(uuids, end, maxPerBatch, done);
-        } else {
-          done.complete(null);
+  /**
+   * Catches stored step rows up to the live catalog (flushLock held).
+   *
+   * Rows of loaded and departed players are rewritten too, but their states
+   * migrate in memory: those quests are re-marked dirty, so the flush that
+   * follows writes the in-memory values back over them. On failure the
+   * generation stays behind, loads keep catching up in memory and the next
+   * flush retries.
+   */
+  private void migrateRowsLocked() {
+    long target = content.quests().generation();
+    for (long g = dbGeneration + 1; g <= target; g++) {
+      QuestReload.Migration m = migrations.get(g);
+      if (m != null && !m.changes().isEmpty()) {
+        try {
+          int rows = BattlePassStorage.migrateSteps(zakum.database().dataSource(), progressServerId, season, m);
+          for (PlayerBpState st : heldStates()) st.touchQuests(m.changes().keySet());
+          if (rows > 0) plugin.getLogger().info("BattlePass reload migrated " + rows + " stored step rows of " + m.changes().size() + " changed quests.");
+        } catch (Exception e) {
+          plugin.getLogger().warning("BattlePass step migration failed, retrying next flush: " + e.getMessage());
+          return;
         }
-      } catch (Throwable t) {
-        done.completeExceptionally(t);
       }
-    });
+      dbGeneration = g;
+    }
   }
 
-  private void flushPlayerDeltaNow(UUID uuid) {
-    if (uuid == null) return;
-    PlayerBpState st = states.get(uuid);
-    if (st == null) return;
-
-    PlayerBpState.DeltaSnapshot delta = st.snapshotDeltaAndClear();
-    boolean hasClaims = delta.dirtyClaims() != null && !delta.dirtyClaims().isEmpty();
-    if (!delta.writeProgress() && delta.dirtySteps().isEmpty() && !hasClaims) return;
-
-    BattlePassStorage.flushPlayerDelta(zakum, progressServerId, season, uuid, delta);
+  private static void snapshotInto(Map<UUID, PlayerBpState> from, List<BattlePassStorage.PlayerDelta> batch, List<PlayerBpState> owners) {
+    for (var e : from.entrySet()) {
+      PlayerBpState.DeltaSnapshot delta = e.getValue().snapshotDeltaAndClear();
+      if (delta.isEmpty()) continue;
+      batch.add(new BattlePassStorage.PlayerDelta(e.getKey(), delta));
+      owners.add(e.getValue());
+    }
   }
 
-  public void flushPlayerAsync(UUID uuid) {
-    if (zakum.database().state() != DatabaseState.ONLINE) return;
-
-    PlayerBpState st = states.get(uuid);
-    if (st == null) return;
-
-    PlayerBpState.DeltaSnapshot delta = st.snapshotDeltaAndClear();
-    boolean hasClaims = delta.dirtyClaims() != null && !delta.dirtyClaims().isEmpty();
-    if (!delta.writeProgress() && delta.dirtySteps().isEmpty() && !hasClaims) return;
+  /** Loaded and departed states, each once (a quitting player can be in both for a moment). */
+  private Collection<PlayerBpState> heldStates() {
+    Set<PlayerBpState> held = Collections.newSetFromMap(new IdentityHashMap<>());
+    held.addAll(states.values());
+    held.addAll(departed.values());
+    return held;
+  }
 
-    zakum.async().execute(() -> BattlePassStorage.flushPlayerDelta(zakum, progressServerId, season, uuid, delta));
+  private long noteFlush(long startedNanos) {
+    long now = System.nanoTime();
+    long ms = (now - startedNanos) / 1_000_000L;
+    lastFlushMs = Math.max(1L, ms);
+    lastFlushAtNanos = now;
+    return ms;
   }
 
   private void loadPlayerAsync(UUID uuid) {
+    if (adoptDeparted(uuid)) return;
+
     if (zakum.database().state() != DatabaseState.ONLINE) {
-      PlayerBpState st = new PlayerBpState();
-      // Ensure quests exist to avoid missing state in memory.
-      for (String qid : quests.keySet()) st.ensureQuest(qid);
-      states.putIfAbsent(uuid, st);
+      PlayerBpState st = new PlayerBpState(content.quests().slots());
+      if (states.putIfAbsent(uuid, st) == null) track(uuid, st);
+      catchUp(st);
       refreshPremiumAsync(uuid);
       return;
     }
 
-    zakum.async().execute(() -> {
-      PlayerBpState st = BattlePassStorage.loadPlayer(zakum, progressServerId, season, quests, uuid);
-
-      // Rollover based on persisted period markers.
-      BattlePassStorage.PeriodState period = BattlePassStorage.loadPeriod(zakum, progressServerId, season, uuid);
-
-      long nowDay = epochDayNow();
-      long nowWeek = weeklyTokenNow();
-
-      boolean changed = false;
-      if (period.dailyDay() != nowDay) {
-        resetQuests(st, dailyQuestIds);
-        changed = true;
-      }
-      if (period.weeklyWeek() != nowWeek) {
-        resetQuests(st, weeklyQuestIds);
-        changed = true;
+    rolloverGate.thenRunAsync(() -> {
+      while (true) {
+        long rowsGeneration = dbGeneration;
+        long day = dailyToken;
+        long week = weeklyToken;
+        Content c = content;
+        PlayerBpState st = BattlePassStorage.loadPlayer(zakum, progressServerId, season, c.quests().slots(), uuid);
+
+        // A boundary passed while loading: the season-wide reset may have missed these rows.
+        BitSet missed = new BitSet();
+        if (day != dailyToken) missed.or(c.quests().dailySlots());
+        if (week != weeklyToken) missed.or(c.quests().weeklySlots());
+        if (!missed.isEmpty()) st.resetQuests(missed);
+
+        // tier resync from points (safety if rewards table changed); written by the next group flush
+        int expectedTier = c.rewards().tierForPoints(st.points());
+        if (expectedTier != st.tier()) st.setTier(expectedTier);
+
+        // Row migrations run under flushLock: once in states, the next one treats this player as loaded.
+        synchronized (flushLock) {
+          if (rowsGeneration != dbGeneration) continue;
+          st.advance(rowsGeneration);
+          catchUp(st);
+          states.put(uuid, st);
+        }
+        // A reload that published after the catch-up may have missed this state in its migration pass.
+        catchUp(st);
+        track(uuid, st);
+        refreshPremiumAsync(uuid);
+        return;
       }
+    }, zakum.async());
+  }
 
-      BattlePassStorage.upsertPeriod(zakum, progressServerId, season, uuid, nowDay, nowWeek);
+  /**
+   * Rejoin before the quit flush finished: the departed state is newer than
+   * its DB rows, so it is reused as is.
+   */
+  private boolean adoptDeparted(UUID uuid) {
+    PlayerBpState st = departed.get(uuid);
+    if (st == null) return false;
+
+    // Into states before out of departed; a failed flush still restores onto this object.
+    states.put(uuid, st);
+    departed.remove(uuid, st);
+    catchUp(st);
+    track(uuid, st);
+    refreshPremiumAsync(uuid);
+    return true;
+  }
 
-      if (changed) {
-        PlayerBpState.DeltaSnapshot delta = st.snapshotDeltaAndClear();
-        BattlePassStorage.flushPlayerDelta(zakum, progressServerId, season, uuid, delta);
+  /**
+   * Period boundary check (main thread; cheap when nothing changed).
+   *
+   * On a new day/week: one set-based reset of the whole season in the DB, then
+   * one in-memory pass over online players. The DB goes first so a flush
+   * racing the delete can only leave stale rows that the memory pass
+   * re-marks dirty as zeros. Until the DB reset commits, the gate stays
+   * pending and every tick retries it.
+   */
+  public void checkRollover() {
+    long day = epochDayNow();
+    long week = weeklyTokenNow();
+    boolean daily = day != dailyToken;
+    boolean weekly = week != weeklyToken;
+
+    if (daily || weekly) {
+      this.dailyToken = day;
+      this.weeklyToken = week;
+
+      synchronized (contentLock) {
+        Content c = content;
+        this.content = new Content(c.quests(), c.rewards(), c.quests().mask(this::isQuestActive));
+        if (daily) pendingReset.or(c.quests().dailySlots());
+        if (weekly) pendingReset.or(c.quests().weeklySlots());
       }
-
-      // tier resync from points (safety if rewards table changed)
-      int expectedTier = rewards.tierForPoints(st.points());
-      if (expectedTier != st.tier()) {
-        st.setTier(expectedTier);
-        PlayerBpState.DeltaSnapshot delta = st.snapshotDeltaAndClear();
-        BattlePassStorage.flushPlayerDelta(zakum, progressServerId, season, uuid, delta);
+      if (rolloverGate.isDone()) this.rolloverGate = new CompletableFuture<>();
+      this.rolloverPending = true;
+    }
+    attemptRollover();
+  }
+
+  /** Starts the DB reset for the current tokens unless one is running or none is owed (main thread). */
+  private void attemptRollover() {
+    if (!rolloverPending || rolloverInFlight) return;
+    rolloverPending = false;
+    rolloverInFlight = true;
+
+    long day = dailyToken;
+    long week = weeklyToken;
+    rolloverDbAsync(day, week).thenAccept(ok -> zakum.getScheduler().runTask(plugin, () -> {
+      rolloverInFlight = false;
+      if (!ok) {
+        rolloverPending = true;
+        return;
       }
+      // A newer boundary passed meanwhile: it is already pending and keeps the gate closed.
+      if (day != dailyToken || week != weeklyToken) return;
 
-      states.put(uuid, st);
-      refreshPremiumAsync(uuid);
-    });
+      for (PlayerBpState st : heldStates()) st.resetQuests(pendingReset);
+      pendingReset.clear();
+      rolloverGate.complete(null);
+    }));
   }
 
-  private void resetQuests(PlayerBpState st, Set<String> questIds) {
-    if (st == null || questIds == null || questIds.isEmpty()) return;
-    for (String q : questIds) st.resetQuest(q);
+  /**
+   * Never completes exceptionally: completes with false when the reset could
+   * not be written (DB offline or the statement failed), so the caller retries.
+   */
+  private CompletableFuture<Boolean> rolloverDbAsync(long day, long week) {
+    if (zakum.database().state() != DatabaseState.ONLINE) return CompletableFuture.completedFuture(false);
+    QuestCatalog quests = content.quests();
+    if (quests.dailyIds().isEmpty() && quests.weeklyIds().isEmpty()) return CompletableFuture.completedFuture(true);
+
+    return CompletableFuture.supplyAsync(() -> {
+      try {
+        var r = BattlePassStorage.rollover(zakum.database().dataSource(), progressServerId, season, day, week, quests.dailyIds(), quests.weeklyIds());
+        if (r.daily() || r.weekly()) {
+          plugin.getLogger().info("BattlePass rollover (daily=" + r.daily() + ", weekly=" + r.weekly() + "): " + r.rowsDeleted() + " step rows reset.");
+        }
+        return true;
+      } catch (Exception e) {
+        plugin.getLogger().warning("BattlePass rollover failed, retrying next check: " + e.getMessage());
+        return false;
+      }
+    }, zakum.async());
   }
 
   private long epochDayNow() {
@@ -3,12 +3,19 @@ package net.orbis.zakum.battlepass;
 import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.db.Jdbc;
 import net.orbis.zakum.api.util.UuidBytes;
-import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.index.QuestReload;
 import net.orbis.zakum.battlepass.state.PlayerBpState;
-
+import net.orbis.zakum.battlepass.state.QuestSlots;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -20,11 +27,11 @@ public final class BattlePassStorage {
 
   private BattlePassStorage() {}
 
-  public static PlayerBpState loadPlayer(ZakumApi zakum, String serverId, int season, Map<String, QuestDef> quests, UUID uuid) {
+  public static PlayerBpState loadPlayer(ZakumApi zakum, String serverId, int season, QuestSlots slots, UUID uuid) {
     Jdbc jdbc = zakum.database().jdbc();
     byte[] ub = UuidBytes.toBytes(uuid);
 
-    PlayerBpState st = new PlayerBpState();
+    PlayerBpState st = new PlayerBpState(slots);
 
     // Progress
     var rows = jdbc.query(
@@ -45,6 +52,7 @@ public final class BattlePassStorage {
       serverId, season, ub
     );
 
+    // Rows for quests removed from quests.yml have no slot and are skipped.
     for (var r : steps) {
       st.seedQuest(r.questId, r.stepIdx, r.progress);
     }
@@ -60,122 +68,320 @@ public final class BattlePassStorage {
       st.seedClaim(prem, c.tier);
     }
 
-    // Ensure every quest exists in memory (avoid missing state when quests.yml changes)
-    for (String qid : quests.keySet()) {
-      st.ensureQuest(qid);
-    }
-
     return st;
   }
 
-  public static void flushPlayerDelta(ZakumApi zakum, String serverId, int season, UUID uuid, PlayerBpState.DeltaSnapshot delta) {
-    if (delta == null) return;
-
-    Jdbc jdbc = zakum.database().jdbc();
-    byte[] ub = UuidBytes.toBytes(uuid);
-
-    if (delta.writeProgress()) {
-      jdbc.update(
-        "INSERT INTO orbis_battlepass_progress (server_id, season, uuid, tier, points) VALUES (?,?,?,?,?) " +
-          "ON DUPLICATE KEY UPDATE tier=VALUES(tier), points=VALUES(points)",
-        serverId, season, ub, delta.tier(), delta.points()
-      );
+  /**
+   * Group commit: writes every player's delta in one transaction on one connection.
+   *
+   * All progress rows become one multi-row upsert, all step rows another, all
+   * claims one insert; each is split only when it would exceed
+   * {@code maxStatementBytes} (or the driver's placeholder limit), never per
+   * player. On failure the transaction is rolled back and the exception
+   * propagates so the caller can re-mark the deltas dirty.
+   */
+  public static GroupFlushResult flushGroup(DataSource ds, String serverId, int season, List<PlayerDelta> deltas, int maxStatementBytes)
+    throws SQLException {
+    List<SqlChunk> chunks = groupStatements(serverId, season, deltas, maxStatementBytes);
+    if (chunks.isEmpty()) return new GroupFlushResult(0, 0);
+
+    int rows = 0;
+    try (Connection conn = ds.getConnection()) {
+      boolean autoCommit = conn.getAutoCommit();
+      conn.setAutoCommit(false);
+      try {
+        for (SqlChunk chunk : chunks) {
+          try (PreparedStatement ps = conn.prepareStatement(chunk.sql())) {
+            Object[] params = chunk.params();
+            for (int i = 0; i < params.length; i++) {
+              ps.setObject(i + 1, params[i]);
+            }
+            ps.executeUpdate();
+          }
+          rows += chunk.rows();
+        }
+        conn.commit();
+      } catch (SQLException | RuntimeException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(autoCommit);
+      }
     }
+    return new GroupFlushResult(chunks.size(), rows);
+  }
 
-    // Steps: multi-row upsert, chunked.
-    if (!delta.dirtySteps().isEmpty()) {
-      List<Map.Entry<String, PlayerBpState.StepStateSnap>> entries = new ArrayList<>(delta.dirtySteps().entrySet());
-      final int chunkSize = 100;
+  /**
+   * Builds the group-commit statements without touching the database.
+   */
+  static List<SqlChunk> groupStatements(String serverId, int season, List<PlayerDelta> deltas, int maxStatementBytes) {
+    if (deltas == null || deltas.isEmpty()) return List.of();
 
-      for (int i = 0; i < entries.size(); i += chunkSize) {
-        int end = Math.min(entries.size(), i + chunkSize);
-        List<Object> params = new ArrayList<>((end - i) * 6);
+    List<Object[]> progress = new ArrayList<>();
+    List<Object[]> steps = new ArrayList<>();
+    List<Object[]> claims = new ArrayList<>();
 
-        StringBuilder sb = new StringBuilder(256);
-        sb.append("INSERT INTO orbis_battlepass_step_progress ")
-          .append("(server_id, season, uuid, quest_id, step_idx, progress) VALUES ");
+    for (PlayerDelta pd : deltas) {
+      var delta = pd.delta();
+      if (delta == null || delta.isEmpty()) continue;
+      byte[] ub = UuidBytes.toBytes(pd.uuid());
 
-        for (int j = i; j < end; j++) {
-          if (j > i) sb.append(',');
-          sb.append("(?,?,?,?,?,?)");
-        }
+      if (delta.writeProgress()) {
+        progress.add(new Object[]{serverId, season, ub, delta.tier(), delta.points()});
+      }
+      for (var e : delta.dirtySteps().entrySet()) {
+        steps.add(new Object[]{serverId, season, ub, e.getKey(), e.getValue().stepIdx(), e.getValue().progress()});
+      }
+      for (var c : delta.dirtyClaims()) {
+        claims.add(new Object[]{serverId, season, ub, c.tier(), c.premium() ? "PREMIUM" : "FREE"});
+      }
+    }
 
-        sb.append(" ON DUPLICATE KEY UPDATE step_idx=VALUES(step_idx), progress=VALUES(progress)");
-
-        for (int j = i; j < end; j++) {
-          var e = entries.get(j);
-          String questId = e.getKey();
-          var ss = e.getValue();
-          params.add(serverId);
-          params.add(season);
-          params.add(ub);
-          params.add(questId);
-          params.add(ss.stepIdx());
-          params.add(ss.progress());
-        }
+    List<SqlChunk> out = new ArrayList<>();
+    appendChunked(out,
+      "INSERT INTO orbis_battlepass_progress (server_id, season, uuid, tier, points) VALUES ",
+      "(?,?,?,?,?)",
+      " ON DUPLICATE KEY UPDATE tier=VALUES(tier), points=VALUES(points)",
+      progress, maxStatementBytes);
+    appendChunked(out,
+      "INSERT INTO orbis_battlepass_step_progress (server_id, season, uuid, quest_id, step_idx, progress) VALUES ",
+      "(?,?,?,?,?,?)",
+      " ON DUPLICATE KEY UPDATE step_idx=VALUES(step_idx), progress=VALUES(progress)",
+      steps, maxStatementBytes);
+    appendChunked(out,
+      "INSERT IGNORE INTO orbis_battlepass_claims (server_id, season, uuid, tier, track) VALUES ",
+      "(?,?,?,?,?)",
+      "",
+      claims, maxStatementBytes);
+    return out;
+  }
 
-        jdbc.update(sb.toString(), params.toArray());
+  private static void appendChunked(List<SqlChunk> out, String head, String group, String tail, List<Object[]> rows, int maxBytes) {
+    if (rows.isEmpty()) return;
+
+    int budget = Math.max(1024, maxBytes);
+    int fixed = head.length() + tail.length();
+
+    int start = 0;
+    while (start < rows.size()) {
+      int bytes = fixed;
+      int placeholders = 0;
+      int end = start;
+      while (end < rows.size()) {
+        Object[] row = rows.get(end);
+        int rowBytes = group.length() + 1 + estimateBytes(row);
+        boolean full = bytes + rowBytes > budget || placeholders + row.length > MAX_PLACEHOLDERS;
+        if (full && end > start) break;
+        bytes += rowBytes;
+        placeholders += row.length;
+        end++;
       }
-    }
 
-    // Claims: insert-only, chunked.
-    if (delta.dirtyClaims() != null && !delta.dirtyClaims().isEmpty()) {
-      List<PlayerBpState.ClaimSnap> claims = new ArrayList<>(delta.dirtyClaims());
-      final int chunk = 200;
+      StringBuilder sb = new StringBuilder(head.length() + tail.length() + (end - start) * (group.length() + 1));
+      sb.append(head);
+      Object[] params = new Object[placeholders];
+      int p = 0;
+      for (int i = start; i < end; i++) {
+        if (i > start) sb.append(',');
+        sb.append(group);
+        for (Object v : rows.get(i)) params[p++] = v;
+      }
+      sb.append(tail);
 
-      for (int i = 0; i < claims.size(); i += chunk) {
-        int end = Math.min(claims.size(), i + chunk);
-        List<Object> params = new ArrayList<>((end - i) * 5);
+      out.add(new SqlChunk(sb.toString(), params, end - start));
+      start = end;
+    }
+  }
 
-        StringBuilder sb = new StringBuilder(256);
-        sb.append("INSERT IGNORE INTO orbis_battlepass_claims ")
-          .append("(server_id, season, uuid, tier, track) VALUES ");
+  /** Approximate on-the-wire size of bound parameters. */
+  private static int estimateBytes(Object[] row) {
+    int n = 0;
+    for (Object v : row) {
+      if (v instanceof byte[] b) n += b.length;
+      else if (v instanceof String str) n += str.getBytes(StandardCharsets.UTF_8).length;
+      else if (v instanceof Long) n += 8;
+      else n += 4;
+    }
+    return n;
+  }
 
-        for (int j = i; j < end; j++) {
-          if (j > i) sb.append(',');
-          sb.append("(?,?,?,?,?)");
+  /**
+   * Season-wide daily/weekly rollover: one transaction, one DELETE per cadence.
+   *
+   * The {@code orbis_battlepass_rollover} row records the last period applied and is
+   * locked for the transaction, so when several servers share a progress server id
+   * exactly one of them deletes. The marker only moves forward, so a server whose
+   * clock is behind never deletes a period again. Deleted step rows read back as
+   * step 0 / progress 0.
+   * The first run for a season seeds the row with the current period and only
+   * clears players whose legacy per-player period marker is stale.
+   */
+  public static RolloverResult rollover(DataSource ds, String serverId, int season, long day, long week,
+                                        Collection<String> dailyQuestIds, Collection<String> weeklyQuestIds) throws SQLException {
+    try (Connection conn = ds.getConnection()) {
+      boolean autoCommit = conn.getAutoCommit();
+      conn.setAutoCommit(false);
+      try {
+        RolloverResult result;
+        if (update(conn, "INSERT IGNORE INTO orbis_battlepass_rollover (server_id, season, daily_day, weekly_week) VALUES (?,?,?,?)",
+          serverId, season, day, week) == 1) {
+          int rows = deleteStaleLegacy(conn, serverId, season, "daily_day", day, dailyQuestIds)
+            + deleteStaleLegacy(conn, serverId, season, "weekly_week", week, weeklyQuestIds);
+          result = new RolloverResult(false, false, rows);
+        } else {
+          long appliedDay;
+          long appliedWeek;
+          try (PreparedStatement ps = conn.prepareStatement(
+            "SELECT daily_day, weekly_week FROM orbis_battlepass_rollover WHERE server_id=? AND season=? FOR UPDATE")) {
+            ps.setString(1, serverId);
+            ps.setInt(2, season);
+            try (ResultSet rs = ps.executeQuery()) {
+              if (!rs.next()) throw new SQLException("rollover marker missing for " + serverId + "/" + season);
+              appliedDay = rs.getLong(1);
+              appliedWeek = rs.getLong(2);
+            }
+          }
+
+          // Only forward: a server whose clock lags the marker must not re-run a period.
+          boolean daily = appliedDay < day;
+          boolean weekly = appliedWeek < week;
+          int rows = 0;
+          if (daily) rows += deleteSteps(conn, serverId, season, dailyQuestIds);
+          if (weekly) rows += deleteSteps(conn, serverId, season, weeklyQuestIds);
+          if (daily || weekly) {
+            update(conn, "UPDATE orbis_battlepass_rollover SET daily_day=GREATEST(daily_day, ?), weekly_week=GREATEST(weekly_week, ?) WHERE server_id=? AND season=?",
+              day, week, serverId, season);
+          }
+          result = new RolloverResult(daily, weekly, rows);
         }
+        conn.commit();
+        return result;
+      } catch (SQLException | RuntimeException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(autoCommit);
+      }
+    }
+  }
 
-        for (int j = i; j < end; j++) {
-          var c = claims.get(j);
-          params.add(serverId);
-          params.add(season);
-          params.add(ub);
-          params.add(c.tier());
-          params.add(c.premium() ? "PREMIUM" : "FREE");
+  /**
+   * Moves stored step rows onto a reload's changed quest steps, with the rule of
+   * {@link QuestReload.Change#restartStep}: rows on a kept step are untouched, a
+   * completed quest stays completed, anyone else restarts at the first changed step.
+   *
+   * One transaction. Each quest's {@code orbis_battlepass_quest_steps} row holds the
+   * signature of the steps its rows follow and is locked for the transaction, so when
+   * several servers share a progress server id and reload the same change, only the
+   * first one rewrites the rows.
+   *
+   * @return step rows rewritten
+   */
+  public static int migrateSteps(DataSource ds, String serverId, int season, QuestReload.Migration migration) throws SQLException {
+    if (migration.changes().isEmpty()) return 0;
+
+    try (Connection conn = ds.getConnection()) {
+      boolean autoCommit = conn.getAutoCommit();
+      conn.setAutoCommit(false);
+      try {
+        int rows = 0;
+        for (QuestReload.Change c : migration.changes().values()) {
+          String signature = migration.signatures().get(c.id());
+          update(conn, "INSERT IGNORE INTO orbis_battlepass_quest_steps (server_id, season, quest_id, steps_sig) VALUES (?,?,?,'')",
+            serverId, season, c.id());
+
+          String applied;
+          try (PreparedStatement ps = conn.prepareStatement(
+            "SELECT steps_sig FROM orbis_battlepass_quest_steps WHERE server_id=? AND season=? AND quest_id=? FOR UPDATE")) {
+            ps.setString(1, serverId);
+            ps.setInt(2, season);
+            ps.setString(3, c.id());
+            try (ResultSet rs = ps.executeQuery()) {
+              if (!rs.next()) throw new SQLException("quest steps marker missing for " + serverId + "/" + season + "/" + c.id());
+              applied = rs.getString(1);
+            }
+          }
+          if (signature.equals(applied)) continue;
+
+          // Every row from keptSteps up to oldSteps restarts at the same step.
+          int restart = c.restartStep(c.keptSteps());
+          rows += update(conn,
+            "UPDATE orbis_battlepass_step_progress SET step_idx=CASE WHEN step_idx>=? THEN ? ELSE ? END, progress=0 " +
+              "WHERE server_id=? AND season=? AND quest_id=? AND step_idx>=? AND (step_idx>0 OR progress>0)",
+            c.oldSteps(), c.newSteps(), restart, serverId, season, c.id(), c.keptSteps());
+          update(conn, "UPDATE orbis_battlepass_quest_steps SET steps_sig=? WHERE server_id=? AND season=? AND quest_id=?",
+            signature, serverId, season, c.id());
         }
-
-        jdbc.update(sb.toString(), params.toArray());
+        conn.commit();
+        return rows;
+      } catch (SQLException | RuntimeException e) {
+        conn.rollback();
+        throw e;
+      } finally {
+        conn.setAutoCommit(autoCommit);
       }
     }
   }
 
-  public static PeriodState loadPeriod(ZakumApi zakum, String serverId, int season, UUID uuid) {
-    Jdbc jdbc = zakum.database().jdbc();
-    byte[] ub = UuidBytes.toBytes(uuid);
+  private static int deleteSteps(Connection conn, String serverId, int season, Collection<String> questIds) throws SQLException {
+    if (questIds == null || questIds.isEmpty()) return 0;
+    Object[] params = stepParams(serverId, season, questIds);
+    return update(conn,
+      "DELETE FROM orbis_battlepass_step_progress WHERE server_id=? AND season=? AND quest_id IN (" + placeholders(questIds.size()) + ")",
+      params);
+  }
 
-    var rows = jdbc.query(
-      "SELECT daily_day, weekly_week FROM orbis_battlepass_periods WHERE server_id=? AND season=? AND uuid=? LIMIT 1",
-      rs -> new PeriodState(rs.getLong(1), rs.getLong(2)),
-      serverId, season, ub
-    );
-    if (rows.isEmpty()) return new PeriodState(0, 0);
-    return rows.get(0);
+  /** One-time catch-up from per-player period markers (pre-rollover-table installs). */
+  private static int deleteStaleLegacy(Connection conn, String serverId, int season, String column, long token,
+                                       Collection<String> questIds) throws SQLException {
+    if (questIds == null || questIds.isEmpty()) return 0;
+    Object[] ids = stepParams(serverId, season, questIds);
+    Object[] params = new Object[ids.length + 1];
+    System.arraycopy(ids, 0, params, 0, ids.length);
+    params[ids.length] = token;
+    return update(conn,
+      "DELETE s FROM orbis_battlepass_step_progress s JOIN orbis_battlepass_periods p " +
+        "ON p.server_id=s.server_id AND p.season=s.season AND p.uuid=s.uuid " +
+        "WHERE s.server_id=? AND s.season=? AND s.quest_id IN (" + placeholders(questIds.size()) + ") AND p." + column + "<>?",
+      params);
   }
 
-  public static void upsertPeriod(ZakumApi zakum, String serverId, int season, UUID uuid, long dailyDay, long weeklyWeek) {
-    Jdbc jdbc = zakum.database().jdbc();
-    byte[] ub = UuidBytes.toBytes(uuid);
+  private static Object[] stepParams(String serverId, int season, Collection<String> questIds) {
+    Object[] params = new Object[questIds.size() + 2];
+    params[0] = serverId;
+    params[1] = season;
+    int i = 2;
+    for (String id : questIds) params[i++] = id;
+    return params;
+  }
 
-    jdbc.update(
-      "INSERT INTO orbis_battlepass_periods (server_id, season, uuid, daily_day, weekly_week) VALUES (?,?,?,?,?) " +
-        "ON DUPLICATE KEY UPDATE daily_day=VALUES(daily_day), weekly_week=VALUES(weekly_week)",
-      serverId, season, ub, dailyDay, weeklyWeek
-    );
+  private static String placeholders(int n) {
+    StringBuilder sb = new StringBuilder(n * 2);
+    for (int i = 0; i < n; i++) {
+      if (i > 0) sb.append(',');
+      sb.append('?');
+    }
+    return sb.toString();
   }
 
+  private static int update(Connection conn, String sql, Object... params) throws SQLException {
+    try (PreparedStatement ps = conn.prepareStatement(sql)) {
+      for (int i = 0; i < params.length; i++) {
+        ps.setObject(i + 1, params[i]);
+      }
+      return ps.executeUpdate();
+    }
+  }
+
+  /** MySQL prepared statements accept at most 65535 placeholders. */
+  private static final int MAX_PLACEHOLDERS = 65_535;
+
+  public record PlayerDelta(UUID uuid, PlayerBpState.DeltaSnapshot delta) {}
+  public record GroupFlushResult(int statements, int rows) {}
+  record SqlChunk(String sql, Object[] params, int rows) {}
+
   private record Row(int tier, long points) {}
-  public record PeriodState(long dailyDay, long weeklyWeek) {}
+  public record RolloverResult(boolean daily, boolean weekly, int rowsDeleted) {}
   private record StepRow(String questId, int stepIdx, long progress) {}
   private record ClaimRow(int tier, String track) {}
 }
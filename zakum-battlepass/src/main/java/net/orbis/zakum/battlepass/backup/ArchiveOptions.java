@@ -0,0 +1,34 @@
+package net.orbis.zakum.battlepass.backup;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Tuning for archive/restore jobs.
+ *
+ * @param chunkSize      rows per keyset chunk (one transaction each)
+ * @param parallelism    table workers running at once
+ * @param targetFlushMs  live flush latency above which workers back off
+ * @param maxPauseMs     longest pause between chunks; 0 disables throttling
+ * @param flushLatencyMs latest live flush latency in ms (0 when idle)
+ */
+public record ArchiveOptions(
+  int chunkSize,
+  int parallelism,
+  long targetFlushMs,
+  long maxPauseMs,
+  LongSupplier flushLatencyMs
+) {
+
+  public ArchiveOptions {
+    chunkSize = Math.max(50, Math.min(50_000, chunkSize));
+    parallelism = Math.max(1, Math.min(ArchiveTable.values().length, parallelism));
+    targetFlushMs = Math.max(1L, targetFlushMs);
+    maxPauseMs = Math.max(0L, Math.min(60_000L, maxPauseMs));
+    if (flushLatencyMs == null) flushLatencyMs = () -> 0L;
+  }
+
+  /** Unthrottled, two workers. */
+  public static ArchiveOptions defaults(int chunkSize) {
+    return new ArchiveOptions(chunkSize, 2, 250L, 0L, null);
+  }
+}
@@ -0,0 +1,88 @@
+package net.orbis.zakum.battlepass.backup;
+
+import net.orbis.zakum.api.util.LongHistogram;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Live metrics for one archive or restore job (rows per table, chunk latency, throttle time).
+ *
+ * Updated by the table workers; safe to read from any thread.
+ */
+public final class ArchiveProgress {
+
+  private final String job;
+  private final long batchId;
+  private final long startedNanos = System.nanoTime();
+
+  private final AtomicLongArray rows = new AtomicLongArray(ArchiveTable.values().length);
+  private final LongHistogram chunkMs = new LongHistogram();
+  private final AtomicLong pausedMs = new AtomicLong();
+  private volatile long finishedNanos;
+  private volatile String state = "RUNNING";
+
+  ArchiveProgress(String job, long batchId) {
+    this.job = job;
+    this.batchId = batchId;
+  }
+
+  public String job() { return job; }
+  public long batchId() { return batchId; }
+  public String state() { return state; }
+
+  public long rows(ArchiveTable table) { return rows.get(table.ordinal()); }
+
+  public long totalRows() {
+    long n = 0;
+    for (int i = 0; i < rows.length(); i++) n += rows.get(i);
+    return n;
+  }
+
+  /** Per-chunk transaction latency (ms). */
+  public LongHistogram chunkMs() { return chunkMs; }
+
+  public long pausedMs() { return pausedMs.get(); }
+
+  public long elapsedMs() {
+    long end = finishedNanos == 0L ? System.nanoTime() : finishedNanos;
+    return (end - startedNanos) / 1_000_000L;
+  }
+
+  /**
+   * One line: {@code backup batch=.. RUNNING rows=.. (progress=.. ...) rate=../s chunk ms: .. paused=..ms}.
+   */
+  public String summary() {
+    long ms = Math.max(1L, elapsedMs());
+    StringBuilder sb = new StringBuilder();
+    sb.append(job.toLowerCase(Locale.ROOT)).append(" batch=").append(batchId).append(' ').append(state)
+      .append(" rows=").append(totalRows()).append(" (");
+    for (ArchiveTable t : ArchiveTable.values()) {
+      if (t.ordinal() > 0) sb.append(", ");
+      sb.append(t.name().toLowerCase(Locale.ROOT)).append('=').append(rows(t));
+    }
+    sb.append(") rate=").append(totalRows() * 1000L / ms).append("/s")
+      .append(" chunk ms: ").append(chunkMs.summary())
+      .append(" paused=").append(pausedMs()).append("ms");
+    return sb.toString();
+  }
+
+  void seed(ArchiveTable table, long done) {
+    rows.set(table.ordinal(), done);
+  }
+
+  void chunk(ArchiveTable table, long copied, long tookMs) {
+    rows.addAndGet(table.ordinal(), copied);
+    chunkMs.record(tookMs);
+  }
+
+  void paused(long ms) {
+    pausedMs.addAndGet(ms);
+  }
+
+  void finish(String state) {
+    this.state = state;
+    this.finishedNanos = System.nanoTime();
+  }
+}
@@ -0,0 +1,38 @@
+package net.orbis.zakum.battlepass.backup;
+
+/**
+ * Live BattlePass tables covered by a backup batch and their archive twins.
+ *
+ * Every live table's primary key starts with (server_id, season, uuid), which
+ * is the keyset archive chunks are cut on; archive tables are walked by id.
+ */
+public enum ArchiveTable {
+  PROGRESS("orbis_battlepass_progress", "tier, points, updated_at",
+    "tier=VALUES(tier), points=VALUES(points), updated_at=VALUES(updated_at)"),
+  STEPS("orbis_battlepass_step_progress", "quest_id, step_idx, progress, updated_at",
+    "step_idx=VALUES(step_idx), progress=VALUES(progress), updated_at=VALUES(updated_at)"),
+  CLAIMS("orbis_battlepass_claims", "tier, track, claimed_at",
+    "claimed_at=VALUES(claimed_at)"),
+  PERIODS("orbis_battlepass_periods", "daily_day, weekly_week, updated_at",
+    "daily_day=VALUES(daily_day), weekly_week=VALUES(weekly_week), updated_at=VALUES(updated_at)");
+
+  private final String live;
+  private final String columns;
+  private final String upsert;
+
+  ArchiveTable(String live, String columns, String upsert) {
+    this.live = live;
+    this.columns = columns;
+    this.upsert = upsert;
+  }
+
+  public String live() { return live; }
+
+  public String archive() { return live + "_archive"; }
+
+  /** Payload columns after (server_id, season, uuid). */
+  String columns() { return columns; }
+
+  /** ON DUPLICATE KEY UPDATE clause used when restoring over existing rows. */
+  String upsert() { return upsert; }
+}
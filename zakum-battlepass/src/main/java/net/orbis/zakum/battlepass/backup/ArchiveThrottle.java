@@ -0,0 +1,33 @@
+package net.orbis.zakum.battlepass.backup;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive pause between archive chunks, driven by the live flush latency.
+ *
+ * While the latest flush ran over target the pause doubles (up to the cap);
+ * once flushes recover it halves back to zero. One instance is shared by all
+ * workers of a job, so they back off together.
+ */
+final class ArchiveThrottle {
+
+  static final long MIN_PAUSE_MS = 25L;
+
+  private final ArchiveOptions options;
+  private final AtomicLong pauseMs = new AtomicLong();
+
+  ArchiveThrottle(ArchiveOptions options) {
+    this.options = options;
+  }
+
+  /** @return how long the calling worker should sleep before its next chunk */
+  long nextPauseMs() {
+    if (options.maxPauseMs() == 0L) return 0L;
+    boolean slow = options.flushLatencyMs().getAsLong() > options.targetFlushMs();
+    return pauseMs.updateAndGet(cur -> {
+      if (slow) return Math.min(options.maxPauseMs(), Math.max(MIN_PAUSE_MS, cur * 2));
+      long half = cur / 2;
+      return half < MIN_PAUSE_MS ? 0L : half;
+    });
+  }
+}
@@ -5,9 +5,8 @@ import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.api.db.Jdbc;
 import net.orbis.zakum.battlepass.db.BattlePassSchema;
 
+import javax.sql.DataSource;
 import java.sql.Timestamp;
-import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -18,7 +17,9 @@ import java.util.concurrent.ThreadLocalRandom;
  *
  * Goals:
  * - ops safety for season rollovers
- * - bounded work (chunked reads/inserts/deletes)
+ * - bounded work (keyset chunks, one transaction each; chunked deletes)
+ * - resumable: archive/restore cursors are committed with every chunk
+ * - yields to the live flush (adaptive throttle, see {@link ArchiveOptions})
  * - never blocks main thread
  */
 public final class BattlePassBackupService {
@@ -58,6 +59,14 @@ public final class BattlePassBackupService {
 
   private record BatchInfo(long batchId, String serverId, int season, String status) {}
 
+  // Most recent archive/restore job (running or finished), for /battlepass status.
+  private static volatile ArchiveProgress lastJob;
+
+  /** Progress of the running (or last finished) archive/restore job; null if none ran. */
+  public static ArchiveProgress lastJob() {
+    return lastJob;
+  }
+
   public static CompletableFuture<BackupResult> backupSeasonAsync(
     ZakumApi zakum,
     String serverId,
@@ -65,13 +74,50 @@ public final class BattlePassBackupService {
     String createdBy,
     String note,
     int chunkSize
+  ) {
+    return backupSeasonAsync(zakum, serverId, season, createdBy, note, ArchiveOptions.defaults(chunkSize));
+  }
+
+  public static CompletableFuture<BackupResult> backupSeasonAsync(
+    ZakumApi zakum,
+    String serverId,
+    int season,
+    String createdBy,
+    String note,
+    ArchiveOptions options
   ) {
     Objects.requireNonNull(zakum, "zakum");
+    Objects.requireNonNull(options, "options");
     String sid = (serverId == null || serverId.isBlank()) ? "unknown" : serverId;
     int s = Math.max(1, season);
-    int chunk = clamp(chunkSize, 50, 500);
 
-    return CompletableFuture.supplyAsync(() -> backupSeason(zakum, sid, s, createdBy, note, chunk), zakum.async());
+    return CompletableFuture.supplyAsync(() -> {
+      if (zakum.database().state() != DatabaseState.ONLINE) {
+        return new BackupResult(false, 0, "DB offline", 0, 0, 0, 0);
+      }
+      Jdbc jdbc = zakum.database().jdbc();
+      // Failsafe: if DB became online after plugin enable, schema might not have been created yet.
+      BattlePassSchema.ensureTables(jdbc);
+      return backupSeason(jdbc, zakum.database().dataSource(), sid, s, createdBy, note, options);
+    }, zakum.async());
+  }
+
+  /**
+   * Continues a RUNNING (interrupted) or FAILED backup batch from its last committed chunks.
+   */
+  public static CompletableFuture<BackupResult> resumeBackupAsync(ZakumApi zakum, long batchId, ArchiveOptions options) {
+    Objects.requireNonNull(zakum, "zakum");
+    Objects.requireNonNull(options, "options");
+    long bid = Math.max(1, batchId);
+
+    return CompletableFuture.supplyAsync(() -> {
+      if (zakum.database().state() != DatabaseState.ONLINE) {
+        return new BackupResult(false, bid, "DB offline", 0, 0, 0, 0);
+      }
+      Jdbc jdbc = zakum.database().jdbc();
+      BattlePassSchema.ensureTables(jdbc);
+      return resumeBackup(jdbc, zakum.database().dataSource(), bid, options);
+    }, zakum.async());
   }
 
   public static CompletableFuture<PurgeResult> purgeSeasonAsync(
@@ -85,7 +131,14 @@ public final class BattlePassBackupService {
     int s = Math.max(1, season);
     int limit = clamp(deleteLimit, 100, 50_000);
 
-    return CompletableFuture.supplyAsync(() -> purgeSeason(zakum, sid, s, limit), zakum.async());
+    return CompletableFuture.supplyAsync(() -> {
+      if (zakum.database().state() != DatabaseState.ONLINE) {
+        return new PurgeResult(false, "DB offline", 0, 0, 0, 0);
+      }
+      Jdbc jdbc = zakum.database().jdbc();
+      BattlePassSchema.ensureTables(jdbc);
+      return purgeSeason(jdbc, sid, s, limit);
+    }, zakum.async());
   }
 
   public static CompletableFuture<List<BackupBatch>> listBatchesAsync(
@@ -99,68 +152,110 @@ public final class BattlePassBackupService {
     return CompletableFuture.supplyAsync(() -> listBatches(zakum, sid, lim), zakum.async());
   }
 
+  public static CompletableFuture<RestoreResult> restoreBatchAsync(
+    ZakumApi zakum,
+    long batchId,
+    boolean overwrite,
+    int chunkSize,
+    int deleteLimit
+  ) {
+    return restoreBatchAsync(zakum, batchId, overwrite, ArchiveOptions.defaults(chunkSize), deleteLimit);
+  }
+
   /**
    * Restores a season snapshot from the archive tables back into live tables.
    *
    * Safety posture:
    * - refuses to restore if live tables already contain data for server_id+season unless overwrite=true
-   * - bounded chunked inserts
+   * - a restore interrupted part-way resumes from its cursors (no purge, no overwrite check)
+   * - bounded keyset chunks, one transaction each
    * - runs async (never blocks main thread)
    */
   public static CompletableFuture<RestoreResult> restoreBatchAsync(
     ZakumApi zakum,
     long batchId,
     boolean overwrite,
-    int chunkSize,
+    ArchiveOptions options,
     int deleteLimit
   ) {
     Objects.requireNonNull(zakum, "zakum");
+    Objects.requireNonNull(options, "options");
     long bid = Math.max(1, batchId);
-    int chunk = clamp(chunkSize, 50, 500);
     int limit = clamp(deleteLimit, 100, 50_000);
-    return CompletableFuture.supplyAsync(() -> restoreBatch(zakum, bid, overwrite, chunk, limit), zakum.async());
+
+    return CompletableFuture.supplyAsync(() -> {
+      if (zakum.database().state() != DatabaseState.ONLINE) {
+        return new RestoreResult(false, bid, "DB offline", 0, 0, 0, 0);
+      }
+      Jdbc jdbc = zakum.database().jdbc();
+      // Failsafe: schema might not exist yet.
+      BattlePassSchema.ensureTables(jdbc);
+      return restoreBatch(jdbc, zakum.database().dataSource(), bid, overwrite, options, limit);
+    }, zakum.async());
   }
 
-  private static BackupResult backupSeason(
-    ZakumApi zakum,
+  static BackupResult backupSeason(
+    Jdbc jdbc,
+    DataSource ds,
     String serverId,
     int season,
     String createdBy,
     String note,
-    int chunk
+    ArchiveOptions options
   ) {
-    if (zakum.database().state() != DatabaseState.ONLINE) {
-      return new BackupResult(false, 0, "DB offline", 0, 0, 0, 0);
-    }
-
-    Jdbc jdbc = zakum.database().jdbc();
-
-    // Failsafe: if DB became online after plugin enable, schema might not have been created yet.
-    BattlePassSchema.ensureTables(jdbc);
-
     long batchId = newBatchId();
-    Timestamp now = Timestamp.from(Instant.now());
-
     try {
       jdbc.update(
         "INSERT INTO orbis_battlepass_backup_batches (batch_id, server_id, season, created_by, note, status) VALUES (?,?,?,?,?, 'RUNNING')",
         batchId, serverId, season, safe(createdBy, 64), safe(note, 255)
       );
+      SeasonArchiveJob.initCursors(ds, batchId, SeasonArchiveJob.BACKUP);
+    } catch (Throwable t) {
+      return new BackupResult(false, batchId, describe(t), 0, 0, 0, 0);
+    }
+    return runBackup(jdbc, ds, new BatchInfo(batchId, serverId, season, "RUNNING"), options);
+  }
 
-      int progress = copyProgress(jdbc, batchId, now, serverId, season, chunk);
-      int steps = copySteps(jdbc, batchId, now, serverId, season, chunk);
-      int claims = copyClaims(jdbc, batchId, now, serverId, season, chunk);
-      int periods = copyPeriods(jdbc, batchId, now, serverId, season, chunk);
+  static BackupResult resumeBackup(Jdbc jdbc, DataSource ds, long batchId, ArchiveOptions options) {
+    BatchInfo info = findBatch(jdbc, batchId);
+    if (info == null) {
+      return new BackupResult(false, batchId, "unknown batch", 0, 0, 0, 0);
+    }
+    if ("OK".equalsIgnoreCase(info.status())) {
+      return new BackupResult(false, batchId, "batch already complete", 0, 0, 0, 0);
+    }
+    try {
+      if (SeasonArchiveJob.loadCursors(ds, batchId, SeasonArchiveJob.BACKUP).isEmpty()) {
+        // Batches written before resumable backups have no cursor; re-copying would duplicate rows.
+        return new BackupResult(false, batchId, "batch has no resume cursor; take a new backup", 0, 0, 0, 0);
+      }
+      jdbc.update("UPDATE orbis_battlepass_backup_batches SET status='RUNNING', error=NULL WHERE batch_id=?", batchId);
+    } catch (Throwable t) {
+      return new BackupResult(false, batchId, describe(t), 0, 0, 0, 0);
+    }
+    return runBackup(jdbc, ds, info, options);
+  }
+
+  private static BackupResult runBackup(Jdbc jdbc, DataSource ds, BatchInfo info, ArchiveOptions options) {
+    long batchId = info.batchId();
+    ArchiveProgress progress = new ArchiveProgress(SeasonArchiveJob.BACKUP, batchId);
+    lastJob = progress;
+    try {
+      long[] rows = new SeasonArchiveJob(ds, SeasonArchiveJob.BACKUP, batchId, info.serverId(), info.season(), options, progress).run();
 
       jdbc.update(
-        "UPDATE orbis_battlepass_backup_batches SET status='OK' WHERE batch_id=?",
+        "UPDATE orbis_battlepass_backup_batches SET status='OK', error=NULL WHERE batch_id=?",
         batchId
       );
+      progress.finish("OK");
 
-      return new BackupResult(true, batchId, "OK", progress, steps, claims, periods);
+      return new BackupResult(true, batchId, "OK",
+        count(rows, ArchiveTable.PROGRESS), count(rows, ArchiveTable.STEPS), count(rows, ArchiveTable.CLAIMS), count(rows, ArchiveTable.PERIODS));
 
     } catch (Throwable t) {
-      String msg = t.getClass().getSimpleName() + ": " + String.valueOf(t.getMessage());
+      if (t instanceof InterruptedException) Thread.currentThread().interrupt();
+      String msg = describe(t);
+      progress.finish("FAILED");
       try {
         jdbc.update(
           "UPDATE orbis_battlepass_backup_batches SET status='FAILED', error=? WHERE batch_id=?",
@@ -172,15 +267,7 @@ public final class BattlePassBackupService {
     }
   }
 
-  private static PurgeResult purgeSeason(ZakumApi zakum, String serverId, int season, int deleteLimit) {
-    if (zakum.database().state() != DatabaseState.ONLINE) {
-      return new PurgeResult(false, "DB offline", 0, 0, 0, 0);
-    }
-
-    Jdbc jdbc = zakum.database().jdbc();
-
-    BattlePassSchema.ensureTables(jdbc);
-
+  static PurgeResult purgeSeason(Jdbc jdbc, String serverId, int season, int deleteLimit) {
     try {
       int prog = deleteLoop(jdbc, "DELETE FROM orbis_battlepass_progress WHERE server_id=? AND season=? LIMIT ?", serverId, season, deleteLimit);
       int steps = deleteLoop(jdbc, "DELETE FROM orbis_battlepass_step_progress WHERE server_id=? AND season=? LIMIT ?", serverId, season, deleteLimit);
@@ -188,8 +275,7 @@ public final class BattlePassBackupService {
       int periods = deleteLoop(jdbc, "DELETE FROM orbis_battlepass_periods WHERE server_id=? AND season=? LIMIT ?", serverId, season, deleteLimit);
       return new PurgeResult(true, "OK", prog, steps, claims, periods);
     } catch (Throwable t) {
-      String msg = t.getClass().getSimpleName() + ": " + String.valueOf(t.getMessage());
-      return new PurgeResult(false, msg, 0, 0, 0, 0);
+      return new PurgeResult(false, describe(t), 0, 0, 0, 0);
     }
   }
 
@@ -220,191 +306,7 @@ public final class BattlePassBackupService {
     );
   }
 
-  private record ProgressRow(byte[] uuid, int tier, long points, Timestamp updatedAt) {}
-  private record StepRow(byte[] uuid, String questId, int stepIdx, long progress, Timestamp updatedAt) {}
-  private record ClaimRow(byte[] uuid, int tier, String track, Timestamp claimedAt) {}
-  private record PeriodRow(byte[] uuid, long dailyDay, long weeklyWeek, Timestamp updatedAt) {}
-
-  private record ArchProgress(long id, byte[] uuid, int tier, long points, Timestamp updatedAt) {}
-  private record ArchStep(long id, byte[] uuid, String questId, int stepIdx, long progress, Timestamp updatedAt) {}
-  private record ArchClaim(long id, byte[] uuid, int tier, String track, Timestamp claimedAt) {}
-  private record ArchPeriod(long id, byte[] uuid, long dailyDay, long weeklyWeek, Timestamp updatedAt) {}
-
-  private static int copyProgress(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, int chunk) {
-    byte[] cursor = new byte[16];
-    int total = 0;
-    while (true) {
-      List<ProgressRow> rows = jdbc.query(
-        "SELECT uuid, tier, points, updated_at FROM orbis_battlepass_progress " +
-          "WHERE server_id=? AND season=? AND uuid > ? ORDER BY uuid LIMIT ?",
-        rs -> new ProgressRow(rs.getBytes(1), rs.getInt(2), rs.getLong(3), rs.getTimestamp(4)),
-        serverId, season, cursor, chunk
-      );
-      if (rows.isEmpty()) break;
-
-      total += insertProgress(jdbc, batchId, archivedAt, serverId, season, rows);
-      cursor = rows.get(rows.size() - 1).uuid();
-
-      if (rows.size() < chunk) break;
-    }
-    return total;
-  }
-
-  private static int insertProgress(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, List<ProgressRow> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 8);
-    sb.append("INSERT INTO orbis_battlepass_progress_archive (batch_id, archived_at, server_id, season, uuid, tier, points, updated_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?,?,?)");
-      ProgressRow r = rows.get(i);
-      params.add(batchId);
-      params.add(archivedAt);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.tier());
-      params.add(r.points());
-      params.add(r.updatedAt());
-    }
-    return jdbc.update(sb.toString(), params.toArray());
-  }
-
-  private static int copySteps(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, int chunk) {
-    byte[] cursorUuid = new byte[16];
-    String cursorQuest = "";
-    int total = 0;
-    while (true) {
-      List<StepRow> rows = jdbc.query(
-        "SELECT uuid, quest_id, step_idx, progress, updated_at FROM orbis_battlepass_step_progress " +
-          "WHERE server_id=? AND season=? AND (uuid > ? OR (uuid = ? AND quest_id > ?)) " +
-          "ORDER BY uuid, quest_id LIMIT ?",
-        rs -> new StepRow(rs.getBytes(1), rs.getString(2), rs.getInt(3), rs.getLong(4), rs.getTimestamp(5)),
-        serverId, season, cursorUuid, cursorUuid, cursorQuest, chunk
-      );
-      if (rows.isEmpty()) break;
-      total += insertSteps(jdbc, batchId, archivedAt, serverId, season, rows);
-      StepRow last = rows.get(rows.size() - 1);
-      cursorUuid = last.uuid();
-      cursorQuest = last.questId();
-      if (rows.size() < chunk) break;
-    }
-    return total;
-  }
-
-  private static int insertSteps(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, List<StepRow> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 9);
-    sb.append("INSERT INTO orbis_battlepass_step_progress_archive (batch_id, archived_at, server_id, season, uuid, quest_id, step_idx, progress, updated_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?,?,?,?)");
-      StepRow r = rows.get(i);
-      params.add(batchId);
-      params.add(archivedAt);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.questId());
-      params.add(r.stepIdx());
-      params.add(r.progress());
-      params.add(r.updatedAt());
-    }
-    return jdbc.update(sb.toString(), params.toArray());
-  }
-
-  private static int copyClaims(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, int chunk) {
-    byte[] cursorUuid = new byte[16];
-    int cursorTier = Integer.MIN_VALUE;
-    String cursorTrack = "";
-    int total = 0;
-    while (true) {
-      List<ClaimRow> rows = jdbc.query(
-        "SELECT uuid, tier, track, claimed_at FROM orbis_battlepass_claims " +
-          "WHERE server_id=? AND season=? AND (uuid > ? OR (uuid = ? AND (tier > ? OR (tier = ? AND track > ?)))) " +
-          "ORDER BY uuid, tier, track LIMIT ?",
-        rs -> new ClaimRow(rs.getBytes(1), rs.getInt(2), rs.getString(3), rs.getTimestamp(4)),
-        serverId, season, cursorUuid, cursorUuid, cursorTier, cursorTier, cursorTrack, chunk
-      );
-      if (rows.isEmpty()) break;
-      total += insertClaims(jdbc, batchId, archivedAt, serverId, season, rows);
-      ClaimRow last = rows.get(rows.size() - 1);
-      cursorUuid = last.uuid();
-      cursorTier = last.tier();
-      cursorTrack = last.track();
-      if (rows.size() < chunk) break;
-    }
-    return total;
-  }
-
-  private static int insertClaims(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, List<ClaimRow> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 8);
-    sb.append("INSERT INTO orbis_battlepass_claims_archive (batch_id, archived_at, server_id, season, uuid, tier, track, claimed_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?,?,?)");
-      ClaimRow r = rows.get(i);
-      params.add(batchId);
-      params.add(archivedAt);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.tier());
-      params.add(r.track());
-      params.add(r.claimedAt());
-    }
-    return jdbc.update(sb.toString(), params.toArray());
-  }
-
-  private static int copyPeriods(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, int chunk) {
-    byte[] cursor = new byte[16];
-    int total = 0;
-    while (true) {
-      List<PeriodRow> rows = jdbc.query(
-        "SELECT uuid, daily_day, weekly_week, updated_at FROM orbis_battlepass_periods " +
-          "WHERE server_id=? AND season=? AND uuid > ? ORDER BY uuid LIMIT ?",
-        rs -> new PeriodRow(rs.getBytes(1), rs.getLong(2), rs.getLong(3), rs.getTimestamp(4)),
-        serverId, season, cursor, chunk
-      );
-      if (rows.isEmpty()) break;
-      total += insertPeriods(jdbc, batchId, archivedAt, serverId, season, rows);
-      cursor = rows.get(rows.size() - 1).uuid();
-      if (rows.size() < chunk) break;
-    }
-    return total;
-  }
-
-  private static int insertPeriods(Jdbc jdbc, long batchId, Timestamp archivedAt, String serverId, int season, List<PeriodRow> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 8);
-    sb.append("INSERT INTO orbis_battlepass_periods_archive (batch_id, archived_at, server_id, season, uuid, daily_day, weekly_week, updated_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?,?,?)");
-      PeriodRow r = rows.get(i);
-      params.add(batchId);
-      params.add(archivedAt);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.dailyDay());
-      params.add(r.weeklyWeek());
-      params.add(r.updatedAt());
-    }
-    return jdbc.update(sb.toString(), params.toArray());
-  }
-
-  private static RestoreResult restoreBatch(ZakumApi zakum, long batchId, boolean overwrite, int chunk, int deleteLimit) {
-    if (zakum.database().state() != DatabaseState.ONLINE) {
-      return new RestoreResult(false, batchId, "DB offline", 0, 0, 0, 0);
-    }
-
-    Jdbc jdbc = zakum.database().jdbc();
-
-    // Failsafe: schema might not exist yet.
-    BattlePassSchema.ensureTables(jdbc);
-
+  static RestoreResult restoreBatch(Jdbc jdbc, DataSource ds, long batchId, boolean overwrite, ArchiveOptions options, int deleteLimit) {
     BatchInfo info = findBatch(jdbc, batchId);
     if (info == null) {
       return new RestoreResult(false, batchId, "unknown batch", 0, 0, 0, 0);
@@ -416,35 +318,47 @@ public final class BattlePassBackupService {
     String serverId = info.serverId();
     int season = info.season();
 
-    // Refuse to overwrite live data unless explicitly requested.
-    boolean hasLive = hasAny(jdbc, "orbis_battlepass_progress", serverId, season)
-      || hasAny(jdbc, "orbis_battlepass_step_progress", serverId, season)
-      || hasAny(jdbc, "orbis_battlepass_claims", serverId, season)
-      || hasAny(jdbc, "orbis_battlepass_periods", serverId, season);
-
-    if (hasLive && !overwrite) {
-      return new RestoreResult(false, batchId, "target season already has data; use OVERWRITE", 0, 0, 0, 0);
-    }
-
-    if (hasLive) {
-      // Purge first (bounded loop).
-      purgeSeason(zakum, serverId, season, deleteLimit);
-    }
-
+    ArchiveProgress progress = new ArchiveProgress(SeasonArchiveJob.RESTORE, batchId);
     try {
-      int p = restoreProgressFromArchive(jdbc, batchId, serverId, season, chunk);
-      int s = restoreStepsFromArchive(jdbc, batchId, serverId, season, chunk);
-      int c = restoreClaimsFromArchive(jdbc, batchId, serverId, season, chunk);
-      int r = restorePeriodsFromArchive(jdbc, batchId, serverId, season, chunk);
+      boolean resuming = SeasonArchiveJob.loadCursors(ds, batchId, SeasonArchiveJob.RESTORE).values().stream()
+        .anyMatch(c -> !c.done());
+
+      if (!resuming) {
+        // Refuse to overwrite live data unless explicitly requested.
+        boolean hasLive = hasAny(jdbc, "orbis_battlepass_progress", serverId, season)
+          || hasAny(jdbc, "orbis_battlepass_step_progress", serverId, season)
+          || hasAny(jdbc, "orbis_battlepass_claims", serverId, season)
+          || hasAny(jdbc, "orbis_battlepass_periods", serverId, season);
+
+        if (hasLive && !overwrite) {
+          return new RestoreResult(false, batchId, "target season already has data; use OVERWRITE", 0, 0, 0, 0);
+        }
+
+        if (hasLive) {
+          // Purge first (bounded loop).
+          PurgeResult purge = purgeSeason(jdbc, serverId, season, deleteLimit);
+          if (!purge.ok()) return new RestoreResult(false, batchId, "purge failed: " + purge.message(), 0, 0, 0, 0);
+        }
+
+        SeasonArchiveJob.dropCursors(ds, batchId, SeasonArchiveJob.RESTORE);
+        SeasonArchiveJob.initCursors(ds, batchId, SeasonArchiveJob.RESTORE);
+      }
 
-      if (p == 0 && s == 0 && c == 0 && r == 0) {
+      lastJob = progress;
+      long[] rows = new SeasonArchiveJob(ds, SeasonArchiveJob.RESTORE, batchId, serverId, season, options, progress).run();
+
+      if (progress.totalRows() == 0) {
+        progress.finish("EMPTY");
         return new RestoreResult(false, batchId, "archive empty", 0, 0, 0, 0);
       }
+      progress.finish("OK");
 
-      return new RestoreResult(true, batchId, "OK", p, s, c, r);
+      return new RestoreResult(true, batchId, "OK",
+        count(rows, ArchiveTable.PROGRESS), count(rows, ArchiveTable.STEPS), count(rows, ArchiveTable.CLAIMS), count(rows, ArchiveTable.PERIODS));
     } catch (Throwable t) {
-      String msg = t.getClass().getSimpleName() + ": " + String.valueOf(t.getMessage());
-      return new RestoreResult(false, batchId, msg, 0, 0, 0, 0);
+      if (t instanceof InterruptedException) Thread.currentThread().interrupt();
+      progress.finish("FAILED");
+      return new RestoreResult(false, batchId, describe(t), 0, 0, 0, 0);
     }
   }
 
@@ -467,150 +381,12 @@ public final class BattlePassBackupService {
     return rows != null && !rows.isEmpty();
   }
 
-  private static int restoreProgressFromArchive(Jdbc jdbc, long batchId, String serverId, int season, int chunk) {
-    long cursor = 0L;
-    int total = 0;
-    while (true) {
-      List<ArchProgress> rows = jdbc.query(
-        "SELECT id, uuid, tier, points, updated_at FROM orbis_battlepass_progress_archive WHERE batch_id=? AND id > ? ORDER BY id LIMIT ?",
-        rs -> new ArchProgress(rs.getLong(1), rs.getBytes(2), rs.getInt(3), rs.getLong(4), rs.getTimestamp(5)),
-        batchId, cursor, chunk
-      );
-      if (rows == null || rows.isEmpty()) break;
-
-      total += insertRestoredProgress(jdbc, serverId, season, rows);
-      cursor = rows.get(rows.size() - 1).id();
-      if (rows.size() < chunk) break;
-    }
-    return total;
-  }
-
-  private static int insertRestoredProgress(Jdbc jdbc, String serverId, int season, List<ArchProgress> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 6);
-    sb.append("INSERT INTO orbis_battlepass_progress (server_id, season, uuid, tier, points, updated_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?)");
-      ArchProgress r = rows.get(i);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.tier());
-      params.add(r.points());
-      params.add(r.updatedAt());
-    }
-    sb.append(" AS new ON DUPLICATE KEY UPDATE tier=new.tier, points=new.points, updated_at=new.updated_at");
-    return jdbc.update(sb.toString(), params.toArray());
-  }
-
-  private static int restoreStepsFromArchive(Jdbc jdbc, long batchId, String serverId, int season, int chunk) {
-    long cursor = 0L;
-    int total = 0;
-    while (true) {
-      List<ArchStep> rows = jdbc.query(
-        "SELECT id, uuid, quest_id, step_idx, progress, updated_at FROM orbis_battlepass_step_progress_archive WHERE batch_id=? AND id > ? ORDER BY id LIMIT ?",
-        rs -> new ArchStep(rs.getLong(1), rs.getBytes(2), rs.getString(3), rs.getInt(4), rs.getLong(5), rs.getTimestamp(6)),
-        batchId, cursor, chunk
-      );
-      if (rows == null || rows.isEmpty()) break;
-      total += insertRestoredSteps(jdbc, serverId, season, rows);
-      cursor = rows.get(rows.size() - 1).id();
-      if (rows.size() < chunk) break;
-    }
-    return total;
-  }
-
-  private static int insertRestoredSteps(Jdbc jdbc, String serverId, int season, List<ArchStep> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 7);
-    sb.append("INSERT INTO orbis_battlepass_step_progress (server_id, season, uuid, quest_id, step_idx, progress, updated_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?,?)");
-      ArchStep r = rows.get(i);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.questId());
-      params.add(r.stepIdx());
-      params.add(r.progress());
-      params.add(r.updatedAt());
-    }
-    sb.append(" AS new ON DUPLICATE KEY UPDATE quest_id=new.quest_id, step_idx=new.step_idx, progress=new.progress, updated_at=new.updated_at");
-    return jdbc.update(sb.toString(), params.toArray());
-  }
-
-  private static int restoreClaimsFromArchive(Jdbc jdbc, long batchId, String serverId, int season, int chunk) {
-    long cursor = 0L;
-    int total = 0;
-    while (true) {
-      List<ArchClaim> rows = jdbc.query(
-        "SELECT id, uuid, tier, track, claimed_at FROM orbis_battlepass_claims_archive WHERE batch_id=? AND id > ? ORDER BY id LIMIT ?",
-        rs -> new ArchClaim(rs.getLong(1), rs.getBytes(2), rs.getInt(3), rs.getString(4), rs.getTimestamp(5)),
-        batchId, cursor, chunk
-      );
-      if (rows == null || rows.isEmpty()) break;
-      total += insertRestoredClaims(jdbc, serverId, season, rows);
-      cursor = rows.get(rows.size() - 1).id();
-      if (rows.size() < chunk) break;
-    }
-    return total;
+  private static int count(long[] rows, ArchiveTable table) {
+    return (int) Math.min(Integer.MAX_VALUE, rows[table.ordinal()]);
   }
 
-  private static int insertRestoredClaims(Jdbc jdbc, String serverId, int season, List<ArchClaim> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 6);
-    sb.append("INSERT INTO orbis_battlepass_claims (server_id, season, uuid, tier, track, claimed_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?)");
-      ArchClaim r = rows.get(i);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.tier());
-      params.add(r.track());
-      params.add(r.claimedAt());
-    }
-    sb.append(" AS new ON DUPLICATE KEY UPDATE claimed_at=new.claimed_at");
-    return jdbc.update(sb.toString(), params.toArray());
-  }
-
-  private static int restorePeriodsFromArchive(Jdbc jdbc, long batchId, String serverId, int season, int chunk) {
-    long cursor = 0L;
-    int total = 0;
-    while (true) {
-      List<ArchPeriod> rows = jdbc.query(
-        "SELECT id, uuid, daily_day, weekly_week, updated_at FROM orbis_battlepass_periods_archive WHERE batch_id=? AND id > ? ORDER BY id LIMIT ?",
-        rs -> new ArchPeriod(rs.getLong(1), rs.getBytes(2), rs.getLong(3), rs.getLong(4), rs.getTimestamp(5)),
-        batchId, cursor, chunk
-      );
-      if (rows == null || rows.isEmpty()) break;
-      total += insertRestoredPeriods(jdbc, serverId, season, rows);
-      cursor = rows.get(rows.size() - 1).id();
-      if (rows.size() < chunk) break;
-    }
-    return total;
-  }
-
-  private static int insertRestoredPeriods(Jdbc jdbc, String serverId, int season, List<ArchPeriod> rows) {
-    StringBuilder sb = new StringBuilder();
-    List<Object> params = new ArrayList<>(rows.size() * 6);
-    sb.append("INSERT INTO orbis_battlepass_periods (server_id, season, uuid, daily_day, weekly_week, updated_at) VALUES ");
-    for (int i = 0; i < rows.size(); i++) {
-      if (i > 0) sb.append(',');
-      sb.append("(?,?,?,?,?,?)");
-      ArchPeriod r = rows.get(i);
-      params.add(serverId);
-      params.add(season);
-      params.add(r.uuid());
-      params.add(r.dailyDay());
-      params.add(r.weeklyWeek());
-      params.add(r.updatedAt());
-    }
-    sb.append(" AS new ON DUPLICATE KEY UPDATE daily_day=new.daily_day, weekly_week=new.weekly_week, updated_at=new.updated_at");
-    return jdbc.update(sb.toString(), params.toArray());
+  private static String describe(Throwable t) {
+    return t.getClass().getSimpleName() + ": " + String.valueOf(t.getMessage());
   }
 
   private static long newBatchId() {
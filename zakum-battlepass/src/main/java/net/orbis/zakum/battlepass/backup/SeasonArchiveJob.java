@@ -0,0 +1,284 @@
+package net.orbis.zakum.battlepass.backup;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keyset-chunked copy between the live BattlePass tables and their archives.
+ *
+ * Each table gets its own worker, and every chunk is one transaction:
+ * - a probe on the primary key finds the chunk's upper key
+ * - one server-side INSERT ... SELECT copies that key range (rows never pass through the JVM)
+ * - the table's cursor row in orbis_battlepass_backup_cursors advances in the same commit
+ *
+ * An interrupted job therefore resumes right after its last committed chunk
+ * without duplicating rows. Workers read at READ COMMITTED so the copy does not
+ * hold shared locks against the live flush, and pause between chunks as told
+ * by {@link ArchiveThrottle}.
+ */
+final class SeasonArchiveJob {
+
+  static final String BACKUP = "BACKUP";
+  static final String RESTORE = "RESTORE";
+
+  private static final byte[] MIN_UUID = new byte[16];
+  private static final AtomicInteger THREADS = new AtomicInteger();
+
+  record Cursor(byte[] lastUuid, long lastId, long rows, boolean done) {}
+
+  private final DataSource ds;
+  private final String job;
+  private final long batchId;
+  private final String serverId;
+  private final int season;
+  private final ArchiveOptions options;
+  private final ArchiveThrottle throttle;
+  private final ArchiveProgress progress;
+  private final AtomicBoolean aborted = new AtomicBoolean();
+
+  SeasonArchiveJob(DataSource ds, String job, long batchId, String serverId, int season, ArchiveOptions options, ArchiveProgress progress) {
+    this.ds = ds;
+    this.job = job;
+    this.batchId = batchId;
+    this.serverId = serverId;
+    this.season = season;
+    this.options = options;
+    this.throttle = new ArchiveThrottle(options);
+    this.progress = progress;
+  }
+
+  /** Creates any missing cursor rows (start of table) for this batch and job. */
+  static void initCursors(DataSource ds, long batchId, String job) throws SQLException {
+    try (Connection c = ds.getConnection();
+         PreparedStatement ps = c.prepareStatement(
+           "INSERT IGNORE INTO orbis_battlepass_backup_cursors (batch_id, job, table_name) VALUES (?,?,?)")) {
+      for (ArchiveTable t : ArchiveTable.values()) {
+        ps.setLong(1, batchId);
+        ps.setString(2, job);
+        ps.setString(3, t.name());
+        ps.addBatch();
+      }
+      ps.executeBatch();
+    }
+  }
+
+  static void dropCursors(DataSource ds, long batchId, String job) throws SQLException {
+    try (Connection c = ds.getConnection();
+         PreparedStatement ps = c.prepareStatement("DELETE FROM orbis_battlepass_backup_cursors WHERE batch_id=? AND job=?")) {
+      ps.setLong(1, batchId);
+      ps.setString(2, job);
+      ps.executeUpdate();
+    }
+  }
+
+  static Map<ArchiveTable, Cursor> loadCursors(DataSource ds, long batchId, String job) throws SQLException {
+    Map<ArchiveTable, Cursor> out = new EnumMap<>(ArchiveTable.class);
+    try (Connection c = ds.getConnection();
+         PreparedStatement ps = c.prepareStatement(
+           "SELECT table_name, last_uuid, last_id, rows_done, done FROM orbis_battlepass_backup_cursors WHERE batch_id=? AND job=?")) {
+      ps.setLong(1, batchId);
+      ps.setString(2, job);
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          ArchiveTable t;
+          try { t = ArchiveTable.valueOf(rs.getString(1)); }
+          catch (IllegalArgumentException ignored) { continue; }
+          out.put(t, new Cursor(rs.getBytes(2), rs.getLong(3), rs.getLong(4), rs.getBoolean(5)));
+        }
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Runs every unfinished table, at most {@code parallelism} at once.
+   *
+   * On the first worker failure the others stop after their current chunk
+   * (their cursors stay committed) and the failure is rethrown.
+   *
+   * @return rows per table, indexed by ordinal, including earlier runs of this job
+   */
+  long[] run() throws Exception {
+    Map<ArchiveTable, Cursor> cursors = loadCursors(ds, batchId, job);
+    long[] rows = new long[ArchiveTable.values().length];
+    List<ArchiveTable> pending = new ArrayList<>();
+    for (ArchiveTable t : ArchiveTable.values()) {
+      Cursor c = cursors.get(t);
+      if (c == null) throw new IllegalStateException("missing " + job + " cursor for " + t + " (batch " + batchId + ")");
+      rows[t.ordinal()] = c.rows();
+      progress.seed(t, c.rows());
+      if (!c.done()) pending.add(t);
+    }
+    if (pending.isEmpty()) return rows;
+
+    ExecutorService pool = Executors.newFixedThreadPool(Math.min(options.parallelism(), pending.size()), workerThreads());
+    try {
+      List<Future<Long>> futures = new ArrayList<>(pending.size());
+      for (ArchiveTable t : pending) {
+        Cursor c = cursors.get(t);
+        futures.add(pool.submit(() -> copyTable(t, c)));
+      }
+
+      Exception failure = null;
+      for (int i = 0; i < futures.size(); i++) {
+        try {
+          rows[pending.get(i).ordinal()] = futures.get(i).get();
+        } catch (ExecutionException e) {
+          aborted.set(true);
+          if (failure == null) failure = e.getCause() instanceof Exception ex ? ex : e;
+        } catch (InterruptedException e) {
+          aborted.set(true);
+          throw e;
+        }
+      }
+      if (failure != null) throw failure;
+      return rows;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private long copyTable(ArchiveTable t, Cursor cursor) throws SQLException, InterruptedException {
+    boolean backup = job.equals(BACKUP);
+    byte[] lastUuid = cursor.lastUuid() == null ? MIN_UUID : cursor.lastUuid();
+    long lastId = cursor.lastId();
+    long total = cursor.rows();
+
+    try (Connection c = ds.getConnection()) {
+      boolean autoCommit = c.getAutoCommit();
+      int isolation = c.getTransactionIsolation();
+      c.setAutoCommit(false);
+      c.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+      try {
+        while (!aborted.get()) {
+          long started = System.nanoTime();
+          int copied;
+          boolean last;
+          if (backup) {
+            byte[] hi = probeUuid(c, t, lastUuid);
+            copied = archiveRange(c, t, lastUuid, hi);
+            last = hi == null;
+            if (!last) lastUuid = hi;
+          } else {
+            long hi = probeId(c, t, lastId);
+            copied = restoreRange(c, t, lastId, hi);
+            last = hi < 0;
+            if (!last) lastId = hi;
+          }
+          advance(c, t, lastUuid, lastId, copied, last);
+          c.commit();
+
+          total += copied;
+          progress.chunk(t, copied, (System.nanoTime() - started) / 1_000_000L);
+          if (last) break;
+
+          long pause = throttle.nextPauseMs();
+          if (pause > 0) {
+            Thread.sleep(pause);
+            progress.paused(pause);
+          }
+        }
+      } catch (SQLException | RuntimeException | InterruptedException e) {
+        try { c.rollback(); } catch (SQLException ignored) {}
+        throw e;
+      } finally {
+        try {
+          c.setTransactionIsolation(isolation);
+          c.setAutoCommit(autoCommit);
+        } catch (SQLException ignored) {}
+      }
+    }
+    return total;
+  }
+
+  /** Upper uuid of the next chunk, or null when the rest of the table fits in one. */
+  private byte[] probeUuid(Connection c, ArchiveTable t, byte[] after) throws SQLException {
+    try (PreparedStatement ps = c.prepareStatement(
+      "SELECT uuid FROM " + t.live() + " WHERE server_id=? AND season=? AND uuid > ? ORDER BY uuid LIMIT 1 OFFSET ?")) {
+      ps.setString(1, serverId);
+      ps.setInt(2, season);
+      ps.setBytes(3, after);
+      ps.setInt(4, options.chunkSize() - 1);
+      try (ResultSet rs = ps.executeQuery()) {
+        return rs.next() ? rs.getBytes(1) : null;
+      }
+    }
+  }
+
+  /** Upper archive id of the next chunk, or -1 when the rest of the batch fits in one. */
+  private long probeId(Connection c, ArchiveTable t, long after) throws SQLException {
+    try (PreparedStatement ps = c.prepareStatement(
+      "SELECT id FROM " + t.archive() + " WHERE batch_id=? AND id > ? ORDER BY id LIMIT 1 OFFSET ?")) {
+      ps.setLong(1, batchId);
+      ps.setLong(2, after);
+      ps.setInt(3, options.chunkSize() - 1);
+      try (ResultSet rs = ps.executeQuery()) {
+        return rs.next() ? rs.getLong(1) : -1L;
+      }
+    }
+  }
+
+  private int archiveRange(Connection c, ArchiveTable t, byte[] after, byte[] upTo) throws SQLException {
+    // batch_id is our own generated long, inlined so the SELECT list carries no untyped parameters.
+    String sql = "INSERT INTO " + t.archive() + " (batch_id, server_id, season, uuid, " + t.columns() + ") " +
+      "SELECT " + batchId + ", server_id, season, uuid, " + t.columns() + " FROM " + t.live() +
+      " WHERE server_id=? AND season=? AND uuid > ?" + (upTo == null ? "" : " AND uuid <= ?");
+    try (PreparedStatement ps = c.prepareStatement(sql)) {
+      ps.setString(1, serverId);
+      ps.setInt(2, season);
+      ps.setBytes(3, after);
+      if (upTo != null) ps.setBytes(4, upTo);
+      return ps.executeUpdate();
+    }
+  }
+
+  private int restoreRange(Connection c, ArchiveTable t, long after, long upTo) throws SQLException {
+    String sql = "INSERT INTO " + t.live() + " (server_id, season, uuid, " + t.columns() + ") " +
+      "SELECT server_id, season, uuid, " + t.columns() + " FROM " + t.archive() +
+      " WHERE batch_id=? AND id > ?" + (upTo < 0 ? "" : " AND id <= ?") +
+      " ON DUPLICATE KEY UPDATE " + t.upsert();
+    try (PreparedStatement ps = c.prepareStatement(sql)) {
+      ps.setLong(1, batchId);
+      ps.setLong(2, after);
+      if (upTo >= 0) ps.setLong(3, upTo);
+      return ps.executeUpdate();
+    }
+  }
+
+  private void advance(Connection c, ArchiveTable t, byte[] lastUuid, long lastId, int copied, boolean done) throws SQLException {
+    try (PreparedStatement ps = c.prepareStatement(
+      "UPDATE orbis_battlepass_backup_cursors SET last_uuid=?, last_id=?, rows_done=rows_done+?, done=? " +
+        "WHERE batch_id=? AND job=? AND table_name=?")) {
+      ps.setBytes(1, lastUuid);
+      ps.setLong(2, lastId);
+      ps.setLong(3, copied);
+      ps.setBoolean(4, done);
+      ps.setLong(5, batchId);
+      ps.setString(6, job);
+      ps.setString(7, t.name());
+      ps.executeUpdate();
+    }
+  }
+
+  private static ThreadFactory workerThreads() {
+    return r -> {
+      Thread t = new Thread(r, "BattlePass-archive-" + THREADS.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+  }
+}
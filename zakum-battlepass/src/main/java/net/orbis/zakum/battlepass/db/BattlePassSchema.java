@@ -78,6 +78,30 @@ public final class BattlePassSchema {
       ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
       """);
 
+    // Last daily/weekly period reset applied to a whole season (one row, not per player).
+    jdbc.update("""
+      CREATE TABLE IF NOT EXISTS orbis_battlepass_rollover (
+        server_id VARCHAR(64) NOT NULL,
+        season INT NOT NULL,
+        daily_day BIGINT NOT NULL DEFAULT 0,
+        weekly_week BIGINT NOT NULL DEFAULT 0,
+        updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+        PRIMARY KEY (server_id, season)
+      ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+      """);
+
+    // Signature of the steps each quest's step rows follow (reload migrations, one row per quest).
+    jdbc.update("""
+      CREATE TABLE IF NOT EXISTS orbis_battlepass_quest_steps (
+        server_id VARCHAR(64) NOT NULL,
+        season INT NOT NULL,
+        quest_id VARCHAR(64) NOT NULL,
+        steps_sig VARCHAR(64) NOT NULL DEFAULT '',
+        updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+        PRIMARY KEY (server_id, season, quest_id)
+      ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+      """);
+
     // Backup batches + archives (ops safety for season rollovers).
     jdbc.update("""
       CREATE TABLE IF NOT EXISTS orbis_battlepass_backup_batches (
@@ -94,6 +118,22 @@ public final class BattlePassSchema {
       ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
       """);
 
+    // Last committed key per table of a batch's archive/restore job (resume point).
+    jdbc.update("""
+      CREATE TABLE IF NOT EXISTS orbis_battlepass_backup_cursors (
+        batch_id BIGINT NOT NULL,
+        job VARCHAR(16) NOT NULL,
+        table_name VARCHAR(32) NOT NULL,
+        last_uuid VARBINARY(16) NULL,
+        last_id BIGINT NOT NULL DEFAULT 0,
+        rows_done BIGINT NOT NULL DEFAULT 0,
+        done BOOLEAN NOT NULL DEFAULT FALSE,
+        updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+        PRIMARY KEY (batch_id, job, table_name)
+      ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+      """);
+
+    // Archive index names are prefixed: H2 (tests) scopes index names to the schema, not the table.
     jdbc.update("""
       CREATE TABLE IF NOT EXISTS orbis_battlepass_progress_archive (
         id BIGINT NOT NULL AUTO_INCREMENT,
@@ -106,8 +146,8 @@ public final class BattlePassSchema {
         points BIGINT NOT NULL,
         updated_at TIMESTAMP NULL,
         PRIMARY KEY (id),
-        KEY idx_batch (batch_id),
-        KEY idx_player (server_id, season, uuid)
+        KEY idx_pa_batch (batch_id),
+        KEY idx_pa_player (server_id, season, uuid)
       ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
       """);
 
@@ -124,9 +164,9 @@ public final class BattlePassSchema {
         progress BIGINT NOT NULL,
         updated_at TIMESTAMP NULL,
         PRIMARY KEY (id),
-        KEY idx_batch (batch_id),
-        KEY idx_player (server_id, season, uuid),
-        KEY idx_quest (server_id, season, quest_id)
+        KEY idx_spa_batch (batch_id),
+        KEY idx_spa_player (server_id, season, uuid),
+        KEY idx_spa_quest (server_id, season, quest_id)
       ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
       """);
 
@@ -142,8 +182,8 @@ public final class BattlePassSchema {
         track VARCHAR(16) NOT NULL,
         claimed_at TIMESTAMP NULL,
         PRIMARY KEY (id),
-        KEY idx_batch (batch_id),
-        KEY idx_player (server_id, season, uuid)
+        KEY idx_ca_batch (batch_id),
+        KEY idx_ca_player (server_id, season, uuid)
       ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
       """);
 
@@ -159,8 +199,8 @@ public final class BattlePassSchema {
         weekly_week BIGINT NOT NULL,
         updated_at TIMESTAMP NULL,
         PRIMARY KEY (id),
-        KEY idx_batch (batch_id),
-        KEY idx_player (server_id, season, uuid)
+        KEY idx_pea_batch (batch_id),
+        KEY idx_pea_player (server_id, season, uuid)
       ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
       """);
   }
@@ -24,7 +24,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * Design posture:
  * - no refresh loops
  * - all writes are atomic + backed up (BattlePassYamlStore)
- * - write operations are async + bounded; runtime reload occurs sync
+ * - write operations are async + bounded; the runtime then reloads quests/rewards in place
  */
 public final class BattlePassEditor {
 
@@ -520,7 +520,7 @@ public final class BattlePassEditor {
   }
 
   // -----------------------------
-  // Write operations (async save, sync restart)
+  // Write operations (async save, in-place reload)
   // -----------------------------
 
   private void editQuestStringAsync(Player p, String questId, String field, String value, Runnable reopen) {
@@ -532,7 +532,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Saved quest " + questId + ".");
           reopen.run();
@@ -568,7 +568,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Saved quest " + questId + ".");
           reopen.run();
@@ -610,7 +610,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Saved quest " + questId + ".");
           reopen.run();
@@ -656,7 +656,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Saved step.");
           reopen.run();
@@ -699,7 +699,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Saved step.");
           reopen.run();
@@ -751,7 +751,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Added step.");
           reopen.run();
@@ -804,7 +804,7 @@ public final class BattlePassEditor {
         store.saveRewardsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Added tier " + t + ".");
           reopen.run();
@@ -839,7 +839,7 @@ public final class BattlePassEditor {
         store.saveRewardsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Saved tier " + t + ".");
           reopen.run();
@@ -881,7 +881,7 @@ public final class BattlePassEditor {
         store.saveRewardsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Added reward " + id + ".");
           reopen.run();
@@ -928,7 +928,7 @@ public final class BattlePassEditor {
         store.saveRewardsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Added command.");
           reopen.run();
@@ -963,7 +963,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Quest " + questId + " enabled=" + (!cur));
           reopen.run();
@@ -994,7 +994,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Saved.");
           reopen.run();
@@ -1030,7 +1030,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Cadence set to " + next + ".");
           reopen.run();
@@ -1068,7 +1068,7 @@ public final class BattlePassEditor {
         store.saveQuestsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Deleted step.");
           reopen.run();
@@ -1103,7 +1103,7 @@ public final class BattlePassEditor {
         store.saveRewardsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Deleted reward " + rewardId + ".");
           reopen.run();
@@ -1144,7 +1144,7 @@ public final class BattlePassEditor {
         store.saveRewardsAtomic(yaml);
 
         ZakumApi.get().getScheduler().runTask(plugin, () -> {
-          plugin.restartRuntimeForYamlChange(null);
+          plugin.reloadRuntimeContent(null);
           adminJobRunning.set(false);
           p.sendMessage(ChatColor.GREEN + "Removed command.");
           reopen.run();
@@ -0,0 +1,94 @@
+package net.orbis.zakum.battlepass.index;
+
+import net.orbis.zakum.battlepass.model.QuestCadence;
+import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.state.QuestSlots;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Everything derived from one quests.yml load: definitions, the action index,
+ * the slot table and the daily/weekly masks.
+ *
+ * Immutable, so it can be built off-thread and published with one reference
+ * write; the action path reads it once per event.
+ */
+public final class QuestCatalog {
+
+  public static final QuestCatalog EMPTY = new QuestCatalog(Map.of(), QuestSlots.EMPTY, 0L);
+
+  private final long generation;
+  private final Map<String, QuestDef> quests;
+  private final QuestIndex index;
+  private final QuestSlots slots;
+  private final Set<String> dailyIds;
+  private final Set<String> weeklyIds;
+  private final BitSet dailySlots;
+  private final BitSet weeklySlots;
+
+  private QuestCatalog(Map<String, QuestDef> quests, QuestSlots slots, long generation) {
+    this.generation = generation;
+    this.quests = quests;
+    this.index = new QuestIndex(quests.values());
+    this.slots = slots;
+
+    Set<String> d = new HashSet<>();
+    Set<String> w = new HashSet<>();
+    for (QuestDef q : quests.values()) {
+      if (q.cadence() == QuestCadence.DAILY) d.add(q.id());
+      else if (q.cadence() == QuestCadence.WEEKLY) w.add(q.id());
+    }
+    this.dailyIds = Set.copyOf(d);
+    this.weeklyIds = Set.copyOf(w);
+    this.dailySlots = slots.mask(dailyIds::contains);
+    this.weeklySlots = slots.mask(weeklyIds::contains);
+  }
+
+  public static QuestCatalog of(Map<String, QuestDef> quests) {
+    return EMPTY.next(quests);
+  }
+
+  /**
+   * The catalog for a new load. Its slot table extends this one's
+   * ({@link QuestSlots#extend}), so states can be rebound instead of rebuilt,
+   * and its generation is one higher.
+   */
+  public QuestCatalog next(Map<String, QuestDef> quests) {
+    Map<String, QuestDef> copy = quests == null ? Map.of() : Map.copyOf(quests);
+    return new QuestCatalog(copy, slots.extend(copy.keySet()), generation + 1);
+  }
+
+  /** Loads since {@link #EMPTY}; what {@link net.orbis.zakum.battlepass.state.PlayerBpState#generation} follows. */
+  public long generation() { return generation; }
+
+  public Map<String, QuestDef> quests() { return quests; }
+  public Collection<QuestDef> all() { return quests.values(); }
+  public QuestIndex index() { return index; }
+  public QuestSlots slots() { return slots; }
+  public Set<String> dailyIds() { return dailyIds; }
+  public Set<String> weeklyIds() { return weeklyIds; }
+
+  /** Read-only. */
+  public BitSet dailySlots() { return dailySlots; }
+
+  /** Read-only. */
+  public BitSet weeklySlots() { return weeklySlots; }
+
+  public QuestDef quest(String id) {
+    return id == null ? null : quests.get(id);
+  }
+
+  /** Slots of loaded quests matching {@code filter}; slots of removed quests are never set. */
+  public BitSet mask(Predicate<QuestDef> filter) {
+    BitSet out = new BitSet(slots.size());
+    for (QuestDef q : quests.values()) {
+      if (filter.test(q)) out.set(slots.slot(q.id()));
+    }
+    return out;
+  }
+}
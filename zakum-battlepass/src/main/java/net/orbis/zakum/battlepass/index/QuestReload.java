@@ -0,0 +1,220 @@
+package net.orbis.zakum.battlepass.index;
+
+import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.model.QuestStep;
+import net.orbis.zakum.battlepass.state.PlayerBpState;
+import net.orbis.zakum.battlepass.state.QuestSlots;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * One quests.yml reload: the next {@link QuestCatalog} plus a structural diff
+ * against the live one.
+ *
+ * {@link #prepare} does all the work that allocates and can run off-thread.
+ * {@link #apply} publishes in an order that never drops progress:
+ * - rebind every state to the grown slot table (old catalog still live, same slots)
+ * - publish the catalog (one reference write by the caller)
+ * - rebind again (states loaded meanwhile) and move every state to the new
+ *   generation, rewriting only progress in a quest whose steps changed
+ *
+ * The rewrite of one state is a single write section against the generation
+ * ({@link PlayerBpState#migrate}); action writes compare-and-set against the
+ * generation of the catalog they read, so neither can overwrite the other.
+ * {@link #migration()} is what a caller keeps to catch up states loaded from
+ * rows older than the live catalog.
+ *
+ * Bukkit-free so it can be tested under a live action stream.
+ */
+public final class QuestReload {
+
+  private final QuestCatalog before;
+  private final QuestCatalog after;
+  private final List<String> added;
+  private final List<String> removed;
+  private final List<String> updated;
+  private final List<Change> changed;
+  private final Migration migration;
+
+  private QuestReload(QuestCatalog before, QuestCatalog after, List<String> added, List<String> removed, List<String> updated, List<Change> changed) {
+    this.before = before;
+    this.after = after;
+    this.added = added;
+    this.removed = removed;
+    this.updated = updated;
+    this.changed = changed;
+    this.migration = Migration.of(after, changed);
+  }
+
+  public static QuestReload prepare(QuestCatalog current, Map<String, QuestDef> quests) {
+    QuestCatalog before = current == null ? QuestCatalog.EMPTY : current;
+    QuestCatalog after = before.next(quests);
+
+    List<String> added = new ArrayList<>();
+    List<String> updated = new ArrayList<>();
+    List<Change> changed = new ArrayList<>();
+    for (QuestDef q : after.all()) {
+      QuestDef old = before.quest(q.id());
+      if (old == null) added.add(q.id());
+      else if (!old.steps().equals(q.steps())) changed.add(Change.of(old, q));
+      else if (!old.equals(q)) updated.add(q.id());
+    }
+
+    List<String> removed = new ArrayList<>();
+    for (String id : before.quests().keySet()) {
+      if (after.quest(id) == null) removed.add(id);
+    }
+
+    return new QuestReload(before, after, List.copyOf(added), List.copyOf(removed), List.copyOf(updated), List.copyOf(changed));
+  }
+
+  public QuestCatalog before() { return before; }
+  public QuestCatalog catalog() { return after; }
+
+  public List<String> added() { return added; }
+  public List<String> removed() { return removed; }
+
+  /** Same steps, other fields (name, points, cadence...) changed; no state is touched. */
+  public List<String> updated() { return updated; }
+
+  /** Steps changed; in-progress states are migrated. */
+  public List<Change> changed() { return changed; }
+
+  /** The rewrite moving a state from the previous generation to this catalog's. */
+  public Migration migration() { return migration; }
+
+  public boolean isEmpty() {
+    return added.isEmpty() && removed.isEmpty() && updated.isEmpty() && changed.isEmpty();
+  }
+
+  /**
+   * Publishes the catalog and migrates {@code states}.
+   *
+   * @param publish installs the catalog; called exactly once
+   * @return number of states whose progress was rewritten
+   */
+  public int apply(Collection<PlayerBpState> states, Consumer<QuestCatalog> publish) {
+    QuestSlots slots = after.slots();
+    for (PlayerBpState st : states) st.rebind(slots);
+
+    publish.accept(after);
+
+    int migrated = 0;
+    for (PlayerBpState st : states) {
+      st.rebind(slots);
+      if (migrate(st)) migrated++;
+    }
+    return migrated;
+  }
+
+  /**
+   * Moves one state's changed quests onto the new steps.
+   *
+   * @return whether anything was written
+   */
+  public boolean migrate(PlayerBpState st) {
+    return migration.apply(st) > 0;
+  }
+
+  /**
+   * Step signature of a quest: equal signatures mean stored progress follows the same steps.
+   */
+  public static String signature(List<QuestStep> steps) {
+    StringBuilder sb = new StringBuilder(steps.size() * 32);
+    for (QuestStep s : steps) {
+      sb.append(s.type().toLowerCase(Locale.ROOT)).append('\0')
+        .append(s.key().toLowerCase(Locale.ROOT)).append('\0')
+        .append(s.value().toLowerCase(Locale.ROOT)).append('\0')
+        .append(s.required()).append('\n');
+    }
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 unavailable", e);
+    }
+  }
+
+  /**
+   * What one reload does to a state.
+   *
+   * @param generation catalog generation a state is moved to
+   * @param changes    quests whose steps changed, by id
+   * @param signatures {@link #signature} of each changed quest's new steps
+   */
+  public record Migration(long generation, Map<String, Change> changes, Map<String, String> signatures) {
+
+    static Migration of(QuestCatalog after, List<Change> changed) {
+      Map<String, Change> byId = new LinkedHashMap<>();
+      Map<String, String> sigs = new LinkedHashMap<>();
+      for (Change c : changed) {
+        byId.put(c.id(), c);
+        sigs.put(c.id(), signature(after.quest(c.id()).steps()));
+      }
+      return new Migration(after.generation(), Map.copyOf(byId), Map.copyOf(sigs));
+    }
+
+    /**
+     * Rewrites the state's changed quests and moves it to {@link #generation};
+     * a no-op for a state already there, so callers may race.
+     *
+     * @return number of quests rewritten
+     */
+    public int apply(PlayerBpState st) {
+      return st.migrate(generation, changes.keySet(), (id, cur) -> {
+        if (cur.stepIdx() == 0 && cur.progress() == 0L) return null;
+        int step = changes.get(id).restartStep(cur.stepIdx());
+        return step < 0 ? null : new PlayerBpState.StepStateSnap(step, 0L);
+      });
+    }
+  }
+
+  /**
+   * A quest whose steps changed.
+   *
+   * @param keptSteps leading steps that still track the same action (only {@code required} may differ)
+   */
+  public record Change(String id, int keptSteps, int oldSteps, int newSteps) {
+
+    static Change of(QuestDef before, QuestDef after) {
+      List<QuestStep> a = before.steps();
+      List<QuestStep> b = after.steps();
+      int kept = 0;
+      while (kept < a.size() && kept < b.size() && sameTarget(a.get(kept), b.get(kept))) kept++;
+      return new Change(after.id(), kept, a.size(), b.size());
+    }
+
+    /**
+     * Where a player on {@code stepIdx} continues.
+     *
+     * Steps before {@code keptSteps} are unchanged, so progress there is kept.
+     * A completed quest stays completed (its points were awarded). Anyone else
+     * restarts at the first changed step; when trailing steps were removed that
+     * is the new last step, since landing past it would complete the quest
+     * without awarding its points.
+     *
+     * @return step to restart from with zero progress, or -1 to keep the current progress
+     */
+    public int restartStep(int stepIdx) {
+      if (stepIdx >= oldSteps) return newSteps;
+      if (stepIdx < keptSteps) return -1;
+      return Math.min(keptSteps, Math.max(0, newSteps - 1));
+    }
+
+    private static boolean sameTarget(QuestStep a, QuestStep b) {
+      return a.type().equalsIgnoreCase(b.type())
+        && a.key().equalsIgnoreCase(b.key())
+        && a.value().equalsIgnoreCase(b.value());
+    }
+  }
+}
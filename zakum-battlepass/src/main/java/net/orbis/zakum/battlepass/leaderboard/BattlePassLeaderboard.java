@@ -1,38 +1,86 @@
 package net.orbis.zakum.battlepass.leaderboard;
 
 import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.cache.BurstCacheService;
+import net.orbis.zakum.api.capability.ZakumCapabilities;
 import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.battlepass.BattlePassRuntime;
 import net.orbis.zakum.api.db.Jdbc;
 
 import java.util.*;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * BattlePass leaderboard cache (async refreshed).
+ * BattlePass leaderboard (incremental).
  *
  * Design:
- * - refresh is async and bounded
- * - reads from DB only on interval
- * - provides pages from in-memory snapshot
+ * - seeded once from SQL into a {@link RankIndex}, then fed every points change
+ *   from loaded players, so rankings are live and rank-of-anyone is O(log n)
+ * - periodic reconcile re-reads SQL for players not loaded here (other servers
+ *   sharing the progress server id, offline edits); loaded players stay authoritative
+ * - optional REDIS backend mirrors scores into a sorted set for network-wide
+ *   seasons; ranks and top pages then come from Redis, with the local index as fallback
  */
 public final class BattlePassLeaderboard {
 
   public record Entry(UUID uuid, long points, int tier) {}
 
+  public enum Backend { LOCAL, REDIS }
+
+  private static final String REDIS_NAMESPACE = "battlepass";
+  // Network ranks beyond the top page: players loaded here, with room for a busy server.
+  private static final int NETWORK_RANK_SLACK = 10_000;
+  private static final long NETWORK_RANK_TTL_NANOS = TimeUnit.MINUTES.toNanos(5);
+
   private final ZakumApi zakum;
   private final Executor async;
   private final BattlePassRuntime runtime;
 
   private final int maxEntries;
-  private final AtomicReference<List<Entry>> snapshot = new AtomicReference<>(List.of());
+  private final int seedLimit;
+  private final RankIndex index = new RankIndex();
+
+  private final BurstCacheService redis;
+  private final String redisKey;
+  private final NetworkRankCache networkRanks;
+  private final AtomicReference<List<Entry>> networkTop = new AtomicReference<>(List.of());
+  private volatile boolean seeded;
 
   public BattlePassLeaderboard(ZakumApi zakum, Executor async, BattlePassRuntime runtime, int maxEntries) {
+    this(zakum, async, runtime, maxEntries, 100_000, Backend.LOCAL);
+  }
+
+  public BattlePassLeaderboard(ZakumApi zakum, Executor async, BattlePassRuntime runtime, int maxEntries, int seedLimit, Backend backend) {
     this.zakum = Objects.requireNonNull(zakum, "zakum");
     this.async = Objects.requireNonNull(async, "async");
     this.runtime = Objects.requireNonNull(runtime, "runtime");
     this.maxEntries = Math.max(10, Math.min(5000, maxEntries));
+    this.seedLimit = Math.max(this.maxEntries, seedLimit);
+
+    BurstCacheService cache = backend == Backend.REDIS
+      ? zakum.capability(ZakumCapabilities.BURST_CACHE).orElse(null)
+      : null;
+    this.redis = cache;
+    this.networkRanks = new NetworkRankCache(this.maxEntries + NETWORK_RANK_SLACK, NETWORK_RANK_TTL_NANOS);
+    this.redisKey = "lb_" + runtime.progressServerId() + "_s" + runtime.season();
+  }
+
+  /**
+   * Applies a points change from a loaded player (runtime progress sink).
+   */
+  public void update(UUID uuid, long points, int tier) {
+    index.update(uuid, points, tier);
+
+    if (redisActive()) {
+      String member = uuid.toString();
+      redis.scoreSet(REDIS_NAMESPACE, redisKey, member, points)
+        .thenCompose(v -> redis.reverseRank(REDIS_NAMESPACE, redisKey, member))
+        .whenComplete((rank, err) -> {
+          if (err == null && rank != null) networkRanks.put(uuid, (int) (rank + 1));
+        });
+    }
   }
 
   public void refreshAsync() {
@@ -40,14 +88,89 @@ public final class BattlePassLeaderboard {
     async.execute(this::refreshNow);
   }
 
+  /**
+   * Reconciles with SQL (seed on first run) and refreshes the Redis top page.
+   */
   public void refreshNow() {
-    if (zakum.database().state() != DatabaseState.ONLINE) return;
+    if (zakum.database().state() == DatabaseState.ONLINE) {
+      reconcile(loadSql());
+    }
+    if (redisActive()) {
+      refreshNetworkTop();
+    }
+  }
+
+  public void reconcile(List<Entry> rows) {
+    if (!seeded) {
+      seeded = true;
+      seedRedis(rows);
+    }
+
+    Set<UUID> seen = new HashSet<>(rows.size() * 2);
+    for (Entry e : rows) {
+      seen.add(e.uuid());
+      // Loaded players feed live values; SQL may lag them by a flush interval.
+      if (runtime.state(e.uuid()) != null) continue;
+      index.update(e.uuid(), e.points(), e.tier());
+    }
+
+    // Only a complete read can prove an entry no longer exists (season purge).
+    if (rows.size() < seedLimit) {
+      for (Entry e : index.top(index.size())) {
+        if (!seen.contains(e.uuid()) && runtime.state(e.uuid()) == null) index.remove(e.uuid());
+      }
+    }
+  }
+
+  public List<Entry> top() {
+    List<Entry> network = redisActive() ? networkTop.get() : List.of();
+    return network.isEmpty() ? index.top(maxEntries) : network;
+  }
+
+  public List<Entry> page(int page, int pageSize) {
+
+    int p = Math.max(1, page);
+    int size = Math.max(1, Math.min(50, pageSize));
+    int from = (p - 1) * size;
 
+    List<Entry> network = redisActive() ? networkTop.get() : List.of();
+    if (network.isEmpty()) return index.range(from + 1, size);
+
+    if (from >= network.size()) return List.of();
+    int to = Math.min(network.size(), from + size);
+    return network.subList(from, to);
+  }
+
+  /**
+   * @return 1-based rank, or 0 when unknown (not seeded and never loaded here)
+   */
+  public int rank(UUID uuid) {
+    if (uuid == null) return 0;
+    if (redisActive()) {
+      int network = networkRanks.get(uuid);
+      if (network > 0) return network;
+    }
+    return index.rank(uuid);
+  }
+
+  public int size() {
+    return index.size();
+  }
+
+  public Backend backend() {
+    return redis != null ? Backend.REDIS : Backend.LOCAL;
+  }
+
+  private boolean redisActive() {
+    return redis != null && redis.available();
+  }
+
+  private List<Entry> loadSql() {
     String serverId = runtime.progressServerId();
     int season = runtime.season();
 
     Jdbc jdbc = zakum.database().jdbc();
-    List<Entry> rows = jdbc.query(
+    return jdbc.query(
       "SELECT uuid, points, tier FROM orbis_battlepass_progress WHERE server_id=? AND season=? ORDER BY points DESC LIMIT ?",
       rs -> {
         byte[] b = rs.getBytes(1);
@@ -56,28 +179,44 @@ public final class BattlePassLeaderboard {
         int t = rs.getInt(3);
         return new Entry(u, p, t);
       },
-      serverId, season, maxEntries
+      serverId, season, seedLimit
     );
-
-    snapshot.set(List.copyOf(rows));
   }
 
-  public List<Entry> top() {
-    return snapshot.get();
+  /**
+   * First reconcile only: publishes the SQL top page so a fresh sorted set is not empty.
+   * Afterwards each server mirrors its own loaded players.
+   */
+  private void seedRedis(List<Entry> rows) {
+    if (!redisActive()) return;
+    int n = Math.min(rows.size(), maxEntries);
+    for (int i = 0; i < n; i++) {
+      Entry e = rows.get(i);
+      redis.scoreSet(REDIS_NAMESPACE, redisKey, e.uuid().toString(), e.points());
+    }
   }
 
-  public List<Entry> page(int page, int pageSize) {
-
-    int p = Math.max(1, page);
-    int size = Math.max(1, Math.min(50, pageSize));
-    List<Entry> list = snapshot.get();
-    int from = (p - 1) * size;
-    if (from >= list.size()) return List.of();
-    int to = Math.min(list.size(), from + size);
-    return list.subList(from, to);
+  private void refreshNetworkTop() {
+    redis.reverseRange(REDIS_NAMESPACE, redisKey, 0, maxEntries - 1).whenComplete((members, err) -> {
+      if (err != null || members == null) return;
+      // Ranks of players off the new page and not loaded here would only go stale.
+      networkRanks.prune(u -> runtime.state(u) != null);
+      List<Entry> out = new ArrayList<>(members.size());
+      for (BurstCacheService.ScoredMember m : members) {
+        UUID u;
+        try {
+          u = UUID.fromString(m.member());
+        } catch (IllegalArgumentException ignored) {
+          continue;
+        }
+        long points = (long) m.score();
+        out.add(new Entry(u, points, runtime.rewards().tierForPoints(points)));
+        networkRanks.put(u, out.size());
+      }
+      networkTop.set(List.copyOf(out));
+    });
   }
 
-
   private static UUID fromBytes(byte[] b) {
     if (b == null || b.length != 16) return new UUID(0L, 0L);
     long msb = 0;
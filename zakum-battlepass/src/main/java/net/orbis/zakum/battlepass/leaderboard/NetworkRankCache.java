@@ -0,0 +1,62 @@
+package net.orbis.zakum.battlepass.leaderboard;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Network-wide ranks last read from Redis (REDIS backend).
+ *
+ * Bounded and expiring: a rank older than the ttl reads as unknown so the
+ * caller falls back to the local index, and once full only players already
+ * tracked are updated. {@link #prune} drops everyone the owner no longer
+ * needs (off the top page and not loaded here).
+ */
+final class NetworkRankCache {
+
+  private record Rank(int rank, long atNanos) {}
+
+  private final ConcurrentHashMap<UUID, Rank> ranks = new ConcurrentHashMap<>();
+  private final int capacity;
+  private final long ttlNanos;
+  private final LongSupplier clock;
+
+  NetworkRankCache(int capacity, long ttlNanos) {
+    this(capacity, ttlNanos, System::nanoTime);
+  }
+
+  NetworkRankCache(int capacity, long ttlNanos, LongSupplier clock) {
+    this.capacity = Math.max(1, capacity);
+    this.ttlNanos = ttlNanos;
+    this.clock = clock;
+  }
+
+  /**
+   * @return 1-based rank, or 0 when unknown or expired
+   */
+  int get(UUID uuid) {
+    Rank r = ranks.get(uuid);
+    if (r == null) return 0;
+    if (clock.getAsLong() - r.atNanos() < ttlNanos) return r.rank();
+    ranks.remove(uuid, r);
+    return 0;
+  }
+
+  void put(UUID uuid, int rank) {
+    if (ranks.size() >= capacity && !ranks.containsKey(uuid)) return;
+    ranks.put(uuid, new Rank(rank, clock.getAsLong()));
+  }
+
+  /**
+   * Drops expired ranks and every player {@code keep} rejects.
+   */
+  void prune(Predicate<UUID> keep) {
+    long now = clock.getAsLong();
+    ranks.entrySet().removeIf(e -> now - e.getValue().atNanos() >= ttlNanos || !keep.test(e.getKey()));
+  }
+
+  int size() {
+    return ranks.size();
+  }
+}
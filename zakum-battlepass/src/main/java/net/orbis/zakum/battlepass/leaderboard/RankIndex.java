@@ -0,0 +1,214 @@
+package net.orbis.zakum.battlepass.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic index over player points (indexable skip list).
+ *
+ * Ordered by points descending, ties broken by uuid so every player has a
+ * stable position. Each forward link stores its span (players skipped), which
+ * makes rank-of-player and entry-at-rank O(log n) alongside O(log n) updates;
+ * top-K is a rank lookup plus a K-step walk.
+ *
+ * All methods synchronize on the index; critical sections are short.
+ */
+public final class RankIndex {
+
+  private static final int MAX_LEVEL = 32;
+  private static final double P = 0.25;
+
+  private final Node head = new Node(null, Long.MAX_VALUE, 0, MAX_LEVEL);
+  private final Map<UUID, Node> byId = new HashMap<>();
+  private int level = 1;
+  private int length;
+
+  /**
+   * Inserts or moves a player. Tier-only changes update in place.
+   */
+  public synchronized void update(UUID uuid, long points, int tier) {
+    if (uuid == null) return;
+    Node existing = byId.get(uuid);
+    if (existing != null) {
+      if (existing.points == points) {
+        existing.tier = tier;
+        return;
+      }
+      delete(existing);
+    }
+    byId.put(uuid, insert(uuid, points, tier));
+  }
+
+  public synchronized boolean remove(UUID uuid) {
+    Node existing = byId.remove(uuid);
+    if (existing == null) return false;
+    delete(existing);
+    return true;
+  }
+
+  public synchronized boolean contains(UUID uuid) {
+    return byId.containsKey(uuid);
+  }
+
+  public synchronized int size() {
+    return length;
+  }
+
+  public synchronized void clear() {
+    for (int i = 0; i < MAX_LEVEL; i++) {
+      head.next[i] = null;
+      head.span[i] = 0;
+    }
+    byId.clear();
+    level = 1;
+    length = 0;
+  }
+
+  /**
+   * @return 1-based rank, or 0 when the player is not indexed
+   */
+  public synchronized int rank(UUID uuid) {
+    Node target = byId.get(uuid);
+    if (target == null) return 0;
+
+    int rank = 0;
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null && !after(x.next[i], target.points, target.uuid)) {
+        rank += x.span[i];
+        x = x.next[i];
+      }
+      if (x == target) return rank;
+    }
+    return 0;
+  }
+
+  /**
+   * Entries at ranks {@code [fromRank, fromRank + count)}, 1-based.
+   */
+  public synchronized List<BattlePassLeaderboard.Entry> range(int fromRank, int count) {
+    if (fromRank < 1 || count <= 0 || fromRank > length) return List.of();
+
+    Node x = byRank(fromRank);
+    List<BattlePassLeaderboard.Entry> out = new ArrayList<>(Math.min(count, length - fromRank + 1));
+    while (x != null && out.size() < count) {
+      out.add(new BattlePassLeaderboard.Entry(x.uuid, x.points, x.tier));
+      x = x.next[0];
+    }
+    return out;
+  }
+
+  public List<BattlePassLeaderboard.Entry> top(int k) {
+    return range(1, k);
+  }
+
+  private Node byRank(int rank) {
+    int traversed = 0;
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null && traversed + x.span[i] <= rank) {
+        traversed += x.span[i];
+        x = x.next[i];
+      }
+      if (traversed == rank) return x;
+    }
+    return null;
+  }
+
+  private Node insert(UUID uuid, long points, int tier) {
+    Node[] update = new Node[MAX_LEVEL];
+    int[] rank = new int[MAX_LEVEL];
+
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      rank[i] = i == level - 1 ? 0 : rank[i + 1];
+      while (x.next[i] != null && before(x.next[i], points, uuid)) {
+        rank[i] += x.span[i];
+        x = x.next[i];
+      }
+      update[i] = x;
+    }
+
+    int lvl = randomLevel();
+    if (lvl > level) {
+      for (int i = level; i < lvl; i++) {
+        rank[i] = 0;
+        update[i] = head;
+        head.span[i] = length;
+      }
+      level = lvl;
+    }
+
+    Node node = new Node(uuid, points, tier, lvl);
+    for (int i = 0; i < lvl; i++) {
+      node.next[i] = update[i].next[i];
+      update[i].next[i] = node;
+      node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+      update[i].span[i] = (rank[0] - rank[i]) + 1;
+    }
+    for (int i = lvl; i < level; i++) {
+      update[i].span[i]++;
+    }
+    length++;
+    return node;
+  }
+
+  private void delete(Node target) {
+    Node[] update = new Node[MAX_LEVEL];
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null && before(x.next[i], target.points, target.uuid)) {
+        x = x.next[i];
+      }
+      update[i] = x;
+    }
+
+    for (int i = 0; i < level; i++) {
+      if (update[i].next[i] == target) {
+        update[i].span[i] += target.span[i] - 1;
+        update[i].next[i] = target.next[i];
+      } else {
+        update[i].span[i]--;
+      }
+    }
+    while (level > 1 && head.next[level - 1] == null) level--;
+    length--;
+  }
+
+  /** True when {@code n} sorts strictly before {@code (points, uuid)}. */
+  private static boolean before(Node n, long points, UUID uuid) {
+    return n.points > points || (n.points == points && n.uuid.compareTo(uuid) < 0);
+  }
+
+  /** True when {@code n} sorts strictly after {@code (points, uuid)}. */
+  private static boolean after(Node n, long points, UUID uuid) {
+    return n.points < points || (n.points == points && n.uuid.compareTo(uuid) > 0);
+  }
+
+  private static int randomLevel() {
+    int lvl = 1;
+    ThreadLocalRandom r = ThreadLocalRandom.current();
+    while (lvl < MAX_LEVEL && r.nextDouble() < P) lvl++;
+    return lvl;
+  }
+
+  private static final class Node {
+    final UUID uuid;
+    final long points;
+    int tier;
+    final Node[] next;
+    final int[] span;
+
+    Node(UUID uuid, long points, int tier, int levels) {
+      this.uuid = uuid;
+      this.points = points;
+      this.tier = tier;
+      this.next = new Node[levels];
+      this.span = new int[levels];
+    }
+  }
+}
@@ -32,6 +32,7 @@ public final class BpPlayerListener implements Listener {
   public void onQuit(PlayerQuitEvent e) {
     // Prevent an unbounded map from growing forever on long-uptime servers.
     if (npcOpenCooldownMs != null) npcOpenCooldownMs.remove(e.getPlayer().getUniqueId());
+    names.remove(e.getPlayer().getUniqueId());
     runtime.onQuit(e.getPlayer().getUniqueId());
   }
 }
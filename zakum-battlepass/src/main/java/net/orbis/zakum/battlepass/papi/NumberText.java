@@ -0,0 +1,24 @@
+package net.orbis.zakum.battlepass.papi;
+
+/**
+ * Shared string forms of small non-negative numbers.
+ *
+ * Tiers, steps, ranks and most quest counters fall in this range, so the
+ * placeholder path returns a cached string instead of formatting a new one.
+ */
+final class NumberText {
+
+  static final int CACHED = 1024;
+
+  private static final String[] SMALL = new String[CACHED];
+
+  static {
+    for (int i = 0; i < CACHED; i++) SMALL[i] = Integer.toString(i).intern();
+  }
+
+  private NumberText() {}
+
+  static String of(long value) {
+    return value >= 0 && value < CACHED ? SMALL[(int) value] : Long.toString(value);
+  }
+}
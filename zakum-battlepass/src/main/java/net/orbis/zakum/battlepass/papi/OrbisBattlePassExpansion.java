@@ -2,27 +2,30 @@ package net.orbis.zakum.battlepass.papi;
 
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import net.orbis.zakum.battlepass.BattlePassRuntime;
+import net.orbis.zakum.battlepass.leaderboard.BattlePassLeaderboard;
 import net.orbis.zakum.battlepass.model.QuestDef;
-import net.orbis.zakum.battlepass.model.QuestStep;
 import net.orbis.zakum.battlepass.state.PlayerBpState;
+import net.orbis.zakum.battlepass.state.QuestSlots;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Locale;
-import java.util.Optional;
+import java.util.UUID;
 
 /**
  * PlaceholderAPI expansion for OrbisBattlePass.
  *
  * Identifier: %orbisbp_<param>%
+ *
+ * Params are compiled once per distinct string (see {@link PlaceholderDispatcher});
+ * a new expansion is registered with every runtime, so compiled quest slots never go stale.
  */
 public final class OrbisBattlePassExpansion extends PlaceholderExpansion {
 
-  private final BattlePassRuntime runtime;
+  private final PlaceholderDispatcher dispatcher;
 
-  public OrbisBattlePassExpansion(BattlePassRuntime runtime) {
-    this.runtime = runtime;
+  public OrbisBattlePassExpansion(BattlePassRuntime runtime, BattlePassLeaderboard leaderboard) {
+    this.dispatcher = new PlaceholderDispatcher(new RuntimeSource(runtime, leaderboard));
   }
 
   @Override
@@ -53,45 +56,52 @@ public final class OrbisBattlePassExpansion extends PlaceholderExpansion {
   @Override
   public @Nullable String onPlaceholderRequest(Player player, @NotNull String params) {
     if (player == null) return "";
+    return dispatcher.resolve(player.getUniqueId(), params);
+  }
 
-    String p = params.toLowerCase(Locale.ROOT);
-
-    PlayerBpState st = runtime.state(player.getUniqueId());
+  /** Dispatcher view of the runtime this expansion was registered for. */
+  private static final class RuntimeSource implements PlaceholderDispatcher.Source {
+    private final BattlePassRuntime runtime;
+    private final BattlePassLeaderboard leaderboard;
 
-    if (p.equals("tier")) return st == null ? "0" : String.valueOf(st.tier());
-    if (p.equals("points")) return st == null ? "0" : String.valueOf(st.points());
-    if (p.equals("premium")) return st != null && st.premium ? "yes" : "no";
-    if (p.equals("season")) return String.valueOf(runtime.season());
-    if (p.equals("server")) return runtime.progressServerId();
+    RuntimeSource(BattlePassRuntime runtime, BattlePassLeaderboard leaderboard) {
+      this.runtime = runtime;
+      this.leaderboard = leaderboard;
+    }
 
-    // quest_<id>_<field>
-    if (p.startsWith("quest_")) {
-      String rest = params.substring("quest_".length());
-      int idx = rest.lastIndexOf('_');
-      if (idx <= 0 || idx >= rest.length() - 1) return "";
-      String questId = rest.substring(0, idx);
-      String field = rest.substring(idx + 1).toLowerCase(Locale.ROOT);
+    @Override
+    public PlayerBpState state(UUID uuid) {
+      return runtime.state(uuid);
+    }
 
-      Optional<QuestDef> q = runtime.quest(questId);
-      if (q.isEmpty()) return "";
+    @Override
+    public QuestDef quest(String questId) {
+      return runtime.quest(questId).orElse(null);
+    }
 
-      PlayerBpState.StepStateSnap ss = st == null ? new PlayerBpState.StepStateSnap(0, 0) : st.getQuest(questId);
+    @Override
+    public QuestSlots slots() {
+      return runtime.questSlots();
+    }
 
-      int stepIdx = ss.stepIdx();
-      long progress = ss.progress();
+    @Override
+    public Object version() {
+      return runtime.questCatalog();
+    }
 
-      if (field.equals("step")) return String.valueOf(stepIdx + 1);
-      if (field.equals("progress")) return String.valueOf(progress);
+    @Override
+    public int season() {
+      return runtime.season();
+    }
 
-      if (field.equals("required")) {
-        int steps = q.get().steps().size();
-        if (steps == 0) return "0";
-        int s = Math.min(stepIdx, steps - 1);
-        QuestStep step = q.get().steps().get(s);
-        return String.valueOf(step.required());
-      }
+    @Override
+    public String serverId() {
+      return runtime.progressServerId();
     }
 
-    return "";
+    @Override
+    public int rank(UUID uuid) {
+      return leaderboard == null ? 0 : leaderboard.rank(uuid);
+    }
   }
 }
@@ -0,0 +1,187 @@
+package net.orbis.zakum.battlepass.papi;
+
+import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.state.PlayerBpState;
+import net.orbis.zakum.battlepass.state.QuestSlots;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled dispatch for {@code %orbisbp_<params>%}.
+ *
+ * Each distinct params string is parsed once into a {@link Resolver}; later
+ * requests are one map lookup plus direct reads of the player's state.
+ * Scoreboard/tab plugins only ever use a handful of distinct params, so the
+ * cache is capped: past {@link #MAX_CACHED} entries new strings are compiled
+ * per call instead of growing the map. A quests reload changes
+ * {@link Source#version()}, which starts a fresh cache.
+ *
+ * Bukkit-free so it can be benchmarked outside the server.
+ */
+final class PlaceholderDispatcher {
+
+  static final int MAX_CACHED = 512;
+
+  private static final Resolver EMPTY = uuid -> "";
+
+  /** What resolvers read; one per runtime. */
+  interface Source {
+    PlayerBpState state(UUID uuid);
+
+    /** @return quest definition, or null when unknown */
+    QuestDef quest(String questId);
+
+    QuestSlots slots();
+
+    /** Identity changes whenever quest definitions are reloaded. */
+    Object version();
+
+    int season();
+
+    String serverId();
+
+    /** @return 1-based rank, or 0 when unranked */
+    int rank(UUID uuid);
+  }
+
+  @FunctionalInterface
+  interface Resolver {
+    String resolve(UUID uuid);
+  }
+
+  enum Field { STEP, PROGRESS, REQUIRED }
+
+  private final Source source;
+  private volatile Compiled compiled;
+
+  /**
+   * Resolvers compiled for one source version. Compiling reads a version at
+   * least as new as this one, so a stale resolver can't outlive the next check.
+   */
+  private record Compiled(Object version, ConcurrentHashMap<String, Resolver> cache) {}
+
+  PlaceholderDispatcher(Source source) {
+    this.source = source;
+    this.compiled = new Compiled(source.version(), new ConcurrentHashMap<>());
+  }
+
+  String resolve(UUID uuid, String params) {
+    Compiled c = compiled;
+    Object version = source.version();
+    if (c.version() != version) {
+      c = new Compiled(version, new ConcurrentHashMap<>());
+      compiled = c;
+    }
+
+    ConcurrentHashMap<String, Resolver> cache = c.cache();
+    Resolver r = cache.get(params);
+    if (r == null) {
+      r = compile(params);
+      if (cache.size() < MAX_CACHED) {
+        Resolver prev = cache.putIfAbsent(params, r);
+        if (prev != null) r = prev;
+      }
+    }
+    return r.resolve(uuid);
+  }
+
+  int cachedCount() {
+    return compiled.cache().size();
+  }
+
+  Resolver compile(String params) {
+    String p = params.toLowerCase(Locale.ROOT);
+    switch (p) {
+      case "tier":
+        return uuid -> {
+          PlayerBpState st = source.state(uuid);
+          return st == null ? "0" : NumberText.of(st.tier());
+        };
+      case "points":
+        return uuid -> {
+          PlayerBpState st = source.state(uuid);
+          return st == null ? "0" : NumberText.of(st.points());
+        };
+      case "premium":
+        return uuid -> {
+          PlayerBpState st = source.state(uuid);
+          return st != null && st.premium ? "yes" : "no";
+        };
+      case "season":
+        return uuid -> NumberText.of(source.season());
+      case "server":
+        return uuid -> source.serverId();
+      case "rank":
+        return uuid -> {
+          int rank = source.rank(uuid);
+          return rank <= 0 ? "-" : NumberText.of(rank);
+        };
+      default:
+        break;
+    }
+
+    // quest_<id>_<field>; quest ids keep their case, the field does not.
+    if (!p.startsWith("quest_")) return EMPTY;
+    String rest = params.substring("quest_".length());
+    int idx = rest.lastIndexOf('_');
+    if (idx <= 0 || idx >= rest.length() - 1) return EMPTY;
+
+    String questId = rest.substring(0, idx);
+    Field field = switch (rest.substring(idx + 1).toLowerCase(Locale.ROOT)) {
+      case "step" -> Field.STEP;
+      case "progress" -> Field.PROGRESS;
+      case "required" -> Field.REQUIRED;
+      default -> null;
+    };
+    QuestDef quest = source.quest(questId);
+    if (field == null || quest == null) return EMPTY;
+
+    QuestSlots slots = source.slots();
+    String[] required = new String[quest.steps().size()];
+    for (int i = 0; i < required.length; i++) required[i] = NumberText.of(quest.steps().get(i).required());
+    return new QuestFieldResolver(source, slots, questId, slots.slot(questId), field, required);
+  }
+
+  /** One quest field, read straight from the player's slot arrays. */
+  static final class QuestFieldResolver implements Resolver {
+    private final Source source;
+    private final QuestSlots slots;
+    private final String questId;
+    private final int slot;
+    private final Field field;
+    private final String[] required;
+
+    QuestFieldResolver(Source source, QuestSlots slots, String questId, int slot, Field field, String[] required) {
+      this.source = source;
+      this.slots = slots;
+      this.questId = questId;
+      this.slot = slot;
+      this.field = field;
+      this.required = required;
+    }
+
+    @Override
+    public String resolve(UUID uuid) {
+      PlayerBpState st = source.state(uuid);
+      return switch (field) {
+        case STEP -> NumberText.of(step(st) + 1L);
+        case PROGRESS -> NumberText.of(progress(st));
+        case REQUIRED -> required.length == 0 ? "0" : required[Math.min(step(st), required.length - 1)];
+      };
+    }
+
+    private int step(PlayerBpState st) {
+      if (st == null) return 0;
+      if (slot >= 0 && st.slots() == slots) return st.stepAt(slot);
+      return st.getQuest(questId).stepIdx();
+    }
+
+    private long progress(PlayerBpState st) {
+      if (st == null) return 0L;
+      if (slot >= 0 && st.slots() == slots) return st.progressAt(slot);
+      return st.getQuest(questId).progress();
+    }
+  }
+}
@@ -3,7 +3,9 @@ package net.orbis.zakum.battlepass.premium;
 import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.entitlements.EntitlementScope;
 
+import java.util.Collection;
 import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -29,6 +31,23 @@ public final class PremiumResolver {
     return zakum.entitlements().has(uuid, EntitlementScope.SERVER, serverId, entitlementKey);
   }
 
+  /**
+   * Bulk form of {@link #isPremium}: one entitlement query per chunk instead of one per player.
+   *
+   * @return the premium subset of {@code uuids}
+   */
+  public CompletableFuture<Set<UUID>> premiumAmong(Collection<UUID> uuids) {
+    String sId = scope == EntitlementScope.NETWORK ? null : serverId;
+    return zakum.entitlements().hasMany(uuids, scope, sId, entitlementKey);
+  }
+
+  /**
+   * True when an entitlement change event concerns this resolver's key and scope.
+   */
+  public boolean matches(String changedKey, String changedScope) {
+    return entitlementKey.equals(changedKey) && scope.name().equals(changedScope);
+  }
+
   private static EntitlementScope parseScope(String s) {
     if (s == null) return EntitlementScope.SERVER;
     String x = s.trim().toUpperCase(Locale.ROOT);
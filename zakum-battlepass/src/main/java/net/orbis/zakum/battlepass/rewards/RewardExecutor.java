@@ -33,6 +33,34 @@ public final class RewardExecutor {
     }
   }
 
+  /**
+   * Runs many reward lists as one ACE script: command and script lines are
+   * concatenated in order, messages are sent directly afterwards. Used by
+   * claim-all so a player catching up on 50 tiers costs one script run.
+   */
+  public void executeAll(Player player, List<List<RewardDef>> batches) {
+    if (player == null || batches == null || batches.isEmpty()) return;
+
+    List<String> script = new ArrayList<>();
+    List<String> messages = new ArrayList<>();
+    for (List<RewardDef> rewards : batches) {
+      if (rewards == null) continue;
+      for (RewardDef r : rewards) {
+        if (r == null) continue;
+        switch (r.type()) {
+          case COMMAND -> appendScript(script, player, r.commands(), true);
+          case MESSAGE -> messages.addAll(r.messages());
+          case ACE_SCRIPT -> appendScript(script, player, r.aceScript(), false);
+        }
+      }
+    }
+
+    if (!script.isEmpty()) {
+      ZakumApi.get().getAceEngine().executeScript(script, AceEngine.ActionContext.of(player));
+    }
+    sendMessages(player, messages);
+  }
+
   private void execCommands(Player player, List<String> cmds) {
     executeAceScript(player, cmds, true);
   }
@@ -45,6 +73,15 @@ public final class RewardExecutor {
     if (lines == null || lines.isEmpty()) return;
 
     List<String> script = new ArrayList<>(lines.size());
+    appendScript(script, player, lines, commandMode);
+    if (script.isEmpty()) return;
+
+    AceEngine.ActionContext ctx = AceEngine.ActionContext.of(player);
+    ZakumApi.get().getAceEngine().executeScript(script, ctx);
+  }
+
+  private void appendScript(List<String> script, Player player, List<String> lines, boolean commandMode) {
+    if (lines == null || lines.isEmpty()) return;
     for (String raw : lines) {
       if (raw == null || raw.isBlank()) continue;
       String prepared = applyPlaceholders(raw, player);
@@ -53,10 +90,6 @@ public final class RewardExecutor {
       }
       script.add(prepared);
     }
-    if (script.isEmpty()) return;
-
-    AceEngine.ActionContext ctx = AceEngine.ActionContext.of(player);
-    ZakumApi.get().getAceEngine().executeScript(script, ctx);
   }
 
   private void sendMessages(Player player, List<String> messages) {
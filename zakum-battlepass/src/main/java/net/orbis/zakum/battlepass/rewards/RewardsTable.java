@@ -11,6 +11,7 @@ public final class RewardsTable {
 
   private final List<TierRewards> tiers; // sorted
   private final long[] requiredByTier;   // index=1..N
+  private final TierRewards[] byTier;    // index=1..N, null for gaps
 
   public RewardsTable(List<TierRewards> tiers) {
     if (tiers == null) tiers = List.of();
@@ -21,10 +22,13 @@ public final class RewardsTable {
     int max = this.tiers.isEmpty() ? 0 : this.tiers.get(this.tiers.size() - 1).tier();
     this.requiredByTier = new long[max + 1];
 
+    this.byTier = new TierRewards[max + 1];
+
     for (TierRewards t : this.tiers) {
       int idx = t.tier();
       if (idx <= 0 || idx >= requiredByTier.length) continue;
       requiredByTier[idx] = Math.max(0, t.pointsRequired());
+      if (byTier[idx] == null) byTier[idx] = t;
     }
 
     // Ensure monotonic non-decreasing requirements (failsafe).
@@ -68,9 +72,8 @@ public final class RewardsTable {
   }
 
   public Optional<TierRewards> tier(int tier) {
-    // tiers list is small; linear scan ok, but we can binary search if needed later.
-    for (TierRewards t : tiers) if (t.tier() == tier) return Optional.of(t);
-    return Optional.empty();
+    if (tier <= 0 || tier >= byTier.length) return Optional.empty();
+    return Optional.ofNullable(byTier[tier]);
   }
 
   public List<TierRewards> all() {
@@ -1,8 +1,14 @@
 package net.orbis.zakum.battlepass.state;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
@@ -10,111 +16,338 @@ import java.util.Set;
  *
  * Threading:
  * - Action processing runs on the ActionBus callback thread (typically main thread).
- * - Load/flush run async.
+ *   It and reload migrations write quest progress by compare-and-set against the
+ *   catalog {@link #generation} they read, so neither overwrites the other and an
+ *   event decided on an older catalog never lands on migrated values.
+ * - Load/flush run async. Flush only claims dirty bits; it never writes values.
+ * - Readers (HUD, placeholders, menus) never lock.
  *
- * We use a small per-state lock and snapshot deltas for DB writes.
+ * Layout:
+ * - points and tier share one packed long, updated by CAS and read with acquire
+ * - quest progress lives in parallel {@code stepIdx}/{@code progress} arrays indexed
+ *   by {@link QuestSlots}; a per-state sequence counter (seqlock) lets readers see
+ *   a consistent (step, progress) pair without blocking the writer
+ * - dirty quests are a bitset of long words set/claimed atomically, so a flush
+ *   with nothing to write allocates nothing for steps
+ * - arrays are sized in whole 64-slot words; {@link #rebind} only reallocates
+ *   past that, inside a write section like any other (readers retry)
+ *
+ * Claims are rare and stay behind a small lock.
  */
 public final class PlayerBpState {
 
-  private final Object lock = new Object();
+  /** Points occupy the low 48 bits of the packed progress word, tier the high 16. */
+  static final long MAX_POINTS = (1L << 48) - 1;
+  static final int MAX_TIER = 0xFFFF;
 
-  private long points;
-  private int tier;
+  private static final VarHandle PACKED;
+  private static final VarHandle SEQ;
+  private static final VarHandle DIRTY_PROGRESS;
+  private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+  private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
 
-  public volatile boolean premium = false;
+  static {
+    try {
+      MethodHandles.Lookup l = MethodHandles.lookup();
+      PACKED = l.findVarHandle(PlayerBpState.class, "packed", long.class);
+      SEQ = l.findVarHandle(PlayerBpState.class, "seq", long.class);
+      DIRTY_PROGRESS = l.findVarHandle(PlayerBpState.class, "dirtyProgress", boolean.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
 
-  // questId -> step state (internal, protected by lock)
-  private final Map<String, StepState> quests = new HashMap<>();
+  private static final StepStateSnap NO_PROGRESS = new StepStateSnap(0, 0);
 
-  // claimed tiers (internal, protected by lock)
+  private volatile QuestSlots slots;
+
+  // tier << 48 | points (PACKED)
+  private long packed;
+  // dirty flag for the progress row (DIRTY_PROGRESS)
+  private boolean dirtyProgress;
+
+  // quest progress by slot; even seq = stable, odd = write in progress (SEQ).
+  // The arrays are only replaced inside a write section (rebind).
+  private long seq;
+  private volatile int[] stepIdx;
+  private volatile long[] progress;
+  private volatile long[] dirtySteps;
+  // Quest catalog generation the step values follow; only changed inside a write section.
+  private volatile long generation;
+
+  public volatile boolean premium = false;
+  // ticket of the lookup `premium` came from (guarded by premiumLock)
+  private final Object premiumLock = new Object();
+  private long premiumTicket;
+
+  // claimed tiers (internal, protected by claimLock)
+  private final Object claimLock = new Object();
   private final Set<Integer> claimedFree = new HashSet<>();
   private final Set<Integer> claimedPremium = new HashSet<>();
+  private final Set<ClaimSnap> dirtyClaims = new HashSet<>();
+  private volatile boolean claimsPending;
 
-  // dirty flags (minimize DB writes)
-  private boolean dirtyProgress = false;
+  // points/tier observer (leaderboard), invoked after the update is visible
+  private volatile ProgressListener progressListener;
 
-  // dirty claim inserts
-  private final Set<ClaimSnap> dirtyClaims = new HashSet<>();
+  public PlayerBpState(QuestSlots slots) {
+    this.slots = Objects.requireNonNull(slots, "slots");
+    int n = capacity(slots.size());
+    this.stepIdx = new int[n];
+    this.progress = new long[n];
+    this.dirtySteps = new long[n >>> 6];
+  }
 
-  public long points() { synchronized (lock) { return points; } }
-  public int tier() { synchronized (lock) { return tier; } }
+  public QuestSlots slots() { return slots; }
 
-  public void seedProgress(int tier, long points) {
-    synchronized (lock) {
-      this.tier = tier;
-      this.points = points;
-      this.dirtyProgress = false;
+  /**
+   * Switches to a table built by {@link QuestSlots#extend} from the current one.
+   *
+   * Slots keep their index, so progress stays where it is and writers still
+   * holding the old table keep hitting the right slot. Safe to call while
+   * actions are being applied; a table older than the current one is ignored.
+   */
+  public void rebind(QuestSlots next) {
+    Objects.requireNonNull(next, "next");
+    if (next == slots) return;
+
+    long s = beginWrite();
+    try {
+      if (next.size() <= slots.size()) return;
+      int n = capacity(next.size());
+      if (n > stepIdx.length) {
+        long[] oldDirty = dirtySteps;
+        long[] dirty = new long[n >>> 6];
+        for (int w = 0; w < oldDirty.length; w++) dirty[w] = (long) LONGS.getVolatile(oldDirty, w);
+        stepIdx = Arrays.copyOf(stepIdx, n);
+        progress = Arrays.copyOf(progress, n);
+        dirtySteps = dirty;
+      }
+      slots = next;
+    } finally {
+      endWrite(s);
     }
   }
 
+  public long points() { return unpackPoints((long) PACKED.getAcquire(this)); }
+  public int tier() { return unpackTier((long) PACKED.getAcquire(this)); }
+
+  public void seedProgress(int tier, long points) {
+    PACKED.setRelease(this, pack(tier, points));
+    DIRTY_PROGRESS.setRelease(this, false);
+  }
+
   public void setTier(int tier) {
-    synchronized (lock) {
-      this.tier = tier;
-      this.dirtyProgress = true;
-    }
+    long prev;
+    long next;
+    do {
+      prev = (long) PACKED.getAcquire(this);
+      next = pack(tier, unpackPoints(prev));
+    } while (!PACKED.compareAndSet(this, prev, next));
+    DIRTY_PROGRESS.setRelease(this, true);
+    notifyProgress(next);
   }
 
   public void addPoints(long delta) {
     if (delta == 0) return;
-    synchronized (lock) {
-      this.points += delta;
-      this.dirtyProgress = true;
+    long prev;
+    long next;
+    do {
+      prev = (long) PACKED.getAcquire(this);
+      next = pack(unpackTier(prev), unpackPoints(prev) + delta);
+    } while (!PACKED.compareAndSet(this, prev, next));
+    DIRTY_PROGRESS.setRelease(this, true);
+    notifyProgress(next);
+  }
+
+  /**
+   * Observes points/tier changes; the listener immediately receives the current values.
+   */
+  public void listen(ProgressListener listener) {
+    this.progressListener = listener;
+    if (listener == null) return;
+    long p = (long) PACKED.getAcquire(this);
+    listener.onProgress(unpackPoints(p), unpackTier(p));
+  }
+
+  private void notifyProgress(long packedValue) {
+    ProgressListener l = progressListener;
+    if (l != null) l.onProgress(unpackPoints(packedValue), unpackTier(packedValue));
+  }
+
+  /**
+   * Stores a premium lookup result unless a lookup issued later already answered.
+   *
+   * @param ticket taken from an increasing counter when the lookup was issued
+   * @return whether the result was applied
+   */
+  public boolean applyPremium(long ticket, boolean held) {
+    synchronized (premiumLock) {
+      if (ticket < premiumTicket) return false;
+      premiumTicket = ticket;
+      premium = held;
+      return true;
     }
   }
 
   public void seedClaim(boolean premium, int tier) {
-    synchronized (lock) {
+    synchronized (claimLock) {
       if (premium) claimedPremium.add(tier);
       else claimedFree.add(tier);
     }
   }
 
   public boolean hasClaim(boolean premium, int tier) {
-    synchronized (lock) {
+    synchronized (claimLock) {
       return premium ? claimedPremium.contains(tier) : claimedFree.contains(tier);
     }
   }
 
-  /** Mark a claim as completed and dirty for DB insert. */
-  public void markClaim(boolean premium, int tier) {
-    synchronized (lock) {
-      boolean added = premium ? claimedPremium.add(tier) : claimedFree.add(tier);
-      if (added) dirtyClaims.add(new ClaimSnap(premium, tier));
+  /**
+   * Claimed tiers in {@code [fromTier, toTier]} under one lock acquisition.
+   * Bit {@code i} is tier {@code fromTier + i}.
+   */
+  public BitSet claimsInRange(boolean premium, int fromTier, int toTier) {
+    BitSet out = new BitSet(Math.max(0, toTier - fromTier + 1));
+    synchronized (claimLock) {
+      Set<Integer> src = premium ? claimedPremium : claimedFree;
+      if (src.isEmpty()) return out;
+      for (int t = fromTier; t <= toTier; t++) {
+        if (src.contains(t)) out.set(t - fromTier);
+      }
     }
+    return out;
   }
 
-  /** Ensure quest exists (no dirty). */
-  public void ensureQuest(String questId) {
-    synchronized (lock) {
-      quests.computeIfAbsent(questId, k -> new StepState());
+  /**
+   * Mark a claim as completed and dirty for DB insert.
+   *
+   * @return false when the tier was already claimed
+   */
+  public boolean markClaim(boolean premium, int tier) {
+    synchronized (claimLock) {
+      boolean added = premium ? claimedPremium.add(tier) : claimedFree.add(tier);
+      if (added) {
+        dirtyClaims.add(new ClaimSnap(premium, tier));
+        claimsPending = true;
+      }
+      return added;
     }
   }
 
-  /** Seed quest state without marking dirty (load path). */
+  /** Seed quest state without marking dirty (load path). Unknown (removed) quests are ignored. */
   public void seedQuest(String questId, int stepIdx, long progress) {
-    synchronized (lock) {
-      StepState ss = quests.computeIfAbsent(questId, k -> new StepState());
-      ss.stepIdx = stepIdx;
-      ss.progress = progress;
-      ss.dirty = false;
-    }
+    int slot = slots.slot(questId);
+    if (slot < 0) return;
+    writeSlot(slot, stepIdx, progress, false);
   }
 
-  /** Read current quest step/progress (creates if missing). */
+  /** Read current quest step/progress; unknown quests read as not started. */
   public StepStateSnap getQuest(String questId) {
-    synchronized (lock) {
-      StepState ss = quests.computeIfAbsent(questId, k -> new StepState());
-      return new StepStateSnap(ss.stepIdx, ss.progress);
-    }
+    int slot = slots.slot(questId);
+    return slot < 0 ? NO_PROGRESS : readSlot(slot);
   }
 
-  /** Write quest step/progress (marks dirty). */
+  /** Current step index of a slot; a single read, no allocation (placeholder/HUD path). */
+  public int stepAt(int slot) {
+    int[] a = stepIdx;
+    return slot < a.length ? (int) INTS.getOpaque(a, slot) : 0;
+  }
+
+  /** Current progress of a slot; a single read, no allocation (placeholder/HUD path). */
+  public long progressAt(int slot) {
+    long[] a = progress;
+    return slot < a.length ? (long) LONGS.getOpaque(a, slot) : 0L;
+  }
+
+  /** Write quest step/progress (marks dirty). Unknown quests are ignored. */
   public void setQuest(String questId, int stepIdx, long progress) {
-    synchronized (lock) {
-      StepState ss = quests.computeIfAbsent(questId, k -> new StepState());
-      ss.stepIdx = stepIdx;
-      ss.progress = progress;
-      ss.dirty = true;
+    int slot = slots.slot(questId);
+    if (slot < 0) return;
+    writeSlot(slot, stepIdx, progress, true);
+  }
+
+  /**
+   * Writes quest step/progress (marks dirty) only if the slot still holds
+   * {@code expected} and the state follows catalog {@code generation}.
+   * Unknown quests are ignored.
+   *
+   * @return false when another write or a migration got there first; re-read and retry
+   */
+  public boolean compareAndSetQuest(String questId, StepStateSnap expected, int step, long prog, long generation) {
+    int slot = slots.slot(questId);
+    if (slot < 0) return true;
+
+    long s = beginWrite();
+    try {
+      if (this.generation != generation) return false;
+      if ((int) INTS.getOpaque(stepIdx, slot) != expected.stepIdx()) return false;
+      if ((long) LONGS.getOpaque(progress, slot) != expected.progress()) return false;
+      INTS.setOpaque(stepIdx, slot, step);
+      LONGS.setOpaque(progress, slot, prog);
+      markDirty(slot);
+      return true;
+    } finally {
+      endWrite(s);
+    }
+  }
+
+  /** Catalog generation the step values follow. */
+  public long generation() { return generation; }
+
+  /**
+   * Moves the state to catalog {@code generation}, rewriting {@code questIds}
+   * in the same write section so no compare-and-set sees half of it.
+   * No-op when the state is already there.
+   *
+   * @param rewrite new value for a quest, or null to keep it
+   * @return number of slots written
+   */
+  public int migrate(long generation, Collection<String> questIds, StepRewrite rewrite) {
+    QuestSlots table = slots;
+    long s = beginWrite();
+    try {
+      if (this.generation >= generation) return 0;
+      int written = 0;
+      for (String questId : questIds) {
+        int slot = table.slot(questId);
+        if (slot < 0) continue;
+        StepStateSnap cur = new StepStateSnap((int) INTS.getOpaque(stepIdx, slot), (long) LONGS.getOpaque(progress, slot));
+        StepStateSnap next = rewrite.rewrite(questId, cur);
+        if (next == null || next.equals(cur)) continue;
+        INTS.setOpaque(stepIdx, slot, next.stepIdx());
+        LONGS.setOpaque(progress, slot, next.progress());
+        markDirty(slot);
+        written++;
+      }
+      this.generation = generation;
+      return written;
+    } finally {
+      endWrite(s);
+    }
+  }
+
+  /** Moves to catalog {@code generation} without rewriting anything. */
+  public void advance(long generation) {
+    migrate(generation, Set.of(), null);
+  }
+
+  /**
+   * Re-marks quests with progress dirty, so the next flush writes their
+   * current values over rows rewritten behind this state's back.
+   */
+  public void touchQuests(Collection<String> questIds) {
+    QuestSlots table = slots;
+    long s = beginWrite();
+    try {
+      for (String questId : questIds) {
+        int slot = table.slot(questId);
+        if (slot < 0) continue;
+        if ((int) INTS.getOpaque(stepIdx, slot) == 0 && (long) LONGS.getOpaque(progress, slot) == 0L) continue;
+        markDirty(slot);
+      }
+    } finally {
+      endWrite(s);
     }
   }
 
@@ -123,48 +356,203 @@ public final class PlayerBpState {
     setQuest(questId, 0, 0);
   }
 
-  public Set<String> questIds() {
-    synchronized (lock) {
-      return Set.copyOf(quests.keySet());
+  /**
+   * Resets every slot in {@code mask} to step 0 / progress 0 (period rollover).
+   * Slots already at zero are left clean, so idle quests cost no DB write.
+   *
+   * @return number of slots that changed
+   */
+  public int resetQuests(BitSet mask) {
+    int changed = 0;
+    int n = slots.size();
+    for (int slot = mask.nextSetBit(0); slot >= 0 && slot < n; slot = mask.nextSetBit(slot + 1)) {
+      StepStateSnap cur = readSlot(slot);
+      if (cur.stepIdx() == 0 && cur.progress() == 0L) continue;
+      writeSlot(slot, 0, 0L, true);
+      changed++;
     }
+    return changed;
+  }
+
+  public Set<String> questIds() {
+    return Set.copyOf(slots.ids());
   }
 
   /**
    * Snapshot only dirty deltas and clear dirty flags.
    * Used by async flush to avoid races and reduce DB load.
+   *
+   * Dirty bits are claimed before values are read, so a write racing with the
+   * snapshot re-marks its slot and is picked up by the next flush.
    */
   public DeltaSnapshot snapshotDeltaAndClear() {
-    synchronized (lock) {
-      long pointsSnap = this.points;
-      int tierSnap = this.tier;
-
-      boolean writeProgress = this.dirtyProgress;
-      this.dirtyProgress = false;
-
-      Map<String, StepStateSnap> dirtySteps = new HashMap<>();
-      for (var e : quests.entrySet()) {
-        StepState ss = e.getValue();
-        if (!ss.dirty) continue;
-        ss.dirty = false;
-        dirtySteps.put(e.getKey(), new StepStateSnap(ss.stepIdx, ss.progress));
+    boolean writeProgress = (boolean) DIRTY_PROGRESS.getAndSet(this, false);
+    long p = (long) PACKED.getAcquire(this);
+
+    // Table before bits: a slot newer than the table we hold is left for the next flush.
+    QuestSlots table = slots;
+    long[] dirty = dirtySteps;
+    Map<String, StepStateSnap> steps = null;
+    for (int w = 0; w < dirty.length; w++) {
+      if ((long) LONGS.getOpaque(dirty, w) == 0L) continue;
+      long bits = (long) LONGS.getAndSet(dirty, w, 0L);
+      while (bits != 0L) {
+        int slot = (w << 6) + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+        if (slot >= table.size()) {
+          long s = beginWrite();
+          markDirty(slot);
+          endWrite(s);
+          continue;
+        }
+        if (steps == null) steps = new HashMap<>();
+        steps.put(table.id(slot), readSlot(slot));
+      }
+    }
+
+    Set<ClaimSnap> claims = Set.of();
+    if (claimsPending) {
+      synchronized (claimLock) {
+        claims = Set.copyOf(dirtyClaims);
+        dirtyClaims.clear();
+        claimsPending = false;
+      }
+    }
+
+    return new DeltaSnapshot(writeProgress, unpackTier(p), unpackPoints(p), steps, claims);
+  }
+
+  /** Whether anything is waiting for the next flush; no allocation. */
+  public boolean isDirty() {
+    if ((boolean) DIRTY_PROGRESS.getAcquire(this) || claimsPending) return true;
+    long[] dirty = dirtySteps;
+    for (int w = 0; w < dirty.length; w++) {
+      if ((long) LONGS.getOpaque(dirty, w) != 0L) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Re-marks a snapshot's rows dirty after a failed write.
+   *
+   * Current in-memory values are kept (they are at least as new as the
+   * snapshot); only the dirty flags and pending claim inserts come back, so
+   * the next flush writes them again.
+   */
+  public void restoreDelta(DeltaSnapshot delta) {
+    if (delta == null || delta.isEmpty()) return;
+    if (delta.writeProgress()) DIRTY_PROGRESS.setRelease(this, true);
+    if (!delta.dirtySteps().isEmpty()) {
+      QuestSlots table = slots;
+      long s = beginWrite();
+      try {
+        for (String questId : delta.dirtySteps().keySet()) {
+          int slot = table.slot(questId);
+          if (slot >= 0) markDirty(slot);
+        }
+      } finally {
+        endWrite(s);
+      }
+    }
+    if (!delta.dirtyClaims().isEmpty()) {
+      synchronized (claimLock) {
+        dirtyClaims.addAll(delta.dirtyClaims());
+        claimsPending = true;
       }
+    }
+  }
 
-      Set<ClaimSnap> claimsSnap = Set.copyOf(dirtyClaims);
-      dirtyClaims.clear();
+  private StepStateSnap readSlot(int slot) {
+    while (true) {
+      long s = (long) SEQ.getAcquire(this);
+      if ((s & 1L) == 0L) {
+        int[] steps = stepIdx;
+        long[] progs = progress;
+        if (slot >= steps.length) return NO_PROGRESS;
+        int step = (int) INTS.getOpaque(steps, slot);
+        long prog = (long) LONGS.getOpaque(progs, slot);
+        VarHandle.loadLoadFence();
+        if ((long) SEQ.getOpaque(this) == s) return new StepStateSnap(step, prog);
+      }
+      Thread.onSpinWait();
+    }
+  }
 
-      return new DeltaSnapshot(writeProgress, tierSnap, pointsSnap, dirtySteps, claimsSnap);
+  /**
+   * Dirty bits are set inside the write section so a concurrent rebind can
+   * never copy the bitmap between the value write and its mark.
+   */
+  private void writeSlot(int slot, int step, long prog, boolean dirty) {
+    long s = beginWrite();
+    INTS.setOpaque(stepIdx, slot, step);
+    LONGS.setOpaque(progress, slot, prog);
+    if (dirty) markDirty(slot);
+    endWrite(s);
+  }
+
+  // Single writer in practice; the CAS keeps load-path, rollover and rebind writes safe too.
+  private long beginWrite() {
+    while (true) {
+      long s = (long) SEQ.getOpaque(this);
+      if ((s & 1L) == 0L && SEQ.compareAndSet(this, s, s + 1)) return s;
+      Thread.onSpinWait();
     }
   }
 
-  public static final class StepState {
-    public int stepIdx = 0;
-    public long progress = 0;
-    public boolean dirty = false;
+  private void endWrite(long s) {
+    SEQ.setRelease(this, s + 2);
+  }
+
+  private void markDirty(int slot) {
+    LONGS.getAndBitwiseOr(dirtySteps, slot >>> 6, 1L << slot);
+  }
+
+  /** Whole 64-slot words, so small quest additions rebind without copying. */
+  private static int capacity(int slots) {
+    return (slots + 63) & ~63;
+  }
+
+  static long pack(int tier, long points) {
+    long t = Math.max(0, Math.min(MAX_TIER, tier));
+    long p = Math.max(0L, Math.min(MAX_POINTS, points));
+    return (t << 48) | p;
+  }
+
+  static long unpackPoints(long packed) {
+    return packed & MAX_POINTS;
+  }
+
+  static int unpackTier(long packed) {
+    return (int) (packed >>> 48);
+  }
+
+  @FunctionalInterface
+  public interface StepRewrite {
+    StepStateSnap rewrite(String questId, StepStateSnap cur);
+  }
+
+  @FunctionalInterface
+  public interface ProgressListener {
+    void onProgress(long points, int tier);
   }
 
   public record StepStateSnap(int stepIdx, long progress) {}
 
   public record ClaimSnap(boolean premium, int tier) {}
 
-  public record DeltaSnapshot(boolean writeProgress, int tier, long points, Map<String, StepStateSnap> dirtySteps, Set<ClaimSnap> dirtyClaims) {}
+  public record DeltaSnapshot(boolean writeProgress, int tier, long points, Map<String, StepStateSnap> dirtySteps, Set<ClaimSnap> dirtyClaims) {
+    public DeltaSnapshot {
+      dirtySteps = dirtySteps == null ? Map.of() : dirtySteps;
+      dirtyClaims = dirtyClaims == null ? Set.of() : dirtyClaims;
+    }
+
+    public boolean isEmpty() {
+      return !writeProgress && dirtySteps.isEmpty() && dirtyClaims.isEmpty();
+    }
+
+    /** Number of DB rows this delta writes. */
+    public int rows() {
+      return (writeProgress ? 1 : 0) + dirtySteps.size() + dirtyClaims.size();
+    }
+  }
 }
@@ -0,0 +1,93 @@
+package net.orbis.zakum.battlepass.state;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Dense quest id -> slot index table, built once when quests load.
+ *
+ * Per-player quest progress is stored in arrays indexed by slot, so the
+ * action path does one hash lookup here (shared by all players) instead of
+ * one per-player map lookup plus a boxed entry per quest.
+ *
+ * Reloads {@link #extend} the table instead of rebuilding it, so a quest keeps
+ * its slot for the lifetime of the runtime and loaded states never move data.
+ */
+public final class QuestSlots {
+
+  public static final QuestSlots EMPTY = new QuestSlots(List.of());
+
+  private final Map<String, Integer> slots;
+  private final String[] ids;
+
+  private QuestSlots(Collection<String> questIds) {
+    this.ids = questIds.toArray(String[]::new);
+    Map<String, Integer> m = new HashMap<>(Math.max(4, ids.length * 2));
+    for (int i = 0; i < ids.length; i++) {
+      if (m.putIfAbsent(ids[i], i) != null) throw new IllegalArgumentException("duplicate quest id: " + ids[i]);
+    }
+    this.slots = Map.copyOf(m);
+  }
+
+  /** Slots follow the iteration order of {@code questIds}. */
+  public static QuestSlots of(Collection<String> questIds) {
+    return questIds == null || questIds.isEmpty() ? EMPTY : new QuestSlots(questIds);
+  }
+
+  /**
+   * A table for {@code questIds} that keeps every slot of this one.
+   *
+   * Ids missing from {@code questIds} keep their slot (unused until the quest
+   * comes back); new ids are appended in iteration order.
+   *
+   * @return this table when nothing was added
+   */
+  public QuestSlots extend(Collection<String> questIds) {
+    if (questIds == null || questIds.isEmpty()) return this;
+    List<String> added = null;
+    for (String id : questIds) {
+      if (slots.containsKey(id)) continue;
+      if (added == null) added = new ArrayList<>();
+      added.add(id);
+    }
+    if (added == null) return this;
+
+    List<String> all = new ArrayList<>(ids.length + added.size());
+    all.addAll(List.of(ids));
+    all.addAll(added);
+    return new QuestSlots(all);
+  }
+
+  /** @return slot index, or -1 when the quest is unknown */
+  public int slot(String questId) {
+    if (questId == null) return -1;
+    Integer s = slots.get(questId);
+    return s == null ? -1 : s;
+  }
+
+  public String id(int slot) {
+    return ids[slot];
+  }
+
+  public int size() {
+    return ids.length;
+  }
+
+  public List<String> ids() {
+    return List.of(ids);
+  }
+
+  /** Slots whose quest id matches; treat the result as read-only once shared. */
+  public BitSet mask(Predicate<String> filter) {
+    BitSet out = new BitSet(ids.length);
+    for (int i = 0; i < ids.length; i++) {
+      if (filter.test(ids[i])) out.set(i);
+    }
+    return out;
+  }
+}
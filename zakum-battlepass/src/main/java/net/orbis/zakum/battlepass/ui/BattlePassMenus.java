@@ -1,135 +1,105 @@
 package net.orbis.zakum.battlepass.ui;
 
+import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.concurrent.ZakumScheduler;
 import net.orbis.zakum.battlepass.BattlePassRuntime;
 import net.orbis.zakum.battlepass.leaderboard.BattlePassLeaderboard;
 import net.orbis.zakum.battlepass.model.QuestDef;
 import net.orbis.zakum.battlepass.model.QuestStep;
 import net.orbis.zakum.battlepass.rewards.RewardTrack;
-import net.orbis.zakum.battlepass.rewards.TierRewards;
 import net.orbis.zakum.battlepass.state.PlayerBpState;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Event-driven menus (no refresh loop).
+ *
+ * Rewards and main menu items come from {@link MenuTemplates}; opening one reads
+ * the viewer's state off-thread and fills the inventory on their entity thread.
  */
 public final class BattlePassMenus {
 
   private final BattlePassRuntime runtime;
   private final BattlePassLeaderboard leaderboard;
   private final NameCache names;
+  private volatile MenuTemplates templates;
 
   public BattlePassMenus(BattlePassRuntime runtime, BattlePassLeaderboard leaderboard, NameCache names) {
     this.runtime = runtime;
     this.leaderboard = leaderboard;
     this.names = names;
+    // Once per rewards load; templates() rebuilds after an in-place reload.
+    this.templates = new MenuTemplates(runtime.rewards());
   }
 
   public void openMain(Player p) {
-    BpMenuHolder holder = new BpMenuHolder(p.getUniqueId(), MenuType.MAIN, 1);
-    Inventory inv = Bukkit.createInventory(holder, 27, ChatColor.LIGHT_PURPLE + "Orbis BattlePass");
-    holder.bind(inv);
-
-    PlayerBpState st = runtime.state(p.getUniqueId());
-
-    inv.setItem(11, item(Material.CHEST, ChatColor.AQUA + "Rewards",
-      lore(
-        ChatColor.GRAY + "Claim tier rewards.",
-        ChatColor.DARK_GRAY + "Left click"
-      )
-    ));
-    inv.setItem(13, item(Material.BOOK, ChatColor.YELLOW + "Quests",
-      lore(ChatColor.GRAY + "View quest progress.")
-    ));
-    inv.setItem(15, item(Material.PAPER, ChatColor.GREEN + "Leaderboard",
-      lore(ChatColor.GRAY + "Top points this season.")
-    ));
-
-    if (st != null) {
-      inv.setItem(4, item(Material.NETHER_STAR, ChatColor.LIGHT_PURPLE + "Your Progress",
-        lore(
-          ChatColor.GRAY + "Tier: " + ChatColor.AQUA + st.tier(),
-          ChatColor.GRAY + "Points: " + ChatColor.AQUA + st.points(),
-          ChatColor.GRAY + "Premium: " + (st.premium ? ChatColor.GREEN + "Yes" : ChatColor.RED + "No")
+    UUID uuid = p.getUniqueId();
+    boolean admin = p.hasPermission("orbis.battlepass.admin");
+
+    personalize(p, () -> mainView(uuid), view -> {
+      BpMenuHolder holder = new BpMenuHolder(uuid, MenuType.MAIN, 1);
+      Inventory inv = Bukkit.createInventory(holder, 27, ChatColor.LIGHT_PURPLE + "Orbis BattlePass");
+      holder.bind(inv);
+
+      inv.setItem(11, templates.rewards.clone());
+      inv.setItem(13, templates.quests.clone());
+      inv.setItem(15, templates.leaderboard.clone());
+      inv.setItem(4, view == null ? templates.progressLoading.clone() : MenuTemplates.item(Material.NETHER_STAR,
+        ChatColor.LIGHT_PURPLE + "Your Progress",
+        List.of(
+          ChatColor.GRAY + "Tier: " + ChatColor.AQUA + view.tier(),
+          ChatColor.GRAY + "Points: " + ChatColor.AQUA + view.points(),
+          ChatColor.GRAY + "Rank: " + ChatColor.AQUA + view.rank(),
+          ChatColor.GRAY + "Premium: " + (view.premium() ? ChatColor.GREEN + "Yes" : ChatColor.RED + "No")
         )
       ));
-    } else {
-      inv.setItem(4, item(Material.NETHER_STAR, ChatColor.LIGHT_PURPLE + "Your Progress",
-        lore(ChatColor.GRAY + "Loading...")
-      ));
-    }
-
-    if (p.hasPermission("orbis.battlepass.admin")) {
-  inv.setItem(26, item(Material.COMMAND_BLOCK, ChatColor.DARK_AQUA + "Admin Editor",
-    lore(
-      ChatColor.GRAY + "Edit quests.yml / rewards.yml in-game.",
-      ChatColor.DARK_GRAY + "Click"
-    )
-  ));
-}
+      if (admin) inv.setItem(26, templates.admin.clone());
+      inv.setItem(22, templates.close.clone());
 
-inv.setItem(22, item(Material.BARRIER, ChatColor.RED + "Close", List.of()));
-    p.openInventory(inv);
+      p.openInventory(inv);
+    });
   }
 
   public void openRewards(Player p, int page) {
     int pg = Math.max(1, page);
-    BpMenuHolder holder = new BpMenuHolder(p.getUniqueId(), MenuType.REWARDS, pg);
-    Inventory inv = Bukkit.createInventory(holder, 54, ChatColor.AQUA + "BattlePass Rewards");
-    holder.bind(inv);
+    UUID uuid = p.getUniqueId();
 
-    PlayerBpState st = runtime.state(p.getUniqueId());
-    int curTier = st == null ? 0 : st.tier();
-    boolean prem = st != null && st.premium;
+    int startTier = (pg - 1) * MenuTemplates.PER_PAGE + 1;
+    int endTier = Math.min(runtime.rewards().maxTier(), startTier + MenuTemplates.PER_PAGE - 1);
 
-    int perPage = 45;
-    int startTier = (pg - 1) * perPage + 1;
-    int endTier = Math.min(runtime.rewards().maxTier(), startTier + perPage - 1);
+    personalize(p, () -> rewardsView(uuid, startTier, endTier), view -> {
+      MenuTemplates tiers = templates();
+      BpMenuHolder holder = new BpMenuHolder(uuid, MenuType.REWARDS, pg);
+      Inventory inv = Bukkit.createInventory(holder, 54, ChatColor.AQUA + "BattlePass Rewards");
+      holder.bind(inv);
 
-    int slot = 0;
-    for (int tier = startTier; tier <= endTier; tier++, slot++) {
-      Optional<TierRewards> tr = runtime.rewards().tier(tier);
-      if (tr.isEmpty()) continue;
+      int slot = 0;
+      for (int tier = startTier; tier <= endTier; tier++, slot++) {
+        int i = tier - startTier;
+        boolean reached = view.tier() >= tier;
 
-      boolean reached = curTier >= tier;
-      boolean claimedFree = st != null && st.hasClaim(false, tier);
-      boolean claimedPrem = st != null && st.hasClaim(true, tier);
+        MenuTemplates.Mark free = mark(view.free().get(i), reached);
+        MenuTemplates.Mark premium = view.premium() ? mark(view.paid().get(i), reached) : MenuTemplates.Mark.NO_PREMIUM;
 
-      Material mat = reached ? Material.LIME_STAINED_GLASS_PANE : Material.GRAY_STAINED_GLASS_PANE;
-      String name = (reached ? ChatColor.GREEN : ChatColor.DARK_GRAY) + "Tier " + tier;
-
-      List<String> lore = new ArrayList<>();
-      lore.add(ChatColor.GRAY + "Required: " + ChatColor.AQUA + tr.get().pointsRequired() + " points");
-      lore.add(ChatColor.GRAY + "Status: " + (reached ? ChatColor.GREEN + "Unlocked" : ChatColor.RED + "Locked"));
-
-      lore.add(" ");
-      lore.add(ChatColor.WHITE + "Free: " + (claimedFree ? ChatColor.GREEN + "Claimed" : (reached ? ChatColor.YELLOW + "Unclaimed" : ChatColor.DARK_GRAY + "Locked")));
-      lore.add(ChatColor.WHITE + "Premium: " + (prem
-        ? (claimedPrem ? ChatColor.GREEN + "Claimed" : (reached ? ChatColor.YELLOW + "Unclaimed" : ChatColor.DARK_GRAY + "Locked"))
-        : ChatColor.DARK_GRAY + "No premium"));
-
-      lore.add(" ");
-      lore.add(ChatColor.DARK_GRAY + "Left: claim free");
-      lore.add(ChatColor.DARK_GRAY + "Right: claim premium");
-      lore.add(ChatColor.DARK_GRAY + "Shift+Left: claim both");
-
-      inv.setItem(slot, item(mat, name, lore));
-    }
+        ItemStack it = tiers.tier(tier, reached, free, premium);
+        if (it != null) inv.setItem(slot, it);
+      }
 
-    // Nav
-    inv.setItem(49, item(Material.ARROW, ChatColor.YELLOW + "Back", lore(ChatColor.GRAY + "Main menu")));
-    inv.setItem(45, item(Material.ARROW, ChatColor.GRAY + "Prev", List.of()));
-    inv.setItem(53, item(Material.ARROW, ChatColor.GRAY + "Next", List.of()));
+      // Nav
+      inv.setItem(49, templates.back.clone());
+      inv.setItem(45, templates.prev.clone());
+      inv.setItem(53, templates.next.clone());
 
-    p.openInventory(inv);
+      p.openInventory(inv);
+    });
   }
 
   public void openQuests(Player p, int page) {
@@ -174,12 +144,12 @@ inv.setItem(22, item(Material.BARRIER, ChatColor.RED + "Close", List.of()));
       lore.add(ChatColor.GRAY + "Progress: " + ChatColor.AQUA + Math.min(prog, req) + ChatColor.GRAY + "/" + ChatColor.AQUA + req);
       lore.add(ChatColor.DARK_GRAY + "Match: " + step.type() + " " + step.key() + "=" + step.value());
 
-      inv.setItem(slot, item(mat, name, lore));
+      inv.setItem(slot, MenuTemplates.item(mat, name, lore));
     }
 
-    inv.setItem(49, item(Material.ARROW, ChatColor.YELLOW + "Back", lore(ChatColor.GRAY + "Main menu")));
-    inv.setItem(45, item(Material.ARROW, ChatColor.GRAY + "Prev", List.of()));
-    inv.setItem(53, item(Material.ARROW, ChatColor.GRAY + "Next", List.of()));
+    inv.setItem(49, templates.back.clone());
+    inv.setItem(45, templates.prev.clone());
+    inv.setItem(53, templates.next.clone());
 
     p.openInventory(inv);
   }
@@ -188,46 +158,97 @@ inv.setItem(22, item(Material.BARRIER, ChatColor.RED + "Close", List.of()));
     int pg = Math.max(1, page);
     List<BattlePassLeaderboard.Entry> list = leaderboard.page(pg, 10);
 
-    p.sendMessage(ChatColor.LIGHT_PURPLE + "BattlePass Top (page " + pg + ")");
     if (list.isEmpty()) {
+      p.sendMessage(ChatColor.LIGHT_PURPLE + "BattlePass Top (page " + pg + ")");
       p.sendMessage(ChatColor.GRAY + "No entries yet.");
       return;
     }
 
-    int startRank = (pg - 1) * 10 + 1;
-    for (int i = 0; i < list.size(); i++) {
-      var e = list.get(i);
-      String name = names.get(e.uuid());
-      if (name == null) name = e.uuid().toString().substring(0, 8);
-
-      p.sendMessage(ChatColor.GRAY + "" + (startRank + i) + ". "
-        + ChatColor.AQUA + name
-        + ChatColor.DARK_GRAY + " | "
-        + ChatColor.GRAY + "Tier " + ChatColor.AQUA + e.tier()
-        + ChatColor.DARK_GRAY + " | "
-        + ChatColor.GRAY + "Points " + ChatColor.AQUA + e.points()
-      );
-    }
+    // Offline names come from one bulk lookup for the whole page.
+    List<UUID> ids = new ArrayList<>(list.size());
+    for (var e : list) ids.add(e.uuid());
+
+    names.resolveAll(ids).whenComplete((resolved, err) -> {
+      Map<UUID, String> known = err == null ? resolved : Map.of();
+      ZakumApi.get().getScheduler().runAtEntity(p, () -> {
+        if (!p.isOnline()) return;
+        p.sendMessage(ChatColor.LIGHT_PURPLE + "BattlePass Top (page " + pg + ")");
+
+        int startRank = (pg - 1) * 10 + 1;
+        for (int i = 0; i < list.size(); i++) {
+          var e = list.get(i);
+          String name = known.get(e.uuid());
+          if (name == null) name = e.uuid().toString().substring(0, 8);
+
+          p.sendMessage(ChatColor.GRAY + "" + (startRank + i) + ". "
+            + ChatColor.AQUA + name
+            + ChatColor.DARK_GRAY + " | "
+            + ChatColor.GRAY + "Tier " + ChatColor.AQUA + e.tier()
+            + ChatColor.DARK_GRAY + " | "
+            + ChatColor.GRAY + "Points " + ChatColor.AQUA + e.points()
+          );
+        }
+      });
+    });
   }
 
-  private static ItemStack item(Material mat, String name, List<String> lore) {
-    ItemStack it = new ItemStack(mat);
-    ItemMeta meta = it.getItemMeta();
-    if (meta != null) {
-      meta.displayName(net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer.legacySection().deserialize(name));
-      if (lore != null) {
-        meta.lore(lore.stream()
-          .map(line -> net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer.legacySection().deserialize(line))
-          .toList());
-      }
-      meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
-      it.setItemMeta(meta);
-    }
-    return it;
+  /**
+   * Computes the viewer's data off-thread, then builds and opens the menu on
+   * the player's entity scheduler.
+   */
+  private <T> void personalize(Player p, Supplier<T> data, Consumer<T> open) {
+    ZakumScheduler scheduler = ZakumApi.get().getScheduler();
+    scheduler.supplyAsync(data).whenComplete((view, err) -> {
+      if (err != null) return;
+      scheduler.runAtEntity(p, () -> {
+        if (!p.isOnline()) return;
+        open.accept(view);
+      });
+    });
+  }
+
+  private MainView mainView(UUID uuid) {
+    PlayerBpState st = runtime.state(uuid);
+    if (st == null) return null;
+    return new MainView(st.tier(), st.points(), rankText(uuid), st.premium);
   }
 
-  private static List<String> lore(String... lines) {
-    if (lines == null) return List.of();
-    return List.of(lines);
+  private RewardsView rewardsView(UUID uuid, int startTier, int endTier) {
+    PlayerBpState st = runtime.state(uuid);
+    if (st == null) return new RewardsView(0, false, new BitSet(), new BitSet());
+
+    boolean prem = st.premium;
+    return new RewardsView(
+      st.tier(),
+      prem,
+      st.claimsInRange(false, startTier, endTier),
+      prem ? st.claimsInRange(true, startTier, endTier) : new BitSet()
+    );
+  }
+
+  private static MenuTemplates.Mark mark(boolean claimed, boolean reached) {
+    if (claimed) return MenuTemplates.Mark.CLAIMED;
+    return reached ? MenuTemplates.Mark.UNCLAIMED : MenuTemplates.Mark.LOCKED;
+  }
+
+  private record MainView(int tier, long points, String rank, boolean premium) {}
+
+  // Claim bits are relative to the page's first tier.
+  private record RewardsView(int tier, boolean premium, BitSet free, BitSet paid) {}
+
+  private String rankText(UUID uuid) {
+    int rank = leaderboard == null ? 0 : leaderboard.rank(uuid);
+    return rank <= 0 ? "-" : "#" + rank;
+  }
+
+  /** Tier items for the live rewards table (rebuilt once after a rewards reload). */
+  private MenuTemplates templates() {
+    MenuTemplates t = templates;
+    var rewards = runtime.rewards();
+    if (t.source() != rewards) {
+      t = new MenuTemplates(rewards);
+      templates = t;
+    }
+    return t;
   }
 }
@@ -0,0 +1,149 @@
+package net.orbis.zakum.battlepass.ui;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.orbis.zakum.battlepass.rewards.RewardsTable;
+import net.orbis.zakum.battlepass.rewards.TierRewards;
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prebuilt menu items for one rewards table.
+ *
+ * Everything that does not depend on the viewer (material, name, base lore,
+ * nav buttons) is built once when the runtime loads its rewards. Opening a menu
+ * clones these skeletons and only swaps the per-player lore lines.
+ */
+final class MenuTemplates {
+
+  static final int PER_PAGE = 45;
+
+  // Lore lines of a tier item that depend on the viewer.
+  private static final int FREE_LINE = 3;
+  private static final int PREMIUM_LINE = 4;
+
+  enum Mark { CLAIMED, UNCLAIMED, LOCKED, NO_PREMIUM }
+
+  private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+  private static final Component[] FREE_MARKS = marks(ChatColor.WHITE + "Free: ");
+  private static final Component[] PREMIUM_MARKS = marks(ChatColor.WHITE + "Premium: ");
+
+  private final RewardsTable source;
+
+  // index = tier; null for gaps in the table
+  private final ItemStack[] reached;
+  private final ItemStack[] locked;
+  private final List<Component>[] reachedLore;
+  private final List<Component>[] lockedLore;
+
+  final ItemStack back = item(Material.ARROW, ChatColor.YELLOW + "Back", List.of(ChatColor.GRAY + "Main menu"));
+  final ItemStack prev = item(Material.ARROW, ChatColor.GRAY + "Prev", List.of());
+  final ItemStack next = item(Material.ARROW, ChatColor.GRAY + "Next", List.of());
+  final ItemStack close = item(Material.BARRIER, ChatColor.RED + "Close", List.of());
+  final ItemStack rewards = item(Material.CHEST, ChatColor.AQUA + "Rewards",
+    List.of(ChatColor.GRAY + "Claim tier rewards.", ChatColor.DARK_GRAY + "Left click"));
+  final ItemStack quests = item(Material.BOOK, ChatColor.YELLOW + "Quests",
+    List.of(ChatColor.GRAY + "View quest progress."));
+  final ItemStack leaderboard = item(Material.PAPER, ChatColor.GREEN + "Leaderboard",
+    List.of(ChatColor.GRAY + "Top points this season."));
+  final ItemStack admin = item(Material.COMMAND_BLOCK, ChatColor.DARK_AQUA + "Admin Editor",
+    List.of(ChatColor.GRAY + "Edit quests.yml / rewards.yml in-game.", ChatColor.DARK_GRAY + "Click"));
+  final ItemStack progressLoading = item(Material.NETHER_STAR, ChatColor.LIGHT_PURPLE + "Your Progress",
+    List.of(ChatColor.GRAY + "Loading..."));
+
+  @SuppressWarnings("unchecked")
+  MenuTemplates(RewardsTable table) {
+    this.source = table;
+    int max = table.maxTier();
+    this.reached = new ItemStack[max + 1];
+    this.locked = new ItemStack[max + 1];
+    this.reachedLore = new List[max + 1];
+    this.lockedLore = new List[max + 1];
+
+    for (TierRewards tr : table.all()) {
+      int tier = tr.tier();
+      if (tier <= 0 || tier > max || reached[tier] != null) continue;
+
+      reachedLore[tier] = components(tierLore(tr, true));
+      lockedLore[tier] = components(tierLore(tr, false));
+      reached[tier] = build(Material.LIME_STAINED_GLASS_PANE, ChatColor.GREEN + "Tier " + tier, reachedLore[tier]);
+      locked[tier] = build(Material.GRAY_STAINED_GLASS_PANE, ChatColor.DARK_GRAY + "Tier " + tier, lockedLore[tier]);
+    }
+  }
+
+  /** The rewards table these items were built from. */
+  RewardsTable source() {
+    return source;
+  }
+
+  /**
+   * A tier item for one viewer.
+   *
+   * @return null when the table has no rewards for this tier
+   */
+  ItemStack tier(int tier, boolean isReached, Mark free, Mark premium) {
+    if (tier <= 0 || tier >= reached.length || reached[tier] == null) return null;
+
+    ItemStack it = (isReached ? reached[tier] : locked[tier]).clone();
+    ItemMeta meta = it.getItemMeta();
+    if (meta == null) return it;
+
+    List<Component> lore = new ArrayList<>(isReached ? reachedLore[tier] : lockedLore[tier]);
+    lore.set(FREE_LINE, FREE_MARKS[free.ordinal()]);
+    lore.set(PREMIUM_LINE, PREMIUM_MARKS[premium.ordinal()]);
+    meta.lore(lore);
+    it.setItemMeta(meta);
+    return it;
+  }
+
+  private static List<String> tierLore(TierRewards tr, boolean isReached) {
+    List<String> lore = new ArrayList<>(9);
+    lore.add(ChatColor.GRAY + "Required: " + ChatColor.AQUA + tr.pointsRequired() + " points");
+    lore.add(ChatColor.GRAY + "Status: " + (isReached ? ChatColor.GREEN + "Unlocked" : ChatColor.RED + "Locked"));
+    lore.add(" ");
+    lore.add(""); // FREE_LINE
+    lore.add(""); // PREMIUM_LINE
+    lore.add(" ");
+    lore.add(ChatColor.DARK_GRAY + "Left: claim free");
+    lore.add(ChatColor.DARK_GRAY + "Right: claim premium");
+    lore.add(ChatColor.DARK_GRAY + "Shift+Left: claim both");
+    return lore;
+  }
+
+  private static Component[] marks(String prefix) {
+    Component[] out = new Component[Mark.values().length];
+    out[Mark.CLAIMED.ordinal()] = LEGACY.deserialize(prefix + ChatColor.GREEN + "Claimed");
+    out[Mark.UNCLAIMED.ordinal()] = LEGACY.deserialize(prefix + ChatColor.YELLOW + "Unclaimed");
+    out[Mark.LOCKED.ordinal()] = LEGACY.deserialize(prefix + ChatColor.DARK_GRAY + "Locked");
+    out[Mark.NO_PREMIUM.ordinal()] = LEGACY.deserialize(prefix + ChatColor.DARK_GRAY + "No premium");
+    return out;
+  }
+
+  static List<Component> components(List<String> lines) {
+    if (lines == null || lines.isEmpty()) return List.of();
+    return lines.stream().<Component>map(LEGACY::deserialize).toList();
+  }
+
+  static ItemStack item(Material mat, String name, List<String> lore) {
+    return build(mat, name, components(lore));
+  }
+
+  private static ItemStack build(Material mat, String name, List<Component> lore) {
+    ItemStack it = new ItemStack(mat);
+    ItemMeta meta = it.getItemMeta();
+    if (meta != null) {
+      meta.displayName(LEGACY.deserialize(name));
+      meta.lore(lore);
+      meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
+      it.setItemMeta(meta);
+    }
+    return it;
+  }
+}
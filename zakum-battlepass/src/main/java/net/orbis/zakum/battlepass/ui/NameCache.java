@@ -1,26 +1,65 @@
 package net.orbis.zakum.battlepass.ui;
 
+import net.orbis.zakum.api.names.NameResolver;
+
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Lightweight name cache for UI/leaderboards.
+ * Player names for UI/leaderboards.
  *
- * Avoid calling Bukkit APIs off-thread. Names are populated on join (sync).
+ * Offline players are resolved through Zakum's shared {@link NameResolver}
+ * (bounded cache + one bulk query per page). Locally only online players are
+ * held, and they are dropped on quit, so memory does not grow with the
+ * number of players who ever joined.
  */
 public final class NameCache {
 
-  private final Map<UUID, String> names = new ConcurrentHashMap<>();
+  private final NameResolver resolver;
+  private final Map<UUID, String> online = new ConcurrentHashMap<>();
+
+  /**
+   * @param resolver shared resolver, or null when Zakum does not provide one
+   */
+  public NameCache(NameResolver resolver) {
+    this.resolver = resolver;
+  }
 
   public void put(UUID uuid, String name) {
     if (uuid == null) return;
     if (name == null || name.isBlank()) return;
-    names.put(uuid, name);
+    online.put(uuid, name);
   }
 
+  public void remove(UUID uuid) {
+    if (uuid == null) return;
+    online.remove(uuid);
+  }
+
+  /** Non-blocking; null when the name is not in memory. */
   public String get(UUID uuid) {
     if (uuid == null) return null;
-    return names.get(uuid);
+    String name = online.get(uuid);
+    if (name != null || resolver == null) return name;
+    return resolver.cached(uuid);
+  }
+
+  /** Names for a page of players; ids with no known name are absent. */
+  public CompletableFuture<Map<UUID, String>> resolveAll(Collection<UUID> uuids) {
+    Map<UUID, String> out = new HashMap<>();
+    for (UUID id : uuids) {
+      String name = id == null ? null : online.get(id);
+      if (name != null) out.put(id, name);
+    }
+    if (resolver == null || out.size() == uuids.size()) return CompletableFuture.completedFuture(out);
+
+    return resolver.resolveAll(uuids).thenApply(resolved -> {
+      resolved.forEach(out::putIfAbsent);
+      return out;
+    });
   }
 }
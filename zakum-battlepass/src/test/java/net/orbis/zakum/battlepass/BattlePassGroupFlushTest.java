@@ -0,0 +1,171 @@
+package net.orbis.zakum.battlepass;
+
+import net.orbis.zakum.battlepass.state.PlayerBpState;
+import net.orbis.zakum.battlepass.state.QuestSlots;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BattlePassGroupFlushTest {
+
+  private static final String SERVER = "survival-1";
+  private static final int SEASON = 3;
+  private static final int MB = 1024 * 1024;
+  private static final QuestSlots SLOTS = QuestSlots.of(List.of("mine_stone"));
+
+  @Test
+  void thousandPlayersOnSameQuestCommitAsOneStatementPerTable() {
+    List<PlayerBpState> states = new ArrayList<>();
+    List<BattlePassStorage.PlayerDelta> deltas = progressSameQuest(1_000, states);
+
+    List<BattlePassStorage.SqlChunk> chunks = BattlePassStorage.groupStatements(SERVER, SEASON, deltas, MB);
+
+    assertEquals(2, chunks.size());
+    assertTrue(chunks.get(0).sql().startsWith("INSERT INTO orbis_battlepass_progress"));
+    assertTrue(chunks.get(1).sql().startsWith("INSERT INTO orbis_battlepass_step_progress"));
+    assertEquals(1_000, chunks.get(0).rows());
+    assertEquals(1_000, chunks.get(1).rows());
+    assertEquals(6_000, chunks.get(1).params().length);
+  }
+
+  @Test
+  void splitsBySizeNotByPlayer() {
+    List<BattlePassStorage.PlayerDelta> deltas = progressSameQuest(1_000, new ArrayList<>());
+
+    List<BattlePassStorage.SqlChunk> chunks = BattlePassStorage.groupStatements(SERVER, SEASON, deltas, 16 * 1024);
+
+    int rows = 0;
+    for (BattlePassStorage.SqlChunk c : chunks) {
+      rows += c.rows();
+      assertTrue(c.sql().length() < 16 * 1024);
+    }
+    // Each chunk packs hundreds of players, not one player's rows.
+    assertTrue(chunks.get(0).rows() > 100);
+    assertEquals(2_000, rows);
+    assertTrue(chunks.size() < 20);
+  }
+
+  @Test
+  void flushUsesOneConnectionAndOneCommit() throws SQLException {
+    FakeDb db = new FakeDb(false);
+    List<BattlePassStorage.PlayerDelta> deltas = progressSameQuest(1_000, new ArrayList<>());
+
+    BattlePassStorage.flushGroup(db.dataSource, SERVER, SEASON, deltas, MB);
+
+    assertEquals(1, db.connections.get());
+    assertEquals(2, db.executed.get());
+    assertEquals(1, db.commits.get());
+    assertEquals(0, db.rollbacks.get());
+  }
+
+  @Test
+  void failedFlushRollsBackAndRestoresDirtyState() {
+    FakeDb db = new FakeDb(true);
+    List<PlayerBpState> states = new ArrayList<>();
+    List<BattlePassStorage.PlayerDelta> deltas = progressSameQuest(50, states);
+
+    assertThrows(SQLException.class, () -> BattlePassStorage.flushGroup(db.dataSource, SERVER, SEASON, deltas, MB));
+    assertEquals(1, db.rollbacks.get());
+    assertEquals(0, db.commits.get());
+
+    for (int i = 0; i < states.size(); i++) {
+      assertTrue(states.get(i).snapshotDeltaAndClear().isEmpty());
+      states.get(i).restoreDelta(deltas.get(i).delta());
+      PlayerBpState.DeltaSnapshot again = states.get(i).snapshotDeltaAndClear();
+      assertTrue(again.writeProgress());
+      assertEquals(1, again.dirtySteps().size());
+    }
+  }
+
+  @Test
+  void emptyDeltasWriteNothing() throws SQLException {
+    FakeDb db = new FakeDb(false);
+    PlayerBpState idle = new PlayerBpState(SLOTS);
+    idle.seedProgress(1, 10);
+
+    var deltas = List.of(new BattlePassStorage.PlayerDelta(UUID.randomUUID(), idle.snapshotDeltaAndClear()));
+    var result = BattlePassStorage.flushGroup(db.dataSource, SERVER, SEASON, deltas, MB);
+
+    assertEquals(0, result.statements());
+    assertEquals(0, db.connections.get());
+    assertFalse(idle.snapshotDeltaAndClear().writeProgress());
+  }
+
+  private static List<BattlePassStorage.PlayerDelta> progressSameQuest(int players, List<PlayerBpState> states) {
+    List<BattlePassStorage.PlayerDelta> out = new ArrayList<>(players);
+    for (int i = 0; i < players; i++) {
+      PlayerBpState st = new PlayerBpState(SLOTS);
+      st.seedProgress(0, 0);
+      st.setQuest("mine_stone", 0, i + 1);
+      st.addPoints(5);
+      states.add(st);
+      out.add(new BattlePassStorage.PlayerDelta(UUID.randomUUID(), st.snapshotDeltaAndClear()));
+    }
+    return out;
+  }
+
+  /** Proxy-backed DataSource counting connections, statements and transaction outcomes. */
+  private static final class FakeDb {
+    final AtomicInteger connections = new AtomicInteger();
+    final AtomicInteger executed = new AtomicInteger();
+    final AtomicInteger commits = new AtomicInteger();
+    final AtomicInteger rollbacks = new AtomicInteger();
+    final DataSource dataSource;
+
+    FakeDb(boolean failExecute) {
+      PreparedStatement ps = proxy(PreparedStatement.class, (p, m, a) -> switch (m.getName()) {
+        case "executeUpdate" -> {
+          if (failExecute) throw new SQLException("deadlock");
+          executed.incrementAndGet();
+          yield 1;
+        }
+        default -> defaults(m.getReturnType());
+      });
+      Connection conn = proxy(Connection.class, (p, m, a) -> switch (m.getName()) {
+        case "prepareStatement" -> ps;
+        case "getAutoCommit" -> true;
+        case "commit" -> {
+          commits.incrementAndGet();
+          yield null;
+        }
+        case "rollback" -> {
+          rollbacks.incrementAndGet();
+          yield null;
+        }
+        default -> defaults(m.getReturnType());
+      });
+      this.dataSource = proxy(DataSource.class, (p, m, a) -> {
+        if (m.getName().equals("getConnection")) {
+          connections.incrementAndGet();
+          return conn;
+        }
+        return defaults(m.getReturnType());
+      });
+    }
+
+    private static Object defaults(Class<?> type) {
+      if (type == boolean.class) return false;
+      if (type == int.class) return 0;
+      if (type == long.class) return 0L;
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, java.lang.reflect.InvocationHandler handler) {
+      return (T) Proxy.newProxyInstance(FakeDb.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package net.orbis.zakum.battlepass;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class BattlePassRolloverTest {
+
+  private static final String SERVER = "survival-1";
+  private static final int SEASON = 3;
+  private static final Set<String> DAILY = Set.of("daily_mine");
+  private static final Set<String> WEEKLY = Set.of("weekly_fish", "weekly_kill");
+
+  @Test
+  void firstRunSeedsMarkerAndOnlyClearsStaleLegacyRows() throws SQLException {
+    FakeDb db = new FakeDb(null);
+
+    var r = BattlePassStorage.rollover(db.dataSource, SERVER, SEASON, 100, 7, DAILY, WEEKLY);
+
+    assertFalse(r.daily());
+    assertFalse(r.weekly());
+    assertEquals(2, db.deletes().size());
+    assertTrue(db.deletes().stream().allMatch(sql -> sql.contains("JOIN orbis_battlepass_periods")));
+    assertEquals(1, db.commits);
+  }
+
+  @Test
+  void newDayDeletesDailyRowsInOneStatement() throws SQLException {
+    FakeDb db = new FakeDb(new long[]{99, 7});
+
+    var r = BattlePassStorage.rollover(db.dataSource, SERVER, SEASON, 100, 7, DAILY, WEEKLY);
+
+    assertTrue(r.daily());
+    assertFalse(r.weekly());
+    assertEquals(List.of("DELETE FROM orbis_battlepass_step_progress WHERE server_id=? AND season=? AND quest_id IN (?)"), db.deletes());
+    assertEquals(100L, db.marker[0]);
+    assertEquals(1, db.commits);
+  }
+
+  @Test
+  void newWeekAndDayDeleteBothCadences() throws SQLException {
+    FakeDb db = new FakeDb(new long[]{99, 6});
+
+    var r = BattlePassStorage.rollover(db.dataSource, SERVER, SEASON, 100, 7, DAILY, WEEKLY);
+
+    assertTrue(r.daily());
+    assertTrue(r.weekly());
+    assertEquals(2, db.deletes().size());
+    assertTrue(db.deletes().get(1).endsWith("IN (?,?)"));
+    assertEquals(7L, db.marker[1]);
+  }
+
+  @Test
+  void samePeriodIsANoop() throws SQLException {
+    FakeDb db = new FakeDb(new long[]{100, 7});
+
+    var r = BattlePassStorage.rollover(db.dataSource, SERVER, SEASON, 100, 7, DAILY, WEEKLY);
+
+    assertFalse(r.daily());
+    assertFalse(r.weekly());
+    assertTrue(db.deletes().isEmpty());
+    assertFalse(db.sql.stream().anyMatch(sql -> sql.startsWith("UPDATE")));
+  }
+
+  @Test
+  void laggingClockNeverMovesTheMarkerBack() throws SQLException {
+    FakeDb db = new FakeDb(new long[]{100, 6});
+
+    // Another server already applied day 100; this one is still on day 99 but sees week 7.
+    var r = BattlePassStorage.rollover(db.dataSource, SERVER, SEASON, 99, 7, DAILY, WEEKLY);
+
+    assertFalse(r.daily());
+    assertTrue(r.weekly());
+    assertEquals(1, db.deletes().size());
+    assertTrue(db.deletes().get(0).endsWith("IN (?,?)"));
+    assertTrue(db.sql.stream().anyMatch(sql -> sql.contains("daily_day=GREATEST(daily_day, ?)")));
+    assertEquals(100L, db.marker[0]);
+    assertEquals(7L, db.marker[1]);
+
+    var stale = BattlePassStorage.rollover(db.dataSource, SERVER, SEASON, 99, 6, DAILY, WEEKLY);
+    assertFalse(stale.daily());
+    assertFalse(stale.weekly());
+    assertEquals(1, db.deletes().size());
+  }
+
+  /** Scripted connection holding one rollover marker row; records every statement. */
+  private static final class FakeDb {
+    final List<String> sql = new ArrayList<>();
+    long[] marker;
+    int commits;
+    final DataSource dataSource;
+
+    FakeDb(long[] existingMarker) {
+      this.marker = existingMarker;
+      Connection conn = proxy(Connection.class, (p, m, a) -> switch (m.getName()) {
+        case "prepareStatement" -> statement((String) a[0]);
+        case "getAutoCommit" -> true;
+        case "commit" -> {
+          commits++;
+          yield null;
+        }
+        default -> defaults(m.getReturnType());
+      });
+      this.dataSource = proxy(DataSource.class, (p, m, a) -> m.getName().equals("getConnection") ? conn : defaults(m.getReturnType()));
+    }
+
+    List<String> deletes() {
+      return sql.stream().filter(s -> s.startsWith("DELETE")).toList();
+    }
+
+    private PreparedStatement statement(String text) {
+      sql.add(text);
+      List<Object> params = new ArrayList<>();
+      return proxy(PreparedStatement.class, (p, m, a) -> switch (m.getName()) {
+        case "setObject", "setString", "setInt" -> {
+          params.add(a[1]);
+          yield null;
+        }
+        case "executeUpdate" -> {
+          if (text.startsWith("INSERT IGNORE")) {
+            if (marker != null) yield 0;
+            marker = new long[]{(Long) params.get(2), (Long) params.get(3)};
+            yield 1;
+          }
+          if (text.startsWith("UPDATE")) {
+            // GREATEST(column, ?)
+            marker = new long[]{Math.max(marker[0], (Long) params.get(0)), Math.max(marker[1], (Long) params.get(1))};
+          }
+          yield 5;
+        }
+        case "executeQuery" -> resultSet();
+        default -> defaults(m.getReturnType());
+      });
+    }
+
+    private ResultSet resultSet() {
+      boolean[] read = {false};
+      return proxy(ResultSet.class, (p, m, a) -> switch (m.getName()) {
+        case "next" -> {
+          boolean first = !read[0];
+          read[0] = true;
+          yield first;
+        }
+        case "getLong" -> marker[(Integer) a[0] - 1];
+        default -> defaults(m.getReturnType());
+      });
+    }
+
+    private static Object defaults(Class<?> type) {
+      if (type == boolean.class) return false;
+      if (type == int.class) return 0;
+      if (type == long.class) return 0L;
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+      return (T) Proxy.newProxyInstance(FakeDb.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package net.orbis.zakum.battlepass;
+
+import net.orbis.zakum.api.db.Jdbc;
+import net.orbis.zakum.api.util.UuidBytes;
+import net.orbis.zakum.battlepass.db.BattlePassSchema;
+import net.orbis.zakum.battlepass.index.QuestCatalog;
+import net.orbis.zakum.battlepass.index.QuestReload;
+import net.orbis.zakum.battlepass.model.QuestCadence;
+import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.model.QuestStep;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reload migration of stored step rows against an embedded H2 database in MySQL mode.
+ */
+final class BattlePassStepMigrationTest {
+
+  private static final String SERVER = "survival-1";
+  private static final int SEASON = 2;
+
+  private DataSource ds;
+
+  @BeforeEach
+  void setUp() {
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL("jdbc:h2:mem:bp_migrate;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    this.ds = h2;
+    BattlePassSchema.ensureTables(jdbc());
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbc().update("DROP ALL OBJECTS");
+  }
+
+  @Test
+  void trimmedQuestMovesRowsOnceAcrossServers() throws SQLException {
+    QuestCatalog live = QuestCatalog.of(Map.of("q", quest("q", 3), "other", quest("other", 3)));
+    QuestReload.Migration trim = QuestReload.prepare(live, Map.of("q", quest("q", 2), "other", quest("other", 3))).migration();
+
+    UUID onKept = seed("q", 1, 3);
+    UUID onRemoved = seed("q", 2, 4);
+    UUID done = seed("q", 3, 0);
+    UUID elsewhere = seed("other", 2, 4);
+
+    assertEquals(2, BattlePassStorage.migrateSteps(ds, SERVER, SEASON, trim));
+
+    assertEquals(List.of(1L, 3L), row(onKept, "q"));
+    // Back onto the new last step (completing it awards the points), and completed stays completed.
+    assertEquals(List.of(1L, 0L), row(onRemoved, "q"));
+    assertEquals(List.of(2L, 0L), row(done, "q"));
+    assertEquals(List.of(2L, 4L), row(elsewhere, "other"));
+
+    // A second server sharing the progress id reloads the same change: the marker stops it.
+    seed(onRemoved, "q", 1, 2);
+    assertEquals(0, BattlePassStorage.migrateSteps(ds, SERVER, SEASON, trim));
+    assertEquals(List.of(1L, 2L), row(onRemoved, "q"));
+    assertEquals(List.of(2L, 0L), row(done, "q"));
+  }
+
+  @Test
+  void laterChangeToTheSameQuestAppliesAgain() throws SQLException {
+    QuestCatalog v1 = QuestCatalog.of(Map.of("q", quest("q", 3)));
+    QuestReload toV2 = QuestReload.prepare(v1, Map.of("q", quest("q", 2)));
+    QuestReload toV3 = QuestReload.prepare(toV2.catalog(), Map.of("q", quest("q", 1)));
+
+    UUID player = seed("q", 2, 4);
+    assertEquals(1, BattlePassStorage.migrateSteps(ds, SERVER, SEASON, toV2.migration()));
+    assertEquals(List.of(1L, 0L), row(player, "q"));
+
+    seed(player, "q", 1, 3);
+    assertEquals(1, BattlePassStorage.migrateSteps(ds, SERVER, SEASON, toV3.migration()));
+    assertEquals(List.of(0L, 0L), row(player, "q"));
+  }
+
+  private UUID seed(String questId, int step, long progress) {
+    UUID uuid = UUID.randomUUID();
+    seed(uuid, questId, step, progress);
+    return uuid;
+  }
+
+  private void seed(UUID uuid, String questId, int step, long progress) {
+    jdbc().update("MERGE INTO orbis_battlepass_step_progress (server_id, season, uuid, quest_id, step_idx, progress) KEY (server_id, season, uuid, quest_id) VALUES (?,?,?,?,?,?)",
+      SERVER, SEASON, UuidBytes.toBytes(uuid), questId, step, progress);
+  }
+
+  private List<Long> row(UUID uuid, String questId) {
+    return jdbc().queryOne("SELECT step_idx, progress FROM orbis_battlepass_step_progress WHERE server_id=? AND season=? AND uuid=? AND quest_id=?",
+      rs -> List.of(rs.getLong(1), rs.getLong(2)), SERVER, SEASON, UuidBytes.toBytes(uuid), questId);
+  }
+
+  private static QuestDef quest(String id, int steps) {
+    List<QuestStep> out = new ArrayList<>();
+    for (int i = 0; i < steps; i++) out.add(new QuestStep("BLOCK_BREAK", "material", "STONE", 5));
+    return new QuestDef(id, id, 10, false, 0, QuestCadence.SEASON, List.of(), out);
+  }
+
+  private Jdbc jdbc() {
+    return new Jdbc() {
+      @Override
+      public int update(String sql, Object... params) {
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+          for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+          return ps.executeUpdate();
+        } catch (SQLException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+
+      @Override
+      public <T> List<T> query(String sql, RowMapper<T> mapper, Object... params) {
+        try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+          for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+          List<T> out = new ArrayList<>();
+          try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) out.add(mapper.map(rs));
+          }
+          return out;
+        } catch (SQLException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,36 @@
+package net.orbis.zakum.battlepass.backup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class ArchiveThrottleTest {
+
+  @Test
+  void backsOffWhileFlushIsSlowAndRecovers() {
+    AtomicLong flushMs = new AtomicLong(900);
+    ArchiveThrottle throttle = new ArchiveThrottle(new ArchiveOptions(1000, 2, 250, 150, flushMs::get));
+
+    assertEquals(25L, throttle.nextPauseMs());
+    assertEquals(50L, throttle.nextPauseMs());
+    assertEquals(100L, throttle.nextPauseMs());
+    assertEquals(150L, throttle.nextPauseMs());
+    assertEquals(150L, throttle.nextPauseMs());
+
+    flushMs.set(40);
+    assertEquals(75L, throttle.nextPauseMs());
+    assertEquals(37L, throttle.nextPauseMs());
+    assertEquals(0L, throttle.nextPauseMs());
+    assertEquals(0L, throttle.nextPauseMs());
+  }
+
+  @Test
+  void zeroMaxPauseDisablesThrottling() {
+    ArchiveThrottle throttle = new ArchiveThrottle(new ArchiveOptions(1000, 2, 1, 0, () -> 10_000L));
+
+    assertEquals(0L, throttle.nextPauseMs());
+    assertEquals(0L, ArchiveOptions.defaults(500).maxPauseMs());
+  }
+}
@@ -0,0 +1,211 @@
+package net.orbis.zakum.battlepass.backup;
+
+import net.orbis.zakum.api.db.Jdbc;
+import net.orbis.zakum.battlepass.db.BattlePassSchema;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Archive/restore against an embedded H2 database in MySQL mode.
+ */
+final class BattlePassArchiveIntegrationTest {
+
+  private static final String SERVER = "survival-1";
+  private static final int SEASON = 4;
+  private static final String[] QUESTS = {"mine_stone", "fish", "kill_zombie"};
+
+  private DataSource ds;
+  private Jdbc jdbc;
+
+  @BeforeEach
+  void setUp() {
+    JdbcDataSource h2 = new JdbcDataSource();
+    h2.setURL("jdbc:h2:mem:bp_archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+    this.ds = h2;
+    this.jdbc = new DataSourceJdbc(h2);
+    BattlePassSchema.ensureTables(jdbc);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbc.update("DROP ALL OBJECTS");
+  }
+
+  @Test
+  void archivesAndRestoresAcrossManyChunks() throws SQLException {
+    // ~40k rows: every table spans many 1000-row chunks and ends on a partial one,
+    // and the restore delete cursor takes several passes per table.
+    int players = 10_050;
+    seed(players);
+    long points = count("SELECT SUM(points) FROM orbis_battlepass_progress");
+
+    var backup = BattlePassBackupService.backupSeason(jdbc, ds, SERVER, SEASON, "test", "chunks",
+      new ArchiveOptions(1000, 4, 250, 0, null));
+
+    assertTrue(backup.ok(), backup.message());
+    assertEquals(players, backup.progressRows());
+    assertEquals(players * QUESTS.length, backup.stepRows());
+    assertEquals(players, backup.claimRows());
+    assertEquals(0, backup.periodRows());
+    assertEquals(players, count("SELECT COUNT(DISTINCT uuid) FROM orbis_battlepass_progress_archive WHERE batch_id=?", backup.batchId()));
+    assertEquals((long) players * QUESTS.length, count("SELECT COUNT(*) FROM orbis_battlepass_step_progress_archive WHERE batch_id=?", backup.batchId()));
+    assertEquals("OK", status(backup.batchId()));
+
+    var restore = BattlePassBackupService.restoreBatch(jdbc, ds, backup.batchId(), true,
+      new ArchiveOptions(1000, 4, 250, 0, null), 2_500);
+
+    assertTrue(restore.ok(), restore.message());
+    assertEquals(players, count("SELECT COUNT(*) FROM orbis_battlepass_progress"));
+    assertEquals((long) players * QUESTS.length, count("SELECT COUNT(*) FROM orbis_battlepass_step_progress"));
+    assertEquals(players, count("SELECT COUNT(*) FROM orbis_battlepass_claims"));
+    assertEquals(points, count("SELECT SUM(points) FROM orbis_battlepass_progress"));
+  }
+
+  @Test
+  void failedBackupResumesWithoutDuplicates() throws SQLException {
+    int players = 20_000;
+    seed(players);
+
+    // The throttle reads flush latency after every committed chunk; fail the job part-way.
+    AtomicInteger reads = new AtomicInteger();
+    var failing = new ArchiveOptions(1000, 2, 250, 100, () -> {
+      if (reads.incrementAndGet() == 7) throw new IllegalStateException("connection reset");
+      return 0L;
+    });
+
+    var first = BattlePassBackupService.backupSeason(jdbc, ds, SERVER, SEASON, "test", null, failing);
+
+    assertFalse(first.ok());
+    assertEquals("FAILED", status(first.batchId()));
+    assertTrue(count("SELECT COUNT(*) FROM orbis_battlepass_step_progress_archive WHERE batch_id=?", first.batchId()) > 0);
+
+    var resumed = BattlePassBackupService.resumeBackup(jdbc, ds, first.batchId(), new ArchiveOptions(1000, 2, 250, 0, null));
+
+    assertTrue(resumed.ok(), resumed.message());
+    assertEquals("OK", status(first.batchId()));
+    assertEquals(players, count("SELECT COUNT(*) FROM orbis_battlepass_progress_archive WHERE batch_id=?", first.batchId()));
+    assertEquals((long) players * QUESTS.length, count("SELECT COUNT(*) FROM orbis_battlepass_step_progress_archive WHERE batch_id=?", first.batchId()));
+    assertEquals(players, count("SELECT COUNT(*) FROM orbis_battlepass_claims_archive WHERE batch_id=?", first.batchId()));
+    assertEquals(players, resumed.claimRows());
+  }
+
+  @Test
+  void restoreRefusesLiveDataWithoutOverwrite() throws SQLException {
+    seed(100);
+    var backup = BattlePassBackupService.backupSeason(jdbc, ds, SERVER, SEASON, "test", null, ArchiveOptions.defaults(50));
+
+    var restore = BattlePassBackupService.restoreBatch(jdbc, ds, backup.batchId(), false, ArchiveOptions.defaults(50), 1000);
+
+    assertFalse(restore.ok());
+    assertEquals(100L, count("SELECT COUNT(*) FROM orbis_battlepass_progress"));
+  }
+
+  private void seed(int players) throws SQLException {
+    Random rnd = new Random(46);
+    try (Connection c = ds.getConnection()) {
+      c.setAutoCommit(false);
+      try (PreparedStatement progress = c.prepareStatement(
+             "INSERT INTO orbis_battlepass_progress (server_id, season, uuid, tier, points) VALUES (?,?,?,?,?)");
+           PreparedStatement steps = c.prepareStatement(
+             "INSERT INTO orbis_battlepass_step_progress (server_id, season, uuid, quest_id, step_idx, progress) VALUES (?,?,?,?,?,?)");
+           PreparedStatement claims = c.prepareStatement(
+             "INSERT INTO orbis_battlepass_claims (server_id, season, uuid, tier, track) VALUES (?,?,?,?,?)")) {
+        for (int i = 0; i < players; i++) {
+          byte[] uuid = ByteBuffer.allocate(16).putLong(rnd.nextLong()).putLong(rnd.nextLong()).array();
+
+          progress.setString(1, SERVER);
+          progress.setInt(2, SEASON);
+          progress.setBytes(3, uuid);
+          progress.setInt(4, rnd.nextInt(100));
+          progress.setLong(5, rnd.nextInt(1_000_000));
+          progress.addBatch();
+
+          for (String q : QUESTS) {
+            steps.setString(1, SERVER);
+            steps.setInt(2, SEASON);
+            steps.setBytes(3, uuid);
+            steps.setString(4, q);
+            steps.setInt(5, rnd.nextInt(4));
+            steps.setLong(6, rnd.nextInt(500));
+            steps.addBatch();
+          }
+
+          claims.setString(1, SERVER);
+          claims.setInt(2, SEASON);
+          claims.setBytes(3, uuid);
+          claims.setInt(4, 1);
+          claims.setString(5, "FREE");
+          claims.addBatch();
+
+          if ((i + 1) % 10_000 == 0) {
+            progress.executeBatch();
+            steps.executeBatch();
+            claims.executeBatch();
+            c.commit();
+          }
+        }
+        progress.executeBatch();
+        steps.executeBatch();
+        claims.executeBatch();
+        c.commit();
+      }
+    }
+  }
+
+  private long count(String sql, Object... params) {
+    return jdbc.queryOne(sql, rs -> rs.getLong(1), params);
+  }
+
+  private String status(long batchId) {
+    return jdbc.queryOne("SELECT status FROM orbis_battlepass_backup_batches WHERE batch_id=?", rs -> rs.getString(1), batchId);
+  }
+
+  /** Plain JDBC over a DataSource, shaped like Zakum's pooled implementation. */
+  private record DataSourceJdbc(DataSource ds) implements Jdbc {
+
+    @Override
+    public int update(String sql, Object... params) {
+      try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+        bind(ps, params);
+        return ps.executeUpdate();
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public <T> List<T> query(String sql, RowMapper<T> mapper, Object... params) {
+      try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+        bind(ps, params);
+        List<T> out = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+          while (rs.next()) out.add(mapper.map(rs));
+        }
+        return out;
+      } catch (SQLException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private static void bind(PreparedStatement ps, Object... params) throws SQLException {
+      for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+    }
+  }
+}
@@ -0,0 +1,299 @@
+package net.orbis.zakum.battlepass.index;
+
+import net.orbis.zakum.api.actions.ActionEvent;
+import net.orbis.zakum.battlepass.model.QuestCadence;
+import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.model.QuestStep;
+import net.orbis.zakum.battlepass.state.PlayerBpState;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class QuestReloadTest {
+
+  private static final PlayerBpState.StepStateSnap NOT_STARTED = new PlayerBpState.StepStateSnap(0, 0);
+
+  @Test
+  void diffSeparatesStepChangesFromMetadata() {
+    Map<String, QuestDef> before = Map.of(
+      "mine", quest("mine", "STONE"),
+      "fish", quest("fish", "COD"),
+      "kill", quest("kill", "ZOMBIE"),
+      "gone", quest("gone", "SAND")
+    );
+    Map<String, QuestDef> after = Map.of(
+      "mine", quest("mine", "STONE"),
+      "fish", quest("fish", "SALMON"),
+      "kill", new QuestDef("kill", "Kill zombies", 10, false, 0, QuestCadence.SEASON, List.of(), steps("ZOMBIE")),
+      "new", quest("new", "DIRT")
+    );
+
+    QuestReload r = QuestReload.prepare(QuestCatalog.of(before), after);
+
+    assertEquals(List.of("new"), r.added());
+    assertEquals(List.of("gone"), r.removed());
+    assertEquals(List.of("kill"), r.updated());
+    assertEquals(List.of(new QuestReload.Change("fish", 0, 1, 1)), r.changed());
+
+    // Removed quests keep their slot, so states never move data.
+    assertEquals(QuestCatalog.of(before).slots().slot("gone"), r.catalog().slots().slot("gone"));
+    assertNull(r.catalog().quest("gone"));
+  }
+
+  @Test
+  void migrationOnlyRewritesProgressPastTheFirstChangedStep() {
+    QuestDef old = new QuestDef("q", "q", 10, false, 0, QuestCadence.SEASON, List.of(), List.of(
+      new QuestStep("BLOCK_BREAK", "material", "STONE", 10),
+      new QuestStep("BLOCK_BREAK", "material", "DIRT", 10),
+      new QuestStep("BLOCK_BREAK", "material", "SAND", 10)
+    ));
+    // Step 2 only raises required (same target); step 3 tracks something else.
+    QuestDef edited = new QuestDef("q", "q", 10, false, 0, QuestCadence.SEASON, List.of(), List.of(
+      new QuestStep("BLOCK_BREAK", "material", "STONE", 10),
+      new QuestStep("block_break", "material", "dirt", 50),
+      new QuestStep("BLOCK_BREAK", "material", "GRAVEL", 10)
+    ));
+    QuestCatalog live = QuestCatalog.of(Map.of("q", old));
+    QuestReload r = QuestReload.prepare(live, Map.of("q", edited));
+    assertEquals(List.of(new QuestReload.Change("q", 2, 3, 3)), r.changed());
+
+    PlayerBpState onKept = state(live, 1, 7);
+    PlayerBpState onChanged = state(live, 2, 4);
+    PlayerBpState done = state(live, 3, 0);
+    PlayerBpState idle = state(live, 0, 0);
+
+    int migrated = r.apply(List.of(onKept, onChanged, done, idle), c -> {});
+
+    assertEquals(1, migrated);
+    assertEquals(new PlayerBpState.StepStateSnap(1, 7), onKept.getQuest("q"));
+    assertEquals(new PlayerBpState.StepStateSnap(2, 0), onChanged.getQuest("q"));
+    assertEquals(new PlayerBpState.StepStateSnap(3, 0), done.getQuest("q"));
+    assertTrue(onKept.snapshotDeltaAndClear().isEmpty());
+    assertTrue(idle.snapshotDeltaAndClear().isEmpty());
+
+    // Trailing step dropped, same prefix.
+    QuestDef trimmed = new QuestDef("q", "q", 10, false, 0, QuestCadence.SEASON, List.of(), old.steps().subList(0, 2));
+    QuestReload t = QuestReload.prepare(live, Map.of("q", trimmed));
+    assertEquals(List.of(new QuestReload.Change("q", 2, 3, 2)), t.changed());
+
+    // On the removed step: back onto the new last step, so completing it still awards points.
+    PlayerBpState onRemoved = state(live, 2, 4);
+    onKept = state(live, 1, 7);
+    done = state(live, 3, 0);
+
+    assertEquals(2, t.apply(List.of(onRemoved, onKept, done), c -> {}));
+    assertEquals(new PlayerBpState.StepStateSnap(1, 0), onRemoved.getQuest("q"));
+    assertEquals(new PlayerBpState.StepStateSnap(1, 7), onKept.getQuest("q"));
+    assertEquals(new PlayerBpState.StepStateSnap(2, 0), done.getQuest("q"));
+  }
+
+  @Test
+  void writesDecidedOnTheOldCatalogNeverLandOnMigratedSteps() {
+    QuestCatalog live = QuestCatalog.of(Map.of("q", multiStep("q", "M", 3)));
+    QuestReload r = QuestReload.prepare(live, Map.of("q", multiStep("q", "M", 2)));
+    PlayerBpState st = state(live, 2, 4);
+    st.advance(live.generation());
+
+    // An action thread reads step 2 under the old catalog, then the reload migrates the state.
+    PlayerBpState.StepStateSnap seen = st.getQuest("q");
+    assertEquals(1, r.migration().apply(st));
+    assertEquals(new PlayerBpState.StepStateSnap(1, 0), st.getQuest("q"));
+
+    // Its write fails even when the values happen to match, so it re-reads under the new catalog.
+    assertFalse(st.compareAndSetQuest("q", seen, 2, 5, live.generation()));
+    assertFalse(st.compareAndSetQuest("q", new PlayerBpState.StepStateSnap(1, 0), 1, 1, live.generation()));
+    assertTrue(st.compareAndSetQuest("q", new PlayerBpState.StepStateSnap(1, 0), 1, 1, r.catalog().generation()));
+    assertEquals(new PlayerBpState.StepStateSnap(1, 1), st.getQuest("q"));
+
+    // Replaying the migration (load path catching up) leaves the new progress alone.
+    assertEquals(0, r.migration().apply(st));
+    assertEquals(new PlayerBpState.StepStateSnap(1, 1), st.getQuest("q"));
+  }
+
+  @Test
+  void reloadUnderLiveActionStreamLosesNoProgress() throws InterruptedException {
+    Map<String, QuestDef> v1 = new LinkedHashMap<>();
+    for (int i = 0; i < 2_000; i++) v1.put("q" + i, quest("q" + i, "M" + i));
+    // Three short steps on one target, so players sit on every step when the reload lands.
+    for (int i = 100; i < 200; i++) v1.put("q" + i, multiStep("q" + i, "M" + i, 3));
+
+    // Drop 100, add 300 (past the 2048-slot arrays), trim the last step of 100, rename 100.
+    Map<String, QuestDef> v2 = new LinkedHashMap<>(v1);
+    for (int i = 0; i < 100; i++) v2.remove("q" + i);
+    for (int i = 100; i < 200; i++) v2.put("q" + i, multiStep("q" + i, "M" + i, 2));
+    for (int i = 200; i < 300; i++) v2.put("q" + i, new QuestDef("q" + i, "Renamed", 10, false, 0, QuestCadence.SEASON, List.of(), steps("M" + i)));
+    for (int i = 0; i < 300; i++) v2.put("n" + i, quest("n" + i, "N" + i));
+
+    List<String> targets = new ArrayList<>();
+    for (int i = 0; i < 2_000; i++) targets.add("M" + i);
+    for (int i = 0; i < 300; i++) targets.add("N" + i);
+
+    AtomicReference<QuestCatalog> live = new AtomicReference<>(QuestCatalog.of(v1));
+    QuestReload reload = QuestReload.prepare(live.get(), v2);
+    int players = 40;
+    List<PlayerBpState> states = new ArrayList<>();
+    for (int p = 0; p < players; p++) {
+      PlayerBpState st = new PlayerBpState(live.get().slots());
+      st.advance(live.get().generation());
+      states.add(st);
+    }
+
+    // Per player: quest id -> events applied / completions awarded (written only by that player's writer thread).
+    List<Map<String, Long>> applied = new ArrayList<>();
+    List<Map<String, Long>> awarded = new ArrayList<>();
+    for (int p = 0; p < players; p++) {
+      applied.add(new HashMap<>());
+      awarded.add(new HashMap<>());
+    }
+    // Per player: last value each flush wrote.
+    List<Map<String, PlayerBpState.StepStateSnap>> persisted = new ArrayList<>();
+    for (int p = 0; p < players; p++) persisted.add(new HashMap<>());
+
+    AtomicBoolean stop = new AtomicBoolean();
+    AtomicLong events = new AtomicLong();
+    List<Thread> writers = new ArrayList<>();
+    for (int w = 0; w < 2; w++) {
+      int first = w;
+      // Like the action path on two region threads: one catalog read per event, each player owned by one thread.
+      writers.add(new Thread(() -> {
+        UUID id = UUID.randomUUID();
+        for (long i = first; !stop.get(); i += 2) {
+          int p = (int) (i % players);
+          String target = targets.get((int) ((i * 7_919) % targets.size()));
+          ActionEvent e = new ActionEvent("BLOCK_BREAK", id, 1, "material", target);
+
+          QuestCatalog c = live.get();
+          PlayerBpState st = states.get(p);
+          for (QuestDef q : c.index().candidates(e)) {
+            apply(st, q, c, target, live, reload, applied.get(p), awarded.get(p));
+          }
+          events.incrementAndGet();
+        }
+      }));
+    }
+    Thread flusher = new Thread(() -> {
+      while (!stop.get()) flushInto(states, persisted);
+    });
+
+    writers.forEach(Thread::start);
+    flusher.start();
+    waitForEvents(events, 50_000);
+
+    int migrated = reload.apply(states, live::set);
+    long publishedAt = events.get();
+
+    waitForEvents(events, publishedAt + 50_000);
+    stop.set(true);
+    for (Thread t : writers) t.join();
+    flusher.join();
+    flushInto(states, persisted);
+
+    assertEquals(300, reload.added().size());
+    assertEquals(100, reload.removed().size());
+    assertEquals(100, reload.changed().size());
+    assertEquals(100, reload.updated().size());
+    assertTrue(migrated > 0);
+
+    QuestCatalog after = live.get();
+    Set<String> changed = Set.copyOf(reload.changed().stream().map(QuestReload.Change::id).toList());
+    int completedAfterReload = 0;
+    for (int p = 0; p < players; p++) {
+      PlayerBpState st = states.get(p);
+      assertEquals(after.generation(), st.generation());
+      for (String questId : st.slots().ids()) {
+        PlayerBpState.StepStateSnap mem = st.getQuest(questId);
+        long awards = awarded.get(p).getOrDefault(questId, 0L);
+        if (changed.contains(questId)) {
+          // Never left on a step the new definition does not have, never completed without its award, never awarded twice.
+          int newSteps = after.quest(questId).steps().size();
+          assertTrue(mem.stepIdx() <= newSteps, "stale step " + p + " " + questId + " " + mem);
+          if (mem.stepIdx() == newSteps) assertEquals(1L, awards, "completed " + p + " " + questId);
+          else assertEquals(0L, awards, "awarded " + p + " " + questId);
+          if (mem.stepIdx() == newSteps && awards == 1L) completedAfterReload++;
+        } else {
+          // Every write reached memory...
+          long expected = applied.get(p).getOrDefault(questId, 0L);
+          assertEquals(expected, mem.progress(), "player " + p + " " + questId);
+        }
+        // ...and the last value of every quest reached a flush.
+        assertEquals(mem, persisted.get(p).getOrDefault(questId, NOT_STARTED), "flushed " + p + " " + questId);
+      }
+    }
+    assertTrue(completedAfterReload > 0);
+  }
+
+  /** The action path: compare-and-set against the catalog generation, retried on the live catalog when migrated. */
+  private static void apply(PlayerBpState st, QuestDef quest, QuestCatalog catalog, String target, AtomicReference<QuestCatalog> live,
+                            QuestReload reload, Map<String, Long> applied, Map<String, Long> awarded) {
+    QuestDef q = quest;
+    QuestCatalog c = catalog;
+    while (q != null) {
+      if (st.generation() < c.generation()) reload.migration().apply(st);
+
+      PlayerBpState.StepStateSnap cur = st.getQuest(q.id());
+      if (cur.stepIdx() >= q.steps().size()) return;
+      QuestStep step = q.steps().get(cur.stepIdx());
+      if (!step.value().equals(target)) return;
+
+      long next = cur.progress() + 1;
+      boolean stepDone = next >= step.required();
+      int nextIdx = stepDone ? cur.stepIdx() + 1 : cur.stepIdx();
+      if (st.compareAndSetQuest(q.id(), cur, nextIdx, stepDone ? 0L : next, c.generation())) {
+        applied.merge(q.id(), 1L, Long::sum);
+        if (nextIdx >= q.steps().size()) awarded.merge(q.id(), 1L, Long::sum);
+        return;
+      }
+      if (st.generation() != c.generation()) {
+        c = live.get();
+        q = c.quest(q.id());
+      }
+    }
+  }
+
+  private static void flushInto(List<PlayerBpState> states, List<Map<String, PlayerBpState.StepStateSnap>> persisted) {
+    for (int p = 0; p < states.size(); p++) {
+      PlayerBpState.DeltaSnapshot d = states.get(p).snapshotDeltaAndClear();
+      persisted.get(p).putAll(d.dirtySteps());
+    }
+  }
+
+  private static void waitForEvents(AtomicLong events, long atLeast) throws InterruptedException {
+    long deadline = System.nanoTime() + 30_000_000_000L;
+    while (events.get() < atLeast && System.nanoTime() < deadline) Thread.sleep(1);
+    assertTrue(events.get() >= atLeast, "only " + events.get() + " of " + atLeast + " events in 30s");
+  }
+
+  private static PlayerBpState state(QuestCatalog catalog, int step, long progress) {
+    PlayerBpState st = new PlayerBpState(catalog.slots());
+    st.seedQuest("q", step, progress);
+    return st;
+  }
+
+  private static QuestDef quest(String id, String value) {
+    return new QuestDef(id, id, 10, false, 0, QuestCadence.SEASON, List.of(), steps(value));
+  }
+
+  private static QuestDef multiStep(String id, String value, int steps) {
+    List<QuestStep> out = new ArrayList<>();
+    for (int i = 0; i < steps; i++) out.add(new QuestStep("BLOCK_BREAK", "material", value, 5));
+    return new QuestDef(id, id, 10, false, 0, QuestCadence.SEASON, List.of(), out);
+  }
+
+  private static List<QuestStep> steps(String value) {
+    return List.of(new QuestStep("BLOCK_BREAK", "material", value, Long.MAX_VALUE));
+  }
+}
@@ -0,0 +1,63 @@
+package net.orbis.zakum.battlepass.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+final class NetworkRankCacheTest {
+
+  private final AtomicLong now = new AtomicLong();
+
+  @Test
+  void ranksExpireAfterTtl() {
+    NetworkRankCache cache = new NetworkRankCache(10, 100, now::get);
+    UUID a = UUID.randomUUID();
+
+    cache.put(a, 3);
+    now.set(99);
+    assertEquals(3, cache.get(a));
+
+    now.set(100);
+    assertEquals(0, cache.get(a));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void fullCacheOnlyUpdatesTrackedPlayers() {
+    NetworkRankCache cache = new NetworkRankCache(2, 100, now::get);
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID c = UUID.randomUUID();
+
+    cache.put(a, 1);
+    cache.put(b, 2);
+    cache.put(c, 3);
+    cache.put(a, 4);
+
+    assertEquals(2, cache.size());
+    assertEquals(4, cache.get(a));
+    assertEquals(0, cache.get(c));
+  }
+
+  @Test
+  void pruneDropsExpiredAndUnwantedPlayers() {
+    NetworkRankCache cache = new NetworkRankCache(10, 100, now::get);
+    UUID stale = UUID.randomUUID();
+    UUID gone = UUID.randomUUID();
+    UUID kept = UUID.randomUUID();
+
+    cache.put(stale, 1);
+    now.set(60);
+    cache.put(gone, 2);
+    cache.put(kept, 3);
+    now.set(120);
+
+    cache.prune(u -> !u.equals(gone));
+
+    assertEquals(1, cache.size());
+    assertEquals(3, cache.get(kept));
+  }
+}
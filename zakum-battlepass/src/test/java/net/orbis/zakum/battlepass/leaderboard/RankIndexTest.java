@@ -0,0 +1,135 @@
+package net.orbis.zakum.battlepass.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class RankIndexTest {
+
+  private static final Comparator<BattlePassLeaderboard.Entry> ORDER =
+    Comparator.comparingLong(BattlePassLeaderboard.Entry::points).reversed()
+      .thenComparing(BattlePassLeaderboard.Entry::uuid);
+
+  @Test
+  void ranksByPointsDescending() {
+    RankIndex index = new RankIndex();
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID c = UUID.randomUUID();
+
+    index.update(a, 10, 1);
+    index.update(b, 30, 2);
+    index.update(c, 20, 1);
+
+    assertEquals(1, index.rank(b));
+    assertEquals(2, index.rank(c));
+    assertEquals(3, index.rank(a));
+    assertEquals(List.of(b, c), index.top(2).stream().map(BattlePassLeaderboard.Entry::uuid).toList());
+  }
+
+  @Test
+  void movesPlayerWhenPointsChange() {
+    RankIndex index = new RankIndex();
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    index.update(a, 10, 1);
+    index.update(b, 20, 1);
+
+    index.update(a, 50, 3);
+
+    assertEquals(1, index.rank(a));
+    assertEquals(2, index.rank(b));
+    assertEquals(2, index.size());
+    assertEquals(3, index.top(1).get(0).tier());
+  }
+
+  @Test
+  void removeAndUnknownPlayers() {
+    RankIndex index = new RankIndex();
+    UUID a = UUID.randomUUID();
+    index.update(a, 5, 0);
+
+    assertTrue(index.remove(a));
+    assertFalse(index.remove(a));
+    assertEquals(0, index.rank(a));
+    assertEquals(0, index.size());
+    assertTrue(index.range(1, 10).isEmpty());
+  }
+
+  @Test
+  void matchesSortedListUnderRandomUpdates() {
+    RankIndex index = new RankIndex();
+    Map<UUID, BattlePassLeaderboard.Entry> model = new HashMap<>();
+    List<UUID> players = new ArrayList<>();
+    for (int i = 0; i < 500; i++) players.add(UUID.randomUUID());
+
+    SplittableRandom random = new SplittableRandom(42);
+    for (int op = 0; op < 20_000; op++) {
+      UUID u = players.get(random.nextInt(players.size()));
+      if (random.nextInt(10) == 0) {
+        index.remove(u);
+        model.remove(u);
+      } else {
+        // Narrow point range forces plenty of ties.
+        long points = random.nextInt(200);
+        index.update(u, points, (int) (points / 10));
+        model.put(u, new BattlePassLeaderboard.Entry(u, points, (int) (points / 10)));
+      }
+    }
+
+    List<BattlePassLeaderboard.Entry> expected = new ArrayList<>(model.values());
+    expected.sort(ORDER);
+
+    assertEquals(expected.size(), index.size());
+    assertEquals(expected, index.top(expected.size()));
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(i + 1, index.rank(expected.get(i).uuid()));
+    }
+    if (expected.size() > 40) {
+      assertEquals(expected.subList(20, 30), index.range(21, 10));
+    }
+  }
+
+  @Test
+  void ranksStayExactAtScale() {
+    RankIndex index = new RankIndex();
+    Map<UUID, Long> points = new HashMap<>();
+    List<UUID> players = new ArrayList<>();
+    SplittableRandom random = new SplittableRandom(7);
+    for (int i = 0; i < 200_000; i++) {
+      UUID u = new UUID(random.nextLong(), random.nextLong());
+      long p = random.nextInt(1_000_000);
+      players.add(u);
+      points.put(u, p);
+      index.update(u, p, 0);
+    }
+    for (int i = 0; i < 100_000; i++) {
+      UUID u = players.get(random.nextInt(players.size()));
+      long p = random.nextInt(1_000_000);
+      points.put(u, p);
+      index.update(u, p, 0);
+    }
+
+    assertEquals(200_000, index.size());
+    for (int i = 0; i < 50; i++) {
+      UUID u = players.get(random.nextInt(players.size()));
+      long p = points.get(u);
+      int expected = 1;
+      for (Map.Entry<UUID, Long> other : points.entrySet()) {
+        long q = other.getValue();
+        if (q > p || (q == p && other.getKey().compareTo(u) < 0)) expected++;
+      }
+      assertEquals(expected, index.rank(u));
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package net.orbis.zakum.battlepass.papi;
+
+import net.orbis.zakum.battlepass.model.QuestCadence;
+import net.orbis.zakum.battlepass.model.QuestDef;
+import net.orbis.zakum.battlepass.model.QuestStep;
+import net.orbis.zakum.battlepass.state.PlayerBpState;
+import net.orbis.zakum.battlepass.state.QuestSlots;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+final class PlaceholderDispatcherTest {
+
+  private static final UUID PLAYER = new UUID(1, 2);
+  private static final UUID OFFLINE = new UUID(3, 4);
+  private static final QuestSlots SLOTS = QuestSlots.of(List.of("mine_stone", "Fish_Cod"));
+  private static final Map<String, QuestDef> QUESTS = Map.of(
+    "mine_stone", quest("mine_stone", 64, 256),
+    "Fish_Cod", quest("Fish_Cod", 10)
+  );
+
+  @Test
+  void resolvesPlayerFields() {
+    PlaceholderDispatcher d = new PlaceholderDispatcher(source(state()));
+
+    assertEquals("7", d.resolve(PLAYER, "tier"));
+    assertEquals("4200", d.resolve(PLAYER, "POINTS"));
+    assertEquals("yes", d.resolve(PLAYER, "premium"));
+    assertEquals("3", d.resolve(PLAYER, "season"));
+    assertEquals("survival-1", d.resolve(PLAYER, "server"));
+    assertEquals("12", d.resolve(PLAYER, "rank"));
+    assertEquals("0", d.resolve(OFFLINE, "tier"));
+    assertEquals("-", d.resolve(OFFLINE, "rank"));
+  }
+
+  @Test
+  void resolvesQuestFieldsFromSlots() {
+    PlayerBpState st = state();
+    PlaceholderDispatcher d = new PlaceholderDispatcher(source(st));
+
+    assertEquals("2", d.resolve(PLAYER, "quest_mine_stone_step"));
+    assertEquals("40", d.resolve(PLAYER, "quest_mine_stone_progress"));
+    assertEquals("256", d.resolve(PLAYER, "quest_mine_stone_REQUIRED"));
+    assertEquals("1", d.resolve(OFFLINE, "quest_mine_stone_step"));
+    assertEquals("64", d.resolve(OFFLINE, "quest_mine_stone_required"));
+
+    // Compiled once; later reads see new values.
+    st.setQuest("mine_stone", 1, 41);
+    assertEquals("41", d.resolve(PLAYER, "quest_mine_stone_progress"));
+
+    // Quest ids keep their case.
+    assertEquals("0", d.resolve(PLAYER, "quest_Fish_Cod_progress"));
+    assertEquals("", d.resolve(PLAYER, "quest_fish_cod_progress"));
+  }
+
+  @Test
+  void unknownParamsResolveEmptyAndCacheIsBounded() {
+    PlaceholderDispatcher d = new PlaceholderDispatcher(source(state()));
+
+    assertEquals("", d.resolve(PLAYER, "nope"));
+    assertEquals("", d.resolve(PLAYER, "quest_mine_stone_colour"));
+    assertEquals("", d.resolve(PLAYER, "quest__step"));
+    assertSame(d.resolve(PLAYER, "tier"), d.resolve(PLAYER, "tier"));
+
+    for (int i = 0; i < PlaceholderDispatcher.MAX_CACHED * 2; i++) d.resolve(PLAYER, "junk_" + i);
+    assertEquals(PlaceholderDispatcher.MAX_CACHED, d.cachedCount());
+    assertEquals("7", d.resolve(PLAYER, "tier"));
+  }
+
+  @Test
+  void reloadRecompilesQuestFields() {
+    PlayerBpState st = state();
+    Map<String, QuestDef> live = new java.util.HashMap<>(QUESTS);
+    Object[] version = {SLOTS};
+    PlaceholderDispatcher d = new PlaceholderDispatcher(new PlaceholderDispatcher.Source() {
+      @Override public PlayerBpState state(UUID uuid) { return st; }
+      @Override public QuestDef quest(String questId) { return live.get(questId); }
+      @Override public QuestSlots slots() { return SLOTS; }
+      @Override public Object version() { return version[0]; }
+      @Override public int season() { return 3; }
+      @Override public String serverId() { return "survival-1"; }
+      @Override public int rank(UUID uuid) { return 0; }
+    });
+
+    assertEquals("256", d.resolve(PLAYER, "quest_mine_stone_required"));
+
+    live.put("mine_stone", quest("mine_stone", 64, 500));
+    assertEquals("256", d.resolve(PLAYER, "quest_mine_stone_required"));
+
+    version[0] = new Object();
+    assertEquals("500", d.resolve(PLAYER, "quest_mine_stone_required"));
+    assertEquals(1, d.cachedCount());
+  }
+
+  private static PlayerBpState state() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.seedProgress(7, 4200);
+    st.seedQuest("mine_stone", 1, 40);
+    st.premium = true;
+    return st;
+  }
+
+  private static PlaceholderDispatcher.Source source(PlayerBpState st) {
+    return new PlaceholderDispatcher.Source() {
+      @Override public PlayerBpState state(UUID uuid) { return uuid.equals(PLAYER) ? st : null; }
+      @Override public QuestDef quest(String questId) { return QUESTS.get(questId); }
+      @Override public QuestSlots slots() { return SLOTS; }
+      @Override public Object version() { return SLOTS; }
+      @Override public int season() { return 3; }
+      @Override public String serverId() { return "survival-1"; }
+      @Override public int rank(UUID uuid) { return uuid.equals(PLAYER) ? 12 : 0; }
+    };
+  }
+
+  private static QuestDef quest(String id, long... required) {
+    List<QuestStep> steps = new ArrayList<>();
+    for (long r : required) steps.add(new QuestStep("BLOCK_BREAK", "block", "STONE", r));
+    return new QuestDef(id, id, 10, false, 0, QuestCadence.SEASON, List.of(), steps);
+  }
+}
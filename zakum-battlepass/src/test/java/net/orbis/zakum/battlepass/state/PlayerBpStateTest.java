@@ -0,0 +1,207 @@
+package net.orbis.zakum.battlepass.state;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PlayerBpStateTest {
+
+  private static final QuestSlots SLOTS = slots(130);
+
+  @Test
+  void packsPointsAndTier() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.seedProgress(7, 1_234_567L);
+
+    st.addPoints(33);
+    st.setTier(8);
+
+    assertEquals(1_234_600L, st.points());
+    assertEquals(8, st.tier());
+
+    st.seedProgress(PlayerBpState.MAX_TIER + 5, PlayerBpState.MAX_POINTS + 5);
+    assertEquals(PlayerBpState.MAX_TIER, st.tier());
+    assertEquals(PlayerBpState.MAX_POINTS, st.points());
+  }
+
+  @Test
+  void snapshotsOnlyDirtySlotsAcrossWords() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.seedQuest("q1", 1, 9);
+    st.setQuest("q3", 0, 4);
+    st.setQuest("q64", 2, 1);
+    st.setQuest("q129", 1, 7);
+
+    PlayerBpState.DeltaSnapshot delta = st.snapshotDeltaAndClear();
+
+    assertFalse(delta.writeProgress());
+    assertEquals(Map.of(
+      "q3", new PlayerBpState.StepStateSnap(0, 4),
+      "q64", new PlayerBpState.StepStateSnap(2, 1),
+      "q129", new PlayerBpState.StepStateSnap(1, 7)
+    ), delta.dirtySteps());
+    assertTrue(st.snapshotDeltaAndClear().isEmpty());
+    assertEquals(new PlayerBpState.StepStateSnap(1, 9), st.getQuest("q1"));
+  }
+
+  @Test
+  void unknownQuestsAreIgnored() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.seedQuest("removed", 3, 3);
+    st.setQuest("removed", 3, 3);
+
+    assertEquals(new PlayerBpState.StepStateSnap(0, 0), st.getQuest("removed"));
+    assertTrue(st.snapshotDeltaAndClear().isEmpty());
+  }
+
+  @Test
+  void restoreRemarksDirtyRowsWithCurrentValues() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.setQuest("q5", 0, 2);
+    st.addPoints(10);
+    st.markClaim(true, 1);
+    PlayerBpState.DeltaSnapshot failed = st.snapshotDeltaAndClear();
+    assertEquals(3, failed.rows());
+    assertFalse(st.isDirty());
+
+    st.setQuest("q5", 0, 6);
+    st.restoreDelta(failed);
+    assertTrue(st.isDirty());
+    PlayerBpState.DeltaSnapshot retry = st.snapshotDeltaAndClear();
+
+    assertTrue(retry.writeProgress());
+    assertEquals(new PlayerBpState.StepStateSnap(0, 6), retry.dirtySteps().get("q5"));
+    assertEquals(Set.of(new PlayerBpState.ClaimSnap(true, 1)), retry.dirtyClaims());
+  }
+
+  @Test
+  void claimsInRangeAreRelativeToFirstTier() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.seedClaim(false, 46);
+    st.seedClaim(false, 90);
+    st.seedClaim(true, 47);
+
+    assertTrue(st.markClaim(false, 50));
+    assertFalse(st.markClaim(false, 50));
+
+    BitSet free = st.claimsInRange(false, 46, 90);
+    assertEquals(BitSet.valueOf(new long[] {1L | 1L << 4 | 1L << 44}), free);
+    assertEquals(1, st.claimsInRange(true, 46, 90).cardinality());
+    assertTrue(st.claimsInRange(true, 1, 45).isEmpty());
+    assertEquals(1, st.snapshotDeltaAndClear().dirtyClaims().size());
+  }
+
+  @Test
+  void olderPremiumLookupsNeverOverwriteNewerOnes() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+
+    // Per-player refresh (ticket 2) answers before the bulk check issued earlier (ticket 1).
+    assertTrue(st.applyPremium(2, true));
+    assertFalse(st.applyPremium(1, false));
+    assertTrue(st.premium);
+
+    assertTrue(st.applyPremium(3, false));
+    assertFalse(st.premium);
+  }
+
+  @Test
+  void resetQuestsOnlyDirtiesSlotsWithProgress() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.seedQuest("q2", 1, 5);
+    st.seedQuest("q70", 0, 3);
+    st.seedQuest("q9", 2, 2);
+
+    int changed = st.resetQuests(SLOTS.mask(id -> id.equals("q2") || id.equals("q70") || id.equals("q71")));
+
+    assertEquals(2, changed);
+    assertEquals(Set.of("q2", "q70"), st.snapshotDeltaAndClear().dirtySteps().keySet());
+    assertEquals(new PlayerBpState.StepStateSnap(0, 0), st.getQuest("q70"));
+    assertEquals(new PlayerBpState.StepStateSnap(2, 2), st.getQuest("q9"));
+  }
+
+  @Test
+  void rebindKeepsSlotsAndPendingWrites() {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    st.seedQuest("q1", 1, 9);
+    st.setQuest("q129", 0, 3);
+
+    List<String> ids = new ArrayList<>(SLOTS.ids());
+    ids.remove("q1");
+    for (int i = 0; i < 100; i++) ids.add("n" + i);
+    QuestSlots next = SLOTS.extend(ids);
+
+    assertEquals(SLOTS.slot("q129"), next.slot("q129"));
+    assertEquals(SLOTS.slot("q1"), next.slot("q1"));
+    assertEquals(230, next.size());
+    assertSame(next, next.extend(ids));
+
+    // 230 slots no longer fit the 192-slot arrays: rebind grows them.
+    st.rebind(next);
+    st.setQuest("n99", 2, 5);
+    st.rebind(SLOTS);
+
+    assertSame(next, st.slots());
+    assertEquals(new PlayerBpState.StepStateSnap(1, 9), st.getQuest("q1"));
+    assertEquals(2, st.stepAt(next.slot("n99")));
+    assertEquals(Map.of(
+      "q129", new PlayerBpState.StepStateSnap(0, 3),
+      "n99", new PlayerBpState.StepStateSnap(2, 5)
+    ), st.snapshotDeltaAndClear().dirtySteps());
+  }
+
+  @Test
+  void readersNeverSeeTornStepPairs() throws InterruptedException {
+    PlayerBpState st = new PlayerBpState(SLOTS);
+    AtomicBoolean done = new AtomicBoolean();
+    AtomicReference<String> torn = new AtomicReference<>();
+
+    // Writer keeps progress == stepIdx * 1000, so any mix of two writes is detectable.
+    Thread writer = new Thread(() -> {
+      for (int i = 0; i < 200_000; i++) {
+        st.setQuest("q7", i, i * 1000L);
+        st.addPoints(1);
+      }
+      done.set(true);
+    });
+
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < 3; r++) {
+      readers.add(new Thread(() -> {
+        long lastPoints = 0;
+        while (!done.get()) {
+          PlayerBpState.StepStateSnap ss = st.getQuest("q7");
+          if (ss.progress() != ss.stepIdx() * 1000L) torn.compareAndSet(null, ss.toString());
+          long p = st.points();
+          if (p < lastPoints) torn.compareAndSet(null, "points went back: " + p);
+          lastPoints = p;
+        }
+      }));
+    }
+
+    readers.forEach(Thread::start);
+    writer.start();
+    writer.join();
+    for (Thread t : readers) t.join();
+
+    assertNull(torn.get());
+    assertEquals(200_000L, st.points());
+  }
+
+  private static QuestSlots slots(int n) {
+    List<String> ids = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) ids.add("q" + i);
+    return QuestSlots.of(ids);
+  }
+}
@@ -10,8 +10,14 @@ dependencies {
 
   // Soft dependency
   compileOnly(libs.luckperms.api)
+
+  testImplementation(project(":zakum-api"))
+  testImplementation(libs.luckperms.api)
+  testImplementation(libs.junit.jupiter.api)
+  testRuntimeOnly(libs.junit.jupiter.engine)
+  testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 tasks.processResources {
   filesMatching("plugin.yml") { expand("version" to project.version) }
-}
\ No newline at end of file
+}
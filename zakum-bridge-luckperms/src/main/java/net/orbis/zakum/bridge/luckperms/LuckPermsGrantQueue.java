@@ -0,0 +1,131 @@
+package net.orbis.zakum.bridge.luckperms;
+
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.node.Node;
+import net.luckperms.api.node.NodeBuilder;
+import net.orbis.zakum.api.luckperms.PermissionGrant;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Coalesces permission grants per user and applies them once per tick.
+ *
+ * A crate opening ten keys used to produce ten user saves (each a storage
+ * write plus a network sync message). Here all grants for a user that arrive
+ * before the next flush become one load, one batch of node adds and one save.
+ * Offline users are loaded through {@code loadUser}; online users use the cache.
+ */
+final class LuckPermsGrantQueue {
+
+  private final LuckPerms lp;
+  private final Function<PermissionGrant, Node> nodes;
+  private final Consumer<Runnable> nextTick;
+
+  private final ConcurrentHashMap<UUID, Batch> pending = new ConcurrentHashMap<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  LuckPermsGrantQueue(LuckPerms lp, Consumer<Runnable> nextTick) {
+    this(lp, nextTick, LuckPermsGrantQueue::node);
+  }
+
+  LuckPermsGrantQueue(LuckPerms lp, Consumer<Runnable> nextTick, Function<PermissionGrant, Node> nodes) {
+    this.lp = Objects.requireNonNull(lp, "lp");
+    this.nextTick = Objects.requireNonNull(nextTick, "nextTick");
+    this.nodes = Objects.requireNonNull(nodes, "nodes");
+  }
+
+  CompletableFuture<Boolean> submit(UUID uuid, Collection<PermissionGrant> grants) {
+    Objects.requireNonNull(uuid, "uuid");
+    if (grants == null || grants.isEmpty()) return CompletableFuture.completedFuture(false);
+
+    CompletableFuture<Boolean> done = new CompletableFuture<>();
+    pending.compute(uuid, (k, batch) -> {
+      if (batch == null) batch = new Batch();
+      for (PermissionGrant g : grants) {
+        if (g != null) batch.grants.add(g);
+      }
+      batch.waiters.add(done);
+      return batch;
+    });
+
+    if (scheduled.compareAndSet(false, true)) {
+      nextTick.accept(this::flush);
+    }
+    return done;
+  }
+
+  int pendingUsers() {
+    return pending.size();
+  }
+
+  /**
+   * Applies everything queued so far. Grants submitted while a flush runs
+   * either join the batch being drained or schedule the next flush.
+   */
+  void flush() {
+    scheduled.set(false);
+    for (UUID uuid : List.copyOf(pending.keySet())) {
+      Batch batch = pending.remove(uuid);
+      if (batch != null) apply(uuid, batch);
+    }
+  }
+
+  private void apply(UUID uuid, Batch batch) {
+    if (batch.grants.isEmpty()) {
+      batch.complete(false, null);
+      return;
+    }
+
+    CompletableFuture<Void> saved;
+    try {
+      saved = load(uuid).thenCompose(user -> {
+        for (PermissionGrant g : batch.grants) {
+          user.data().add(nodes.apply(g));
+        }
+        return lp.getUserManager().saveUser(user);
+      });
+    } catch (RuntimeException e) {
+      saved = CompletableFuture.failedFuture(e);
+    }
+    saved.whenComplete((ignored, err) -> batch.complete(err == null, err));
+  }
+
+  private CompletableFuture<User> load(UUID uuid) {
+    User cached = lp.getUserManager().getUser(uuid);
+    if (cached != null) return CompletableFuture.completedFuture(cached);
+    return lp.getUserManager().loadUser(uuid);
+  }
+
+  private static Node node(PermissionGrant grant) {
+    NodeBuilder<?, ?> builder = Node.builder(grant.node());
+    if (grant.temporary()) {
+      builder.expiry(grant.duration().toSeconds(), TimeUnit.SECONDS);
+    }
+    return builder.build();
+  }
+
+  private static final class Batch {
+    private final Set<PermissionGrant> grants = new LinkedHashSet<>();
+    private final List<CompletableFuture<Boolean>> waiters = new ArrayList<>(2);
+
+    private void complete(boolean ok, Throwable err) {
+      for (CompletableFuture<Boolean> waiter : waiters) {
+        if (err != null) waiter.completeExceptionally(err);
+        else waiter.complete(ok);
+      }
+    }
+  }
+}
@@ -1,22 +1,27 @@
 package net.orbis.zakum.bridge.luckperms;
 
 import net.orbis.zakum.api.luckperms.LuckPermsService;
+import net.orbis.zakum.api.luckperms.PermissionGrant;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.model.user.User;
 import net.luckperms.api.query.QueryOptions;
 import org.bukkit.entity.Player;
 
+import java.util.Collection;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 final class LuckPermsServiceImpl implements LuckPermsService {
 
   private final LuckPerms lp;
+  private final LuckPermsGrantQueue grants;
 
-  LuckPermsServiceImpl(LuckPerms lp) {
+  LuckPermsServiceImpl(LuckPerms lp, Consumer<Runnable> nextTick) {
     this.lp = Objects.requireNonNull(lp, "lp");
+    this.grants = new LuckPermsGrantQueue(lp, nextTick);
   }
 
   @Override
@@ -85,6 +90,18 @@ final class LuckPermsServiceImpl implements LuckPermsService {
     );
   }
 
+  @Override
+  public CompletableFuture<Boolean> grant(UUID uuid, Collection<PermissionGrant> grants) {
+    return this.grants.submit(uuid, grants);
+  }
+
+  /**
+   * Applies queued grants immediately (plugin disable).
+   */
+  void flushGrants() {
+    grants.flush();
+  }
+
   private CompletableFuture<User> load(UUID uuid) {
     Objects.requireNonNull(uuid, "uuid");
 
@@ -1,5 +1,6 @@
 package net.orbis.zakum.bridge.luckperms;
 
+import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.luckperms.LuckPermsService;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.LuckPermsProvider;
@@ -9,7 +10,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 public final class OrbisBridgeLuckPermsPlugin extends JavaPlugin {
 
-  private LuckPermsService impl;
+  private LuckPermsServiceImpl impl;
 
   @Override
   public void onEnable() {
@@ -28,7 +29,15 @@ public final class OrbisBridgeLuckPermsPlugin extends JavaPlugin {
       return;
     }
 
-    this.impl = new LuckPermsServiceImpl(lp);
+    ZakumApi zakum = Bukkit.getServicesManager().load(ZakumApi.class);
+    if (zakum == null) {
+      getLogger().warning("ZakumApi not found. Disabling OrbisBridgeLuckPerms.");
+      Bukkit.getPluginManager().disablePlugin(this);
+      return;
+    }
+
+    // Grants queued during a tick are flushed together on the next one.
+    this.impl = new LuckPermsServiceImpl(lp, flush -> zakum.getScheduler().runTaskLater(this, flush, 1L));
 
     Bukkit.getServicesManager().register(
       LuckPermsService.class,
@@ -44,6 +53,7 @@ public final class OrbisBridgeLuckPermsPlugin extends JavaPlugin {
   public void onDisable() {
     if (impl != null) {
       Bukkit.getServicesManager().unregister(LuckPermsService.class, impl);
+      impl.flushGrants();
     }
     impl = null;
   }
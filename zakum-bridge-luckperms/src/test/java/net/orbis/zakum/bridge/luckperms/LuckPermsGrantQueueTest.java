@@ -0,0 +1,120 @@
+package net.orbis.zakum.bridge.luckperms;
+
+import net.orbis.zakum.api.luckperms.PermissionGrant;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class LuckPermsGrantQueueTest {
+
+  private final StubLuckPerms lp = new StubLuckPerms();
+  private final List<Runnable> ticks = new ArrayList<>();
+  private final LuckPermsGrantQueue queue = new LuckPermsGrantQueue(lp.api, ticks::add, StubLuckPerms::node);
+
+  @Test
+  void grantsWithinOneTickShareOneSave() {
+    UUID player = UUID.randomUUID();
+    lp.online(player);
+
+    List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(queue.submit(player, List.of(PermissionGrant.permanent("crate.reward." + i))));
+    }
+
+    assertEquals(1, ticks.size());
+    assertEquals(0, lp.saves);
+    assertFalse(futures.get(0).isDone());
+
+    runTick();
+
+    assertEquals(1, lp.saves);
+    assertEquals(0, lp.loads);
+    assertEquals(10, lp.nodes.get(player).size());
+    for (CompletableFuture<Boolean> f : futures) {
+      assertTrue(f.join());
+    }
+  }
+
+  @Test
+  void offlineUsersAreLoadedOnce() {
+    UUID offline = UUID.randomUUID();
+
+    queue.submit(offline, List.of(PermissionGrant.parse("vip.fly 1d")));
+    queue.submit(offline, List.of(PermissionGrant.permanent("vip.hat")));
+    runTick();
+
+    assertEquals(1, lp.loads);
+    assertEquals(1, lp.saves);
+    assertEquals(List.of("vip.fly@86400", "vip.hat"), lp.nodes.get(offline));
+  }
+
+  @Test
+  void duplicateGrantsCollapse() {
+    UUID player = UUID.randomUUID();
+    lp.online(player);
+
+    queue.submit(player, List.of(PermissionGrant.permanent("group.vip")));
+    queue.submit(player, List.of(PermissionGrant.permanent("group.vip")));
+    runTick();
+
+    assertEquals(List.of("group.vip"), lp.nodes.get(player));
+  }
+
+  @Test
+  void separatePlayersSaveSeparately() {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    lp.online(a);
+    lp.online(b);
+
+    queue.submit(a, List.of(PermissionGrant.permanent("x")));
+    queue.submit(b, List.of(PermissionGrant.permanent("y")));
+    runTick();
+
+    assertEquals(2, lp.saves);
+    assertEquals(0, queue.pendingUsers());
+  }
+
+  @Test
+  void grantsAfterFlushScheduleNextTick() {
+    UUID player = UUID.randomUUID();
+    lp.online(player);
+
+    queue.submit(player, List.of(PermissionGrant.permanent("a")));
+    runTick();
+    queue.submit(player, List.of(PermissionGrant.permanent("b")));
+
+    assertEquals(1, ticks.size());
+    runTick();
+    assertEquals(2, lp.saves);
+  }
+
+  @Test
+  void emptyGrantListIsNoOp() {
+    assertFalse(queue.submit(UUID.randomUUID(), List.of()).join());
+    assertTrue(ticks.isEmpty());
+  }
+
+  @Test
+  void durationsParse() {
+    assertEquals(Duration.ofDays(7), PermissionGrant.parseDuration("1w"));
+    assertEquals(Duration.ofMinutes(5), PermissionGrant.parseDuration("5m"));
+    assertEquals(Duration.ofSeconds(90), PermissionGrant.parseDuration("90"));
+    assertEquals(Duration.ZERO, PermissionGrant.parseDuration("soon"));
+    assertFalse(PermissionGrant.parse("group.vip").temporary());
+  }
+
+  private void runTick() {
+    List<Runnable> due = new ArrayList<>(ticks);
+    ticks.clear();
+    due.forEach(Runnable::run);
+  }
+}
@@ -0,0 +1,101 @@
+package net.orbis.zakum.bridge.luckperms;
+
+import net.luckperms.api.LuckPerms;
+import net.luckperms.api.model.data.DataMutateResult;
+import net.luckperms.api.model.data.NodeMap;
+import net.luckperms.api.model.user.User;
+import net.luckperms.api.model.user.UserManager;
+import net.luckperms.api.node.Node;
+import net.orbis.zakum.api.luckperms.PermissionGrant;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Minimal in-memory LuckPerms test double.
+ *
+ * Only the user manager paths used by the bridge are implemented: cached
+ * lookup, {@code loadUser}, {@code saveUser} and {@code data().add}. Every
+ * other API method returns null.
+ */
+final class StubLuckPerms {
+
+  final Map<UUID, List<String>> nodes = new HashMap<>();
+  final Map<UUID, User> online = new HashMap<>();
+  int loads;
+  int saves;
+
+  final LuckPerms api = proxy(LuckPerms.class, (p, m, a) -> switch (m.getName()) {
+    case "getUserManager" -> userManager();
+    default -> fallback(p, m.getName(), a);
+  });
+
+  private UserManager userManager;
+
+  void online(UUID uuid) {
+    online.put(uuid, user(uuid));
+  }
+
+  /**
+   * Node factory that avoids the static {@code Node.builder} provider lookup.
+   */
+  static Node node(PermissionGrant grant) {
+    String key = grant.temporary() ? grant.node() + "@" + grant.duration().toSeconds() : grant.node();
+    return proxy(Node.class, (p, m, a) -> switch (m.getName()) {
+      case "getKey" -> key;
+      default -> fallback(p, m.getName(), a);
+    });
+  }
+
+  private UserManager userManager() {
+    if (userManager != null) return userManager;
+    userManager = proxy(UserManager.class, (p, m, a) -> switch (m.getName()) {
+      case "getUser" -> a[0] instanceof UUID uuid ? online.get(uuid) : null;
+      case "loadUser" -> {
+        loads++;
+        yield CompletableFuture.completedFuture(user((UUID) a[0]));
+      }
+      case "saveUser" -> {
+        saves++;
+        yield CompletableFuture.completedFuture(null);
+      }
+      default -> fallback(p, m.getName(), a);
+    });
+    return userManager;
+  }
+
+  private User user(UUID uuid) {
+    NodeMap data = proxy(NodeMap.class, (p, m, a) -> switch (m.getName()) {
+      case "add" -> {
+        nodes.computeIfAbsent(uuid, k -> new ArrayList<>()).add(((Node) a[0]).getKey());
+        yield DataMutateResult.SUCCESS;
+      }
+      default -> fallback(p, m.getName(), a);
+    });
+    return proxy(User.class, (p, m, a) -> switch (m.getName()) {
+      case "getUniqueId" -> uuid;
+      case "data" -> data;
+      default -> fallback(p, m.getName(), a);
+    });
+  }
+
+  private static Object fallback(Object proxy, String method, Object[] args) {
+    return switch (method) {
+      case "equals" -> proxy == args[0];
+      case "hashCode" -> System.identityHashCode(proxy);
+      case "toString" -> "Stub@" + Integer.toHexString(System.identityHashCode(proxy));
+      default -> null;
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+    return (T) Proxy.newProxyInstance(StubLuckPerms.class.getClassLoader(), new Class<?>[]{type}, handler);
+  }
+}
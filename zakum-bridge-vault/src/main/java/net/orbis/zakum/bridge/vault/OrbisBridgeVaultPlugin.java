@@ -1,5 +1,6 @@
 package net.orbis.zakum.bridge.vault;
 
+import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.vault.EconomyService;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.ServicePriority;
@@ -24,7 +25,9 @@ public final class OrbisBridgeVaultPlugin extends JavaPlugin {
       return;
     }
 
-    this.economy = new VaultEconomyService(rsp.getProvider());
+    // Balance changes made through the bridge refresh ActionBus consumers (HUD balance line).
+    ZakumApi zakum = Bukkit.getServicesManager().load(ZakumApi.class);
+    this.economy = new VaultEconomyService(rsp.getProvider(), zakum == null ? null : zakum.actions());
 
     Bukkit.getServicesManager().register(
       EconomyService.class,
@@ -1,6 +1,8 @@
 package net.orbis.zakum.bridge.vault;
 
 import net.milkbowl.vault.economy.Economy;
+import net.orbis.zakum.api.actions.ActionBus;
+import net.orbis.zakum.api.actions.ActionEvent;
 import net.orbis.zakum.api.vault.EconomyResult;
 import net.orbis.zakum.api.vault.EconomyService;
 import org.bukkit.Bukkit;
@@ -11,9 +13,14 @@ import java.util.UUID;
 final class VaultEconomyService implements EconomyService {
 
   private final Economy economy;
+  private final ActionBus actions;
 
-  VaultEconomyService(Economy economy) {
+  /**
+   * @param actions optional; receives {@link #CHANGE_ACTION} after each successful deposit/withdraw
+   */
+  VaultEconomyService(Economy economy, ActionBus actions) {
     this.economy = Objects.requireNonNull(economy, "economy");
+    this.actions = actions;
   }
 
   @Override
@@ -30,6 +37,7 @@ final class VaultEconomyService implements EconomyService {
     var r = economy.depositPlayer(off, amount);
     if (!r.transactionSuccess()) return EconomyResult.fail(r.errorMessage);
 
+    publishChange(playerId);
     return EconomyResult.ok(economy.getBalance(off));
   }
 
@@ -42,6 +50,7 @@ final class VaultEconomyService implements EconomyService {
     var r = economy.withdrawPlayer(off, amount);
     if (!r.transactionSuccess()) return EconomyResult.fail(r.errorMessage);
 
+    publishChange(playerId);
     return EconomyResult.ok(economy.getBalance(off));
   }
 
@@ -51,4 +60,9 @@ final class VaultEconomyService implements EconomyService {
     var off = Bukkit.getOfflinePlayer(playerId);
     return economy.getBalance(off);
   }
+
+  private void publishChange(UUID playerId) {
+    if (actions == null) return;
+    actions.publish(new ActionEvent(CHANGE_ACTION, playerId, 1, "", ""));
+  }
 }
@@ -37,13 +37,17 @@ final class ServicesManagerCapabilityRegistry implements CapabilityRegistry {
       ZakumCapabilities.STORAGE,
       ZakumCapabilities.BURST_CACHE,
       ZakumCapabilities.ANIMATIONS,
+      ZakumCapabilities.TEXT_DISPLAYS,
+      ZakumCapabilities.VIRTUAL_ENTITIES,
       ZakumCapabilities.CONTROL_PLANE,
       ZakumCapabilities.DATA_STORE,
       ZakumCapabilities.SOCIAL,
+      ZakumCapabilities.NAMES,
       ZakumCapabilities.CHAT_BUFFER,
       ZakumCapabilities.BRIDGE_MANAGER,
       ZakumCapabilities.GUI,
       ZakumCapabilities.PACKETS,
+      ZakumCapabilities.SIDEBAR_PACKETS,
       ZakumCapabilities.PLACEHOLDERS,
       ZakumCapabilities.ECONOMY,
       ZakumCapabilities.LUCKPERMS
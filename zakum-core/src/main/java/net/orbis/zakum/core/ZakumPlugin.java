@@ -14,7 +14,10 @@ import net.orbis.zakum.api.actions.DeferredActionService;
 import net.orbis.zakum.api.capability.CapabilityRegistry;
 import net.orbis.zakum.api.concurrent.ZakumScheduler;
 import net.orbis.zakum.api.packet.AnimationService;
+import net.orbis.zakum.api.packet.TextDisplayService;
+import net.orbis.zakum.api.packet.VirtualEntityService;
 import net.orbis.zakum.api.progression.ProgressionService;
+import net.orbis.zakum.api.names.NameResolver;
 import net.orbis.zakum.api.social.SocialService;
 import net.orbis.zakum.api.storage.DataStore;
 import net.orbis.zakum.api.storage.StorageService;
@@ -56,6 +59,8 @@ import net.orbis.zakum.core.perf.VisualCircuitBreaker;
 import net.orbis.zakum.core.profile.PlayerJoinListener;
 import net.orbis.zakum.core.profile.ProfileProvider;
 import net.orbis.zakum.core.progression.ProgressionServiceImpl;
+import net.orbis.zakum.core.names.NameLifecycleListener;
+import net.orbis.zakum.core.names.SqlNameResolver;
 import net.orbis.zakum.core.social.CaffeineSocialService;
 import net.orbis.zakum.core.social.BedrockClientDetector;
 import net.orbis.zakum.core.social.BedrockGlyphRemapper;
@@ -83,7 +88,9 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -106,6 +113,11 @@ public final class ZakumPlugin extends JavaPlugin {
   private StorageService storageService;
   private ZakumSchedulerImpl scheduler;
   private AnimationService animationService;
+  private TextDisplayService textDisplayService;
+  private VirtualEntityService virtualEntityService;
+  private net.orbis.zakum.core.packet.VirtualEntityIds virtualEntityIds;
+  private net.orbis.zakum.core.packet.DestroyBatcher destroyBatcher;
+  private net.orbis.zakum.core.packet.ViewerPacketBatcher viewerPacketBatcher;
   private BridgeManager bridgeManager;
   private ProgressionService progressionService;
   private GuiBridge guiBridge;
@@ -125,6 +137,9 @@ public final class ZakumPlugin extends JavaPlugin {
   private ChatPacketBuffer chatPacketBuffer;
   private SocialService socialService;
   private int socialRefreshTaskId = -1;
+  private SqlNameResolver nameResolver;
+  // One pool per Redis URI, shared by the datastore and the name cache; closed on disable.
+  private final Map<String, JedisPool> redisPools = new HashMap<>();
   private EconomyService economyService;
   private GrimFlagBridge grimFlagBridge;
   private ToxicityModerationService toxicityModerationService;
@@ -174,7 +189,7 @@ public final class ZakumPlugin extends JavaPlugin {
 
     long entCacheMax = settings.entitlements().cache().maximumSize();
     long entTtlSeconds = settings.entitlements().cache().ttlSeconds();
-    this.entitlements = new SqlEntitlementService(sql, async, (int) entCacheMax, Duration.ofSeconds(entTtlSeconds));
+    this.entitlements = new SqlEntitlementService(sql, async, actionBus, (int) entCacheMax, Duration.ofSeconds(entTtlSeconds));
 
     this.boosters = new SqlBoosterService(this, sql, async, settings.boosters());
     this.boosters.start();
@@ -202,13 +217,24 @@ public final class ZakumPlugin extends JavaPlugin {
     this.aceDiagnostics = new AceDiagnosticsTracker(settings.operations().aceDiagnostics());
     this.aceEngine = new ZakumAceEngine(metricsMonitor, aceDiagnostics);
     this.storageService = new StorageServiceImpl(sql);
+    if (!net.orbis.zakum.core.packet.DisplayPacketWriter.bind()) {
+      getLogger().info("PacketEvents not available; packet displays disabled.");
+    }
+    this.viewerPacketBatcher = new net.orbis.zakum.core.packet.ViewerPacketBatcher(this, scheduler, metricsMonitor);
+    this.viewerPacketBatcher.start();
+    net.orbis.zakum.core.packet.DisplayPacketWriter.install(viewerPacketBatcher);
+    this.virtualEntityIds = new net.orbis.zakum.core.packet.VirtualEntityIds();
+    this.destroyBatcher = new net.orbis.zakum.core.packet.DestroyBatcher(this, scheduler, virtualEntityIds, getLogger());
+    this.destroyBatcher.start();
     this.animationService = new net.orbis.zakum.core.packet.AnimationService(
-      this,
-      scheduler,
+      virtualEntityIds,
+      destroyBatcher,
       settings.visuals(),
       metricsMonitor,
       visualModeService
     );
+    this.textDisplayService = new net.orbis.zakum.core.packet.PacketTextDisplayService(virtualEntityIds);
+    this.virtualEntityService = new net.orbis.zakum.core.packet.PacketVirtualEntityService(virtualEntityIds);
     this.bridgeManager = new SimpleBridgeManager();
     this.progressionService = new ProgressionServiceImpl();
     var assets = new InMemoryAssetManager();
@@ -273,6 +299,8 @@ public final class ZakumPlugin extends JavaPlugin {
     sm.register(ZakumScheduler.class, scheduler, this, ServicePriority.Highest);
     sm.register(StorageService.class, storageService, this, ServicePriority.Highest);
     sm.register(AnimationService.class, animationService, this, ServicePriority.Highest);
+    sm.register(TextDisplayService.class, textDisplayService, this, ServicePriority.Highest);
+    sm.register(VirtualEntityService.class, virtualEntityService, this, ServicePriority.Highest);
     sm.register(BridgeManager.class, bridgeManager, this, ServicePriority.Highest);
     sm.register(ProgressionService.class, progressionService, this, ServicePriority.Highest);
     sm.register(GuiBridge.class, guiBridge, this, ServicePriority.Highest);
@@ -313,6 +341,11 @@ public final class ZakumPlugin extends JavaPlugin {
     getServer().getPluginManager().registerEvents(new SocialSnapshotLifecycleListener(socialService), this);
     startSocialRefresh();
 
+    this.nameResolver = createNameResolver();
+    sm.register(NameResolver.class, nameResolver, this, ServicePriority.Highest);
+    getServer().getPluginManager().registerEvents(new NameLifecycleListener(nameResolver), this);
+    for (Player online : Bukkit.getOnlinePlayers()) nameResolver.remember(online.getUniqueId(), online.getName());
+
     ZakumApiProvider.set(api);
     this.stressHarness = new StressHarnessV2(this, api, settings.operations().stress(), metricsMonitor, getLogger(), threadGuard);
     this.soakProfile = new SoakAutomationProfile(
@@ -361,6 +394,8 @@ public final class ZakumPlugin extends JavaPlugin {
     if (scheduler != null) sm.unregister(ZakumScheduler.class, scheduler);
     if (storageService != null) sm.unregister(StorageService.class, storageService);
     if (animationService != null) sm.unregister(AnimationService.class, animationService);
+    if (textDisplayService != null) sm.unregister(TextDisplayService.class, textDisplayService);
+    if (virtualEntityService != null) sm.unregister(VirtualEntityService.class, virtualEntityService);
     if (bridgeManager != null) sm.unregister(BridgeManager.class, bridgeManager);
     if (progressionService != null) sm.unregister(ProgressionService.class, progressionService);
     if (guiBridge != null) sm.unregister(GuiBridge.class, guiBridge);
@@ -368,6 +403,7 @@ public final class ZakumPlugin extends JavaPlugin {
     if (dataStore != null) sm.unregister(DataStore.class, dataStore);
     if (burstCache != null) sm.unregister(BurstCacheService.class, burstCache);
     if (socialService != null) sm.unregister(SocialService.class, socialService);
+    if (nameResolver != null) sm.unregister(NameResolver.class, nameResolver);
     if (chatPacketBuffer != null) sm.unregister(ChatPacketBuffer.class, chatPacketBuffer);
     if (visualModeService != null) sm.unregister(PlayerVisualModeService.class, visualModeService);
     if (economyService != null) sm.unregister(EconomyService.class, economyService);
@@ -443,16 +479,32 @@ public final class ZakumPlugin extends JavaPlugin {
     if (metrics != null) metrics.stop();
 
     if (boosters != null) boosters.shutdown();
+    if (nameResolver != null) {
+      nameResolver.stop(scheduler);
+      nameResolver = null;
+    }
     if (dataStore != null) {
       dataStore.close();
       dataStore = null;
     }
+    redisPools.values().forEach(JedisPool::close);
+    redisPools.clear();
     if (burstCache instanceof AutoCloseable closeable) {
       try {
         closeable.close();
       } catch (Exception ignored) {}
       burstCache = null;
     }
+    if (destroyBatcher != null) {
+      destroyBatcher.stop();
+      destroyBatcher = null;
+    }
+    if (viewerPacketBatcher != null) {
+      viewerPacketBatcher.stop();
+      net.orbis.zakum.core.packet.DisplayPacketWriter.install(null);
+      viewerPacketBatcher = null;
+    }
+    virtualEntityIds = null;
     if (scheduler != null) scheduler.shutdown();
 
     if (sql != null) sql.shutdown();
@@ -471,6 +523,8 @@ public final class ZakumPlugin extends JavaPlugin {
     aceEngine = null;
     storageService = null;
     animationService = null;
+    textDisplayService = null;
+    virtualEntityService = null;
     bridgeManager = null;
     progressionService = null;
     guiBridge = null;
@@ -562,7 +616,8 @@ public final class ZakumPlugin extends JavaPlugin {
         global.updatesChannel(),
         metricsMonitor,
         getLogger(),
-        threadGuard
+        threadGuard,
+        actionBus
       );
     } catch (Throwable ex) {
       getLogger().warning("Failed to initialize global economy: " + ex.getMessage());
@@ -584,10 +639,9 @@ public final class ZakumPlugin extends JavaPlugin {
 
     try {
       MongoClient mongoClient = MongoClients.create(mongoUri);
-      JedisPool jedisPool = new JedisPool(URI.create(redisUri));
       return new MongoDataStore(
         mongoClient,
-        jedisPool,
+        redisPool(redisUri),
         mongoDatabase,
         scheduler,
         threadGuard,
@@ -632,6 +686,41 @@ public final class ZakumPlugin extends JavaPlugin {
     return "";
   }
 
+  private JedisPool redisPool(String redisUri) {
+    return redisPools.computeIfAbsent(redisUri.trim(), uri -> new JedisPool(URI.create(uri)));
+  }
+
+  private SqlNameResolver createNameResolver() {
+    var cfg = settings.cache().names();
+    JedisPool redisPool = null;
+    if (cfg.redisEnabled()) {
+      String redisUri = firstNonBlank(
+        cfg.redisUri(),
+        settings.dataStore() == null ? "" : settings.dataStore().redisUri()
+      );
+      if (redisUri == null || redisUri.isBlank()) {
+        getLogger().warning("Name cache Redis is enabled but cache.names.redis.redisUri (or datastore.redisUri fallback) is blank.");
+      } else {
+        try {
+          redisPool = redisPool(redisUri);
+        } catch (Throwable ex) {
+          getLogger().warning("Name cache Redis tier disabled: " + ex.getMessage());
+        }
+      }
+    }
+    var resolver = SqlNameResolver.create(
+      sql,
+      asyncPool,
+      getLogger(),
+      cfg.maximumSize(),
+      Duration.ofSeconds(cfg.expireAfterAccessSeconds()),
+      redisPool,
+      cfg.redisKey()
+    );
+    resolver.start(scheduler, this, cfg.flushIntervalSeconds());
+    return resolver;
+  }
+
   private long resolveProfilePrefetchMaxEntries() {
     long configured = settings == null || settings.cache() == null
       ? 10_000L
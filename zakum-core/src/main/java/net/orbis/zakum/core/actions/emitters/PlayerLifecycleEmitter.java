@@ -4,6 +4,7 @@ import net.orbis.zakum.api.actions.ActionBus;
 import net.orbis.zakum.api.actions.ActionEvent;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
@@ -36,4 +37,15 @@ public final class PlayerLifecycleEmitter implements Listener {
       ""
     ));
   }
+
+  @EventHandler
+  public void onWorldChange(PlayerChangedWorldEvent e) {
+    bus.publish(new ActionEvent(
+      "world_change",
+      e.getPlayer().getUniqueId(),
+      1,
+      "world",
+      e.getPlayer().getWorld().getName()
+    ));
+  }
 }
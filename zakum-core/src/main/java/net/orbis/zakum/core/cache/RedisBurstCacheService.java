@@ -10,12 +10,15 @@ import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
@@ -145,6 +148,46 @@ public final class RedisBurstCacheService implements BurstCacheService, AutoClos
     });
   }
 
+  @Override
+  public CompletableFuture<Void> scoreSet(String namespace, String key, String member, double score) {
+    return scheduler.supplyAsync(() -> {
+      sortedOp("zadd", jedis -> jedis.zadd(redisKey(namespace, key), score, member));
+      return null;
+    });
+  }
+
+  @Override
+  public CompletableFuture<Long> reverseRank(String namespace, String key, String member) {
+    return scheduler.supplyAsync(() -> sortedOp("zrevrank", jedis -> jedis.zrevrank(redisKey(namespace, key), member)));
+  }
+
+  @Override
+  public CompletableFuture<List<ScoredMember>> reverseRange(String namespace, String key, long start, long stop) {
+    return scheduler.supplyAsync(() -> sortedOp("zrevrange", jedis -> {
+      var tuples = jedis.zrevrangeWithScores(redisKey(namespace, key), start, stop);
+      List<ScoredMember> out = new ArrayList<>(tuples.size());
+      for (var t : tuples) out.add(new ScoredMember(t.getElement(), t.getScore()));
+      return out;
+    }));
+  }
+
+  /**
+   * Sorted-set ops have no local fallback: they throw when Redis is unavailable.
+   */
+  private <T> T sortedOp(String operation, Function<Jedis, T> op) {
+    if (!canUseRedis()) throw new IllegalStateException("redis unavailable");
+    try (Jedis jedis = jedisPool.getResource()) {
+      threadGuard.checkAsync("redisBurst." + operation);
+      T value = op.apply(jedis);
+      markRedisSuccess();
+      recordMetric("burst_cache_" + operation + "_redis");
+      return value;
+    } catch (Throwable ex) {
+      onRedisError(operation, ex);
+      throw new IllegalStateException("redis " + operation + " failed", ex);
+    }
+  }
+
   private String doGet(String namespace, String key) {
     gets.incrementAndGet();
     String redisKey = redisKey(namespace, key);
@@ -80,6 +80,25 @@ public final class ZakumSchedulerImpl implements ZakumScheduler {
     entity.getScheduler().execute(plugin, task, null, 1L);
   }
 
+  @Override
+  public int runAtEntityTimer(Plugin owner, Entity entity, Runnable task, long delayTicks, long periodTicks) {
+    if (task == null || entity == null) return -1;
+    Plugin effectiveOwner = owner != null ? owner : plugin;
+    long delay = Math.max(1L, delayTicks);
+    long period = Math.max(1L, periodTicks);
+    int id = taskIds.getAndIncrement();
+    ScheduledTask scheduled = entity.getScheduler().runAtFixedRate(
+      effectiveOwner,
+      st -> task.run(),
+      () -> scheduledTasks.remove(id),
+      delay,
+      period
+    );
+    if (scheduled == null) return -1;
+    scheduledTasks.put(id, scheduled);
+    return id;
+  }
+
   @Override
   public Executor asyncExecutor() {
     return virtualExecutor;
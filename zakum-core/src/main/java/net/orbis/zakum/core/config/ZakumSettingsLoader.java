@@ -238,6 +238,13 @@ public final class ZakumSettingsLoader {
     if (burstKeyPrefix.isBlank()) burstKeyPrefix = "zakum:burst";
     long burstDefaultTtl = clampL(cfg.getLong("cache.burst.defaultTtlSeconds", 60), 1, 86_400);
     long burstMaxLocal = clampL(cfg.getLong("cache.burst.maximumLocalEntries", 50_000), 100, 5_000_000);
+    long namesMax = clampL(cfg.getLong("cache.names.maximumSize", 20_000), 1_000, 1_000_000);
+    long namesEaa = clampL(cfg.getLong("cache.names.expireAfterAccessSeconds", 1_800), 60, 86_400);
+    int namesFlush = clampI(cfg.getInt("cache.names.flushIntervalSeconds", 5), 1, 300);
+    boolean namesRedis = bool(cfg, "cache.names.redis.enabled", false);
+    String namesRedisUri = str(cfg, "cache.names.redis.redisUri", "").trim();
+    String namesRedisKey = str(cfg, "cache.names.redis.key", "zakum:names").trim();
+    if (namesRedisKey.isBlank()) namesRedisKey = "zakum:names";
 
     return new ZakumSettings.Cache(
       new ZakumSettings.Cache.Defaults(max, eaw, eaa),
@@ -247,6 +254,14 @@ public final class ZakumSettingsLoader {
         burstKeyPrefix,
         burstDefaultTtl,
         burstMaxLocal
+      ),
+      new ZakumSettings.Cache.Names(
+        namesMax,
+        namesEaa,
+        namesFlush,
+        namesRedis,
+        namesRedisUri,
+        namesRedisKey
       )
     );
   }
@@ -1,5 +1,7 @@
 package net.orbis.zakum.core.economy;
 
+import net.orbis.zakum.api.actions.ActionBus;
+import net.orbis.zakum.api.actions.ActionEvent;
 import net.orbis.zakum.api.vault.EconomyResult;
 import net.orbis.zakum.api.vault.EconomyService;
 import net.orbis.zakum.core.metrics.MetricsMonitor;
@@ -18,6 +20,7 @@ import java.util.logging.Logger;
  * Redis-backed global economy capability.
  *
  * Balance is stored in fixed-point integer units to avoid floating-point drift.
+ * Successful balance changes are published on the ActionBus as {@link #CHANGE_ACTION}.
  */
 public final class RedisGlobalEconomyService implements EconomyService, AutoCloseable {
 
@@ -41,6 +44,7 @@ public final class RedisGlobalEconomyService implements EconomyService, AutoClos
   private final MetricsMonitor metrics;
   private final Logger logger;
   private final ThreadGuard threadGuard;
+  private final ActionBus actions;
   private final AtomicInteger redisFailureStreak;
   private final AtomicLong redisBackoffUntilMs;
   private final AtomicLong nextRedisErrorLogAtMs;
@@ -52,7 +56,8 @@ public final class RedisGlobalEconomyService implements EconomyService, AutoClos
     String updatesChannel,
     MetricsMonitor metrics,
     Logger logger,
-    ThreadGuard threadGuard
+    ThreadGuard threadGuard,
+    ActionBus actions
   ) {
     this.jedisPool = Objects.requireNonNull(jedisPool, "jedisPool");
     String prefix = Objects.requireNonNullElse(keyPrefix, "zakum:economy").trim();
@@ -63,6 +68,7 @@ public final class RedisGlobalEconomyService implements EconomyService, AutoClos
     this.metrics = metrics;
     this.logger = logger;
     this.threadGuard = Objects.requireNonNull(threadGuard, "threadGuard");
+    this.actions = actions;
     this.redisFailureStreak = new AtomicInteger();
     this.redisBackoffUntilMs = new AtomicLong(0L);
     this.nextRedisErrorLogAtMs = new AtomicLong(0L);
@@ -99,6 +105,7 @@ public final class RedisGlobalEconomyService implements EconomyService, AutoClos
       double balance = fromUnits(next);
       publishBalance(jedis, playerId, balance);
       markRedisSuccess();
+      publishChange(playerId);
       if (metrics != null) metrics.recordAction("economy_deposit");
       return EconomyResult.ok(balance);
     } catch (Throwable ex) {
@@ -128,6 +135,7 @@ public final class RedisGlobalEconomyService implements EconomyService, AutoClos
       double balance = fromUnits(nextUnits);
       publishBalance(jedis, playerId, balance);
       markRedisSuccess();
+      publishChange(playerId);
       if (metrics != null) metrics.recordAction("economy_withdraw");
       return EconomyResult.ok(balance);
     } catch (Throwable ex) {
@@ -175,6 +183,11 @@ public final class RedisGlobalEconomyService implements EconomyService, AutoClos
     jedis.publish(updatesChannel, playerId + ":" + balance);
   }
 
+  private void publishChange(UUID playerId) {
+    if (actions == null) return;
+    actions.publish(new ActionEvent(CHANGE_ACTION, playerId, 1, "", ""));
+  }
+
   private long toLong(Object value) {
     if (value instanceof Number number) return number.longValue();
     if (value instanceof byte[] bytes) return Long.parseLong(new String(bytes));
@@ -2,6 +2,8 @@ package net.orbis.zakum.core.entitlements;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import net.orbis.zakum.api.actions.ActionBus;
+import net.orbis.zakum.api.actions.ActionEvent;
 import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.api.db.ZakumDatabase;
 import net.orbis.zakum.api.entitlements.EntitlementScope;
@@ -10,23 +12,45 @@ import net.orbis.zakum.core.util.UuidBytes;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 /**
  * Cached entitlement checks with async DB access.
+ *
+ * Bulk checks ({@link #hasMany}) answer a whole player set with one
+ * {@code uuid IN (...)} query per chunk and warm the per-player cache for
+ * every uuid checked, holders and non-holders alike.
  */
 public final class SqlEntitlementService implements EntitlementService {
 
+  /** Keeps IN lists well below driver placeholder limits and packet sizes. */
+  static final int IN_CHUNK = 500;
+
   private final ZakumDatabase db;
   private final Executor async;
+  private final ActionBus actions;
   private final Cache<String, Boolean> cache;
 
   public SqlEntitlementService(ZakumDatabase db, Executor async, int maxSize, Duration ttl) {
+    this(db, async, null, maxSize, ttl);
+  }
+
+  /**
+   * @param actions optional; when set, grants and revokes publish {@link EntitlementService#CHANGED_ACTION}
+   */
+  public SqlEntitlementService(ZakumDatabase db, Executor async, ActionBus actions, int maxSize, Duration ttl) {
     this.db = Objects.requireNonNull(db, "db");
     this.async = Objects.requireNonNull(async, "async");
+    this.actions = actions;
 
     this.cache = Caffeine.newBuilder()
       .maximumSize(maxSize)
@@ -66,6 +90,57 @@ public final class SqlEntitlementService implements EntitlementService {
     }, async);
   }
 
+  @Override
+  public CompletableFuture<Set<UUID>> hasMany(Collection<UUID> playerIds, EntitlementScope scope, String serverId, String entitlementKey) {
+    Objects.requireNonNull(scope, "scope");
+    Objects.requireNonNull(entitlementKey, "entitlementKey");
+    if (playerIds == null || playerIds.isEmpty()) return CompletableFuture.completedFuture(Set.of());
+
+    String sId = (scope == EntitlementScope.NETWORK) ? null : Objects.requireNonNull(serverId, "serverId");
+
+    Set<UUID> held = new HashSet<>();
+    List<UUID> misses = new ArrayList<>();
+    for (UUID id : new LinkedHashSet<>(playerIds)) {
+      if (id == null) continue;
+      Boolean hit = cache.getIfPresent(cacheKey(id, scope, sId, entitlementKey));
+      if (hit == null) misses.add(id);
+      else if (hit) held.add(id);
+    }
+    if (misses.isEmpty()) return CompletableFuture.completedFuture(held);
+
+    return CompletableFuture.supplyAsync(() -> {
+      if (db.state() != DatabaseState.ONLINE) return held;
+
+      long now = Instant.now().getEpochSecond();
+
+      for (int from = 0; from < misses.size(); from += IN_CHUNK) {
+        List<UUID> chunk = misses.subList(from, Math.min(misses.size(), from + IN_CHUNK));
+
+        Object[] params = new Object[chunk.size() + 4];
+        params[0] = scope.name();
+        params[1] = sId;
+        params[2] = entitlementKey;
+        params[3] = now;
+        for (int i = 0; i < chunk.size(); i++) params[4 + i] = UuidBytes.toBytes(chunk.get(i));
+
+        List<UUID> rows = db.jdbc().query(
+          "SELECT DISTINCT uuid FROM zakum_entitlements WHERE scope=? AND (server_id <=> ?) AND entitlement_key=? " +
+            "AND (expires_at IS NULL OR expires_at > ?) AND uuid IN (" + placeholders(chunk.size()) + ")",
+          rs -> UuidBytes.fromBytes(rs.getBytes(1)),
+          params
+        );
+
+        Set<UUID> found = new HashSet<>(rows);
+        for (UUID id : chunk) {
+          boolean ok = found.contains(id);
+          cache.put(cacheKey(id, scope, sId, entitlementKey), ok);
+          if (ok) held.add(id);
+        }
+      }
+      return held;
+    }, async);
+  }
+
   @Override
   public CompletableFuture<Void> grant(UUID playerId, EntitlementScope scope, String serverId, String entitlementKey, Long expiresAtEpochSeconds) {
     Objects.requireNonNull(playerId, "playerId");
@@ -88,6 +163,7 @@ public final class SqlEntitlementService implements EntitlementService {
       );
 
       invalidate(playerId);
+      publishChange(playerId, scope, entitlementKey);
     }, async);
   }
 
@@ -111,6 +187,7 @@ public final class SqlEntitlementService implements EntitlementService {
       );
 
       invalidate(playerId);
+      publishChange(playerId, scope, entitlementKey);
     }, async);
   }
 
@@ -120,6 +197,20 @@ public final class SqlEntitlementService implements EntitlementService {
     cache.asMap().keySet().removeIf(k -> k.startsWith(prefix));
   }
 
+  private void publishChange(UUID playerId, EntitlementScope scope, String entitlementKey) {
+    if (actions == null) return;
+    actions.publish(new ActionEvent(CHANGED_ACTION, playerId, 1, entitlementKey, scope.name()));
+  }
+
+  private static String placeholders(int n) {
+    StringBuilder sb = new StringBuilder(n * 2);
+    for (int i = 0; i < n; i++) {
+      if (i > 0) sb.append(',');
+      sb.append('?');
+    }
+    return sb.toString();
+  }
+
   private static String cacheKey(UUID playerId, EntitlementScope scope, String serverId, String entitlementKey) {
     return playerId + "|" + scope + "|" + (serverId == null ? "" : serverId) + "|" + entitlementKey;
   }
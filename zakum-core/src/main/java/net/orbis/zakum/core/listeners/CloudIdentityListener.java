@@ -2,6 +2,7 @@ package net.orbis.zakum.core.listeners;
 
 import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.action.AceEngine;
+import net.orbis.zakum.api.actions.ActionEvent;
 import net.orbis.zakum.api.capability.ZakumCapabilities;
 import net.orbis.zakum.api.social.SocialService;
 import net.orbis.zakum.core.cloud.SecureCloudClient;
@@ -40,6 +41,8 @@ public final class CloudIdentityListener implements Listener {
       .thenAccept(identity -> api.getScheduler().runAtEntity(player, () -> {
         if (!player.isOnline()) return;
         player.getPersistentDataContainer().set(PdcKeys.CLOUD_RANK, PersistentDataType.STRING, identity.rank());
+        // The join event fired before the rank arrived; rank-dependent views re-read it now.
+        api.actions().publish(new ActionEvent("rank_change", player.getUniqueId(), 1, "rank", identity.rank()));
         byte linked = identity.discordLinked() ? (byte) 1 : (byte) 0;
         player.getPersistentDataContainer().set(PdcKeys.CLOUD_DISCORD_LINKED, PersistentDataType.BYTE, linked);
         if (identity.discordId() != null && !identity.discordId().isBlank()) {
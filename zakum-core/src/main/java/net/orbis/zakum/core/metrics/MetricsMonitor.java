@@ -1,5 +1,7 @@
 package net.orbis.zakum.core.metrics;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 
@@ -8,9 +10,16 @@ import java.util.concurrent.TimeUnit;
 public final class MetricsMonitor {
 
   private final MeterRegistry registry;
+  private final DistributionSummary viewerPacketsPerTick;
+  private final Counter viewerPacketsMerged;
 
   public MetricsMonitor(MeterRegistry registry) {
     this.registry = registry;
+    this.viewerPacketsPerTick = DistributionSummary.builder("zakum_viewer_packets_per_tick")
+      .description("Virtual-entity packets flushed to one viewer in one tick")
+      .serviceLevelObjectives(1, 2, 4, 8, 16, 32, 64, 128, 256, 512)
+      .register(registry);
+    this.viewerPacketsMerged = registry.counter("zakum_viewer_metadata_merged_total");
   }
 
   public void recordAction(String actionType) {
@@ -18,6 +27,11 @@ public final class MetricsMonitor {
     registry.counter("zakum_actions_total", "type", actionType).increment();
   }
 
+  public void recordViewerPacketFlush(int packets, int mergedMetadata) {
+    if (packets > 0) viewerPacketsPerTick.record(packets);
+    if (mergedMetadata > 0) viewerPacketsMerged.increment(mergedMetadata);
+  }
+
   public void recordAceExecution(long durationNanos, int resolvedEffects) {
     if (durationNanos < 0L) return;
     Timer timer = registry.timer("zakum_ace_execution_seconds");
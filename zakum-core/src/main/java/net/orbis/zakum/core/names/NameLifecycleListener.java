@@ -0,0 +1,21 @@
+package net.orbis.zakum.core.names;
+
+import net.orbis.zakum.api.names.NameResolver;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+public final class NameLifecycleListener implements Listener {
+
+  private final NameResolver names;
+
+  public NameLifecycleListener(NameResolver names) {
+    this.names = names;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onJoin(PlayerJoinEvent event) {
+    names.remember(event.getPlayer().getUniqueId(), event.getPlayer().getName());
+  }
+}
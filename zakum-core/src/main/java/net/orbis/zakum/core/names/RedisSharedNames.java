@@ -0,0 +1,57 @@
+package net.orbis.zakum.core.names;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisPool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Names in one Redis hash (uuid -> name) shared by every server on the network.
+ *
+ * The pool is borrowed from the plugin, which closes it on disable.
+ */
+final class RedisSharedNames implements SharedNames {
+
+  private final JedisPool pool;
+  private final String key;
+
+  RedisSharedNames(JedisPool pool, String key) {
+    this.pool = pool;
+    this.key = key;
+  }
+
+  @Override
+  public Map<UUID, String> getAll(Collection<UUID> playerIds) {
+    if (playerIds.isEmpty()) return Map.of();
+    List<UUID> ids = new ArrayList<>(playerIds);
+    String[] fields = new String[ids.size()];
+    for (int i = 0; i < fields.length; i++) fields[i] = ids.get(i).toString();
+
+    List<String> values;
+    try (Jedis jedis = pool.getResource()) {
+      values = jedis.hmget(key, fields);
+    }
+
+    Map<UUID, String> out = new HashMap<>();
+    for (int i = 0; i < ids.size() && i < values.size(); i++) {
+      String name = values.get(i);
+      if (name != null && !name.isBlank()) out.put(ids.get(i), name);
+    }
+    return out;
+  }
+
+  @Override
+  public void putAll(Map<UUID, String> names) {
+    if (names.isEmpty()) return;
+    Map<String, String> fields = new HashMap<>(names.size() * 2);
+    names.forEach((id, name) -> fields.put(id.toString(), name));
+    try (Jedis jedis = pool.getResource()) {
+      jedis.hset(key, fields);
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package net.orbis.zakum.core.names;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Optional cross-server name tier consulted before SQL.
+ *
+ * Implementations are called off-thread and may throw; the resolver falls
+ * back to SQL on any failure.
+ */
+interface SharedNames {
+
+  Map<UUID, String> getAll(Collection<UUID> playerIds);
+
+  void putAll(Map<UUID, String> names);
+}
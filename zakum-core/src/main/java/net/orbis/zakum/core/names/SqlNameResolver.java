@@ -0,0 +1,236 @@
+package net.orbis.zakum.core.names;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.orbis.zakum.api.concurrent.ZakumScheduler;
+import net.orbis.zakum.api.db.DatabaseState;
+import net.orbis.zakum.api.db.ZakumDatabase;
+import net.orbis.zakum.api.names.NameResolver;
+import net.orbis.zakum.core.util.UuidBytes;
+import org.bukkit.plugin.Plugin;
+import redis.clients.jedis.JedisPool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ * Bounded UUID to name cache backed by {@code orbis_player_names}.
+ *
+ * {@link #remember} only updates memory and a pending map; an async timer
+ * writes pending names as one multi-row upsert (and one Redis HSET when the
+ * shared tier is on). Bulk lookups check memory, then the shared hash, then
+ * one {@code uuid IN (...)} query per chunk.
+ */
+public final class SqlNameResolver implements NameResolver {
+
+  /** Keeps IN lists well below driver placeholder limits and packet sizes. */
+  static final int IN_CHUNK = 500;
+  static final int UPSERT_ROWS = 500;
+  /** Names past this many unwritten are kept in memory only; they are re-sent on the next login. */
+  static final int MAX_PENDING = 50_000;
+  static final int MAX_NAME_LENGTH = 32;
+
+  private final ZakumDatabase db;
+  private final Executor async;
+  private final SharedNames shared;
+  private final Logger logger;
+  private final Cache<UUID, String> cache;
+  private final ConcurrentHashMap<UUID, String> pending = new ConcurrentHashMap<>();
+  private final Object flushLock = new Object();
+
+  private int flushTaskId = -1;
+
+  public SqlNameResolver(ZakumDatabase db, Executor async, Logger logger, long maximumSize, Duration expireAfterAccess) {
+    this(db, async, null, logger, maximumSize, expireAfterAccess);
+  }
+
+  SqlNameResolver(ZakumDatabase db, Executor async, SharedNames shared, Logger logger, long maximumSize, Duration expireAfterAccess) {
+    this.db = Objects.requireNonNull(db, "db");
+    this.async = Objects.requireNonNull(async, "async");
+    this.shared = shared;
+    this.logger = logger;
+    this.cache = Caffeine.newBuilder()
+      .maximumSize(Math.max(1_000L, maximumSize))
+      .expireAfterAccess(expireAfterAccess == null ? Duration.ofMinutes(30) : expireAfterAccess)
+      .build();
+  }
+
+  /**
+   * @param redisPool pool holding the shared hash, owned by the caller; null disables the shared tier
+   */
+  public static SqlNameResolver create(
+    ZakumDatabase db,
+    Executor async,
+    Logger logger,
+    long maximumSize,
+    Duration expireAfterAccess,
+    JedisPool redisPool,
+    String redisKey
+  ) {
+    SharedNames shared = redisPool == null ? null : new RedisSharedNames(redisPool, redisKey);
+    return new SqlNameResolver(db, async, shared, logger, maximumSize, expireAfterAccess);
+  }
+
+  public void start(ZakumScheduler scheduler, Plugin plugin, int flushIntervalSeconds) {
+    if (flushTaskId != -1) return;
+    long ticks = Math.max(20L, flushIntervalSeconds * 20L);
+    flushTaskId = scheduler.runTaskTimerAsynchronously(plugin, this::flush, ticks, ticks);
+  }
+
+  /**
+   * Cancels the timer and writes what is still pending on the calling thread.
+   */
+  public void stop(ZakumScheduler scheduler) {
+    if (flushTaskId != -1 && scheduler != null) scheduler.cancelTask(flushTaskId);
+    flushTaskId = -1;
+    flush();
+  }
+
+  @Override
+  public String cached(UUID playerId) {
+    if (playerId == null) return null;
+    return cache.getIfPresent(playerId);
+  }
+
+  @Override
+  public void remember(UUID playerId, String name) {
+    if (playerId == null || name == null || name.isBlank() || name.length() > MAX_NAME_LENGTH) return;
+    cache.put(playerId, name);
+    if (pending.size() >= MAX_PENDING && !pending.containsKey(playerId)) return;
+    pending.put(playerId, name);
+  }
+
+  @Override
+  public CompletableFuture<Map<UUID, String>> resolveAll(Collection<UUID> playerIds) {
+    if (playerIds == null || playerIds.isEmpty()) return CompletableFuture.completedFuture(Map.of());
+
+    Map<UUID, String> found = new HashMap<>();
+    List<UUID> misses = new ArrayList<>();
+    for (UUID id : new LinkedHashSet<>(playerIds)) {
+      if (id == null) continue;
+      String hit = cache.getIfPresent(id);
+      if (hit != null) found.put(id, hit);
+      else misses.add(id);
+    }
+    if (misses.isEmpty()) return CompletableFuture.completedFuture(found);
+
+    return CompletableFuture.supplyAsync(() -> {
+      List<UUID> remaining = misses;
+      if (shared != null) {
+        try {
+          Map<UUID, String> fromShared = shared.getAll(misses);
+          if (!fromShared.isEmpty()) {
+            fromShared.forEach(cache::put);
+            found.putAll(fromShared);
+            remaining = new ArrayList<>(misses.size());
+            for (UUID id : misses) if (!fromShared.containsKey(id)) remaining.add(id);
+          }
+        } catch (Throwable ex) {
+          warn("Name cache Redis lookup failed", ex);
+        }
+      }
+      if (remaining.isEmpty() || db.state() != DatabaseState.ONLINE) return found;
+
+      for (int from = 0; from < remaining.size(); from += IN_CHUNK) {
+        List<UUID> chunk = remaining.subList(from, Math.min(remaining.size(), from + IN_CHUNK));
+        Object[] params = new Object[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) params[i] = UuidBytes.toBytes(chunk.get(i));
+
+        List<Map.Entry<UUID, String>> rows = db.jdbc().query(
+          "SELECT uuid, name FROM orbis_player_names WHERE uuid IN (" + placeholders(chunk.size()) + ")",
+          rs -> Map.entry(UuidBytes.fromBytes(rs.getBytes(1)), rs.getString(2)),
+          params
+        );
+        for (var row : rows) {
+          cache.put(row.getKey(), row.getValue());
+          found.put(row.getKey(), row.getValue());
+        }
+      }
+      return found;
+    }, async);
+  }
+
+  /**
+   * Writes pending names: one multi-row upsert per {@link #UPSERT_ROWS} and one shared-hash write.
+   * Rows that fail to write go back to pending unless a newer name arrived meanwhile.
+   */
+  public void flush() {
+    if (pending.isEmpty()) return;
+
+    synchronized (flushLock) {
+      Map<UUID, String> batch = new HashMap<>();
+      for (var e : pending.entrySet()) {
+        // A name that changes mid-drain stays pending for the next flush.
+        if (pending.remove(e.getKey(), e.getValue())) batch.put(e.getKey(), e.getValue());
+      }
+      if (batch.isEmpty()) return;
+
+      if (shared != null) {
+        try {
+          shared.putAll(batch);
+        } catch (Throwable ex) {
+          warn("Name cache Redis write failed", ex);
+        }
+      }
+
+      if (db.state() != DatabaseState.ONLINE) {
+        batch.forEach(pending::putIfAbsent);
+        return;
+      }
+
+      List<Map.Entry<UUID, String>> rows = new ArrayList<>(batch.entrySet());
+      for (int from = 0; from < rows.size(); from += UPSERT_ROWS) {
+        List<Map.Entry<UUID, String>> chunk = rows.subList(from, Math.min(rows.size(), from + UPSERT_ROWS));
+        try {
+          upsert(chunk);
+        } catch (RuntimeException ex) {
+          warn("Name cache write failed for " + chunk.size() + " rows", ex);
+          for (var e : chunk) pending.putIfAbsent(e.getKey(), e.getValue());
+        }
+      }
+    }
+  }
+
+  int pendingCount() {
+    return pending.size();
+  }
+
+  private void upsert(List<Map.Entry<UUID, String>> chunk) {
+    StringBuilder sql = new StringBuilder(64 + chunk.size() * 6)
+      .append("INSERT INTO orbis_player_names (uuid, name) VALUES ");
+    Object[] params = new Object[chunk.size() * 2];
+    for (int i = 0; i < chunk.size(); i++) {
+      if (i > 0) sql.append(',');
+      sql.append("(?,?)");
+      params[i * 2] = UuidBytes.toBytes(chunk.get(i).getKey());
+      params[i * 2 + 1] = chunk.get(i).getValue();
+    }
+    // updated_at is refreshed on every login so stale rows can be pruned later.
+    sql.append(" ON DUPLICATE KEY UPDATE name=VALUES(name), updated_at=CURRENT_TIMESTAMP");
+    db.jdbc().update(sql.toString(), params);
+  }
+
+  private void warn(String message, Throwable ex) {
+    if (logger != null) logger.warning(message + ": " + ex.getMessage());
+  }
+
+  private static String placeholders(int n) {
+    StringBuilder sb = new StringBuilder(n * 2);
+    for (int i = 0; i < n; i++) {
+      if (i > 0) sb.append(',');
+      sb.append('?');
+    }
+    return sb.toString();
+  }
+}
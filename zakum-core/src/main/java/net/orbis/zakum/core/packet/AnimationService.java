@@ -2,7 +2,6 @@ package net.orbis.zakum.core.packet;
 
 import net.kyori.adventure.text.Component;
 import net.orbis.zakum.api.config.ZakumSettings;
-import net.orbis.zakum.api.concurrent.ZakumScheduler;
 import net.orbis.zakum.core.metrics.MetricsMonitor;
 import net.orbis.zakum.core.perf.PlayerVisualModeService;
 import org.bukkit.Bukkit;
@@ -10,17 +9,12 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
-
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 1.21.11 packet-only animation service.
  */
 public class AnimationService extends AnimationService1_21_11 {
 
-  private final Plugin plugin;
-  private final ZakumScheduler scheduler;
   private final boolean adaptiveLodEnabled;
   private final int maxPingMs;
   private final double minTps;
@@ -30,28 +24,18 @@ public class AnimationService extends AnimationService1_21_11 {
   private final MetricsMonitor metrics;
   private final PlayerVisualModeService visualModes;
 
-  public AnimationService(Plugin plugin, ZakumScheduler scheduler) {
-    this(plugin, scheduler, null, null, null);
-  }
-
-  public AnimationService(Plugin plugin, ZakumScheduler scheduler, ZakumSettings.Visuals visuals) {
-    this(plugin, scheduler, visuals, null, null);
-  }
-
-  public AnimationService(Plugin plugin, ZakumScheduler scheduler, ZakumSettings.Visuals visuals, MetricsMonitor metrics) {
-    this(plugin, scheduler, visuals, metrics, null);
+  public AnimationService(VirtualEntityIds entityIds, DestroyBatcher destroys) {
+    this(entityIds, destroys, null, null, null);
   }
 
   public AnimationService(
-    Plugin plugin,
-    ZakumScheduler scheduler,
+    VirtualEntityIds entityIds,
+    DestroyBatcher destroys,
     ZakumSettings.Visuals visuals,
     MetricsMonitor metrics,
     PlayerVisualModeService visualModes
   ) {
-    super(plugin, scheduler);
-    this.plugin = plugin;
-    this.scheduler = scheduler;
+    super(entityIds, destroys);
     this.metrics = metrics;
     this.visualModes = visualModes;
     var lod = visuals == null ? null : visuals.lod();
@@ -76,9 +60,13 @@ public class AnimationService extends AnimationService1_21_11 {
       sendStaticLabel(viewer, loc, item);
       return;
     }
-    int entityId = ThreadLocalRandom.current().nextInt(2_100_000, 2_150_000);
-    spawnGhostItem(viewer, loc, item, entityId);
-    scheduler.runTaskLater(plugin, () -> tryDestroyPacketDisplay(viewer, entityId), 40L);
+    VirtualEntityIds.Lease lease = acquireEntityId("crate_item");
+    if (lease == null) return;
+    if (!DisplayPacketWriter.spawnGhostItem(viewer, loc, item, lease.entityId())) {
+      releaseEntityId(lease);
+      return;
+    }
+    destroyLater(viewer, lease, DISPLAY_LIFETIME_TICKS);
   }
 
   @Override
@@ -140,13 +128,14 @@ public class AnimationService extends AnimationService1_21_11 {
     String label = item.getType().name().toLowerCase().replace('_', ' ');
     Component component = Component.text(label);
     Location labelLoc = loc == null ? null : loc.clone().add(0.0d, 0.25d, 0.0d);
-    int entityId = ThreadLocalRandom.current().nextInt(2_200_000, 2_250_000);
-    boolean spawned = labelLoc != null && DisplayPacketWriter.spawnTextLabel(viewer, labelLoc, label, entityId);
+    VirtualEntityIds.Lease lease = labelLoc == null ? null : acquireEntityId("crate_label");
+    boolean spawned = lease != null && DisplayPacketWriter.spawnTextLabel(viewer, labelLoc, label, lease.entityId());
     if (spawned) {
       if (metrics != null) metrics.recordAction("animation_lod_text_display");
-      scheduler.runTaskLater(plugin, () -> tryDestroyPacketDisplay(viewer, entityId), 40L);
+      destroyLater(viewer, lease, DISPLAY_LIFETIME_TICKS);
       return;
     }
+    if (lease != null) releaseEntityId(lease);
     if (metrics != null) metrics.recordAction("animation_lod_actionbar");
     viewer.sendActionBar(component);
   }
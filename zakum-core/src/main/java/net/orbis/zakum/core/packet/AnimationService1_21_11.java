@@ -1,20 +1,10 @@
 package net.orbis.zakum.core.packet;
 
-import net.orbis.zakum.api.concurrent.ZakumScheduler;
 import net.orbis.zakum.api.packet.AnimationService;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.plugin.Plugin;
-
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 1.21.11 packet animation layer for personal visuals.
@@ -22,16 +12,16 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class AnimationService1_21_11 implements AnimationService {
 
-  private static final int DISPLAY_ITEM_METADATA_INDEX = 23;
-  private static final int DISPLAY_INTERPOLATION_METADATA_INDEX = 12;
-  private static final int DEFAULT_INTERPOLATION_TICKS = 3;
+  protected static final long DISPLAY_LIFETIME_TICKS = 40L;
+  // Leases outliving this are reported as leaks (destroy never flushed).
+  protected static final long DISPLAY_LEASE_MILLIS = 60_000L;
 
-  private final Plugin plugin;
-  private final ZakumScheduler scheduler;
+  private final VirtualEntityIds entityIds;
+  private final DestroyBatcher destroys;
 
-  public AnimationService1_21_11(Plugin plugin, ZakumScheduler scheduler) {
-    this.plugin = plugin;
-    this.scheduler = scheduler;
+  public AnimationService1_21_11(VirtualEntityIds entityIds, DestroyBatcher destroys) {
+    this.entityIds = entityIds;
+    this.destroys = destroys;
   }
 
   @Override
@@ -46,149 +36,27 @@ public class AnimationService1_21_11 implements AnimationService {
   public void spawnCrateItem(Player viewer, Location loc, ItemStack item) {
     if (viewer == null || loc == null || item == null || loc.getWorld() == null) return;
 
-    int entityId = ThreadLocalRandom.current().nextInt(2_000_000, 2_050_000);
-    if (!tryPacketDisplay(viewer, loc, item, entityId)) return;
-    scheduler.runTaskLater(plugin, () -> tryDestroyPacketDisplay(viewer, entityId), 40L);
-  }
-
-  private boolean tryPacketDisplay(Player viewer, Location loc, ItemStack item, int entityId) {
-    try {
-      Class<?> packetEventsClass = Class.forName("com.github.retrooper.packetevents.PacketEvents");
-      Object api = packetEventsClass.getMethod("getAPI").invoke(null);
-      if (api == null) return false;
-
-      Class<?> entityTypesClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.type.EntityTypes");
-      Object itemDisplayType = entityTypesClass.getField("ITEM_DISPLAY").get(null);
-
-      Class<?> vector3dClass = Class.forName("com.github.retrooper.packetevents.util.Vector3d");
-      Object vector3d = vector3dClass
-        .getConstructor(double.class, double.class, double.class)
-        .newInstance(loc.getX(), loc.getY(), loc.getZ());
-
-      Class<?> spawnClass = Class.forName("com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity");
-      Constructor<?> spawnCtor = findSpawnConstructor(spawnClass);
-      if (spawnCtor == null) return false;
-      Object spawnPacket = newSpawnPacket(spawnCtor, entityId, itemDisplayType, vector3d);
-
-      Class<?> conversionClass = loadSpigotConversionUtil();
-      Object peItem = conversionClass.getMethod("fromBukkitItemStack", ItemStack.class).invoke(null, item);
-
-      Class<?> entityDataTypesClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes");
-      Object itemType = resolveEntityDataType(entityDataTypesClass, "ITEMSTACK");
-      if (itemType == null) return false;
-
-      List<Object> entries = new ArrayList<>(2);
-      Object entityData = createEntityData(DISPLAY_ITEM_METADATA_INDEX, itemType, peItem);
-      if (entityData == null) return false;
-      entries.add(entityData);
-
-      Object interpolationType = resolveEntityDataType(entityDataTypesClass, "INT", "VAR_INT");
-      Object interpolationData = createEntityData(
-        DISPLAY_INTERPOLATION_METADATA_INDEX,
-        interpolationType,
-        DEFAULT_INTERPOLATION_TICKS
-      );
-      if (interpolationData != null) {
-        entries.add(interpolationData);
-      }
-
-      Class<?> metadataClass = Class.forName("com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata");
-      Object metadataPacket = metadataClass.getConstructor(int.class, List.class).newInstance(entityId, entries);
-
-      sendPacket(api, viewer, spawnPacket);
-      sendPacket(api, viewer, metadataPacket);
-      return true;
-    } catch (Throwable ignored) {
-      return false;
-    }
-  }
-
-  protected boolean tryDestroyPacketDisplay(Player viewer, int entityId) {
-    try {
-      Class<?> packetEventsClass = Class.forName("com.github.retrooper.packetevents.PacketEvents");
-      Object api = packetEventsClass.getMethod("getAPI").invoke(null);
-      if (api == null) return false;
-
-      Class<?> destroyClass = Class.forName("com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities");
-      Object destroyPacket;
-      try {
-        destroyPacket = destroyClass.getConstructor(int.class).newInstance(entityId);
-      } catch (NoSuchMethodException ignored) {
-        destroyPacket = destroyClass.getConstructor(int[].class).newInstance((Object) new int[]{entityId});
-      }
-      sendPacket(api, viewer, destroyPacket);
-      return true;
-    } catch (Throwable ignored) {
-      return false;
-    }
-  }
-
-  private static Constructor<?> findSpawnConstructor(Class<?> spawnClass) {
-    for (Constructor<?> c : spawnClass.getConstructors()) {
-      Class<?>[] p = c.getParameterTypes();
-      if (p.length == 9 && p[0] == int.class && p[4] == float.class && p[5] == float.class && p[6] == float.class && p[7] == int.class) {
-        return c;
-      }
-    }
-    return null;
-  }
-
-  private static Object resolveEntityDataType(Class<?> typesClass, String... names) {
-    for (String name : names) {
-      if (name == null || name.isBlank()) continue;
-      try {
-        return typesClass.getField(name).get(null);
-      } catch (Throwable ignored) {
-        // Probe known aliases.
-      }
+    VirtualEntityIds.Lease lease = acquireEntityId("animation");
+    if (lease == null) return;
+    if (!DisplayPacketWriter.spawnGhostItem(viewer, loc, item, lease.entityId())) {
+      entityIds.release(lease);
+      return;
     }
-    return null;
+    destroys.destroyLater(viewer, lease, DISPLAY_LIFETIME_TICKS);
   }
 
-  private static Object createEntityData(int index, Object dataType, Object value) throws Exception {
-    if (dataType == null) return null;
-    Class<?> entityDataTypeClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.data.EntityDataType");
-    Class<?> entityDataClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.data.EntityData");
-    return entityDataClass
-      .getConstructor(int.class, entityDataTypeClass, Object.class)
-      .newInstance(index, dataType, value);
+  /**
+   * @return a lease, or null when the virtual id range is exhausted
+   */
+  protected VirtualEntityIds.Lease acquireEntityId(String owner) {
+    return entityIds.acquire(owner, DISPLAY_LEASE_MILLIS);
   }
 
-  private static Object newSpawnPacket(Constructor<?> ctor, int entityId, Object itemDisplayType, Object position) throws Exception {
-    Class<?>[] p = ctor.getParameterTypes();
-    Object[] args = new Object[9];
-    args[0] = entityId;
-    args[1] = Optional.class.isAssignableFrom(p[1]) ? Optional.of(UUID.randomUUID()) : UUID.randomUUID();
-    args[2] = itemDisplayType;
-    args[3] = position;
-    args[4] = 0f;
-    args[5] = 0f;
-    args[6] = 0f;
-    args[7] = 0;
-    args[8] = Optional.class.isAssignableFrom(p[8]) ? Optional.empty() : null;
-    return ctor.newInstance(args);
+  protected void releaseEntityId(VirtualEntityIds.Lease lease) {
+    entityIds.release(lease);
   }
 
-  private static Class<?> loadSpigotConversionUtil() throws ClassNotFoundException {
-    try {
-      return Class.forName("com.github.retrooper.packetevents.util.SpigotConversionUtil");
-    } catch (ClassNotFoundException ignored) {
-      return Class.forName("io.github.retrooper.packetevents.util.SpigotConversionUtil");
-    }
-  }
-
-  private static void sendPacket(Object api, Player viewer, Object packet) throws Exception {
-    Method getPlayerManager = api.getClass().getMethod("getPlayerManager");
-    Object playerManager = getPlayerManager.invoke(api);
-    for (Method method : playerManager.getClass().getMethods()) {
-      if (!method.getName().equals("sendPacket")) continue;
-      Class<?>[] params = method.getParameterTypes();
-      if (params.length != 2) continue;
-      if (!params[0].isAssignableFrom(viewer.getClass())) continue;
-      if (!params[1].isAssignableFrom(packet.getClass()) && params[1] != Object.class) continue;
-      method.invoke(playerManager, viewer, packet);
-      return;
-    }
-    throw new NoSuchMethodException("No compatible sendPacket method found");
+  protected void destroyLater(Player viewer, VirtualEntityIds.Lease lease, long delayTicks) {
+    destroys.destroyLater(viewer, lease, delayTicks);
   }
 }
@@ -0,0 +1,134 @@
+package net.orbis.zakum.core.packet;
+
+import net.orbis.zakum.api.concurrent.ZakumScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Deferred virtual-entity destroys, flushed once per tick.
+ *
+ * Replaces one runTaskLater per effect with a timing wheel driven by a single
+ * repeating task. Each tick every due id is grouped per viewer and sent as one
+ * REMOVE_ENTITIES packet, then its lease is returned to {@link VirtualEntityIds}.
+ */
+public final class DestroyBatcher {
+
+  /** Longest supported delay; longer requests are clamped. */
+  public static final int MAX_DELAY_TICKS = 1023;
+
+  private static final int WHEEL_SIZE = MAX_DELAY_TICKS + 1;
+  private static final long LEAK_SCAN_INTERVAL_TICKS = 1200L;
+
+  private record Pending(UUID viewer, VirtualEntityIds.Lease lease) {}
+
+  private static final class IdBatch {
+    private VirtualEntityIds.Lease[] leases = new VirtualEntityIds.Lease[8];
+    private int size;
+
+    void add(VirtualEntityIds.Lease lease) {
+      if (size == leases.length) leases = Arrays.copyOf(leases, size * 2);
+      leases[size++] = lease;
+    }
+
+    int[] entityIds() {
+      int[] out = new int[size];
+      for (int i = 0; i < size; i++) out[i] = leases[i].entityId();
+      return out;
+    }
+  }
+
+  private final Plugin plugin;
+  private final ZakumScheduler scheduler;
+  private final VirtualEntityIds ids;
+  private final Logger logger;
+  @SuppressWarnings("unchecked")
+  private final ConcurrentLinkedQueue<Pending>[] wheel = new ConcurrentLinkedQueue[WHEEL_SIZE];
+  private final AtomicLong tick = new AtomicLong();
+  private final Map<UUID, IdBatch> grouped = new HashMap<>();
+  private volatile int taskId = -1;
+
+  public DestroyBatcher(Plugin plugin, ZakumScheduler scheduler, VirtualEntityIds ids, Logger logger) {
+    this.plugin = plugin;
+    this.scheduler = scheduler;
+    this.ids = ids;
+    this.logger = logger;
+    for (int i = 0; i < WHEEL_SIZE; i++) {
+      wheel[i] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  public void start() {
+    if (taskId >= 0) return;
+    taskId = scheduler.scheduleSyncRepeatingTask(plugin, this::tick, 1L, 1L);
+  }
+
+  /**
+   * Stops the wheel and flushes every pending destroy immediately.
+   */
+  public void stop() {
+    if (taskId >= 0) {
+      scheduler.cancelTask(taskId);
+      taskId = -1;
+    }
+    for (ConcurrentLinkedQueue<Pending> slot : wheel) {
+      flush(slot);
+    }
+  }
+
+  /**
+   * Destroys the leased entity for {@code viewer} after {@code delayTicks}
+   * (0 = next tick) and releases the lease once the packet is sent.
+   */
+  public void destroyLater(Player viewer, VirtualEntityIds.Lease lease, long delayTicks) {
+    if (lease == null) return;
+    if (viewer == null) {
+      ids.release(lease);
+      return;
+    }
+    long delay = Math.max(1L, Math.min(MAX_DELAY_TICKS, delayTicks));
+    wheel[(int) ((tick.get() + delay) % WHEEL_SIZE)].add(new Pending(viewer.getUniqueId(), lease));
+  }
+
+  public int pending() {
+    int total = 0;
+    for (ConcurrentLinkedQueue<Pending> slot : wheel) total += slot.size();
+    return total;
+  }
+
+  private void tick() {
+    long now = tick.incrementAndGet();
+    flush(wheel[(int) (now % WHEEL_SIZE)]);
+    if (now % LEAK_SCAN_INTERVAL_TICKS == 0L) {
+      ids.reclaimLeaks(logger);
+    }
+  }
+
+  private synchronized void flush(ConcurrentLinkedQueue<Pending> slot) {
+    Pending pending;
+    while ((pending = slot.poll()) != null) {
+      grouped.computeIfAbsent(pending.viewer(), ignored -> new IdBatch()).add(pending.lease());
+    }
+    if (grouped.isEmpty()) return;
+
+    for (Map.Entry<UUID, IdBatch> entry : grouped.entrySet()) {
+      IdBatch batch = entry.getValue();
+      Player viewer = Bukkit.getPlayer(entry.getKey());
+      if (viewer != null && viewer.isOnline()) {
+        DisplayPacketWriter.destroy(viewer, batch.entityIds());
+      }
+      for (int i = 0; i < batch.size; i++) {
+        ids.release(batch.leases[i]);
+      }
+    }
+    grouped.clear();
+  }
+}
@@ -6,61 +6,91 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Packet-only display helper for 1.21.11.
+ *
+ * PacketEvents members are bound once (see {@link #bind()}); packet builds
+ * only invoke the cached MethodHandles. When a {@link ViewerPacketBatcher} is
+ * installed, packets are queued per viewer and flushed once per tick.
  */
 public final class DisplayPacketWriter {
 
   private static final int DISPLAY_ITEM_METADATA_INDEX = 23;
   private static final int DISPLAY_INTERPOLATION_METADATA_INDEX = 12;
   private static final int TEXT_DISPLAY_TEXT_METADATA_INDEX = 23;
+  private static final int DISPLAY_BILLBOARD_METADATA_INDEX = 15;
+  private static final byte BILLBOARD_CENTER = 3;
   private static final int DEFAULT_INTERPOLATION_TICKS = 3;
+  private static final int[] ITEM_METADATA_INDICES = {DISPLAY_ITEM_METADATA_INDEX, DISPLAY_INTERPOLATION_METADATA_INDEX};
+  private static final int[] TEXT_METADATA_INDICES = {TEXT_DISPLAY_TEXT_METADATA_INDEX, DISPLAY_INTERPOLATION_METADATA_INDEX};
+  private static final int[] HOLOGRAM_METADATA_INDICES = {TEXT_DISPLAY_TEXT_METADATA_INDEX, DISPLAY_BILLBOARD_METADATA_INDEX};
+  private static final int[] TEXT_ONLY_INDICES = {TEXT_DISPLAY_TEXT_METADATA_INDEX};
+
+  private static volatile PacketHandles handles;
+  private static volatile boolean bindAttempted;
+  private static volatile ViewerPacketBatcher batcher;
+  // namespaced key -> PacketEvents entity type, for the bound handles
+  private static final ConcurrentHashMap<String, Object> ENTITY_TYPES = new ConcurrentHashMap<>();
 
   private DisplayPacketWriter() {}
 
-  public static void spawnGhostItem(Player viewer, Location loc, int entityId) {
-    spawnGhostItem(viewer, loc, null, entityId);
+  /**
+   * Resolves PacketEvents once. Called on enable; later calls rebind.
+   *
+   * @return true when a packet backend is available
+   */
+  public static synchronized boolean bind() {
+    handles = PacketHandles.bind();
+    ENTITY_TYPES.clear();
+    bindAttempted = true;
+    return handles != null;
+  }
+
+  public static boolean available() {
+    return handles() != null;
+  }
+
+  /**
+   * Routes all writes through {@code batcher}; null restores direct sends.
+   */
+  public static void install(ViewerPacketBatcher batcher) {
+    DisplayPacketWriter.batcher = batcher;
+  }
+
+  static PacketHandles boundHandles() {
+    return handles();
   }
 
-  public static void spawnGhostItem(Player viewer, Location loc, ItemStack item, int entityId) {
-    spawnGhostItem(viewer, loc, item, entityId, DEFAULT_INTERPOLATION_TICKS);
+  public static boolean spawnGhostItem(Player viewer, Location loc, int entityId) {
+    return spawnGhostItem(viewer, loc, null, entityId);
   }
 
-  public static void spawnGhostItem(Player viewer, Location loc, ItemStack item, int entityId, int interpolationTicks) {
-    if (viewer == null || loc == null) return;
+  public static boolean spawnGhostItem(Player viewer, Location loc, ItemStack item, int entityId) {
+    return spawnGhostItem(viewer, loc, item, entityId, DEFAULT_INTERPOLATION_TICKS);
+  }
+
+  public static boolean spawnGhostItem(Player viewer, Location loc, ItemStack item, int entityId, int interpolationTicks) {
+    if (viewer == null || loc == null) return false;
+    PacketHandles h = handles();
+    if (h == null) return false;
     try {
-      Class<?> packetEventsClass = Class.forName("com.github.retrooper.packetevents.PacketEvents");
-      Object api = packetEventsClass.getMethod("getAPI").invoke(null);
-      if (api == null) return;
-
-      Class<?> entityTypesClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.type.EntityTypes");
-      Object itemDisplayType = entityTypesClass.getField("ITEM_DISPLAY").get(null);
-
-      Class<?> vector3dClass = Class.forName("com.github.retrooper.packetevents.util.Vector3d");
-      Object position = vector3dClass
-        .getConstructor(double.class, double.class, double.class)
-        .newInstance(loc.getX(), loc.getY(), loc.getZ());
-
-      Class<?> spawnClass = Class.forName("com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity");
-      Constructor<?> ctor = findSpawnConstructor(spawnClass);
-      if (ctor == null) return;
-      Object spawnPacket = newSpawnPacket(ctor, entityId, itemDisplayType, position);
-
-      sendPacket(api, viewer, spawnPacket);
-      if (item != null) {
-        Object metadataPacket = createItemMetadataPacket(entityId, item, interpolationTicks);
-        if (metadataPacket != null) {
-          sendPacket(api, viewer, metadataPacket);
-        }
+      Object spawnPacket = spawnPacket(h, entityId, h.itemDisplayType, loc.getX(), loc.getY(), loc.getZ());
+      Object itemData = item == null || !h.convertsItems()
+        ? null
+        : h.entityData(DISPLAY_ITEM_METADATA_INDEX, h.itemDataType, h.item(item));
+      sendSpawn(h, viewer, entityId, spawnPacket);
+      if (itemData != null) {
+        sendMetadata(h, viewer, entityId, ITEM_METADATA_INDICES, itemData, interpolation(h, interpolationTicks));
       }
+      return true;
     } catch (Throwable ignored) {
       // Packet backend is optional.
+      return false;
     }
   }
 
@@ -70,29 +100,37 @@ public final class DisplayPacketWriter {
 
   public static boolean spawnTextLabel(Player viewer, Location loc, String label, int entityId, int interpolationTicks) {
     if (viewer == null || loc == null || label == null) return false;
+    PacketHandles h = handles();
+    if (h == null) return false;
     try {
-      Class<?> packetEventsClass = Class.forName("com.github.retrooper.packetevents.PacketEvents");
-      Object api = packetEventsClass.getMethod("getAPI").invoke(null);
-      if (api == null) return false;
-
-      Class<?> entityTypesClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.type.EntityTypes");
-      Object textDisplayType = entityTypesClass.getField("TEXT_DISPLAY").get(null);
+      Object spawnPacket = spawnPacket(h, entityId, h.textDisplayType, loc.getX(), loc.getY(), loc.getZ());
+      Object textData = h.entityData(TEXT_DISPLAY_TEXT_METADATA_INDEX, h.textDataType, Component.text(label));
+      if (textData == null) return false;
 
-      Class<?> vector3dClass = Class.forName("com.github.retrooper.packetevents.util.Vector3d");
-      Object position = vector3dClass
-        .getConstructor(double.class, double.class, double.class)
-        .newInstance(loc.getX(), loc.getY(), loc.getZ());
-
-      Class<?> spawnClass = Class.forName("com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity");
-      Constructor<?> ctor = findSpawnConstructor(spawnClass);
-      if (ctor == null) return false;
-      Object spawnPacket = newSpawnPacket(ctor, entityId, textDisplayType, position);
+      sendSpawn(h, viewer, entityId, spawnPacket);
+      sendMetadata(h, viewer, entityId, TEXT_METADATA_INDICES, textData, interpolation(h, interpolationTicks));
+      return true;
+    } catch (Throwable ignored) {
+      // Packet backend is optional.
+      return false;
+    }
+  }
 
-      Object metadataPacket = createTextMetadataPacket(entityId, Component.text(label), interpolationTicks);
-      if (metadataPacket == null) return false;
+  /**
+   * Spawns a camera-facing text display (hologram) at raw coordinates.
+   */
+  public static boolean spawnTextDisplay(Player viewer, double x, double y, double z, Component text, int entityId) {
+    if (viewer == null || text == null) return false;
+    PacketHandles h = handles();
+    if (h == null) return false;
+    try {
+      Object spawnPacket = spawnPacket(h, entityId, h.textDisplayType, x, y, z);
+      Object textData = h.entityData(TEXT_DISPLAY_TEXT_METADATA_INDEX, h.textDataType, text);
+      if (textData == null) return false;
+      Object billboardData = h.entityData(DISPLAY_BILLBOARD_METADATA_INDEX, h.byteDataType, BILLBOARD_CENTER);
 
-      sendPacket(api, viewer, spawnPacket);
-      sendPacket(api, viewer, metadataPacket);
+      sendSpawn(h, viewer, entityId, spawnPacket);
+      sendMetadata(h, viewer, entityId, HOLOGRAM_METADATA_INDICES, textData, billboardData);
       return true;
     } catch (Throwable ignored) {
       // Packet backend is optional.
@@ -100,121 +138,155 @@ public final class DisplayPacketWriter {
     }
   }
 
-  private static Constructor<?> findSpawnConstructor(Class<?> spawnClass) {
-    for (Constructor<?> ctor : spawnClass.getConstructors()) {
-      Class<?>[] params = ctor.getParameterTypes();
-      if (params.length != 9) continue;
-      if (params[0] != int.class) continue;
-      if (params[4] != float.class || params[5] != float.class || params[6] != float.class) continue;
-      if (params[7] != int.class) continue;
-      return ctor;
+  /**
+   * Re-sends only the text metadata of an existing text display.
+   */
+  public static boolean updateText(Player viewer, int entityId, Component text) {
+    if (viewer == null || text == null) return false;
+    PacketHandles h = handles();
+    if (h == null) return false;
+    try {
+      Object textData = h.entityData(TEXT_DISPLAY_TEXT_METADATA_INDEX, h.textDataType, text);
+      if (textData == null) return false;
+      sendMetadata(h, viewer, entityId, TEXT_ONLY_INDICES, textData);
+      return true;
+    } catch (Throwable ignored) {
+      return false;
     }
-    return null;
-  }
-
-  private static Object newSpawnPacket(Constructor<?> ctor, int entityId, Object type, Object position) throws Exception {
-    Class<?>[] params = ctor.getParameterTypes();
-    Object[] args = new Object[9];
-    args[0] = entityId;
-    args[1] = Optional.class.isAssignableFrom(params[1]) ? Optional.of(UUID.randomUUID()) : UUID.randomUUID();
-    args[2] = type;
-    args[3] = position;
-    args[4] = 0f;
-    args[5] = 0f;
-    args[6] = 0f;
-    args[7] = 0;
-    args[8] = Optional.class.isAssignableFrom(params[8]) ? Optional.empty() : null;
-    return ctor.newInstance(args);
-  }
-
-  private static Object createItemMetadataPacket(int entityId, ItemStack item, int interpolationTicks) throws Exception {
-    Class<?> conversionClass = loadSpigotConversionUtil();
-    Object peItem = conversionClass.getMethod("fromBukkitItemStack", ItemStack.class).invoke(null, item);
-
-    Class<?> entityDataTypesClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes");
-    Object itemType = resolveEntityDataType(entityDataTypesClass, "ITEMSTACK");
-    if (itemType == null) return null;
-
-    List<Object> entries = new ArrayList<>(2);
-    Object itemData = createEntityData(DISPLAY_ITEM_METADATA_INDEX, itemType, peItem);
-    if (itemData == null) return null;
-    entries.add(itemData);
-
-    Object interpolationType = resolveEntityDataType(entityDataTypesClass, "INT", "VAR_INT");
-    Object interpolationData = createEntityData(
-      DISPLAY_INTERPOLATION_METADATA_INDEX,
-      interpolationType,
-      Math.max(0, interpolationTicks)
-    );
-    if (interpolationData != null) {
-      entries.add(interpolationData);
+  }
+
+  /**
+   * Spawns a client-side mob by namespaced type key (e.g. {@code minecraft:wolf}).
+   */
+  public static boolean spawnEntity(Player viewer, int entityId, String typeKey, double x, double y, double z, float yaw) {
+    if (viewer == null || typeKey == null) return false;
+    PacketHandles h = handles();
+    if (h == null || !h.supportsMotion()) return false;
+    try {
+      Object type = entityType(h, typeKey);
+      if (type == null) return false;
+      UUID uuid = UUID.randomUUID();
+      Object spawnPacket = h.spawn(entityId, h.spawnUuidOptional ? Optional.of(uuid) : uuid, type, h.vector(x, y, z), yaw);
+      sendSpawn(h, viewer, entityId, spawnPacket);
+      sendPacket(h, viewer, h.headLook(entityId, yaw));
+      return true;
+    } catch (Throwable ignored) {
+      // Packet backend is optional.
+      return false;
     }
+  }
 
-    Class<?> metadataClass = Class.forName("com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata");
-    return metadataClass.getConstructor(int.class, List.class).newInstance(entityId, entries);
+  /**
+   * Relative move plus head turn; deltas must stay within 8 blocks per axis.
+   */
+  public static boolean moveEntity(Player viewer, int entityId, double dx, double dy, double dz, float yaw, boolean onGround) {
+    if (viewer == null) return false;
+    PacketHandles h = handles();
+    if (h == null || !h.supportsMotion()) return false;
+    try {
+      sendPacket(h, viewer, h.relativeMove(entityId, dx, dy, dz, yaw, onGround));
+      sendPacket(h, viewer, h.headLook(entityId, yaw));
+      return true;
+    } catch (Throwable ignored) {
+      return false;
+    }
   }
 
-  private static Object createTextMetadataPacket(int entityId, Component text, int interpolationTicks) throws Exception {
-    Class<?> entityDataTypesClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes");
-    Object textType = resolveEntityDataType(entityDataTypesClass, "ADV_COMPONENT");
-    if (textType == null) return null;
+  public static boolean teleportEntity(Player viewer, int entityId, double x, double y, double z, float yaw, boolean onGround) {
+    if (viewer == null) return false;
+    PacketHandles h = handles();
+    if (h == null || !h.supportsMotion()) return false;
+    try {
+      sendPacket(h, viewer, h.teleport(entityId, x, y, z, yaw, onGround));
+      sendPacket(h, viewer, h.headLook(entityId, yaw));
+      return true;
+    } catch (Throwable ignored) {
+      return false;
+    }
+  }
 
-    List<Object> entries = new ArrayList<>(2);
-    Object textData = createEntityData(TEXT_DISPLAY_TEXT_METADATA_INDEX, textType, text);
-    if (textData == null) return null;
-    entries.add(textData);
+  /**
+   * Destroys several virtual entities with one REMOVE_ENTITIES packet.
+   */
+  public static boolean destroy(Player viewer, int[] entityIds) {
+    if (viewer == null || entityIds == null || entityIds.length == 0) return false;
+    PacketHandles h = handles();
+    if (h == null) return false;
+    try {
+      Object packet = h.destroy(entityIds);
+      ViewerPacketBatcher b = batcher;
+      if (b != null) {
+        b.destroy(viewer, entityIds, packet);
+      } else {
+        h.send(viewer, packet);
+      }
+      return true;
+    } catch (Throwable ignored) {
+      return false;
+    }
+  }
 
-    Object interpolationType = resolveEntityDataType(entityDataTypesClass, "INT", "VAR_INT");
-    Object interpolationData = createEntityData(
-      DISPLAY_INTERPOLATION_METADATA_INDEX,
-      interpolationType,
-      Math.max(0, interpolationTicks)
-    );
-    if (interpolationData != null) {
-      entries.add(interpolationData);
+  private static PacketHandles handles() {
+    PacketHandles h = handles;
+    if (h != null || bindAttempted) return h;
+    synchronized (DisplayPacketWriter.class) {
+      if (!bindAttempted) bind();
+      return handles;
     }
+  }
 
-    Class<?> metadataClass = Class.forName("com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata");
-    return metadataClass.getConstructor(int.class, List.class).newInstance(entityId, entries);
+  private static Object spawnPacket(PacketHandles h, int entityId, Object type, double x, double y, double z) throws Throwable {
+    UUID uuid = UUID.randomUUID();
+    return h.spawn(entityId, h.spawnUuidOptional ? Optional.of(uuid) : uuid, type, h.vector(x, y, z));
   }
 
-  private static Object createEntityData(int index, Object dataType, Object value) throws Exception {
-    if (dataType == null) return null;
-    Class<?> entityDataTypeClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.data.EntityDataType");
-    Class<?> entityDataClass = Class.forName("com.github.retrooper.packetevents.protocol.entity.data.EntityData");
-    return entityDataClass
-      .getConstructor(int.class, entityDataTypeClass, Object.class)
-      .newInstance(index, dataType, value);
+  private static Object interpolation(PacketHandles h, int interpolationTicks) throws Throwable {
+    return h.entityData(DISPLAY_INTERPOLATION_METADATA_INDEX, h.intDataType, Math.max(0, interpolationTicks));
   }
 
-  private static Object resolveEntityDataType(Class<?> typesClass, String... names) {
-    for (String name : names) {
-      if (name == null || name.isBlank()) continue;
-      try {
-        return typesClass.getField(name).get(null);
-      } catch (Throwable ignored) {
-        // Probe fallback names.
-      }
+  private static Object entityType(PacketHandles h, String key) throws Throwable {
+    Object type = ENTITY_TYPES.get(key);
+    if (type != null) return type;
+    type = h.entityType(key);
+    if (type != null) ENTITY_TYPES.put(key, type);
+    return type;
+  }
+
+  private static void sendPacket(PacketHandles h, Player viewer, Object packet) throws Throwable {
+    ViewerPacketBatcher b = batcher;
+    if (b != null) {
+      b.packet(viewer, packet);
+    } else {
+      h.send(viewer, packet);
     }
-    return null;
   }
 
-  private static Class<?> loadSpigotConversionUtil() throws ClassNotFoundException {
-    try {
-      return Class.forName("com.github.retrooper.packetevents.util.SpigotConversionUtil");
-    } catch (ClassNotFoundException ignored) {
-      return Class.forName("io.github.retrooper.packetevents.util.SpigotConversionUtil");
+  private static void sendSpawn(PacketHandles h, Player viewer, int entityId, Object packet) throws Throwable {
+    ViewerPacketBatcher b = batcher;
+    if (b != null) {
+      b.spawn(viewer, entityId, packet);
+    } else {
+      h.send(viewer, packet);
     }
   }
 
-  private static void sendPacket(Object api, Player viewer, Object packet) throws Exception {
-    Method getPlayerManager = api.getClass().getMethod("getPlayerManager");
-    Object playerManager = getPlayerManager.invoke(api);
-    for (Method method : playerManager.getClass().getMethods()) {
-      if (!method.getName().equals("sendPacket")) continue;
-      if (method.getParameterCount() != 2) continue;
-      method.invoke(playerManager, viewer, packet);
+  /**
+   * Sends metadata entries (nulls skipped); {@code indices[i]} is the data index of {@code entries[i]}.
+   */
+  private static void sendMetadata(PacketHandles h, Player viewer, int entityId, int[] indices, Object... entries) throws Throwable {
+    ViewerPacketBatcher b = batcher;
+    if (b != null) {
+      for (int i = 0; i < entries.length; i++) {
+        if (entries[i] != null) b.metadata(viewer, entityId, indices[i], entries[i]);
+      }
       return;
     }
+    List<Object> list = new ArrayList<>(entries.length);
+    for (Object entry : entries) {
+      if (entry != null) list.add(entry);
+    }
+    if (!list.isEmpty()) {
+      h.send(viewer, h.metadata(entityId, list));
+    }
   }
 }
@@ -0,0 +1,335 @@
+package net.orbis.zakum.core.packet;
+
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * PacketEvents constructors and singletons bound once into MethodHandles.
+ *
+ * Core does not compile against PacketEvents, so everything is resolved by
+ * name; after {@link #bind()} no packet build does a class or member lookup.
+ */
+final class PacketHandles {
+
+  private static final String PE = "com.github.retrooper.packetevents.";
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+  final Object itemDisplayType;
+  final Object textDisplayType;
+  final Object textDataType;
+  final Object itemDataType;
+  final Object intDataType;
+  final Object byteDataType;
+  final boolean spawnUuidOptional;
+  final boolean spawnVelocityOptional;
+
+  // (Object player, Object packet) void, bound to the PlayerManager instance
+  private final MethodHandle send;
+  // (double, double, double) Object
+  private final MethodHandle vector3d;
+  // (int, Object uuid, Object type, Object position, float, float, float, int, Object velocity) Object
+  private final MethodHandle spawn;
+  // (int, Object type, Object value) Object
+  private final MethodHandle entityData;
+  // (int, List) Object
+  private final MethodHandle metadata;
+  // (int[]) Object
+  private final MethodHandle destroy;
+  // (ItemStack) Object, null when SpigotConversionUtil is missing
+  private final MethodHandle fromBukkitItem;
+  // () Object bundle delimiter, null before 1.19.4 wrappers
+  private final MethodHandle bundle;
+  // (String) Object entity type by key; null when mob packets are unsupported
+  private final MethodHandle entityTypeByName;
+  // (int, double, double, double, float, float, boolean) Object
+  private final MethodHandle relativeMove;
+  // (int, Object position, float, float, boolean) Object
+  private final MethodHandle teleport;
+  // (int, float) Object
+  private final MethodHandle headLook;
+
+  private PacketHandles(
+    Object itemDisplayType,
+    Object textDisplayType,
+    Object textDataType,
+    Object itemDataType,
+    Object intDataType,
+    Object byteDataType,
+    boolean spawnUuidOptional,
+    boolean spawnVelocityOptional,
+    MethodHandle send,
+    MethodHandle vector3d,
+    MethodHandle spawn,
+    MethodHandle entityData,
+    MethodHandle metadata,
+    MethodHandle destroy,
+    MethodHandle fromBukkitItem,
+    MethodHandle bundle,
+    MethodHandle[] motion
+  ) {
+    this.itemDisplayType = itemDisplayType;
+    this.textDisplayType = textDisplayType;
+    this.textDataType = textDataType;
+    this.itemDataType = itemDataType;
+    this.intDataType = intDataType;
+    this.byteDataType = byteDataType;
+    this.spawnUuidOptional = spawnUuidOptional;
+    this.spawnVelocityOptional = spawnVelocityOptional;
+    this.send = send;
+    this.vector3d = vector3d;
+    this.spawn = spawn;
+    this.entityData = entityData;
+    this.metadata = metadata;
+    this.destroy = destroy;
+    this.fromBukkitItem = fromBukkitItem;
+    this.bundle = bundle;
+    this.entityTypeByName = motion == null ? null : motion[0];
+    this.relativeMove = motion == null ? null : motion[1];
+    this.teleport = motion == null ? null : motion[2];
+    this.headLook = motion == null ? null : motion[3];
+  }
+
+  /**
+   * @return bound handles, or null when PacketEvents is absent or incompatible
+   */
+  static PacketHandles bind() {
+    try {
+      Class<?> packetEvents = Class.forName(PE + "PacketEvents");
+      Object api = packetEvents.getMethod("getAPI").invoke(null);
+      if (api == null) return null;
+      Object playerManager = api.getClass().getMethod("getPlayerManager").invoke(api);
+      MethodHandle send = bindSend(playerManager);
+      if (send == null) return null;
+
+      Class<?> entityTypes = Class.forName(PE + "protocol.entity.type.EntityTypes");
+      Object itemDisplayType = entityTypes.getField("ITEM_DISPLAY").get(null);
+      Object textDisplayType = entityTypes.getField("TEXT_DISPLAY").get(null);
+
+      Class<?> dataTypes = Class.forName(PE + "protocol.entity.data.EntityDataTypes");
+      Object textDataType = field(dataTypes, "ADV_COMPONENT");
+      Object itemDataType = field(dataTypes, "ITEMSTACK");
+      Object intDataType = field(dataTypes, "INT", "VAR_INT");
+      Object byteDataType = field(dataTypes, "BYTE");
+
+      Class<?> vectorClass = Class.forName(PE + "util.Vector3d");
+      MethodHandle vector3d = LOOKUP
+        .findConstructor(vectorClass, MethodType.methodType(void.class, double.class, double.class, double.class))
+        .asType(MethodType.methodType(Object.class, double.class, double.class, double.class));
+
+      Constructor<?> spawnCtor = findSpawnConstructor(Class.forName(PE + "wrapper.play.server.WrapperPlayServerSpawnEntity"));
+      if (spawnCtor == null) return null;
+      Class<?>[] spawnParams = spawnCtor.getParameterTypes();
+      MethodHandle spawn = LOOKUP.unreflectConstructor(spawnCtor).asType(MethodType.methodType(
+        Object.class,
+        int.class, Object.class, Object.class, Object.class, float.class, float.class, float.class, int.class, Object.class
+      ));
+
+      Class<?> dataTypeClass = Class.forName(PE + "protocol.entity.data.EntityDataType");
+      Class<?> dataClass = Class.forName(PE + "protocol.entity.data.EntityData");
+      MethodHandle entityData = LOOKUP
+        .findConstructor(dataClass, MethodType.methodType(void.class, int.class, dataTypeClass, Object.class))
+        .asType(MethodType.methodType(Object.class, int.class, Object.class, Object.class));
+
+      Class<?> metadataClass = Class.forName(PE + "wrapper.play.server.WrapperPlayServerEntityMetadata");
+      MethodHandle metadata = LOOKUP
+        .findConstructor(metadataClass, MethodType.methodType(void.class, int.class, List.class))
+        .asType(MethodType.methodType(Object.class, int.class, List.class));
+
+      Class<?> destroyClass = Class.forName(PE + "wrapper.play.server.WrapperPlayServerDestroyEntities");
+      MethodHandle destroy = LOOKUP
+        .findConstructor(destroyClass, MethodType.methodType(void.class, int[].class))
+        .asType(MethodType.methodType(Object.class, int[].class));
+
+      return new PacketHandles(
+        itemDisplayType,
+        textDisplayType,
+        textDataType,
+        itemDataType,
+        intDataType,
+        byteDataType,
+        Optional.class.isAssignableFrom(spawnParams[1]),
+        Optional.class.isAssignableFrom(spawnParams[8]),
+        send,
+        vector3d,
+        spawn,
+        entityData,
+        metadata,
+        destroy,
+        bindItemConversion(),
+        bindBundle(),
+        bindMotion(entityTypes, vectorClass)
+      );
+    } catch (Throwable ignored) {
+      // Packet backend is optional.
+      return null;
+    }
+  }
+
+  boolean convertsItems() {
+    return fromBukkitItem != null;
+  }
+
+  void send(Object player, Object packet) throws Throwable {
+    send.invokeExact(player, packet);
+  }
+
+  Object vector(double x, double y, double z) throws Throwable {
+    return (Object) vector3d.invokeExact(x, y, z);
+  }
+
+  Object spawn(int entityId, Object uuid, Object type, Object position) throws Throwable {
+    Object velocity = spawnVelocityOptional ? Optional.empty() : null;
+    return (Object) spawn.invokeExact(entityId, uuid, type, position, 0f, 0f, 0f, 0, velocity);
+  }
+
+  Object spawn(int entityId, Object uuid, Object type, Object position, float yaw) throws Throwable {
+    Object velocity = spawnVelocityOptional ? Optional.empty() : null;
+    return (Object) spawn.invokeExact(entityId, uuid, type, position, 0f, yaw, yaw, 0, velocity);
+  }
+
+  boolean supportsMotion() {
+    return entityTypeByName != null;
+  }
+
+  /**
+   * @return the PacketEvents entity type for a namespaced key, or null if unknown
+   */
+  Object entityType(String key) throws Throwable {
+    return (Object) entityTypeByName.invokeExact(key);
+  }
+
+  Object relativeMove(int entityId, double dx, double dy, double dz, float yaw, boolean onGround) throws Throwable {
+    return (Object) relativeMove.invokeExact(entityId, dx, dy, dz, yaw, 0f, onGround);
+  }
+
+  Object teleport(int entityId, double x, double y, double z, float yaw, boolean onGround) throws Throwable {
+    return (Object) teleport.invokeExact(entityId, vector(x, y, z), yaw, 0f, onGround);
+  }
+
+  Object headLook(int entityId, float yaw) throws Throwable {
+    return (Object) headLook.invokeExact(entityId, yaw);
+  }
+
+  Object entityData(int index, Object type, Object value) throws Throwable {
+    if (type == null) return null;
+    return (Object) entityData.invokeExact(index, type, value);
+  }
+
+  Object metadata(int entityId, List<Object> entries) throws Throwable {
+    return (Object) metadata.invokeExact(entityId, (List) entries);
+  }
+
+  Object destroy(int[] entityIds) throws Throwable {
+    return (Object) destroy.invokeExact(entityIds);
+  }
+
+  boolean supportsBundles() {
+    return bundle != null;
+  }
+
+  Object bundleDelimiter() throws Throwable {
+    return (Object) bundle.invokeExact();
+  }
+
+  Object item(ItemStack item) throws Throwable {
+    return (Object) fromBukkitItem.invokeExact(item);
+  }
+
+  private static MethodHandle bindSend(Object playerManager) throws Exception {
+    Class<?> managerClass = Class.forName(PE + "manager.player.PlayerManager");
+    Class<?> wrapperClass = Class.forName(PE + "wrapper.PacketWrapper");
+    Method method = managerClass.getMethod("sendPacket", Object.class, wrapperClass);
+    return LOOKUP.unreflect(method)
+      .bindTo(playerManager)
+      .asType(MethodType.methodType(void.class, Object.class, Object.class));
+  }
+
+  private static MethodHandle bindBundle() {
+    try {
+      Class<?> bundleClass = Class.forName(PE + "wrapper.play.server.WrapperPlayServerBundle");
+      return LOOKUP
+        .findConstructor(bundleClass, MethodType.methodType(void.class))
+        .asType(MethodType.methodType(Object.class));
+    } catch (Throwable ignored) {
+      return null;
+    }
+  }
+
+  /**
+   * @return {entityTypeByName, relativeMove, teleport, headLook}, or null when any is missing
+   */
+  private static MethodHandle[] bindMotion(Class<?> entityTypes, Class<?> vectorClass) {
+    try {
+      MethodHandle byName = LOOKUP
+        .findStatic(entityTypes, "getByName", MethodType.methodType(Class.forName(PE + "protocol.entity.type.EntityType"), String.class))
+        .asType(MethodType.methodType(Object.class, String.class));
+
+      Class<?> moveClass = Class.forName(PE + "wrapper.play.server.WrapperPlayServerEntityRelativeMoveAndRotation");
+      MethodHandle move = LOOKUP
+        .findConstructor(moveClass, MethodType.methodType(
+          void.class, int.class, double.class, double.class, double.class, float.class, float.class, boolean.class
+        ))
+        .asType(MethodType.methodType(
+          Object.class, int.class, double.class, double.class, double.class, float.class, float.class, boolean.class
+        ));
+
+      Class<?> teleportClass = Class.forName(PE + "wrapper.play.server.WrapperPlayServerEntityTeleport");
+      MethodHandle teleport = LOOKUP
+        .findConstructor(teleportClass, MethodType.methodType(void.class, int.class, vectorClass, float.class, float.class, boolean.class))
+        .asType(MethodType.methodType(Object.class, int.class, Object.class, float.class, float.class, boolean.class));
+
+      Class<?> headClass = Class.forName(PE + "wrapper.play.server.WrapperPlayServerEntityHeadLook");
+      MethodHandle head = LOOKUP
+        .findConstructor(headClass, MethodType.methodType(void.class, int.class, float.class))
+        .asType(MethodType.methodType(Object.class, int.class, float.class));
+
+      return new MethodHandle[]{byName, move, teleport, head};
+    } catch (Throwable ignored) {
+      // Mob packets are optional; displays still work.
+      return null;
+    }
+  }
+
+  private static MethodHandle bindItemConversion() {
+    for (String name : new String[]{PE + "util.SpigotConversionUtil", "io.github.retrooper.packetevents.util.SpigotConversionUtil"}) {
+      try {
+        Class<?> conversion = Class.forName(name);
+        Method method = conversion.getMethod("fromBukkitItemStack", ItemStack.class);
+        return LOOKUP.unreflect(method).asType(MethodType.methodType(Object.class, ItemStack.class));
+      } catch (Throwable ignored) {
+        // Probe the next package.
+      }
+    }
+    return null;
+  }
+
+  private static Constructor<?> findSpawnConstructor(Class<?> spawnClass) {
+    for (Constructor<?> ctor : spawnClass.getConstructors()) {
+      Class<?>[] params = ctor.getParameterTypes();
+      if (params.length != 9) continue;
+      if (params[0] != int.class) continue;
+      if (params[4] != float.class || params[5] != float.class || params[6] != float.class) continue;
+      if (params[7] != int.class) continue;
+      return ctor;
+    }
+    return null;
+  }
+
+  private static Object field(Class<?> owner, String... names) {
+    for (String name : names) {
+      try {
+        return owner.getField(name).get(null);
+      } catch (Throwable ignored) {
+        // Probe fallback names.
+      }
+    }
+    return null;
+  }
+}
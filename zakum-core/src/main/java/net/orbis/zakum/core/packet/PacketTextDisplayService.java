@@ -0,0 +1,68 @@
+package net.orbis.zakum.core.packet;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.orbis.zakum.api.packet.TextDisplayService;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TextDisplayService backed by the reflective PacketEvents writer.
+ */
+public final class PacketTextDisplayService implements TextDisplayService {
+
+  private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+  private final VirtualEntityIds entityIds;
+  // Ids handed out through the int-based API; releases go through the lease so
+  // they can only free ids this service still holds.
+  private final Map<Integer, VirtualEntityIds.Lease> leased = new ConcurrentHashMap<>();
+
+  public PacketTextDisplayService(VirtualEntityIds entityIds) {
+    this.entityIds = entityIds;
+  }
+
+  @Override
+  public boolean available() {
+    return DisplayPacketWriter.available();
+  }
+
+  @Override
+  public int allocateEntityId(String owner) {
+    VirtualEntityIds.Lease lease = entityIds.acquire(owner);
+    if (lease == null) return -1;
+    leased.put(lease.entityId(), lease);
+    return lease.entityId();
+  }
+
+  @Override
+  public void releaseEntityId(int entityId) {
+    VirtualEntityIds.Lease lease = leased.remove(entityId);
+    if (lease != null) entityIds.release(lease);
+  }
+
+  @Override
+  public boolean spawn(Player viewer, int entityId, double x, double y, double z, String text) {
+    if (viewer == null || !viewer.isOnline()) return false;
+    return DisplayPacketWriter.spawnTextDisplay(viewer, x, y, z, component(text), entityId);
+  }
+
+  @Override
+  public void updateText(Player viewer, int entityId, String text) {
+    if (viewer == null || !viewer.isOnline()) return;
+    DisplayPacketWriter.updateText(viewer, entityId, component(text));
+  }
+
+  @Override
+  public void destroy(Player viewer, int[] entityIds) {
+    if (viewer == null || !viewer.isOnline()) return;
+    DisplayPacketWriter.destroy(viewer, entityIds);
+  }
+
+  private static Component component(String text) {
+    if (text == null || text.isEmpty()) return Component.empty();
+    return LEGACY.deserialize(text);
+  }
+}
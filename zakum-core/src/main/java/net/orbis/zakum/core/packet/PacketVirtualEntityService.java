@@ -0,0 +1,67 @@
+package net.orbis.zakum.core.packet;
+
+import net.orbis.zakum.api.packet.VirtualEntityService;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * VirtualEntityService backed by the reflective PacketEvents writer.
+ */
+public final class PacketVirtualEntityService implements VirtualEntityService {
+
+  private final VirtualEntityIds entityIds;
+  // Ids handed out through the int-based API; releases go through the lease so
+  // they can only free ids this service still holds.
+  private final Map<Integer, VirtualEntityIds.Lease> leased = new ConcurrentHashMap<>();
+
+  public PacketVirtualEntityService(VirtualEntityIds entityIds) {
+    this.entityIds = entityIds;
+  }
+
+  @Override
+  public boolean available() {
+    PacketHandles h = DisplayPacketWriter.boundHandles();
+    return h != null && h.supportsMotion();
+  }
+
+  @Override
+  public int allocateEntityId(String owner) {
+    VirtualEntityIds.Lease lease = entityIds.acquire(owner);
+    if (lease == null) return -1;
+    leased.put(lease.entityId(), lease);
+    return lease.entityId();
+  }
+
+  @Override
+  public void releaseEntityId(int entityId) {
+    VirtualEntityIds.Lease lease = leased.remove(entityId);
+    if (lease != null) entityIds.release(lease);
+  }
+
+  @Override
+  public boolean spawn(Player viewer, int entityId, EntityType type, double x, double y, double z, float yaw) {
+    if (viewer == null || !viewer.isOnline() || type == null || type == EntityType.UNKNOWN) return false;
+    return DisplayPacketWriter.spawnEntity(viewer, entityId, type.getKey().toString(), x, y, z, yaw);
+  }
+
+  @Override
+  public void move(Player viewer, int entityId, double dx, double dy, double dz, float yaw, boolean onGround) {
+    if (viewer == null || !viewer.isOnline()) return;
+    DisplayPacketWriter.moveEntity(viewer, entityId, dx, dy, dz, yaw, onGround);
+  }
+
+  @Override
+  public void teleport(Player viewer, int entityId, double x, double y, double z, float yaw, boolean onGround) {
+    if (viewer == null || !viewer.isOnline()) return;
+    DisplayPacketWriter.teleportEntity(viewer, entityId, x, y, z, yaw, onGround);
+  }
+
+  @Override
+  public void destroy(Player viewer, int[] entityIds) {
+    if (viewer == null || !viewer.isOnline()) return;
+    DisplayPacketWriter.destroy(viewer, entityIds);
+  }
+}
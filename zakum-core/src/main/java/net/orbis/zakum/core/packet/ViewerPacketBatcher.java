@@ -0,0 +1,205 @@
+package net.orbis.zakum.core.packet;
+
+import net.orbis.zakum.api.concurrent.ZakumScheduler;
+import net.orbis.zakum.core.metrics.MetricsMonitor;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects outbound virtual-entity packets per viewer and flushes them once
+ * per tick, wrapped in bundle delimiters so the client applies them in the
+ * same frame.
+ *
+ * Packet order per viewer is preserved. Metadata for one entity is merged per
+ * data index until that entity is spawned or destroyed again, so repeated
+ * updates within a tick cost one packet.
+ */
+public final class ViewerPacketBatcher {
+
+  // Client rejects bundles above 4096 packets.
+  private static final int MAX_BUNDLE_PACKETS = 4000;
+
+  private final Plugin plugin;
+  private final ZakumScheduler scheduler;
+  private final MetricsMonitor metrics;
+  private final ConcurrentHashMap<UUID, ViewerQueue> queues = new ConcurrentHashMap<>();
+  private volatile int taskId = -1;
+
+  public ViewerPacketBatcher(Plugin plugin, ZakumScheduler scheduler, MetricsMonitor metrics) {
+    this.plugin = plugin;
+    this.scheduler = scheduler;
+    this.metrics = metrics;
+  }
+
+  public void start() {
+    if (taskId >= 0) return;
+    taskId = scheduler.scheduleSyncRepeatingTask(plugin, this::flush, 1L, 1L);
+  }
+
+  /**
+   * Stops the flush task and sends whatever is still queued.
+   */
+  public void stop() {
+    if (taskId >= 0) {
+      scheduler.cancelTask(taskId);
+      taskId = -1;
+    }
+    flush();
+    queues.clear();
+  }
+
+  void packet(Player viewer, Object packet) {
+    queue(viewer).packet(packet);
+  }
+
+  void spawn(Player viewer, int entityId, Object packet) {
+    queue(viewer).spawn(entityId, packet);
+  }
+
+  void destroy(Player viewer, int[] entityIds, Object packet) {
+    queue(viewer).destroy(entityIds, packet);
+  }
+
+  void metadata(Player viewer, int entityId, int index, Object entityData) {
+    queue(viewer).metadata(entityId, index, entityData);
+  }
+
+  private ViewerQueue queue(Player viewer) {
+    return queues.computeIfAbsent(viewer.getUniqueId(), ignored -> new ViewerQueue(viewer));
+  }
+
+  private void flush() {
+    if (queues.isEmpty()) return;
+    PacketHandles h = DisplayPacketWriter.boundHandles();
+    for (Map.Entry<UUID, ViewerQueue> entry : queues.entrySet()) {
+      ViewerQueue queue = entry.getValue();
+      if (!queue.viewer.isOnline()) {
+        queues.remove(entry.getKey(), queue);
+        continue;
+      }
+      Drained drained = queue.drain();
+      if (drained == null || h == null) continue;
+      int sent = send(h, queue.viewer, drained.ops());
+      if (metrics != null) {
+        metrics.recordViewerPacketFlush(sent, drained.merged());
+      }
+    }
+  }
+
+  private static int send(PacketHandles h, Player viewer, List<Object> ops) {
+    int sent = 0;
+    try {
+      boolean bundle = ops.size() > 1 && h.supportsBundles();
+      int inBundle = 0;
+      if (bundle) h.send(viewer, h.bundleDelimiter());
+      for (Object op : ops) {
+        Object packet = op instanceof MetadataSlot slot ? h.metadata(slot.entityId, slot.entries()) : op;
+        if (bundle && inBundle == MAX_BUNDLE_PACKETS) {
+          h.send(viewer, h.bundleDelimiter());
+          h.send(viewer, h.bundleDelimiter());
+          inBundle = 0;
+        }
+        h.send(viewer, packet);
+        inBundle++;
+        sent++;
+      }
+      if (bundle) h.send(viewer, h.bundleDelimiter());
+    } catch (Throwable ignored) {
+      // Packet backend is optional; drop the rest of this tick for the viewer.
+    }
+    return sent;
+  }
+
+  private record Drained(List<Object> ops, int merged) {}
+
+  private static final class ViewerQueue {
+
+    private final Player viewer;
+    private final Map<Integer, MetadataSlot> open = new HashMap<>();
+    private List<Object> ops = new ArrayList<>();
+    private int merged;
+
+    private ViewerQueue(Player viewer) {
+      this.viewer = viewer;
+    }
+
+    synchronized void packet(Object packet) {
+      ops.add(packet);
+    }
+
+    synchronized void spawn(int entityId, Object packet) {
+      open.remove(entityId);
+      ops.add(packet);
+    }
+
+    synchronized void destroy(int[] entityIds, Object packet) {
+      for (int entityId : entityIds) {
+        open.remove(entityId);
+      }
+      ops.add(packet);
+    }
+
+    synchronized void metadata(int entityId, int index, Object entityData) {
+      MetadataSlot slot = open.get(entityId);
+      if (slot == null) {
+        slot = new MetadataSlot(entityId);
+        open.put(entityId, slot);
+        ops.add(slot);
+      }
+      if (slot.put(index, entityData)) merged++;
+    }
+
+    synchronized Drained drain() {
+      if (ops.isEmpty()) return null;
+      Drained drained = new Drained(ops, merged);
+      ops = new ArrayList<>(Math.max(8, drained.ops().size()));
+      open.clear();
+      merged = 0;
+      return drained;
+    }
+  }
+
+  private static final class MetadataSlot {
+
+    private final int entityId;
+    private int[] indices = new int[4];
+    private Object[] values = new Object[4];
+    private int size;
+
+    private MetadataSlot(int entityId) {
+      this.entityId = entityId;
+    }
+
+    /**
+     * @return true when an earlier value for the same index was replaced
+     */
+    boolean put(int index, Object value) {
+      for (int i = 0; i < size; i++) {
+        if (indices[i] == index) {
+          values[i] = value;
+          return true;
+        }
+      }
+      if (size == indices.length) {
+        indices = Arrays.copyOf(indices, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      indices[size] = index;
+      values[size] = value;
+      size++;
+      return false;
+    }
+
+    List<Object> entries() {
+      return Arrays.asList(Arrays.copyOf(values, size));
+    }
+  }
+}
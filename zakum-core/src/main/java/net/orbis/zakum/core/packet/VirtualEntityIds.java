@@ -0,0 +1,176 @@
+package net.orbis.zakum.core.packet;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free allocator for client-side (packet-only) entity ids.
+ *
+ * Ids come from one reserved range tracked by a bitmap, so animations,
+ * holograms and crate effects can never hand out the same id twice. Every id
+ * is a lease tagged with its owner; leases held past their declared lifetime
+ * are reported (and reclaimed) as leaks.
+ *
+ * Ids are released by their {@link Lease}, not by number: once a leaked id is
+ * reclaimed and handed out again, a late release from the first holder no
+ * longer matches and leaves the new holder's id alone.
+ */
+public final class VirtualEntityIds {
+
+  public static final int DEFAULT_BASE = 2_000_000;
+  public static final int DEFAULT_CAPACITY = 1 << 18;
+
+  /** Lease lifetime for ids that are held until explicitly released. */
+  public static final long UNBOUNDED = 0L;
+
+  public record Lease(int entityId, String owner, long acquiredAtMillis, long maxLifetimeMillis) {
+
+    boolean expired(long nowMillis) {
+      return maxLifetimeMillis > 0L && nowMillis - acquiredAtMillis > maxLifetimeMillis;
+    }
+  }
+
+  private final int base;
+  private final int capacity;
+  private final AtomicLongArray bits;
+  private final AtomicReferenceArray<Lease> leases;
+  private final AtomicInteger cursor = new AtomicInteger();
+  private final AtomicInteger inUse = new AtomicInteger();
+  private final LongSupplier clock;
+
+  public VirtualEntityIds() {
+    this(DEFAULT_BASE, DEFAULT_CAPACITY);
+  }
+
+  public VirtualEntityIds(int base, int capacity) {
+    this(base, capacity, System::currentTimeMillis);
+  }
+
+  public VirtualEntityIds(int base, int capacity, LongSupplier clock) {
+    if (base <= 0) throw new IllegalArgumentException("base must be positive");
+    if (capacity < 64 || (capacity & 63) != 0) {
+      throw new IllegalArgumentException("capacity must be a positive multiple of 64");
+    }
+    if ((long) base + capacity > Integer.MAX_VALUE) throw new IllegalArgumentException("range overflows int");
+    this.base = base;
+    this.capacity = capacity;
+    this.bits = new AtomicLongArray(capacity >>> 6);
+    this.leases = new AtomicReferenceArray<>(capacity);
+    this.clock = clock;
+  }
+
+  public Lease acquire(String owner) {
+    return acquire(owner, UNBOUNDED);
+  }
+
+  /**
+   * @return the lease on a free entity id, or null when the range is exhausted
+   */
+  public Lease acquire(String owner, long maxLifetimeMillis) {
+    int words = bits.length();
+    int start = Math.floorMod(cursor.get(), words);
+    for (int n = 0; n < words; n++) {
+      int word = start + n;
+      if (word >= words) word -= words;
+      long current;
+      while ((current = bits.get(word)) != -1L) {
+        int bit = Long.numberOfTrailingZeros(~current);
+        if (bits.compareAndSet(word, current, current | (1L << bit))) {
+          int index = (word << 6) | bit;
+          Lease lease = new Lease(base + index, owner == null ? "unknown" : owner, clock.getAsLong(), Math.max(0L, maxLifetimeMillis));
+          leases.set(index, lease);
+          inUse.incrementAndGet();
+          cursor.set(word);
+          return lease;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Frees the id if {@code lease} still owns it.
+   *
+   * @return false for a stale lease (already released or reclaimed), which changes nothing
+   */
+  public boolean release(Lease lease) {
+    if (lease == null) return false;
+    int index = lease.entityId() - base;
+    if (index < 0 || index >= capacity) return false;
+    if (!leases.compareAndSet(index, lease, null)) return false;
+    clearBit(index);
+    return true;
+  }
+
+  private void clearBit(int index) {
+    int word = index >>> 6;
+    long mask = 1L << (index & 63);
+    while (true) {
+      long current = bits.get(word);
+      if ((current & mask) == 0L) return;
+      if (bits.compareAndSet(word, current, current & ~mask)) {
+        inUse.decrementAndGet();
+        return;
+      }
+    }
+  }
+
+  public boolean owns(int entityId) {
+    return entityId >= base && entityId < base + capacity;
+  }
+
+  public int inUse() {
+    return inUse.get();
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Leases held longer than their declared lifetime.
+   */
+  public List<Lease> leaks() {
+    long now = clock.getAsLong();
+    List<Lease> out = new ArrayList<>();
+    for (int word = 0; word < bits.length(); word++) {
+      long current = bits.get(word);
+      while (current != 0L) {
+        int bit = Long.numberOfTrailingZeros(current);
+        current &= current - 1;
+        Lease lease = leases.get((word << 6) | bit);
+        if (lease != null && lease.expired(now)) out.add(lease);
+      }
+    }
+    return out;
+  }
+
+  /**
+   * Releases leaked leases and logs one summary line per owner.
+   *
+   * @return number of ids reclaimed
+   */
+  public int reclaimLeaks(Logger logger) {
+    List<Lease> leaked = leaks();
+    if (leaked.isEmpty()) return 0;
+    Map<String, Integer> byOwner = new LinkedHashMap<>();
+    int reclaimed = 0;
+    for (Lease lease : leaked) {
+      if (release(lease)) {
+        reclaimed++;
+        byOwner.merge(lease.owner(), 1, Integer::sum);
+      }
+    }
+    if (reclaimed > 0 && logger != null) {
+      logger.warning("Reclaimed " + reclaimed + " leaked virtual entity ids: " + byOwner);
+    }
+    return reclaimed;
+  }
+}
@@ -16,6 +16,8 @@ import java.util.concurrent.CompletableFuture;
 
 /**
  * Mongo-backed profile store with Redis-backed session state.
+ *
+ * The Redis pool is shared with other services and closed by its owner, not here.
  */
 public final class MongoDataStore implements DataStore, AutoCloseable {
 
@@ -131,11 +133,7 @@ public final class MongoDataStore implements DataStore, AutoCloseable {
 
   @Override
   public void close() {
-    try {
-      jedisPool.close();
-    } finally {
-      mongoClient.close();
-    }
+    mongoClient.close();
   }
 
   private String sessionKey(UUID uuid, String key) {
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS orbis_player_names (
+  uuid BINARY(16) NOT NULL,
+  name VARCHAR(32) NOT NULL,
+  updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+  PRIMARY KEY (uuid)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -233,6 +233,36 @@ class ZakumSettingsLoaderTest {
         }
     }
 
+    @Test
+    void testCacheNames_DefaultsAndClamped() {
+        // Given: Empty config
+        ZakumSettings defaults = ZakumSettingsLoader.load(new YamlConfiguration());
+
+        // Then: Bounded, Redis tier off
+        assertEquals(20_000, defaults.cache().names().maximumSize());
+        assertEquals(5, defaults.cache().names().flushIntervalSeconds());
+        assertFalse(defaults.cache().names().redisEnabled());
+        assertEquals("zakum:names", defaults.cache().names().redisKey());
+
+        // Given: Extreme values
+        String yaml = """
+            cache:
+              names:
+                maximumSize: 10
+                flushIntervalSeconds: 0
+                redis:
+                  key: " "
+            """;
+        ZakumSettings settings = ZakumSettingsLoader.load(
+            YamlConfiguration.loadConfiguration(new java.io.StringReader(yaml))
+        );
+
+        // Then: Should be clamped
+        assertEquals(1_000, settings.cache().names().maximumSize());
+        assertEquals(1, settings.cache().names().flushIntervalSeconds());
+        assertEquals("zakum:names", settings.cache().names().redisKey());
+    }
+
     @Test
     void testActions_DeferredBufferClamped() {
         // Given: Config with extreme buffer sizes
@@ -1,14 +1,23 @@
 package net.orbis.zakum.core.entitlements;
 
+import net.orbis.zakum.api.actions.ActionBus;
+import net.orbis.zakum.api.actions.ActionEvent;
+import net.orbis.zakum.api.actions.ActionHandler;
+import net.orbis.zakum.api.actions.ActionSubscription;
 import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.api.db.Jdbc;
 import net.orbis.zakum.api.db.ZakumDatabase;
 import net.orbis.zakum.api.entitlements.EntitlementScope;
+import net.orbis.zakum.api.entitlements.EntitlementService;
+import net.orbis.zakum.core.util.UuidBytes;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -25,6 +34,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Concurrent access safety
  * - Database offline handling
  * - Cache invalidation
+ * - Bulk checks (chunked IN queries, cache warm-up)
+ * - Change events on grant/revoke
  */
 class SqlEntitlementServiceTest {
 
@@ -291,13 +302,129 @@ class SqlEntitlementServiceTest {
             service.has(UUID.randomUUID(), EntitlementScope.SERVER, null, "fly"));
     }
 
+    @Test
+    void testHasMany_SingleQueryReturnsHolders() throws ExecutionException, InterruptedException {
+        // Given: 3 players, 2 of them hold the entitlement
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        mockDb.holders.add(a);
+        mockDb.holders.add(c);
+
+        // When: Bulk check
+        Set<UUID> held = service.hasMany(List.of(a, b, c), EntitlementScope.NETWORK, null, "vip").get();
+
+        // Then: One query answers all players
+        assertEquals(Set.of(a, c), held);
+        assertEquals(1, mockDb.queryCount);
+    }
+
+    @Test
+    void testHasMany_ChunksLargeSets() throws ExecutionException, InterruptedException {
+        // Given: More players than fit in one IN list
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < SqlEntitlementService.IN_CHUNK * 2 + 1; i++) ids.add(UUID.randomUUID());
+        mockDb.holders.add(ids.get(ids.size() - 1));
+
+        // When: Bulk check
+        Set<UUID> held = service.hasMany(ids, EntitlementScope.SERVER, "server-1", "fly").get();
+
+        // Then: One query per chunk
+        assertEquals(Set.of(ids.get(ids.size() - 1)), held);
+        assertEquals(3, mockDb.queryCount);
+    }
+
+    @Test
+    void testHasMany_WarmsCacheForHas() throws ExecutionException, InterruptedException {
+        // Given: A bulk check covering a holder and a non-holder
+        UUID holder = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        mockDb.holders.add(holder);
+        service.hasMany(List.of(holder, other), EntitlementScope.NETWORK, null, "vip").get();
+
+        // When: Single checks for both
+        boolean h = service.has(holder, EntitlementScope.NETWORK, null, "vip").get();
+        boolean o = service.has(other, EntitlementScope.NETWORK, null, "vip").get();
+
+        // Then: Both answered from cache
+        assertTrue(h);
+        assertFalse(o);
+        assertEquals(1, mockDb.queryCount);
+    }
+
+    @Test
+    void testHasMany_QueriesOnlyCacheMisses() throws ExecutionException, InterruptedException {
+        // Given: One player already cached
+        UUID cached = UUID.randomUUID();
+        UUID fresh = UUID.randomUUID();
+        mockDb.shouldReturnEntitlement = true;
+        service.has(cached, EntitlementScope.NETWORK, null, "vip").get();
+        mockDb.shouldReturnEntitlement = false;
+        mockDb.holders.add(fresh);
+
+        // When: Bulk check for both
+        Set<UUID> held = service.hasMany(List.of(cached, fresh), EntitlementScope.NETWORK, null, "vip").get();
+
+        // Then: Only the miss hits the database
+        assertEquals(Set.of(cached, fresh), held);
+        assertEquals(2, mockDb.queryCount);
+        assertEquals(1, mockDb.lastInSize);
+    }
+
+    @Test
+    void testHasMany_DatabaseOffline() throws ExecutionException, InterruptedException {
+        // Given: Database is offline
+        mockDb.state = DatabaseState.OFFLINE;
+
+        // When: Bulk check
+        Set<UUID> held = service.hasMany(List.of(UUID.randomUUID()), EntitlementScope.NETWORK, null, "vip").get();
+
+        // Then: Nobody is premium and nothing is queried
+        assertTrue(held.isEmpty());
+        assertEquals(0, mockDb.queryCount);
+    }
+
+    @Test
+    void testGrantAndRevoke_PublishChangeEvents() throws ExecutionException, InterruptedException {
+        // Given: A service wired to an action bus
+        List<ActionEvent> events = new ArrayList<>();
+        ActionBus bus = new ActionBus() {
+            @Override
+            public void publish(ActionEvent event) {
+                events.add(event);
+            }
+
+            @Override
+            public ActionSubscription subscribe(ActionHandler handler) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        service = new SqlEntitlementService(mockDb, syncExecutor, bus, 1000, Duration.ofMinutes(5));
+        UUID playerId = UUID.randomUUID();
+
+        // When: Grant then revoke
+        service.grant(playerId, EntitlementScope.NETWORK, null, "vip", null).get();
+        service.revoke(playerId, EntitlementScope.NETWORK, null, "vip").get();
+
+        // Then: One change event each, carrying key and scope
+        assertEquals(2, events.size());
+        for (ActionEvent e : events) {
+            assertEquals(EntitlementService.CHANGED_ACTION, e.type());
+            assertEquals(playerId, e.playerId());
+            assertEquals("vip", e.key());
+            assertEquals("NETWORK", e.value());
+        }
+    }
+
     /**
      * Mock database for testing
      */
     private static class MockDatabase implements ZakumDatabase {
         DatabaseState state = DatabaseState.ONLINE;
         boolean shouldReturnEntitlement = false;
+        final Set<UUID> holders = new HashSet<>();
         int queryCount = 0;
+        int lastInSize = 0;
         int updateCount = 0;
         
         @Override
@@ -319,6 +446,22 @@ class SqlEntitlementServiceTest {
             @Override
             public <T> List<T> query(String sql, Jdbc.RowMapper<T> mapper, Object... params) {
                 queryCount++;
+                if (sql.contains(" IN (")) {
+                    // Bulk check: answer with the configured holders among the uuid params
+                    List<T> out = new ArrayList<>();
+                    lastInSize = 0;
+                    for (Object p : params) {
+                        if (!(p instanceof byte[] bytes)) continue;
+                        lastInSize++;
+                        UUID id = UuidBytes.fromBytes(bytes);
+                        if (holders.contains(id)) {
+                            @SuppressWarnings("unchecked")
+                            T row = (T) id;
+                            out.add(row);
+                        }
+                    }
+                    return out;
+                }
                 if (shouldReturnEntitlement) {
                     @SuppressWarnings("unchecked")
                     T result = (T) Integer.valueOf(1);
@@ -0,0 +1,202 @@
+package net.orbis.zakum.core.names;
+
+import net.orbis.zakum.api.db.DatabaseState;
+import net.orbis.zakum.api.db.Jdbc;
+import net.orbis.zakum.api.db.ZakumDatabase;
+import net.orbis.zakum.core.util.UuidBytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for SqlNameResolver.
+ *
+ * Verifies:
+ * - Login names are served from memory and written in one multi-row upsert
+ * - Bulk lookups skip cached ids and use chunked IN queries for misses
+ * - Offline database keeps names pending until the next flush
+ * - The shared (Redis) tier is consulted before SQL
+ */
+class SqlNameResolverTest {
+
+    private FakeDatabase db;
+    private SqlNameResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        db = new FakeDatabase();
+        resolver = new SqlNameResolver(db, Runnable::run, null, 1_000, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testRemember_ServedFromMemoryAndFlushedAsOneUpsert() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            resolver.remember(id, "Player" + i);
+        }
+
+        assertEquals("Player7", resolver.cached(ids.get(7)));
+        assertEquals(0, db.updateCount, "remember must not touch the database");
+
+        resolver.flush();
+
+        assertEquals(1, db.updateCount);
+        assertEquals(120, db.table.size());
+        assertEquals(0, resolver.pendingCount());
+    }
+
+    @Test
+    void testRemember_IgnoresInvalidNames() {
+        UUID id = UUID.randomUUID();
+        resolver.remember(id, " ");
+        resolver.remember(id, "x".repeat(SqlNameResolver.MAX_NAME_LENGTH + 1));
+        resolver.remember(null, "Steve");
+
+        assertNull(resolver.cached(id));
+        assertEquals(0, resolver.pendingCount());
+    }
+
+    @Test
+    void testResolveAll_QueriesOnlyMissesInChunks() throws Exception {
+        UUID online = UUID.randomUUID();
+        resolver.remember(online, "Online");
+
+        List<UUID> offline = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            UUID id = UUID.randomUUID();
+            offline.add(id);
+            db.table.put(id, "Offline" + i);
+        }
+        UUID unknown = UUID.randomUUID();
+
+        List<UUID> page = new ArrayList<>(offline);
+        page.add(online);
+        page.add(unknown);
+        Map<UUID, String> names = resolver.resolveAll(page).get();
+
+        assertEquals(3, db.queryCount, "1201 misses should be 3 IN chunks");
+        assertEquals(SqlNameResolver.IN_CHUNK, db.maxInSize);
+        assertEquals(1_201, names.size());
+        assertEquals("Online", names.get(online));
+        assertEquals("Offline5", names.get(offline.get(5)));
+        assertFalse(names.containsKey(unknown));
+
+        // Now cached.
+        assertEquals("Offline5", resolver.cached(offline.get(5)));
+        resolver.resolveAll(offline).get();
+        assertEquals(3, db.queryCount);
+    }
+
+    @Test
+    void testFlush_DatabaseOffline_KeepsPending() {
+        db.state = DatabaseState.OFFLINE;
+        resolver.remember(UUID.randomUUID(), "Alex");
+
+        resolver.flush();
+        assertEquals(0, db.updateCount);
+        assertEquals(1, resolver.pendingCount());
+
+        db.state = DatabaseState.ONLINE;
+        resolver.flush();
+        assertEquals(1, db.updateCount);
+        assertEquals(0, resolver.pendingCount());
+    }
+
+    @Test
+    void testSharedTier_ConsultedBeforeSql() throws Exception {
+        FakeShared shared = new FakeShared();
+        resolver = new SqlNameResolver(db, Runnable::run, shared, null, 1_000, Duration.ofMinutes(5));
+
+        UUID fromRedis = UUID.randomUUID();
+        UUID fromSql = UUID.randomUUID();
+        shared.hash.put(fromRedis, "Networked");
+        db.table.put(fromSql, "Stored");
+
+        Map<UUID, String> names = resolver.resolveAll(List.of(fromRedis, fromSql)).get();
+
+        assertEquals("Networked", names.get(fromRedis));
+        assertEquals("Stored", names.get(fromSql));
+        assertEquals(1, db.maxInSize, "only the Redis miss should reach SQL");
+
+        UUID joined = UUID.randomUUID();
+        resolver.remember(joined, "Fresh");
+        resolver.flush();
+        assertEquals("Fresh", shared.hash.get(joined));
+    }
+
+    private static final class FakeShared implements SharedNames {
+        final Map<UUID, String> hash = new HashMap<>();
+
+        @Override
+        public Map<UUID, String> getAll(Collection<UUID> playerIds) {
+            Map<UUID, String> out = new HashMap<>();
+            for (UUID id : playerIds) if (hash.containsKey(id)) out.put(id, hash.get(id));
+            return out;
+        }
+
+        @Override
+        public void putAll(Map<UUID, String> names) {
+            hash.putAll(names);
+        }
+    }
+
+    private static final class FakeDatabase implements ZakumDatabase {
+        DatabaseState state = DatabaseState.ONLINE;
+        final Map<UUID, String> table = new HashMap<>();
+        int queryCount = 0;
+        int updateCount = 0;
+        int maxInSize = 0;
+
+        @Override
+        public DatabaseState state() {
+            return state;
+        }
+
+        @Override
+        public javax.sql.DataSource dataSource() {
+            return null;
+        }
+
+        @Override
+        public Jdbc jdbc() {
+            return new Jdbc() {
+                @Override
+                public <T> List<T> query(String sql, RowMapper<T> mapper, Object... params) {
+                    queryCount++;
+                    maxInSize = Math.max(maxInSize, params.length);
+                    List<T> out = new ArrayList<>();
+                    for (Object p : params) {
+                        UUID id = UuidBytes.fromBytes((byte[]) p);
+                        String name = table.get(id);
+                        if (name == null) continue;
+                        @SuppressWarnings("unchecked")
+                        T row = (T) Map.entry(id, name);
+                        out.add(row);
+                    }
+                    return out;
+                }
+
+                @Override
+                public int update(String sql, Object... params) {
+                    updateCount++;
+                    assertTrue(sql.contains("ON DUPLICATE KEY UPDATE"));
+                    for (int i = 0; i < params.length; i += 2) {
+                        table.put(UuidBytes.fromBytes((byte[]) params[i]), (String) params[i + 1]);
+                    }
+                    return params.length / 2;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package net.orbis.zakum.core.packet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for VirtualEntityIds.
+ *
+ * Verifies:
+ * - No id is ever leased twice under concurrent acquire/release
+ * - Ids stay inside the reserved range
+ * - Exhaustion returns null and released ids are reused
+ * - Leases past their lifetime are reported and reclaimed
+ * - A stale release never frees an id that was handed out again
+ */
+class VirtualEntityIdsTest {
+
+    @Test
+    void testConcurrentAllocationIsCollisionFree() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        VirtualEntityIds ids = new VirtualEntityIds(2_000_000, threads * perThread);
+        Set<Integer> live = ConcurrentHashMap.newKeySet();
+        AtomicInteger collisions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    List<VirtualEntityIds.Lease> held = new ArrayList<>();
+                    for (int round = 0; round < 20; round++) {
+                        for (int i = 0; i < perThread / 2; i++) {
+                            VirtualEntityIds.Lease lease = ids.acquire("test");
+                            int id = lease.entityId();
+                            assertTrue(id >= 2_000_000 && id < 2_000_000 + threads * perThread, "Out of range: " + id);
+                            if (!live.add(id)) collisions.incrementAndGet();
+                            held.add(lease);
+                        }
+                        for (VirtualEntityIds.Lease lease : held) {
+                            live.remove(lease.entityId());
+                            assertTrue(ids.release(lease), "Release failed: " + lease.entityId());
+                        }
+                        held.clear();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(0, collisions.get());
+        assertEquals(0, ids.inUse());
+    }
+
+    @Test
+    void testExhaustionAndReuse() {
+        VirtualEntityIds ids = new VirtualEntityIds(100, 64);
+        List<VirtualEntityIds.Lease> held = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            held.add(ids.acquire("test"));
+        }
+
+        assertEquals(64, ids.inUse());
+        assertNull(ids.acquire("test"));
+
+        assertTrue(ids.release(held.get(10)));
+        assertFalse(ids.release(held.get(10)), "Double release should be rejected");
+        assertEquals(held.get(10).entityId(), ids.acquire("test").entityId());
+    }
+
+    @Test
+    void testLeakDetection() {
+        AtomicLong clock = new AtomicLong(1_000L);
+        VirtualEntityIds ids = new VirtualEntityIds(100, 64, clock::get);
+        VirtualEntityIds.Lease shortLived = ids.acquire("animation", 500L);
+        VirtualEntityIds.Lease unbounded = ids.acquire("hologram");
+
+        assertTrue(ids.leaks().isEmpty());
+
+        clock.addAndGet(1_000L);
+        List<VirtualEntityIds.Lease> leaks = ids.leaks();
+        assertEquals(1, leaks.size());
+        assertEquals(shortLived.entityId(), leaks.get(0).entityId());
+        assertEquals("animation", leaks.get(0).owner());
+
+        assertEquals(1, ids.reclaimLeaks(null));
+        assertEquals(1, ids.inUse());
+        assertFalse(ids.release(shortLived));
+        assertTrue(ids.release(unbounded));
+    }
+
+    @Test
+    void testStaleReleaseAfterReclaimKeepsNewHolder() {
+        AtomicLong clock = new AtomicLong(1_000L);
+        VirtualEntityIds ids = new VirtualEntityIds(100, 64, clock::get);
+        VirtualEntityIds.Lease leaked = ids.acquire("animation", 500L);
+        for (int i = 1; i < 64; i++) ids.acquire("filler");
+
+        clock.addAndGet(1_000L);
+        assertEquals(1, ids.reclaimLeaks(null));
+        VirtualEntityIds.Lease reissued = ids.acquire("hologram");
+        assertEquals(leaked.entityId(), reissued.entityId());
+
+        // The first holder's late release must not free the new holder's id.
+        assertFalse(ids.release(leaked));
+        assertEquals(64, ids.inUse());
+        assertNull(ids.acquire("test"));
+        assertTrue(ids.release(reissued));
+    }
+}
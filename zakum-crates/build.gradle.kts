@@ -12,6 +12,14 @@ dependencies {
   // Optional third-party integrations
   compileOnly(libs.vault.api)
   compileOnly(libs.luckperms.api)
+
+  testImplementation(libs.paper.api)
+  testImplementation(project(":zakum-api"))
+  testImplementation(libs.junit.jupiter.api)
+  // Embedded MySQL-mode database for the schema upgrade test
+  testImplementation(libs.h2)
+  testRuntimeOnly(libs.junit.jupiter.engine)
+  testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 tasks.processResources {
@@ -1,9 +1,12 @@
 package net.orbis.zakum.crates;
 
+import net.orbis.zakum.api.luckperms.LuckPermsService;
+import net.orbis.zakum.api.luckperms.PermissionGrant;
 import net.orbis.zakum.api.util.WeightedTable;
 import net.orbis.zakum.crates.model.CrateDef;
 import net.orbis.zakum.crates.model.RewardDef;
 import net.orbis.zakum.crates.util.ItemBuilder;
+import org.bukkit.Bukkit;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
@@ -18,6 +21,15 @@ public final class CrateLoader {
   private CrateLoader() {}
 
   public static Map<String, CrateDef> load(Plugin plugin) {
+    LuckPermsService luckPerms = Bukkit.getServicesManager().load(LuckPermsService.class);
+    return load(plugin, luckPerms != null && luckPerms.available());
+  }
+
+  /**
+   * @param luckPerms whether the LuckPerms bridge is installed; without it permission
+   *                  commands stay console commands instead of becoming grants
+   */
+  static Map<String, CrateDef> load(Plugin plugin, boolean luckPerms) {
     ConfigurationSection root = plugin.getConfig().getConfigurationSection("crates");
     if (root == null) return Map.of();
 
@@ -45,9 +57,22 @@ public final class CrateLoader {
         double w = doubleOf(raw.get("weight"), 1.0);
 
         List<String> msgs = listOfStrings(raw.get("messages"));
-        List<String> cmds = listOfStrings(raw.get("commands"));
         List<String> effects = listOfStrings(raw.get("effects"));
 
+        // Permission grants are typed once here; they leave the console command list
+        // so they are neither dispatched as commands nor re-parsed per opening.
+        List<String> cmds = new ArrayList<>();
+        List<PermissionGrant> perms = new ArrayList<>();
+        for (String cmd : listOfStrings(raw.get("commands"))) {
+          PermissionGrant grant = luckPerms ? permissionCommand(cmd) : null;
+          if (grant != null) perms.add(grant);
+          else cmds.add(cmd);
+        }
+        for (String spec : listOfStrings(raw.get("permissions"))) {
+          PermissionGrant grant = PermissionGrant.parse(spec);
+          if (grant != null) perms.add(grant);
+        }
+
         List<ItemStack> items = new ArrayList<>();
         Object itemsObj = raw.get("items");
         if (itemsObj instanceof List<?> l) {
@@ -60,7 +85,7 @@ public final class CrateLoader {
           }
         }
 
-        RewardDef r = new RewardDef(rewardId, rewardName, w, items, cmds, effects, msgs);
+        RewardDef r = new RewardDef(rewardId, rewardName, w, items, cmds, effects, msgs, perms);
         builder.add(r, w);
       }
 
@@ -77,6 +102,43 @@ public final class CrateLoader {
     return Map.copyOf(out);
   }
 
+  /**
+   * Recognises {@code lp user <player> permission set <node> [true] [duration]}
+   * and {@code permission|perm add <player> <node>}, where {@code <player>} is the
+   * opener placeholder ({@code %player%} or {@code {player}}). Grants aimed at a
+   * fixed player stay commands.
+   *
+   * @return null when the command is not a plain permission grant to the opener
+   */
+  static PermissionGrant permissionCommand(String command) {
+    if (command == null) return null;
+    String[] parts = command.trim().split("\\s+");
+    if (parts.length >= 6
+      && parts[0].equalsIgnoreCase("lp")
+      && parts[1].equalsIgnoreCase("user")
+      && isOpener(parts[2])
+      && parts[3].equalsIgnoreCase("permission")
+      && parts[4].equalsIgnoreCase("set")) {
+      int next = 6;
+      if (parts.length > next && (parts[next].equalsIgnoreCase("true") || parts[next].equalsIgnoreCase("false"))) {
+        if (parts[next].equalsIgnoreCase("false")) return null;
+        next++;
+      }
+      return new PermissionGrant(parts[5], parts.length > next ? PermissionGrant.parseDuration(parts[next]) : null);
+    }
+    if (parts.length >= 4
+      && (parts[0].equalsIgnoreCase("permission") || parts[0].equalsIgnoreCase("perm"))
+      && parts[1].equalsIgnoreCase("add")
+      && isOpener(parts[2])) {
+      return PermissionGrant.permanent(parts[3]);
+    }
+    return null;
+  }
+
+  private static boolean isOpener(String target) {
+    return target.equalsIgnoreCase("%player%") || target.equalsIgnoreCase("{player}");
+  }
+
   private static double doubleOf(Object o, double def) {
     try {
       if (o == null) return def;
@@ -1,8 +1,10 @@
 package net.orbis.zakum.crates;
 
-import net.orbis.zakum.api.item.ZakumItem;
 import net.orbis.zakum.crates.anim.CrateAnimatorV2;
+import net.orbis.zakum.crates.keys.KeySlotIndex;
 import net.orbis.zakum.crates.model.CrateDef;
+import net.orbis.zakum.crates.reward.RewardSystemManager;
+import net.orbis.zakum.crates.storage.VirtualKeyStore;
 import net.orbis.zakum.crates.util.ItemBuilder;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
@@ -11,9 +13,18 @@ import org.bukkit.inventory.ItemStack;
 public final class CrateService {
 
   private final CrateAnimatorV2 animator;
-
-  public CrateService(CrateAnimatorV2 animator) {
+  private final KeySlotIndex keys;
+  private final VirtualKeyStore virtualKeys;
+  private final RewardSystemManager rewards;
+
+  /**
+   * @param virtualKeys optional; when present, virtual keys cover what the inventory lacks
+   */
+  public CrateService(CrateAnimatorV2 animator, KeySlotIndex keys, VirtualKeyStore virtualKeys, RewardSystemManager rewards) {
     this.animator = animator;
+    this.keys = keys;
+    this.virtualKeys = virtualKeys;
+    this.rewards = rewards;
   }
 
   public void open(Player opener, CrateDef crate) {
@@ -22,21 +33,79 @@ public final class CrateService {
       return;
     }
 
-    ItemStack consumed = consumeKey(opener, crate);
+    ItemStack consumed = keys.takeOne(opener, crate.id());
+    boolean virtual = false;
     if (consumed == null) {
-      opener.sendMessage(ItemBuilder.color("&cYou need a key to open this crate."));
-      return;
+      virtual = virtualKeys != null && virtualKeys.tryReserve(opener.getUniqueId(), crate.id(), 1);
+      if (!virtual) {
+        opener.sendMessage(ItemBuilder.color("&cYou need a key to open this crate."));
+        return;
+      }
     }
 
     broadcastOpen(opener, crate);
 
     boolean ok = animator.begin(opener, crate, crate.animationType());
     if (!ok) {
-      opener.getInventory().addItem(consumed);
+      if (virtual) virtualKeys.addKeys(opener.getUniqueId(), crate.id(), 1);
+      else refund(opener, consumed);
       opener.sendMessage(ItemBuilder.color("&cCould not start crate animation."));
     }
   }
 
+  /**
+   * Consumes up to {@code requested} keys and rolls that many rewards in one
+   * pass: one key lookup, no animation, one summary notification. Keys of
+   * rolls that granted nothing are given back, virtual ones first.
+   *
+   * @return number of crates opened
+   */
+  public int openBatch(Player opener, CrateDef crate, int requested) {
+    if (requested <= 0) return 0;
+    if (animator.isOpening(opener.getUniqueId())) {
+      opener.sendMessage(ItemBuilder.color("&cYou're already opening a crate."));
+      return 0;
+    }
+
+    int fromItems = keys.take(opener, crate.id(), requested);
+    int fromVirtual = 0;
+    if (fromItems < requested && virtualKeys != null) {
+      fromVirtual = virtualKeys.takeLoaded(opener.getUniqueId(), crate.id(), requested - fromItems);
+    }
+    int opened = fromItems + fromVirtual;
+    if (opened == 0) {
+      opener.sendMessage(ItemBuilder.color("&cYou need a key to open this crate."));
+      return 0;
+    }
+
+    broadcastOpen(opener, crate);
+    int failed = rewards.grantBatch(opener, crate, opened).failed();
+    if (failed > 0) refundBatch(opener, crate, failed, fromVirtual);
+    return opened - failed;
+  }
+
+  private void refundBatch(Player opener, CrateDef crate, int failed, int fromVirtual) {
+    int virtual = Math.min(failed, fromVirtual);
+    if (virtual > 0) virtualKeys.addKeys(opener.getUniqueId(), crate.id(), virtual);
+
+    int items = failed - virtual;
+    ItemStack key = crate.keyItem();
+    while (items > 0 && key != null) {
+      ItemStack stack = key.clone();
+      stack.setAmount(Math.min(items, key.getMaxStackSize()));
+      items -= stack.getAmount();
+      refund(opener, stack);
+    }
+  }
+
+  private void refund(Player opener, ItemStack consumed) {
+    var leftover = opener.getInventory().addItem(consumed);
+    for (ItemStack it : leftover.values()) {
+      opener.getWorld().dropItemNaturally(opener.getLocation(), it);
+    }
+    keys.invalidate(opener.getUniqueId());
+  }
+
   private void broadcastOpen(Player opener, CrateDef crate) {
     opener.playSound(opener.getLocation(), Sound.BLOCK_NOTE_BLOCK_PLING, 1f, 1.2f);
 
@@ -61,35 +130,4 @@ public final class CrateService {
       ));
     }
   }
-
-  private ItemStack consumeKey(Player p, CrateDef crate) {
-    ItemStack key = crate.keyItem();
-    if (key == null || key.getType().isAir()) return null;
-
-    ItemStack k = key.clone();
-    k.setAmount(1);
-    String crateId = crate.id();
-
-    var inv = p.getInventory();
-    for (int i = 0; i < inv.getSize(); i++) {
-      ItemStack slot = inv.getItem(i);
-      if (slot == null) continue;
-      if (!matchesKey(slot, k, crateId)) continue;
-
-      int amt = slot.getAmount();
-      ItemStack consumed = slot.clone();
-      consumed.setAmount(1);
-      if (amt <= 1) inv.setItem(i, null);
-      else slot.setAmount(amt - 1);
-      return consumed;
-    }
-    return null;
-  }
-
-  private boolean matchesKey(ItemStack candidate, ItemStack template, String crateId) {
-    // Canonical path: key tagged with zakum:id.
-    if (ZakumItem.hasId(candidate, crateId)) return true;
-    // Backward compatibility: untagged legacy template checks.
-    return candidate.isSimilar(template);
-  }
 }
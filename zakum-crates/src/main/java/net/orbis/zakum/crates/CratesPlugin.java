@@ -5,15 +5,27 @@ import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.crates.anim.CrateAnimatorV2;
 import net.orbis.zakum.crates.command.CratesCommand;
 import net.orbis.zakum.crates.db.CrateBlockStore;
+import net.orbis.zakum.crates.db.CrateHistoryStore;
 import net.orbis.zakum.crates.db.CratesSchema;
 import net.orbis.zakum.crates.listener.CrateBlockListener;
+import net.orbis.zakum.crates.listener.CrateChunkListener;
 import net.orbis.zakum.crates.listener.CrateGuiListener;
 import net.orbis.zakum.api.vault.EconomyService;
+import net.orbis.zakum.crates.keys.KeySlotIndex;
 import net.orbis.zakum.crates.listener.CrateInteractListener;
+import net.orbis.zakum.crates.listener.KeySlotListener;
+import net.orbis.zakum.crates.listener.VirtualKeyListener;
+import net.orbis.zakum.crates.model.CrateDef;
+import net.orbis.zakum.crates.model.RewardDef;
+import net.orbis.zakum.crates.reward.RewardHistoryTracker;
 import net.orbis.zakum.crates.reward.RewardSystemManager;
+import net.orbis.zakum.crates.storage.VirtualKeyStore;
 import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.time.Duration;
+
 public final class CratesPlugin extends JavaPlugin {
 
   private ZakumApi zakum;
@@ -24,6 +36,9 @@ public final class CratesPlugin extends JavaPlugin {
   private CrateAnimatorV2 animator;
   private CrateService service;
   private RewardSystemManager rewardManager;
+  private CrateHistoryStore historyStore;
+  private VirtualKeyStore keyStore;
+  private KeySlotIndex keySlots;
 
   @Override
   public void onEnable() {
@@ -37,7 +52,7 @@ public final class CratesPlugin extends JavaPlugin {
     }
 
     if (zakum.database().state() == DatabaseState.ONLINE) {
-      CratesSchema.ensure(zakum.database().jdbc());
+      CratesSchema.ensure(zakum.database().jdbc(), getLogger());
     } else {
       getLogger().warning("Zakum DB is offline. Crate blocks will not persist.");
     }
@@ -47,21 +62,40 @@ public final class CratesPlugin extends JavaPlugin {
 
     // Initialize reward system
     EconomyService eco = Bukkit.getServicesManager().load(EconomyService.class);
-    this.rewardManager = new RewardSystemManager(this, eco);
+    if (zakum.database().state() == DatabaseState.ONLINE) {
+      int retentionDays = Math.max(0, getConfig().getInt("settings.storage.history.retention-days", 90));
+      this.historyStore = new CrateHistoryStore(zakum, this, Duration.ofDays(retentionDays), this::findReward, this::crateName);
+      this.historyStore.start();
+    }
+    this.rewardManager = new RewardSystemManager(this, eco, new RewardHistoryTracker(100, 1000, historyStore));
+
+    if (zakum.database().state() == DatabaseState.ONLINE) {
+      this.keyStore = new VirtualKeyStore(zakum, this);
+      this.keyStore.start();
+      getServer().getPluginManager().registerEvents(new VirtualKeyListener(keyStore), this);
+      // Reload case: players already online never saw pre-login.
+      for (Player online : getServer().getOnlinePlayers()) {
+        var id = online.getUniqueId();
+        zakum.async().execute(() -> keyStore.load(id));
+      }
+    }
 
     // Initialize new animation system
-    this.animator = new CrateAnimatorV2(this, rewardManager::executeReward);
+    this.animator = new CrateAnimatorV2(this, rewardManager::grantReward);
     this.animator.start();
 
-    this.service = new CrateService(animator);
+    this.keySlots = new KeySlotIndex(this, registry);
+    this.service = new CrateService(animator, keySlots, keyStore, rewardManager);
 
     store.loadAll();
 
     getServer().getPluginManager().registerEvents(new CrateBlockListener(store), this);
+    getServer().getPluginManager().registerEvents(new CrateChunkListener(store), this);
     getServer().getPluginManager().registerEvents(new CrateInteractListener(registry, store, service), this);
     getServer().getPluginManager().registerEvents(new CrateGuiListener(animator), this);
+    getServer().getPluginManager().registerEvents(new KeySlotListener(keySlots), this);
 
-    var cmd = new CratesCommand(this, registry, store, service);
+    var cmd = new CratesCommand(this, registry, store, service, keySlots);
     var c = getCommand("ocrates");
     if (c != null) c.setExecutor(cmd);
 
@@ -71,11 +105,30 @@ public final class CratesPlugin extends JavaPlugin {
   @Override
   public void onDisable() {
     if (animator != null) animator.shutdown();
+    if (historyStore != null) historyStore.stop();
+    if (keyStore != null) keyStore.stop();
     animator = null;
+    historyStore = null;
+    keyStore = null;
+    keySlots = null;
     service = null;
     rewardManager = null;
     store = null;
     registry = null;
     zakum = null;
   }
+
+  private String crateName(String crateId) {
+    CrateDef crate = registry == null ? null : registry.get(crateId);
+    return crate == null ? null : crate.name();
+  }
+
+  private RewardDef findReward(String crateId, String rewardId) {
+    CrateDef crate = registry == null ? null : registry.get(crateId);
+    if (crate == null) return null;
+    for (RewardDef reward : crate.rewards()) {
+      if (reward.id().equals(rewardId)) return reward;
+    }
+    return null;
+  }
 }
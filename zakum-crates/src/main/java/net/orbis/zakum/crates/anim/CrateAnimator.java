@@ -17,7 +17,10 @@ import org.bukkit.plugin.Plugin;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * Legacy belt-based crate animation runner.
@@ -60,7 +63,7 @@ public final class CrateAnimator {
   }
 
   private final Plugin plugin;
-  private final Random random = new Random();
+  private final Supplier<? extends RandomGenerator> random;
 
   private final ConcurrentHashMap<UUID, LegacyCrateSession> sessions = new ConcurrentHashMap<>();
 
@@ -72,7 +75,18 @@ public final class CrateAnimator {
   private final BiConsumer<Player, RewardDef> rewardExecutor;
 
   public CrateAnimator(Plugin plugin, int steps, int ticksPerStep, BiConsumer<Player, RewardDef> rewardExecutor) {
+    this(plugin, steps, ticksPerStep, rewardExecutor, ThreadLocalRandom::current);
+  }
+
+  public CrateAnimator(
+    Plugin plugin,
+    int steps,
+    int ticksPerStep,
+    BiConsumer<Player, RewardDef> rewardExecutor,
+    Supplier<? extends RandomGenerator> random
+  ) {
     this.plugin = plugin;
+    this.random = random;
     this.steps = Math.max(10, steps);
     this.ticksPerStep = Math.max(1, ticksPerStep);
     this.rewardExecutor = rewardExecutor;
@@ -104,7 +118,7 @@ public final class CrateAnimator {
     UUID id = opener.getUniqueId();
     if (sessions.containsKey(id)) return false;
 
-    RewardDef finalReward = crate.rewards().pick(random);
+    RewardDef finalReward = crate.rewards().pick(random.get());
 
     CrateGuiHolder holder = new CrateGuiHolder(id);
     Inventory inv = Bukkit.createInventory(holder, 27, ItemBuilder.color("&bCrate: &f" + crate.name()));
@@ -187,7 +201,7 @@ public final class CrateAnimator {
   }
 
   private ItemStack icon(WeightedTable<RewardDef> rewards) {
-    RewardDef r = rewards.pick(random);
+    RewardDef r = rewards.pick(random.get());
     if (r.items() != null && !r.items().isEmpty()) {
       ItemStack it = r.items().get(0);
       if (it != null && !it.getType().isAir()) return it.clone();
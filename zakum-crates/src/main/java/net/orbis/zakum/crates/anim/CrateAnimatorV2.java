@@ -15,7 +15,9 @@ import org.bukkit.plugin.Plugin;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiConsumer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * Manages crate opening animations with new modular animation system.
@@ -27,11 +29,29 @@ public final class CrateAnimatorV2 {
   private final Plugin plugin;
   private final ConcurrentHashMap<UUID, CrateSession> sessions = new ConcurrentHashMap<>();
   private int taskId = -1;
-  private final BiConsumer<Player, RewardDef> rewardExecutor;
+  private final RewardSink rewardExecutor;
+  private final Supplier<? extends RandomGenerator> random;
 
-  public CrateAnimatorV2(Plugin plugin, BiConsumer<Player, RewardDef> rewardExecutor) {
+  /**
+   * Receives the final reward of a finished opening, with the crate it came from.
+   */
+  @FunctionalInterface
+  public interface RewardSink {
+    void grant(Player player, CrateDef crate, RewardDef reward);
+  }
+
+  public CrateAnimatorV2(Plugin plugin, RewardSink rewardExecutor) {
+    this(plugin, rewardExecutor, ThreadLocalRandom::current);
+  }
+
+  public CrateAnimatorV2(
+    Plugin plugin,
+    RewardSink rewardExecutor,
+    Supplier<? extends RandomGenerator> random
+  ) {
     this.plugin = plugin;
     this.rewardExecutor = rewardExecutor;
+    this.random = random;
   }
 
   public void start() {
@@ -69,7 +89,7 @@ public final class CrateAnimatorV2 {
     if (sessions.containsKey(id)) return false;
 
     // Select final reward
-    RewardDef finalReward = crate.rewards().pick(new Random());
+    RewardDef finalReward = crate.rewards().pick(random.get());
 
     // Create animation
     CrateAnimation animation = AnimationFactory.create(animationType);
@@ -169,7 +189,7 @@ public final class CrateAnimatorV2 {
 
     // Grant reward if applicable
     if (grantReward && player != null) {
-      rewardExecutor.accept(player, session.finalReward);
+      rewardExecutor.grant(player, session.crate, session.finalReward);
     }
     
     // Cleanup animation
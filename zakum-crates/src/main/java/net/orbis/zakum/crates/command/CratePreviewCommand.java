@@ -154,7 +154,7 @@ public class CratePreviewCommand implements CommandExecutor, TabCompleter {
      */
     private CrateDef createDummyCrate() {
         // Create simple weighted table with dummy rewards
-        var rewardTable = new net.orbis.zakum.api.util.WeightedTable<RewardDef>();
+        var rewardTable = net.orbis.zakum.api.util.WeightedTable.<RewardDef>builder();
         
         for (int i = 0; i < 5; i++) {
             RewardDef reward = createDummyReward();
@@ -169,7 +169,7 @@ public class CratePreviewCommand implements CommandExecutor, TabCompleter {
             false,
             0,
             keyItem,
-            rewardTable
+            rewardTable.build()
         );
     }
     
@@ -4,7 +4,10 @@ import net.orbis.zakum.crates.CrateLoader;
 import net.orbis.zakum.crates.CrateRegistry;
 import net.orbis.zakum.crates.CrateService;
 import net.orbis.zakum.crates.db.CrateBlockStore;
+import net.orbis.zakum.crates.keys.KeySlotIndex;
+import net.orbis.zakum.api.util.SamplerSimulation;
 import net.orbis.zakum.crates.model.CrateDef;
+import net.orbis.zakum.crates.model.RewardDef;
 import net.orbis.zakum.crates.util.ItemBuilder;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -13,25 +16,36 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 public final class CratesCommand implements CommandExecutor {
 
+  private static final long MAX_SIMULATION_ROLLS = 100_000_000L;
+  private static final int MAX_BATCH_OPEN = 1_000;
+
   private final Plugin plugin;
   private final CrateBlockStore store;
   private final CrateService service;
   private final CrateRegistry registry;
+  private final KeySlotIndex keySlots;
 
-  public CratesCommand(Plugin plugin, CrateRegistry registry, CrateBlockStore store, CrateService service) {
+  public CratesCommand(Plugin plugin, CrateRegistry registry, CrateBlockStore store, CrateService service, KeySlotIndex keySlots) {
     this.plugin = plugin;
     this.registry = registry;
     this.store = store;
     this.service = service;
+    this.keySlots = keySlots;
   }
 
   @Override
   public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
     if (args.length == 0) {
       sender.sendMessage(ItemBuilder.color(
-        "&b/ocrates &7open <crateId> | setblock <crateId> | unsetblock | givekey <player> <crateId> [amt] | reload"));
+        "&b/ocrates &7open <crateId> [amount] | setblock <crateId> | unsetblock | givekey <player> <crateId> [amt] | simulate <crateId> <rolls> [seed] | reload"));
       return true;
     }
 
@@ -46,6 +60,7 @@ public final class CratesCommand implements CommandExecutor {
       plugin.reloadConfig();
       registry.set(CrateLoader.load(plugin));
       store.loadAll();
+      keySlots.invalidateAll();
 
       sender.sendMessage(ItemBuilder.color("&aReloaded crates. count=&f" + registry.size()));
       return true;
@@ -57,7 +72,7 @@ public final class CratesCommand implements CommandExecutor {
         return true;
       }
       if (args.length < 2) {
-        sender.sendMessage(ItemBuilder.color("&cUsage: /ocrates open <crateId>"));
+        sender.sendMessage(ItemBuilder.color("&cUsage: /ocrates open <crateId> [amount]"));
         return true;
       }
 
@@ -67,7 +82,27 @@ public final class CratesCommand implements CommandExecutor {
         return true;
       }
 
-      service.open(p, def);
+      if (args.length < 3) {
+        service.open(p, def);
+        return true;
+      }
+
+      int amount;
+      try {
+        amount = Integer.parseInt(args[2]);
+      } catch (NumberFormatException ex) {
+        p.sendMessage(ItemBuilder.color("&cAmount must be a number."));
+        return true;
+      }
+      if (amount < 1 || amount > MAX_BATCH_OPEN) {
+        p.sendMessage(ItemBuilder.color("&cAmount must be between 1 and " + MAX_BATCH_OPEN + "."));
+        return true;
+      }
+
+      int opened = service.openBatch(p, def, amount);
+      if (opened > 0 && opened < amount) {
+        p.sendMessage(ItemBuilder.color("&7Only had keys for &f" + opened + "&7 crate(s)."));
+      }
       return true;
     }
 
@@ -168,13 +203,83 @@ public final class CratesCommand implements CommandExecutor {
           target.getWorld().dropItemNaturally(target.getLocation(), it);
         }
       }
+      keySlots.invalidate(target.getUniqueId());
 
       sender.sendMessage(ItemBuilder.color(
         "&aGave &f" + amt + "&a key(s) for &f" + def.id() + "&a to &f" + target.getName() + "&a."));
       return true;
     }
 
+    if (sub.equals("simulate")) {
+      if (!sender.hasPermission("orbis.crates.admin")) {
+        sender.sendMessage(ItemBuilder.color("&cNo permission."));
+        return true;
+      }
+      if (args.length < 3) {
+        sender.sendMessage(ItemBuilder.color("&cUsage: /ocrates simulate <crateId> <rolls> [seed]"));
+        return true;
+      }
+
+      CrateDef def = registry.get(args[1]);
+      if (def == null) {
+        sender.sendMessage(ItemBuilder.color("&cUnknown crate."));
+        return true;
+      }
+
+      long rolls;
+      long seed;
+      try {
+        rolls = Long.parseLong(args[2]);
+        seed = args.length >= 4 ? Long.parseLong(args[3]) : ThreadLocalRandom.current().nextLong();
+      } catch (NumberFormatException ex) {
+        sender.sendMessage(ItemBuilder.color("&cRolls and seed must be numbers."));
+        return true;
+      }
+      if (rolls < 1 || rolls > MAX_SIMULATION_ROLLS) {
+        sender.sendMessage(ItemBuilder.color("&cRolls must be between 1 and 100,000,000."));
+        return true;
+      }
+
+      sender.sendMessage(ItemBuilder.color(
+        "&7Simulating &f" + def.id() + "&7 rolls=&f" + rolls + "&7 seed=&f" + seed));
+      AtomicInteger reportedQuarter = new AtomicInteger();
+      SamplerSimulation.run(def.rewards().sampler(), rolls, seed, ForkJoinPool.commonPool(), (completed, total) -> {
+        int quarter = (int) (completed * 4L / total);
+        int previous = reportedQuarter.get();
+        if (quarter > previous && quarter < 4 && reportedQuarter.compareAndSet(previous, quarter)) {
+          sender.sendMessage(ItemBuilder.color("&7Simulation &f" + (quarter * 25) + "%"));
+        }
+      }).whenComplete((result, error) -> {
+        if (error != null) {
+          sender.sendMessage(ItemBuilder.color("&cSimulation failed: " + error.getMessage()));
+          return;
+        }
+        sendSimulation(sender, def, result);
+      });
+      return true;
+    }
+
     sender.sendMessage(ItemBuilder.color("&cUnknown subcommand."));
     return true;
   }
+
+  private static void sendSimulation(CommandSender sender, CrateDef def, SamplerSimulation.Result<RewardDef> result) {
+    sender.sendMessage(ItemBuilder.color(
+      "&bSimulation &f" + def.id() + "&7 rolls=&f" + result.rolls() + "&7 seed=&f" + result.seed()
+        + "&7 (" + TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()) + "ms)"));
+    for (SamplerSimulation.Outcome<RewardDef> outcome : result.outcomes()) {
+      sender.sendMessage(ItemBuilder.color(
+        "&7" + outcome.item().id() + "=&f" + outcome.count()
+          + "&8 (" + percent(outcome.observedRate()) + "%, expected " + percent(outcome.expectedRate())
+          + "%, 95% " + percent(outcome.lower95()) + "-" + percent(outcome.upper95()) + "%)"
+          + (outcome.withinInterval() ? "" : " &c!")));
+    }
+    sender.sendMessage(ItemBuilder.color(
+      "&7items/roll mean=&f" + String.format(Locale.ROOT, "%.3f", result.mean(reward -> reward.items().size()))
+        + "&7 variance=&f" + String.format(Locale.ROOT, "%.3f", result.variance(reward -> reward.items().size()))));
+  }
+
+  private static String percent(double rate) {
+    return String.format(Locale.ROOT, "%.2f", rate * 100.0);
+  }
 }
@@ -4,60 +4,148 @@ import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.db.DatabaseState;
 import net.orbis.zakum.api.util.UuidBytes;
 import net.orbis.zakum.crates.util.BlockKey;
+import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.block.Block;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * In-memory lookup map with DB persistence when available.
+ * Crate block mappings partitioned by world and chunk, with DB persistence when available.
+ *
+ * Each chunk holds an immutable map that is swapped on write, so lookups take
+ * no lock: a miss is a world probe plus a chunk probe. Only chunks known to
+ * contain crate blocks are read from the DB, lazily as they load; unloaded
+ * chunks are dropped from memory while the DB is online.
  */
 public final class CrateBlockStore {
 
   private final ZakumApi zakum;
   private final String serverId;
 
-  // worldUuid -> (packedXYZ -> crateId)
-  private final Map<UUID, Map<Long, String>> blocks = new HashMap<>();
+  private final Map<UUID, WorldBlocks> worlds = new ConcurrentHashMap<>();
 
   public CrateBlockStore(ZakumApi zakum) {
     this.zakum = zakum;
     this.serverId = zakum.server().serverId();
   }
 
-  public synchronized void loadAll() {
-    blocks.clear();
+  /**
+   * Reads which chunks hold crate blocks and loads the ones already in memory.
+   */
+  public void loadAll() {
+    worlds.clear();
 
     if (zakum.database().state() != DatabaseState.ONLINE) return;
 
     var rows = zakum.database().jdbc().query(
-      "SELECT world_uuid, x, y, z, crate_id FROM orbis_crate_blocks WHERE server_id=?",
-      rs -> new Row(rs.getBytes(1), rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getString(5)),
+      "SELECT DISTINCT world_uuid, chunk_x, chunk_z FROM orbis_crate_blocks WHERE server_id=?",
+      rs -> new ChunkRow(rs.getBytes(1), rs.getInt(2), rs.getInt(3)),
       serverId
     );
 
-    for (Row r : rows) {
-      UUID world = UuidBytes.fromBytes(r.worldUuid);
-      blocks.computeIfAbsent(world, __ -> new HashMap<>())
-        .put(BlockKey.pack(r.x, r.y, r.z), r.crateId);
+    for (ChunkRow r : rows) {
+      UUID worldId = UuidBytes.fromBytes(r.worldUuid);
+      world(worldId).known.add(BlockKey.chunk(r.chunkX, r.chunkZ));
+    }
+
+    for (ChunkRow r : rows) {
+      UUID worldId = UuidBytes.fromBytes(r.worldUuid);
+      World world = Bukkit.getWorld(worldId);
+      if (world != null && world.isChunkLoaded(r.chunkX, r.chunkZ)) {
+        onChunkLoad(worldId, r.chunkX, r.chunkZ);
+      }
     }
   }
 
-  public synchronized String get(World world, int x, int y, int z) {
-    Map<Long, String> m = blocks.get(world.getUID());
-    if (m == null) return null;
-    return m.get(BlockKey.pack(x, y, z));
+  public String get(World world, int x, int y, int z) {
+    WorldBlocks w = worlds.get(world.getUID());
+    if (w == null) return null;
+    long chunkKey = BlockKey.chunkOf(x, z);
+    // A chunk whose load failed is retried by the next lookup in it.
+    if (!w.failed.isEmpty() && w.failed.contains(chunkKey)) onChunkLoad(world.getUID(), x >> 4, z >> 4);
+    Map<Long, String> chunk = w.chunks.get(chunkKey);
+    if (chunk == null) return null;
+    return chunk.get(BlockKey.pack(x, y, z));
+  }
+
+  /**
+   * Loads a chunk's crate blocks off-thread if the chunk is known to contain any.
+   *
+   * Install and unload both run inside a compute on the chunk key, so an
+   * unload that lands while the query runs always wins. A failed query leaves
+   * the chunk unloaded and marked for retry.
+   */
+  public void onChunkLoad(UUID worldId, int chunkX, int chunkZ) {
+    WorldBlocks w = worlds.get(worldId);
+    if (w == null) return;
+    long chunkKey = BlockKey.chunk(chunkX, chunkZ);
+    if (!w.known.contains(chunkKey) || w.loaded.contains(chunkKey)) return;
+    if (zakum.database().state() != DatabaseState.ONLINE) return;
+    if (w.pending.put(chunkKey, Boolean.TRUE) != null) return;
+    w.failed.remove(chunkKey);
+
+    zakum.async().execute(() -> {
+      List<Row> rows;
+      try {
+        rows = zakum.database().jdbc().query(
+          "SELECT x, y, z, crate_id FROM orbis_crate_blocks WHERE server_id=? AND world_uuid=? AND chunk_x=? AND chunk_z=?",
+          rs -> new Row(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getString(4)),
+          serverId, UuidBytes.toBytes(worldId), chunkX, chunkZ
+        );
+      } catch (RuntimeException ex) {
+        w.chunks.compute(chunkKey, (k, current) -> {
+          if (w.pending.remove(chunkKey) != null) w.failed.add(chunkKey);
+          return current;
+        });
+        zakum.plugin().getLogger().warning("Failed to load crate blocks of chunk " + chunkX + "," + chunkZ + ", will retry: " + ex.getMessage());
+        return;
+      }
+
+      w.chunks.compute(chunkKey, (k, current) -> {
+        // Unloaded while the query ran; nothing to install.
+        if (w.pending.remove(chunkKey) == null) return current;
+        Map<Long, String> loaded = new HashMap<>();
+        for (Row r : rows) loaded.put(BlockKey.pack(r.x, r.y, r.z), r.crateId);
+        // Writes that landed in memory first win over what was read.
+        if (current != null) loaded.putAll(current);
+        w.loaded.add(chunkKey);
+        return loaded.isEmpty() ? null : Map.copyOf(loaded);
+      });
+    });
+  }
+
+  public void onChunkUnload(UUID worldId, int chunkX, int chunkZ) {
+    WorldBlocks w = worlds.get(worldId);
+    if (w == null) return;
+    // Without the DB, memory is the only copy.
+    if (zakum.database().state() != DatabaseState.ONLINE) return;
+    long chunkKey = BlockKey.chunk(chunkX, chunkZ);
+    w.chunks.compute(chunkKey, (k, current) -> {
+      w.pending.remove(chunkKey);
+      w.failed.remove(chunkKey);
+      w.loaded.remove(chunkKey);
+      return null;
+    });
   }
 
   public void set(Block block, String crateId) {
     UUID world = block.getWorld().getUID();
+    long chunkKey = BlockKey.chunkOf(block.getX(), block.getZ());
     long k = BlockKey.pack(block.getX(), block.getY(), block.getZ());
 
-    synchronized (this) {
-      blocks.computeIfAbsent(world, __ -> new HashMap<>()).put(k, crateId);
-    }
+    WorldBlocks w = world(world);
+    w.known.add(chunkKey);
+    w.chunks.compute(chunkKey, (key, current) -> {
+      Map<Long, String> next = current == null ? new HashMap<>() : new HashMap<>(current);
+      next.put(k, crateId);
+      return Map.copyOf(next);
+    });
 
     if (zakum.database().state() != DatabaseState.ONLINE) return;
 
@@ -77,20 +165,24 @@ public final class CrateBlockStore {
 
   public String unset(World world, int x, int y, int z) {
     UUID worldId = world.getUID();
+    WorldBlocks w = worlds.get(worldId);
+    if (w == null) return null;
+
+    long chunkKey = BlockKey.chunkOf(x, z);
     long packed = BlockKey.pack(x, y, z);
-    String removed;
-
-    synchronized (this) {
-      Map<Long, String> m = blocks.get(worldId);
-      if (m == null) return null;
-      removed = m.remove(packed);
-      if (m.isEmpty()) {
-        blocks.remove(worldId);
-      }
-    }
+    String[] removed = new String[1];
+
+    w.chunks.computeIfPresent(chunkKey, (key, current) -> {
+      if (!current.containsKey(packed)) return current;
+      Map<Long, String> next = new HashMap<>(current);
+      removed[0] = next.remove(packed);
+      return next.isEmpty() ? null : Map.copyOf(next);
+    });
 
-    if (removed == null) return null;
-    if (zakum.database().state() != DatabaseState.ONLINE) return removed;
+    if (removed[0] == null) return null;
+    // Only a chunk read from the DB is known to be empty once memory is.
+    if (w.loaded.contains(chunkKey) && !w.chunks.containsKey(chunkKey)) w.known.remove(chunkKey);
+    if (zakum.database().state() != DatabaseState.ONLINE) return removed[0];
 
     zakum.async().execute(() -> zakum.database().jdbc().update(
       "DELETE FROM orbis_crate_blocks WHERE server_id=? AND world_uuid=? AND x=? AND y=? AND z=?",
@@ -99,8 +191,26 @@ public final class CrateBlockStore {
       x, y, z
     ));
 
-    return removed;
+    return removed[0];
   }
 
-  private record Row(byte[] worldUuid, int x, int y, int z, String crateId) {}
+  private WorldBlocks world(UUID worldId) {
+    return worlds.computeIfAbsent(worldId, __ -> new WorldBlocks());
+  }
+
+  private static final class WorldBlocks {
+    // chunkKey -> immutable (packedXYZ -> crateId)
+    final Map<Long, Map<Long, String>> chunks = new ConcurrentHashMap<>();
+    // Chunks with at least one crate block in the DB, loaded or not.
+    final Set<Long> known = ConcurrentHashMap.newKeySet();
+    final Map<Long, Boolean> pending = new ConcurrentHashMap<>();
+    // Chunks whose DB rows were merged into memory.
+    final Set<Long> loaded = ConcurrentHashMap.newKeySet();
+    // Chunks whose load query failed; retried on the next lookup or load.
+    final Set<Long> failed = ConcurrentHashMap.newKeySet();
+  }
+
+  private record ChunkRow(byte[] worldUuid, int chunkX, int chunkZ) {}
+
+  private record Row(int x, int y, int z, String crateId) {}
 }
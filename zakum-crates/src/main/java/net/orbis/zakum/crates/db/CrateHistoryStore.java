@@ -0,0 +1,261 @@
+package net.orbis.zakum.crates.db;
+
+import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.db.DatabaseState;
+import net.orbis.zakum.crates.model.RewardDef;
+import net.orbis.zakum.crates.reward.RewardHistory;
+import org.bukkit.plugin.Plugin;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Write-behind persistence for crate reward history.
+ *
+ * {@link #append} only enqueues; an async timer drains the queue into
+ * multi-row INSERTs, and a batch that fails goes back on the queue for the
+ * next run. Retention deletes run in bounded chunks so a large
+ * backlog never holds a long lock on the table.
+ */
+public final class CrateHistoryStore {
+
+  private static final int BATCH_ROWS = 500;
+  private static final int MAX_PENDING = 50_000;
+  private static final long FLUSH_TICKS = 20L;
+  private static final long PURGE_INITIAL_TICKS = 20L * 60L * 5L;
+  private static final long PURGE_PERIOD_TICKS = 20L * 60L * 60L;
+  private static final int PURGE_CHUNK = 5_000;
+  private static final int PURGE_MAX_CHUNKS = 20;
+
+  private final ZakumApi zakum;
+  private final Plugin plugin;
+  private final Duration retention;
+  private final BiFunction<String, String, RewardDef> rewards;
+  private final Function<String, String> crateNames;
+  private final ConcurrentLinkedQueue<RewardHistory> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicLong dropped = new AtomicLong();
+  private final Object flushLock = new Object();
+
+  private int flushTaskId = -1;
+  private int purgeTaskId = -1;
+
+  /**
+   * @param rewards resolves (crateId, rewardId) to a reward definition for rows read back from SQL; may return null
+   * @param crateNames resolves a crate id to its display name; may return null for crates no longer loaded
+   */
+  public CrateHistoryStore(
+    ZakumApi zakum,
+    Plugin plugin,
+    Duration retention,
+    BiFunction<String, String, RewardDef> rewards,
+    Function<String, String> crateNames
+  ) {
+    this.zakum = zakum;
+    this.plugin = plugin;
+    this.retention = retention;
+    this.rewards = rewards;
+    this.crateNames = crateNames;
+  }
+
+  public void start() {
+    if (flushTaskId != -1) return;
+    var scheduler = zakum.getScheduler();
+    flushTaskId = scheduler.runTaskTimerAsynchronously(plugin, this::flush, FLUSH_TICKS, FLUSH_TICKS);
+    if (!retention.isZero() && !retention.isNegative()) {
+      purgeTaskId = scheduler.runTaskTimerAsynchronously(plugin, this::purgeExpired, PURGE_INITIAL_TICKS, PURGE_PERIOD_TICKS);
+    }
+  }
+
+  /**
+   * Cancels the timers and writes whatever is still queued on the calling thread.
+   */
+  public void stop() {
+    if (flushTaskId != -1) zakum.getScheduler().cancelTask(flushTaskId);
+    if (purgeTaskId != -1) zakum.getScheduler().cancelTask(purgeTaskId);
+    flushTaskId = -1;
+    purgeTaskId = -1;
+    flush();
+  }
+
+  public void append(RewardHistory entry) {
+    if (entry == null) return;
+    enqueue(entry);
+  }
+
+  /**
+   * Queues a row unless {@link #MAX_PENDING} are already waiting; dropped rows are reported by the next flush.
+   */
+  private void enqueue(RewardHistory entry) {
+    if (pending.incrementAndGet() > MAX_PENDING) {
+      pending.decrementAndGet();
+      dropped.incrementAndGet();
+      return;
+    }
+    queue.offer(entry);
+  }
+
+  public int pending() {
+    return pending.get();
+  }
+
+  public void flush() {
+    long lost = dropped.getAndSet(0L);
+    if (lost > 0) {
+      plugin.getLogger().warning("Crate history queue full; dropped " + lost + " entries.");
+    }
+    if (queue.isEmpty() || zakum.database().state() != DatabaseState.ONLINE) return;
+
+    synchronized (flushLock) {
+      List<RewardHistory> batch = new ArrayList<>(BATCH_ROWS);
+      RewardHistory next;
+      while ((next = queue.poll()) != null) {
+        pending.decrementAndGet();
+        batch.add(next);
+        if (batch.size() == BATCH_ROWS) {
+          // On failure the rest stays queued for the next flush.
+          if (!insert(batch)) return;
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) insert(batch);
+    }
+  }
+
+  /**
+   * Position of the last row of a page in (opened_at, id) order; the next page
+   * starts strictly after it, so rows sharing a timestamp are neither skipped
+   * nor repeated.
+   */
+  public record Cursor(Instant openedAt, long id) {}
+
+  /**
+   * @param next cursor for the following page, or null when this was the last one
+   */
+  public record Page(List<RewardHistory> rows, Cursor next) {}
+
+  /**
+   * Newest-first rows for a player, starting after {@code after} (null for the newest).
+   *
+   * Queued rows are flushed first, so the page includes every recorded open.
+   */
+  public CompletableFuture<Page> page(UUID playerId, Cursor after, int limit) {
+    if (limit <= 0 || zakum.database().state() != DatabaseState.ONLINE) {
+      return CompletableFuture.completedFuture(new Page(List.of(), null));
+    }
+    CompletableFuture<Page> rows = CompletableFuture.supplyAsync(() -> {
+      flush();
+      String sql = after == null
+        ? "SELECT id, player_name, crate_id, reward_id, successful, opened_at FROM orbis_crates_history " +
+          "WHERE player_uuid=? ORDER BY opened_at DESC, id DESC LIMIT ?"
+        : "SELECT id, player_name, crate_id, reward_id, successful, opened_at FROM orbis_crates_history " +
+          "WHERE player_uuid=? AND (opened_at<? OR (opened_at=? AND id<?)) ORDER BY opened_at DESC, id DESC LIMIT ?";
+      Object[] params = after == null
+        ? new Object[] {playerId.toString(), limit}
+        : new Object[] {playerId.toString(), Timestamp.from(after.openedAt()), Timestamp.from(after.openedAt()), after.id(), limit};
+      List<Row> found = zakum.database().jdbc().query(
+        sql,
+        rs -> new Row(
+          new Cursor(rs.getTimestamp(6).toInstant(), rs.getLong(1)),
+          row(playerId, rs.getString(2), rs.getString(3), rs.getString(4), rs.getBoolean(5), rs.getTimestamp(6))
+        ),
+        params
+      );
+      List<RewardHistory> list = new ArrayList<>(found.size());
+      for (Row r : found) list.add(r.history());
+      return new Page(list, found.size() < limit ? null : found.get(found.size() - 1).position());
+    }, zakum.async());
+
+    // Rows keep the name used at open time; show the player's current one when Zakum knows it.
+    var names = zakum.names().orElse(null);
+    if (names == null) return rows;
+    return rows.thenCompose(page -> page.rows().isEmpty()
+      ? CompletableFuture.completedFuture(page)
+      : names.resolve(playerId)
+          .exceptionally(err -> null)
+          .thenApply(current -> current == null ? page : new Page(renamed(page.rows(), current), page.next())));
+  }
+
+  /**
+   * Deletes rows older than the retention window, at most PURGE_CHUNK per statement.
+   *
+   * @return rows deleted this run
+   */
+  public int purgeExpired() {
+    if (zakum.database().state() != DatabaseState.ONLINE) return 0;
+    Timestamp cutoff = Timestamp.from(zakum.clock().instant().minus(retention));
+    int total = 0;
+    for (int i = 0; i < PURGE_MAX_CHUNKS; i++) {
+      int deleted = zakum.database().jdbc().update(
+        "DELETE FROM orbis_crates_history WHERE opened_at<? ORDER BY opened_at LIMIT " + PURGE_CHUNK,
+        cutoff
+      );
+      total += deleted;
+      if (deleted < PURGE_CHUNK) break;
+    }
+    return total;
+  }
+
+  /**
+   * Writes one batch; a failed batch goes back on the queue, within the same bound as {@link #append}.
+   *
+   * @return whether the batch was written
+   */
+  private boolean insert(List<RewardHistory> batch) {
+    List<Object> params = new ArrayList<>(batch.size() * 6);
+    StringBuilder sb = new StringBuilder(128 + batch.size() * 14);
+    sb.append("INSERT INTO orbis_crates_history ")
+      .append("(player_uuid, player_name, crate_id, reward_id, successful, opened_at) VALUES ");
+
+    for (int i = 0; i < batch.size(); i++) {
+      if (i > 0) sb.append(',');
+      sb.append("(?,?,?,?,?,?)");
+      RewardHistory h = batch.get(i);
+      params.add(h.playerId().toString());
+      params.add(h.playerName());
+      params.add(h.crateId() == null ? "unknown" : h.crateId());
+      params.add(h.reward() == null ? "unknown" : h.reward().id());
+      params.add(h.successful());
+      params.add(Timestamp.from(h.timestamp()));
+    }
+
+    try {
+      zakum.database().jdbc().update(sb.toString(), params.toArray());
+      return true;
+    } catch (RuntimeException ex) {
+      plugin.getLogger().warning("Failed to persist " + batch.size() + " crate history rows, requeued: " + ex.getMessage());
+      for (RewardHistory h : batch) enqueue(h);
+      return false;
+    }
+  }
+
+  private static List<RewardHistory> renamed(List<RewardHistory> rows, String name) {
+    List<RewardHistory> out = new ArrayList<>(rows.size());
+    for (RewardHistory h : rows) {
+      out.add(name.equals(h.playerName()) ? h
+        : new RewardHistory(h.playerId(), name, h.crateId(), h.crateName(), h.reward(), h.timestamp(), h.successful()));
+    }
+    return out;
+  }
+
+  private record Row(Cursor position, RewardHistory history) {}
+
+  private RewardHistory row(UUID playerId, String playerName, String crateId, String rewardId, boolean successful, Timestamp openedAt) {
+    RewardDef reward = rewards == null ? null : rewards.apply(crateId, rewardId);
+    if (reward == null) {
+      reward = new RewardDef(rewardId, rewardId, 0.0, List.of(), List.of(), List.of(), List.of());
+    }
+    String crateName = crateNames == null ? null : crateNames.apply(crateId);
+    return new RewardHistory(playerId, playerName, crateId, crateName == null ? crateId : crateName, reward, openedAt.toInstant(), successful);
+  }
+}
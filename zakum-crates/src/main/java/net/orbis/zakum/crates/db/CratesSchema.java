@@ -1,12 +1,17 @@
 package net.orbis.zakum.crates.db;
 
 import net.orbis.zakum.api.db.Jdbc;
+import net.orbis.zakum.api.util.UuidBytes;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
 
 public final class CratesSchema {
 
   private CratesSchema() {}
 
-  public static void ensure(Jdbc jdbc) {
+  public static void ensure(Jdbc jdbc, Logger logger) {
     jdbc.update(
       "CREATE TABLE IF NOT EXISTS orbis_crate_blocks (" +
         "server_id VARCHAR(64) NOT NULL," +
@@ -16,9 +21,191 @@ public final class CratesSchema {
         "z INT NOT NULL," +
         "crate_id VARCHAR(64) NOT NULL," +
         "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+        "chunk_x INT AS (FLOOR(x / 16)) STORED," +
+        "chunk_z INT AS (FLOOR(z / 16)) STORED," +
         "PRIMARY KEY (server_id, world_uuid, x, y, z)," +
-        "KEY idx_crate (server_id, crate_id)" +
+        "KEY idx_crate (server_id, crate_id)," +
+        "KEY idx_chunk (server_id, world_uuid, chunk_x, chunk_z)" +
+      ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4"
+    );
+    upgradeBlocks(jdbc);
+
+    jdbc.update(
+      "CREATE TABLE IF NOT EXISTS orbis_crates_history (" +
+        "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+        "player_uuid VARCHAR(36) NOT NULL," +
+        "player_name VARCHAR(16) NULL," +
+        "crate_id VARCHAR(64) NOT NULL," +
+        "reward_id VARCHAR(64) NOT NULL," +
+        "successful BOOLEAN NOT NULL DEFAULT TRUE," +
+        "opened_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)," +
+        "KEY idx_history_player_time (player_uuid, opened_at)," +
+        "KEY idx_history_opened (opened_at)" +
+      ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4"
+    );
+    upgradeHistory(jdbc);
+
+    jdbc.update(
+      "CREATE TABLE IF NOT EXISTS orbis_crates_keys (" +
+        "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+        "server_id VARCHAR(64) NOT NULL," +
+        "player_uuid BINARY(16) NOT NULL," +
+        "crate_id VARCHAR(64) NOT NULL," +
+        "quantity INT NOT NULL DEFAULT 0," +
+        "version BIGINT NOT NULL DEFAULT 0," +
+        "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+        "UNIQUE KEY uk_player_crate (server_id, player_uuid, crate_id)" +
       ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4"
     );
+    upgradeKeys(jdbc, logger);
+  }
+
+  /**
+   * Converts a keys table from the original schema (VARCHAR(36) uuids, no
+   * version) in place. Rows are re-encoded through UuidBytes in id order so
+   * the stored bytes match what the key store writes.
+   *
+   * Every step checks the table first, so a run interrupted at any point
+   * finishes on the next start. Existing rows get version 1: a balance the
+   * key store has never loaded starts from version 0, so reconcile sees
+   * these rows as written elsewhere and folds their quantity in. Rows whose
+   * uuid does not parse are moved to {@code orbis_crates_keys_rejected}
+   * as they were, for an operator to fix by hand.
+   */
+  static void upgradeKeys(Jdbc jdbc, Logger logger) {
+    if (!hasColumn(jdbc, "orbis_crates_keys", "version")) {
+      jdbc.update("ALTER TABLE orbis_crates_keys ADD COLUMN version BIGINT NOT NULL DEFAULT 1 AFTER quantity");
+    }
+    // Metadata only; repeated so a run stopped right after the ADD still ends on 0.
+    jdbc.update("ALTER TABLE orbis_crates_keys ALTER COLUMN version SET DEFAULT 0");
+
+    String uuidType = columnType(jdbc, "orbis_crates_keys", "player_uuid");
+    if (uuidType != null && !"binary".equalsIgnoreCase(uuidType)) {
+      if (!hasColumn(jdbc, "orbis_crates_keys", "player_uuid_bin")) {
+        jdbc.update("ALTER TABLE orbis_crates_keys ADD COLUMN player_uuid_bin BINARY(16) NULL AFTER player_uuid");
+      }
+      jdbc.update(
+        "CREATE TABLE IF NOT EXISTS orbis_crates_keys_rejected (" +
+          "id BIGINT NOT NULL PRIMARY KEY," +
+          "server_id VARCHAR(64) NULL," +
+          "player_uuid VARCHAR(64) NOT NULL," +
+          "crate_id VARCHAR(64) NULL," +
+          "quantity INT NOT NULL," +
+          "rejected_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP" +
+        ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4"
+      );
+      long lastId = 0L;
+      int rejected = 0;
+      while (true) {
+        List<LegacyKeyRow> rows = jdbc.query(
+          "SELECT id, player_uuid FROM orbis_crates_keys WHERE id > ? AND player_uuid_bin IS NULL ORDER BY id LIMIT 1000",
+          rs -> new LegacyKeyRow(rs.getLong(1), rs.getString(2)),
+          lastId
+        );
+        if (rows.isEmpty()) break;
+        for (LegacyKeyRow row : rows) {
+          lastId = row.id();
+          UUID uuid;
+          try {
+            uuid = UUID.fromString(row.playerUuid());
+          } catch (IllegalArgumentException ex) {
+            // Copy first: a run stopped between the two statements copies again harmlessly.
+            jdbc.update(
+              "INSERT IGNORE INTO orbis_crates_keys_rejected (id, server_id, player_uuid, crate_id, quantity) " +
+                "SELECT id, server_id, player_uuid, crate_id, quantity FROM orbis_crates_keys WHERE id=?",
+              row.id());
+            jdbc.update("DELETE FROM orbis_crates_keys WHERE id=?", row.id());
+            logger.warning("Crate keys row " + row.id() + " has unparseable player uuid '" + row.playerUuid()
+              + "'; moved to orbis_crates_keys_rejected.");
+            rejected++;
+            continue;
+          }
+          jdbc.update("UPDATE orbis_crates_keys SET player_uuid_bin=? WHERE id=?", UuidBytes.toBytes(uuid), row.id());
+        }
+      }
+      if (rejected > 0) {
+        logger.warning("Moved " + rejected + " crate key rows with unparseable player uuids to orbis_crates_keys_rejected.");
+      }
+      if (hasConstraint(jdbc, "orbis_crates_keys", "uk_player_crate")) {
+        jdbc.update("ALTER TABLE orbis_crates_keys DROP INDEX uk_player_crate");
+      }
+      jdbc.update("ALTER TABLE orbis_crates_keys MODIFY COLUMN server_id VARCHAR(64) NOT NULL");
+      jdbc.update("ALTER TABLE orbis_crates_keys MODIFY COLUMN crate_id VARCHAR(64) NOT NULL");
+      jdbc.update("ALTER TABLE orbis_crates_keys DROP COLUMN player_uuid");
+    }
+    if (hasColumn(jdbc, "orbis_crates_keys", "player_uuid_bin")) {
+      jdbc.update("ALTER TABLE orbis_crates_keys CHANGE COLUMN player_uuid_bin player_uuid BINARY(16) NOT NULL");
+    }
+    if (!hasConstraint(jdbc, "orbis_crates_keys", "uk_player_crate")) {
+      jdbc.update("ALTER TABLE orbis_crates_keys ADD UNIQUE KEY uk_player_crate (server_id, player_uuid, crate_id)");
+    }
+  }
+
+  /**
+   * Adds the chunk columns the block store loads by. They are generated from
+   * x/z so existing writers need no change.
+   */
+  private static void upgradeBlocks(Jdbc jdbc) {
+    if (!hasColumn(jdbc, "orbis_crate_blocks", "chunk_x")) {
+      jdbc.update(
+        "ALTER TABLE orbis_crate_blocks " +
+          "ADD COLUMN chunk_x INT AS (FLOOR(x / 16)) STORED," +
+          "ADD COLUMN chunk_z INT AS (FLOOR(z / 16)) STORED"
+      );
+    }
+    if (!hasIndex(jdbc, "orbis_crate_blocks", "idx_chunk")) {
+      jdbc.update("ALTER TABLE orbis_crate_blocks ADD INDEX idx_chunk (server_id, world_uuid, chunk_x, chunk_z)");
+    }
+  }
+
+  /**
+   * Brings a table created from the original schema (no name/success columns,
+   * player-only index) up to the shape the history store writes.
+   */
+  private static void upgradeHistory(Jdbc jdbc) {
+    if (!hasColumn(jdbc, "orbis_crates_history", "player_name")) {
+      jdbc.update("ALTER TABLE orbis_crates_history ADD COLUMN player_name VARCHAR(16) NULL AFTER player_uuid");
+    }
+    if (!hasColumn(jdbc, "orbis_crates_history", "successful")) {
+      jdbc.update("ALTER TABLE orbis_crates_history ADD COLUMN successful BOOLEAN NOT NULL DEFAULT TRUE AFTER reward_id");
+    }
+    if (!hasIndex(jdbc, "orbis_crates_history", "idx_history_player_time")) {
+      jdbc.update("ALTER TABLE orbis_crates_history ADD INDEX idx_history_player_time (player_uuid, opened_at)");
+    }
+    if (!hasIndex(jdbc, "orbis_crates_history", "idx_history_opened")) {
+      jdbc.update("ALTER TABLE orbis_crates_history ADD INDEX idx_history_opened (opened_at)");
+    }
+  }
+
+  private static boolean hasColumn(Jdbc jdbc, String table, String column) {
+    return columnType(jdbc, table, column) != null;
+  }
+
+  private static String columnType(Jdbc jdbc, String table, String column) {
+    return jdbc.queryOne(
+      "SELECT data_type FROM information_schema.columns WHERE table_schema=SCHEMA() AND table_name=? AND column_name=?",
+      rs -> rs.getString(1),
+      table, column
+    );
+  }
+
+  private static boolean hasIndex(Jdbc jdbc, String table, String index) {
+    Integer n = jdbc.queryOne(
+      "SELECT COUNT(*) FROM information_schema.statistics WHERE table_schema=SCHEMA() AND table_name=? AND index_name=?",
+      rs -> rs.getInt(1),
+      table, index
+    );
+    return n != null && n > 0;
   }
+
+  private static boolean hasConstraint(Jdbc jdbc, String table, String constraint) {
+    Integer n = jdbc.queryOne(
+      "SELECT COUNT(*) FROM information_schema.table_constraints WHERE table_schema=SCHEMA() AND table_name=? AND constraint_name=?",
+      rs -> rs.getInt(1),
+      table, constraint
+    );
+    return n != null && n > 0;
+  }
+
+  private record LegacyKeyRow(long id, String playerUuid) {}
 }
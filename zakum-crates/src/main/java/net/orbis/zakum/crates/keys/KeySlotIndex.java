@@ -0,0 +1,209 @@
+package net.orbis.zakum.crates.keys;
+
+import net.orbis.zakum.api.item.ZakumItem;
+import net.orbis.zakum.crates.CrateRegistry;
+import net.orbis.zakum.crates.model.CrateDef;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player index of the inventory slots that hold crate keys.
+ * 
+ * Built by one full scan and kept until an inventory event invalidates it.
+ * Lookups only touch indexed slots and re-verify each through the read-only
+ * item PDC view (no ItemMeta copy). A stale slot or a shortfall triggers a
+ * single rescan, so keys added without an event (e.g. another plugin's
+ * addItem) are still found.
+ */
+public final class KeySlotIndex {
+    
+    private final CrateRegistry registry;
+    private final NamespacedKey legacyCrateIdKey;
+    private final Map<UUID, Slots> players = new ConcurrentHashMap<>();
+    
+    public KeySlotIndex(Plugin plugin, CrateRegistry registry) {
+        this.registry = registry;
+        this.legacyCrateIdKey = new NamespacedKey(plugin, "crate_id");
+    }
+    
+    public void invalidate(UUID playerId) {
+        Slots slots = players.get(playerId);
+        if (slots != null) slots.valid = false;
+    }
+    
+    /**
+     * Invalidate every player, e.g. after crate definitions were reloaded.
+     */
+    public void invalidateAll() {
+        for (Slots slots : players.values()) {
+            slots.valid = false;
+        }
+    }
+    
+    public void remove(UUID playerId) {
+        players.remove(playerId);
+    }
+    
+    /**
+     * Counts the player's keys for a crate. When the index holds fewer than
+     * {@code needed} the inventory is rescanned once, so keys added without
+     * an event still count.
+     */
+    public int count(Player player, String crateId, int needed) {
+        Slots slots = slots(player);
+        PlayerInventory inv = player.getInventory();
+        int count = countIndexed(inv, slots, crateId);
+        if (count >= 0 && (count >= needed || slots.fresh)) return count;
+        return rescan(player).count(inv, crateId);
+    }
+    
+    /**
+     * Sum over the indexed slots, or -1 when one of them no longer holds the key.
+     */
+    private int countIndexed(PlayerInventory inv, Slots slots, String crateId) {
+        BitSet indexed = slots.byCrate.get(crateId);
+        if (indexed == null) return 0;
+        
+        int count = 0;
+        for (int slot = indexed.nextSetBit(0); slot >= 0; slot = indexed.nextSetBit(slot + 1)) {
+            ItemStack item = inv.getItem(slot);
+            if (!crateId.equals(keyId(item))) return -1;
+            count += item.getAmount();
+        }
+        return count;
+    }
+    
+    /**
+     * Removes one key and returns a single-item copy of it, or null when the player has none.
+     */
+    public ItemStack takeOne(Player player, String crateId) {
+        ItemStack[] consumed = new ItemStack[1];
+        return take(player, crateId, 1, consumed) == 1 ? consumed[0] : null;
+    }
+    
+    /**
+     * Removes up to {@code amount} keys and returns how many were removed.
+     */
+    public int take(Player player, String crateId, int amount) {
+        return take(player, crateId, amount, null);
+    }
+    
+    private int take(Player player, String crateId, int amount, ItemStack[] firstTaken) {
+        if (amount <= 0) return 0;
+        Slots slots = slots(player);
+        boolean rescanned = slots.fresh;
+        int taken = 0;
+        
+        while (true) {
+            taken += takeIndexed(player.getInventory(), slots, crateId, amount - taken, firstTaken);
+            if (taken >= amount || rescanned) return taken;
+            slots = rescan(player);
+            rescanned = true;
+        }
+    }
+    
+    private int takeIndexed(PlayerInventory inv, Slots slots, String crateId, int amount, ItemStack[] firstTaken) {
+        BitSet indexed = slots.byCrate.get(crateId);
+        if (indexed == null) return 0;
+        
+        int taken = 0;
+        for (int slot = indexed.nextSetBit(0); slot >= 0 && taken < amount; slot = indexed.nextSetBit(slot + 1)) {
+            ItemStack item = inv.getItem(slot);
+            if (!crateId.equals(keyId(item))) {
+                indexed.clear(slot);
+                slots.valid = false;
+                continue;
+            }
+            
+            if (firstTaken != null && firstTaken[0] == null) {
+                ItemStack copy = item.clone();
+                copy.setAmount(1);
+                firstTaken[0] = copy;
+            }
+            
+            int use = Math.min(item.getAmount(), amount - taken);
+            taken += use;
+            if (use >= item.getAmount()) {
+                inv.setItem(slot, null);
+                indexed.clear(slot);
+            } else {
+                item.setAmount(item.getAmount() - use);
+            }
+        }
+        return taken;
+    }
+    
+    private Slots slots(Player player) {
+        Slots slots = players.get(player.getUniqueId());
+        if (slots != null && slots.valid) {
+            slots.fresh = false;
+            return slots;
+        }
+        return rescan(player);
+    }
+    
+    private Slots rescan(Player player) {
+        Slots slots = new Slots();
+        PlayerInventory inv = player.getInventory();
+        for (int slot = 0; slot < inv.getSize(); slot++) {
+            String id = keyId(inv.getItem(slot));
+            if (id != null) slots.byCrate.computeIfAbsent(id, k -> new BitSet(inv.getSize())).set(slot);
+        }
+        players.put(player.getUniqueId(), slots);
+        return slots;
+    }
+    
+    /**
+     * Crate id a key item belongs to, or null for anything else.
+     */
+    public String keyId(ItemStack item) {
+        if (item == null || item.getType().isAir() || !item.hasItemMeta()) return null;
+        
+        var pdc = item.getPersistentDataContainer();
+        String tagged = pdc.get(ZakumItem.KEY, PersistentDataType.STRING);
+        if (tagged == null) tagged = pdc.get(legacyCrateIdKey, PersistentDataType.STRING);
+        if (tagged != null) return canonical(tagged);
+        
+        // Untagged legacy keys: compare against each crate's template.
+        for (CrateDef crate : registry.snapshot().values()) {
+            ItemStack template = crate.keyItem();
+            if (template == null || template.getType() != item.getType()) continue;
+            if (item.isSimilar(template)) return crate.id();
+        }
+        return null;
+    }
+    
+    private String canonical(String id) {
+        if (registry.get(id) != null) return id;
+        String lower = id.toLowerCase(Locale.ROOT);
+        return registry.get(lower) != null ? lower : null;
+    }
+    
+    private static final class Slots {
+        final Map<String, BitSet> byCrate = new HashMap<>();
+        volatile boolean valid = true;
+        boolean fresh = true;
+        
+        int count(PlayerInventory inv, String crateId) {
+            BitSet indexed = byCrate.get(crateId);
+            if (indexed == null) return 0;
+            int count = 0;
+            for (int slot = indexed.nextSetBit(0); slot >= 0; slot = indexed.nextSetBit(slot + 1)) {
+                ItemStack item = inv.getItem(slot);
+                if (item != null) count += item.getAmount();
+            }
+            return count;
+        }
+    }
+}
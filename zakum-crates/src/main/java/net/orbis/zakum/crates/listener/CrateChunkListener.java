@@ -0,0 +1,33 @@
+package net.orbis.zakum.crates.listener;
+
+import net.orbis.zakum.crates.db.CrateBlockStore;
+import org.bukkit.Chunk;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+
+/**
+ * Loads crate block rows for chunks as they load and drops them as they unload.
+ */
+public final class CrateChunkListener implements Listener {
+
+  private final CrateBlockStore blocks;
+
+  public CrateChunkListener(CrateBlockStore blocks) {
+    this.blocks = blocks;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onLoad(ChunkLoadEvent event) {
+    Chunk chunk = event.getChunk();
+    blocks.onChunkLoad(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onUnload(ChunkUnloadEvent event) {
+    Chunk chunk = event.getChunk();
+    blocks.onChunkUnload(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+  }
+}
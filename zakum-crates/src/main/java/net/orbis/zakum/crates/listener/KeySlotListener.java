@@ -0,0 +1,68 @@
+package net.orbis.zakum.crates.listener;
+
+import net.orbis.zakum.crates.keys.KeySlotIndex;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityPickupItemEvent;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerDropItemEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+
+/**
+ * Invalidates the key-slot index whenever a player's inventory may have moved.
+ * Invalidation is a flag flip; the rescan happens lazily on the next lookup.
+ */
+public final class KeySlotListener implements Listener {
+
+  private final KeySlotIndex index;
+
+  public KeySlotListener(KeySlotIndex index) {
+    this.index = index;
+  }
+
+  @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+  public void onClick(InventoryClickEvent event) {
+    if (event.getWhoClicked() instanceof Player player) index.invalidate(player.getUniqueId());
+  }
+
+  @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+  public void onDrag(InventoryDragEvent event) {
+    if (event.getWhoClicked() instanceof Player player) index.invalidate(player.getUniqueId());
+  }
+
+  @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+  public void onPickup(EntityPickupItemEvent event) {
+    if (event.getEntity() instanceof Player player) index.invalidate(player.getUniqueId());
+  }
+
+  @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+  public void onDrop(PlayerDropItemEvent event) {
+    index.invalidate(event.getPlayer().getUniqueId());
+  }
+
+  @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+  public void onSwap(PlayerSwapHandItemsEvent event) {
+    index.invalidate(event.getPlayer().getUniqueId());
+  }
+
+  @EventHandler(ignoreCancelled = true, priority = EventPriority.MONITOR)
+  public void onPlace(BlockPlaceEvent event) {
+    index.invalidate(event.getPlayer().getUniqueId());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onDeath(PlayerDeathEvent event) {
+    index.invalidate(event.getEntity().getUniqueId());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onQuit(PlayerQuitEvent event) {
+    index.remove(event.getPlayer().getUniqueId());
+  }
+}
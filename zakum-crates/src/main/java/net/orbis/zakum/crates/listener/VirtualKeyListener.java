@@ -0,0 +1,39 @@
+package net.orbis.zakum.crates.listener;
+
+import net.orbis.zakum.crates.storage.VirtualKeyStore;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Loads virtual key balances off-thread before join and releases them on quit.
+ */
+public final class VirtualKeyListener implements Listener {
+
+  private final VirtualKeyStore keys;
+
+  public VirtualKeyListener(VirtualKeyStore keys) {
+    this.keys = keys;
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+    if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+    keys.load(event.getUniqueId());
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onLogin(PlayerLoginEvent event) {
+    if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+      keys.unload(event.getPlayer().getUniqueId());
+    }
+  }
+
+  @EventHandler(priority = EventPriority.MONITOR)
+  public void onQuit(PlayerQuitEvent event) {
+    keys.unload(event.getPlayer().getUniqueId());
+  }
+}
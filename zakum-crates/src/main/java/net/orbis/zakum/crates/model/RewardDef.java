@@ -1,5 +1,6 @@
 package net.orbis.zakum.crates.model;
 
+import net.orbis.zakum.api.luckperms.PermissionGrant;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
@@ -13,6 +14,7 @@ import java.util.List;
  * - Economy money
  * - Potion effects
  * - Messages
+ * - Permission grants (parsed at load, never re-parsed per opening)
  */
 public record RewardDef(
   String id,
@@ -21,8 +23,21 @@ public record RewardDef(
   List<ItemStack> items,
   List<String> commands,
   List<String> effects,
-  List<String> messages
+  List<String> messages,
+  List<PermissionGrant> permissions
 ) {
+  public RewardDef(
+    String id,
+    String name,
+    double weight,
+    List<ItemStack> items,
+    List<String> commands,
+    List<String> effects,
+    List<String> messages
+  ) {
+    this(id, name, weight, items, commands, effects, messages, List.of());
+  }
+
   public RewardDef {
     id = id == null ? "unknown" : id;
     name = name == null ? "Unknown Reward" : name;
@@ -31,5 +46,6 @@ public record RewardDef(
     commands = commands == null ? List.of() : List.copyOf(commands);
     effects = effects == null ? List.of() : List.copyOf(effects);
     messages = messages == null ? List.of() : List.copyOf(messages);
+    permissions = permissions == null ? List.of() : List.copyOf(permissions);
   }
 }
@@ -1,9 +1,12 @@
 package net.orbis.zakum.crates.reward;
 
+import net.orbis.zakum.api.util.Template;
+import net.orbis.zakum.api.util.TemplateContext;
 import net.orbis.zakum.crates.model.RewardDef;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
@@ -11,7 +14,8 @@ import java.util.Objects;
  * Executes command rewards.
  * 
  * Commands can be run as console or as the player.
- * Supports placeholder substitution for %player%, %uuid%, etc.
+ * Supports placeholder substitution for %player%, %uuid%, etc.; each command
+ * string is compiled once ({@link RewardTemplates}) and rendered per execution.
  */
 public class CommandRewardExecutor implements RewardExecutor {
     
@@ -25,30 +29,29 @@ public class CommandRewardExecutor implements RewardExecutor {
             return false;
         }
         
-        boolean allSucceeded = true;
-        
+        List<String> configured = new ArrayList<>(commands.size());
+        List<Template> templates = new ArrayList<>(commands.size());
         for (String command : commands) {
             if (command == null || command.isBlank()) {
                 continue;
             }
+            configured.add(command);
+            templates.add(RewardTemplates.compileCommand(command));
+        }
+        TemplateContext values = RewardTemplates.context(player, templates);
+        
+        boolean allSucceeded = true;
+        
+        for (int i = 0; i < templates.size(); i++) {
+            String processedCommand = templates.get(i).render(values).trim();
             
-            // Substitute placeholders
-            String processedCommand = substitutePlaceholders(command, player);
-            
-            // Check if should run as player or console
-            if (processedCommand.startsWith("[player]")) {
-                // Run as player
-                String playerCommand = processedCommand.substring("[player]".length()).trim();
-                boolean success = player.performCommand(playerCommand);
+            if (RewardTemplates.runsAsPlayer(configured.get(i))) {
+                boolean success = player.performCommand(processedCommand);
                 if (!success) {
                     allSucceeded = false;
                 }
             } else {
                 // Run as console (default)
-                if (processedCommand.startsWith("[console]")) {
-                    processedCommand = processedCommand.substring("[console]".length()).trim();
-                }
-                
                 try {
                     Bukkit.dispatchCommand(Bukkit.getConsoleSender(), processedCommand);
                 } catch (Exception e) {
@@ -71,17 +74,4 @@ public class CommandRewardExecutor implements RewardExecutor {
     public boolean canHandle(RewardDef reward) {
         return reward != null && reward.commands() != null && !reward.commands().isEmpty();
     }
-    
-    /**
-     * Substitute common placeholders in commands.
-     */
-    private String substitutePlaceholders(String command, Player player) {
-        return command
-            .replace("%player%", player.getName())
-            .replace("%uuid%", player.getUniqueId().toString())
-            .replace("%world%", player.getWorld().getName())
-            .replace("%x%", String.valueOf(player.getLocation().getBlockX()))
-            .replace("%y%", String.valueOf(player.getLocation().getBlockY()))
-            .replace("%z%", String.valueOf(player.getLocation().getBlockZ()));
-    }
 }
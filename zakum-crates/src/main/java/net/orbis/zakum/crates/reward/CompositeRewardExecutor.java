@@ -1,5 +1,7 @@
 package net.orbis.zakum.crates.reward;
 
+import net.orbis.zakum.api.util.Template;
+import net.orbis.zakum.api.util.TemplateContext;
 import net.orbis.zakum.crates.model.RewardDef;
 import org.bukkit.entity.Player;
 
@@ -52,14 +54,17 @@ public class CompositeRewardExecutor implements RewardExecutor {
         }
         
         // Send messages if any
-        if (reward.messages() != null) {
+        if (reward.messages() != null && !reward.messages().isEmpty()) {
+            List<Template> messages = new ArrayList<>(reward.messages().size());
             for (String message : reward.messages()) {
                 if (message != null && !message.isBlank()) {
-                    player.sendMessage(message
-                        .replace("%player%", player.getName())
-                        .replace('&', '§'));
+                    messages.add(RewardTemplates.compileColored(message));
                 }
             }
+            TemplateContext values = RewardTemplates.context(player, messages);
+            for (Template message : messages) {
+                player.sendMessage(message.render(values));
+            }
         }
         
         return anyExecuted;
@@ -6,15 +6,22 @@ import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Executes potion effect rewards.
  * 
  * Applies potion effects to the player with configurable duration and amplifier.
+ * Effect strings are parsed once and the resulting effects reused.
  */
 public class EffectRewardExecutor implements RewardExecutor {
     
+    // Keyed by the configured effect string; parsed once.
+    private final Map<String, Optional<PotionEffect>> parsed = new ConcurrentHashMap<>();
+    
     @Override
     public boolean execute(Player player, RewardDef reward) {
         Objects.requireNonNull(player, "player");
@@ -32,47 +39,49 @@ public class EffectRewardExecutor implements RewardExecutor {
                 continue;
             }
             
-            // Parse effect string: "EFFECT_TYPE:duration:amplifier"
-            // Example: "SPEED:600:1" = Speed II for 30 seconds (600 ticks)
-            String[] parts = effectString.split(":");
-            if (parts.length < 1) {
+            Optional<PotionEffect> effect = parsed.computeIfAbsent(effectString, EffectRewardExecutor::parse);
+            if (effect.isEmpty()) {
                 allApplied = false;
                 continue;
             }
-            
-            try {
-                PotionEffectType effectType = PotionEffectType.getByName(parts[0].toUpperCase());
-                if (effectType == null) {
-                    allApplied = false;
-                    continue;
-                }
-                
-                int duration = parts.length > 1 ? Integer.parseInt(parts[1]) : 600; // Default 30s
-                int amplifier = parts.length > 2 ? Integer.parseInt(parts[2]) : 0; // Default level 1
-                
-                // Validate values
-                duration = Math.max(1, Math.min(duration, 72000)); // 1 tick to 1 hour
-                amplifier = Math.max(0, Math.min(amplifier, 255)); // 0 to 255
-                
-                PotionEffect effect = new PotionEffect(
-                    effectType,
-                    duration,
-                    amplifier,
-                    false, // ambient
-                    true,  // particles
-                    true   // icon
-                );
-                
-                player.addPotionEffect(effect);
-                
-            } catch (NumberFormatException e) {
-                allApplied = false;
-            }
+            player.addPotionEffect(effect.get());
         }
         
         return allApplied;
     }
     
+    /**
+     * Parses "EFFECT_TYPE:duration:amplifier", e.g. "SPEED:600:1" = Speed II for 30 seconds.
+     */
+    private static Optional<PotionEffect> parse(String effectString) {
+        String[] parts = effectString.split(":");
+        try {
+            PotionEffectType effectType = PotionEffectType.getByName(parts[0].toUpperCase());
+            if (effectType == null) {
+                return Optional.empty();
+            }
+            
+            int duration = parts.length > 1 ? Integer.parseInt(parts[1]) : 600; // Default 30s
+            int amplifier = parts.length > 2 ? Integer.parseInt(parts[2]) : 0; // Default level 1
+            
+            // Validate values
+            duration = Math.max(1, Math.min(duration, 72000)); // 1 tick to 1 hour
+            amplifier = Math.max(0, Math.min(amplifier, 255)); // 0 to 255
+            
+            // PotionEffect is immutable, so one instance serves every grant.
+            return Optional.of(new PotionEffect(
+                effectType,
+                duration,
+                amplifier,
+                false, // ambient
+                true,  // particles
+                true   // icon
+            ));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+    
     @Override
     public String getType() {
         return "effect";
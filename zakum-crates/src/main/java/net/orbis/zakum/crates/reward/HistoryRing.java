@@ -0,0 +1,87 @@
+package net.orbis.zakum.crates.reward;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free ring of the most recent history entries.
+ *
+ * Writers claim a sequence number and publish into slot {@code seq & mask}
+ * unless a newer lap already owns it; readers walk backwards from the head and
+ * skip slots that were overwritten or not yet published, so a read never
+ * blocks a write.
+ */
+final class HistoryRing {
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong floor = new AtomicLong();
+    private final int mask;
+
+    HistoryRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    void add(RewardHistory entry) {
+        long seq = head.getAndIncrement();
+        int index = (int) (seq & mask);
+        Slot next = new Slot(seq, entry);
+        while (true) {
+            Slot current = slots.get(index);
+            // A stalled writer must not clobber a newer lap that already landed here.
+            if (current != null && current.seq > seq) return;
+            if (slots.compareAndSet(index, current, next)) return;
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        return (int) Math.min(head.get() - floor.get(), capacity());
+    }
+
+    /**
+     * Hides everything written so far; concurrent writes after the call stay visible.
+     */
+    void clear() {
+        floor.set(head.get());
+    }
+
+    /**
+     * Newest-first entries, skipping {@code offset} and returning at most {@code limit}.
+     */
+    List<RewardHistory> newest(int offset, int limit) {
+        List<RewardHistory> out = new ArrayList<>(Math.max(0, Math.min(limit, capacity())));
+        if (limit <= 0) return out;
+        long end = head.get();
+        long oldest = Math.max(floor.get(), end - capacity());
+        long skipped = 0;
+        for (long seq = end - 1; seq >= oldest && out.size() < limit; seq--) {
+            Slot slot = slots.get((int) (seq & mask));
+            if (slot == null || slot.seq != seq) continue;
+            if (skipped++ < offset) continue;
+            out.add(slot.entry);
+        }
+        return out;
+    }
+
+    /**
+     * Oldest-first copy of everything currently retained.
+     */
+    List<RewardHistory> snapshot() {
+        List<RewardHistory> newest = newest(0, capacity());
+        List<RewardHistory> out = new ArrayList<>(newest.size());
+        for (int i = newest.size() - 1; i >= 0; i--) {
+            out.add(newest.get(i));
+        }
+        return out;
+    }
+
+    private record Slot(long seq, RewardHistory entry) {}
+}
@@ -1,31 +1,44 @@
 package net.orbis.zakum.crates.reward;
 
+import net.orbis.zakum.crates.db.CrateHistoryStore;
+
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Tracks reward history for players.
  * 
- * Maintains an in-memory cache of recent reward grants.
- * Can be extended to persist to database.
+ * Recent grants live in fixed-capacity lock-free rings (one per player plus a
+ * global one). When a {@link CrateHistoryStore} is attached, every grant is
+ * also queued for write-behind persistence and the full history can be paged
+ * from SQL.
  */
 public class RewardHistoryTracker {
     
-    private final Map<UUID, List<RewardHistory>> historyByPlayer = new ConcurrentHashMap<>();
-    private final List<RewardHistory> globalHistory = Collections.synchronizedList(new ArrayList<>());
+    private final Map<UUID, HistoryRing> historyByPlayer = new ConcurrentHashMap<>();
+    private final HistoryRing globalHistory;
     private final int maxHistoryPerPlayer;
-    private final int maxGlobalHistory;
+    private final CrateHistoryStore store;
     
     public RewardHistoryTracker() {
         this(100, 1000);
     }
     
     public RewardHistoryTracker(int maxHistoryPerPlayer, int maxGlobalHistory) {
-        this.maxHistoryPerPlayer = maxHistoryPerPlayer;
-        this.maxGlobalHistory = maxGlobalHistory;
+        this(maxHistoryPerPlayer, maxGlobalHistory, null);
+    }
+    
+    /**
+     * @param store optional persistence; null keeps history in memory only
+     */
+    public RewardHistoryTracker(int maxHistoryPerPlayer, int maxGlobalHistory, CrateHistoryStore store) {
+        this.maxHistoryPerPlayer = Math.max(1, maxHistoryPerPlayer);
+        this.globalHistory = new HistoryRing(Math.max(1, maxGlobalHistory));
+        this.store = store;
     }
     
     /**
@@ -34,38 +47,54 @@ public class RewardHistoryTracker {
     public void record(RewardHistory history) {
         if (history == null) return;
         
-        // Add to player history
-        historyByPlayer.computeIfAbsent(history.playerId(), k -> 
-            Collections.synchronizedList(new ArrayList<>())
-        ).add(history);
-        
-        // Trim player history if needed
-        List<RewardHistory> playerHist = historyByPlayer.get(history.playerId());
-        if (playerHist.size() > maxHistoryPerPlayer) {
-            playerHist.remove(0);
-        }
-        
-        // Add to global history
+        historyByPlayer.computeIfAbsent(history.playerId(), k -> new HistoryRing(maxHistoryPerPlayer)).add(history);
         globalHistory.add(history);
         
-        // Trim global history if needed
-        if (globalHistory.size() > maxGlobalHistory) {
-            globalHistory.remove(0);
+        if (store != null) {
+            store.append(history);
+        }
+    }
+    
+    /**
+     * Page through a player's recent history, newest first, from the in-memory ring.
+     * 
+     * Pages past the ring are empty; older history is read with
+     * {@link #getPersistedHistoryPage}.
+     */
+    public CompletableFuture<List<RewardHistory>> getPlayerHistoryPage(UUID playerId, int page, int pageSize) {
+        if (pageSize <= 0 || page < 0) return CompletableFuture.completedFuture(List.of());
+        HistoryRing ring = historyByPlayer.get(playerId);
+        int offset = (int) Math.min(Integer.MAX_VALUE, (long) page * pageSize);
+        return CompletableFuture.completedFuture(ring == null ? List.of() : ring.newest(offset, pageSize));
+    }
+    
+    /**
+     * Page through a player's full persisted history, newest first.
+     * 
+     * Keyset-paginated on (opened_at, id): pass the previous page's
+     * {@link CrateHistoryStore.Page#next()} (null for the first page). Without a
+     * store the history is in memory only and this returns an empty page.
+     */
+    public CompletableFuture<CrateHistoryStore.Page> getPersistedHistoryPage(UUID playerId, CrateHistoryStore.Cursor after, int pageSize) {
+        if (store == null || pageSize <= 0) {
+            return CompletableFuture.completedFuture(new CrateHistoryStore.Page(List.of(), null));
         }
+        return store.page(playerId, after, pageSize);
     }
     
     /**
      * Get reward history for a specific player.
      */
     public List<RewardHistory> getPlayerHistory(UUID playerId) {
-        return new ArrayList<>(historyByPlayer.getOrDefault(playerId, List.of()));
+        HistoryRing ring = historyByPlayer.get(playerId);
+        return ring == null ? new ArrayList<>() : ring.snapshot();
     }
     
     /**
      * Get recent reward history for a player.
      */
     public List<RewardHistory> getRecentPlayerHistory(UUID playerId, int limit) {
-        List<RewardHistory> history = historyByPlayer.getOrDefault(playerId, List.of());
+        List<RewardHistory> history = getPlayerHistory(playerId);
         int start = Math.max(0, history.size() - limit);
         return new ArrayList<>(history.subList(start, history.size()));
     }
@@ -74,7 +103,7 @@ public class RewardHistoryTracker {
      * Get rewards from a specific crate for a player.
      */
     public List<RewardHistory> getPlayerCrateHistory(UUID playerId, String crateId) {
-        return historyByPlayer.getOrDefault(playerId, List.of())
+        return getPlayerHistory(playerId)
             .stream()
             .filter(h -> h.crateId() != null && h.crateId().equals(crateId))
             .collect(Collectors.toList());
@@ -84,22 +113,23 @@ public class RewardHistoryTracker {
      * Get global reward history.
      */
     public List<RewardHistory> getGlobalHistory() {
-        return new ArrayList<>(globalHistory);
+        return globalHistory.snapshot();
     }
     
     /**
      * Get recent global history.
      */
     public List<RewardHistory> getRecentGlobalHistory(int limit) {
-        int start = Math.max(0, globalHistory.size() - limit);
-        return new ArrayList<>(globalHistory.subList(start, globalHistory.size()));
+        List<RewardHistory> newest = globalHistory.newest(0, limit);
+        Collections.reverse(newest);
+        return newest;
     }
     
     /**
      * Get rewards granted within a time period.
      */
     public List<RewardHistory> getHistorySince(Instant since) {
-        return globalHistory.stream()
+        return globalHistory.snapshot().stream()
             .filter(h -> h.timestamp().isAfter(since))
             .collect(Collectors.toList());
     }
@@ -116,14 +146,15 @@ public class RewardHistoryTracker {
      * Count rewards for a player.
      */
     public int getPlayerRewardCount(UUID playerId) {
-        return historyByPlayer.getOrDefault(playerId, List.of()).size();
+        HistoryRing ring = historyByPlayer.get(playerId);
+        return ring == null ? 0 : ring.size();
     }
     
     /**
      * Count successful rewards for a player.
      */
     public int getPlayerSuccessCount(UUID playerId) {
-        return (int) historyByPlayer.getOrDefault(playerId, List.of())
+        return (int) getPlayerHistory(playerId)
             .stream()
             .filter(RewardHistory::successful)
             .count();
@@ -133,7 +164,7 @@ public class RewardHistoryTracker {
      * Get statistics for a player.
      */
     public PlayerStats getPlayerStats(UUID playerId) {
-        List<RewardHistory> history = historyByPlayer.getOrDefault(playerId, List.of());
+        List<RewardHistory> history = getPlayerHistory(playerId);
         
         int total = history.size();
         int successful = (int) history.stream().filter(RewardHistory::successful).count();
@@ -150,14 +181,14 @@ public class RewardHistoryTracker {
     }
     
     /**
-     * Clear history for a player.
+     * Drop a player's in-memory history. Persisted rows are left to retention purging.
      */
     public void clearPlayerHistory(UUID playerId) {
         historyByPlayer.remove(playerId);
     }
     
     /**
-     * Clear all history.
+     * Clear all in-memory history.
      */
     public void clearAll() {
         historyByPlayer.clear();
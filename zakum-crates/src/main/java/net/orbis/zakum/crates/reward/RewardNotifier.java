@@ -2,12 +2,17 @@ package net.orbis.zakum.crates.reward;
 
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.title.Title;
+import net.orbis.zakum.api.util.Template;
+import net.orbis.zakum.api.util.TemplateContext;
 import net.orbis.zakum.crates.model.RewardDef;
 import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -56,11 +61,7 @@ public class RewardNotifier {
         player.sendMessage("§8§m                                    ");
         
         // Custom messages from reward
-        if (reward.messages() != null) {
-            for (String message : reward.messages()) {
-                player.sendMessage(message.replace('&', '§'));
-            }
-        }
+        sendMessages(player, reward);
         
         // Sound effect
         player.playSound(player.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 1.0f, 1.0f);
@@ -81,11 +82,7 @@ public class RewardNotifier {
     private void notifyChat(Player player, RewardDef reward) {
         player.sendMessage("§6§l[!] §eYou received: §f" + reward.name());
         
-        if (reward.messages() != null) {
-            for (String message : reward.messages()) {
-                player.sendMessage(message.replace('&', '§'));
-            }
-        }
+        sendMessages(player, reward);
     }
     
     /**
@@ -96,6 +93,23 @@ public class RewardNotifier {
         player.playSound(player.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 0.5f, 1.2f);
     }
     
+    /**
+     * Sends the reward's configured messages, compiled once with colors applied.
+     */
+    private void sendMessages(Player player, RewardDef reward) {
+        List<String> raw = reward.messages();
+        if (raw == null || raw.isEmpty()) return;
+
+        List<Template> messages = new ArrayList<>(raw.size());
+        for (String message : raw) {
+            if (message != null) messages.add(RewardTemplates.compileColored(message));
+        }
+        TemplateContext values = RewardTemplates.context(player, messages);
+        for (Template message : messages) {
+            player.sendMessage(message.render(values));
+        }
+    }
+    
     /**
      * Send title to player.
      */
@@ -117,6 +131,27 @@ public class RewardNotifier {
         player.showTitle(adventureTitle);
     }
     
+    /**
+     * Single summary for a batch open: one title, one sound, one chat line per distinct reward.
+     */
+    public void notifyBatch(Player player, String crateName, Map<RewardDef, Integer> granted) {
+        Objects.requireNonNull(player, "player");
+        if (granted == null || granted.isEmpty()) return;
+        
+        int total = 0;
+        for (int count : granted.values()) total += count;
+        
+        sendTitle(player, "§6§lREWARDS!", "§e" + total + "x §f" + crateName.replace('&', '§'));
+        player.sendMessage("§8§m                                    ");
+        player.sendMessage("§6§l   OPENED " + total + " CRATES");
+        player.sendMessage("");
+        for (Map.Entry<RewardDef, Integer> entry : granted.entrySet()) {
+            player.sendMessage("  §7" + entry.getValue() + "x §e" + entry.getKey().name());
+        }
+        player.sendMessage("§8§m                                    ");
+        player.playSound(player.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 0.8f, 1.2f);
+    }
+    
     /**
      * Broadcast reward to all players.
      */
@@ -1,23 +1,84 @@
 package net.orbis.zakum.crates.reward;
 
+import net.orbis.zakum.api.util.AliasSampler;
+import net.orbis.zakum.api.util.WeightedTable;
 import net.orbis.zakum.crates.model.RewardDef;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
 
 /**
  * Probability engine for selecting rewards based on weights.
  * 
  * Implements weighted random selection with fair distribution.
+ * Crate tables are sampled in O(1) through their prebuilt alias table.
  */
 public class RewardProbabilityEngine {
     
-    private final Random random = new Random();
+    private final Supplier<? extends RandomGenerator> random;
+    
+    public RewardProbabilityEngine() {
+        this(ThreadLocalRandom::current);
+    }
+    
+    /**
+     * @param random Per-thread generator source; inject a seeded one for reproducible tests
+     */
+    public RewardProbabilityEngine(Supplier<? extends RandomGenerator> random) {
+        this.random = random;
+    }
+    
+    /**
+     * Select a reward from a crate's prebuilt table.
+     * 
+     * @param rewards Weighted reward table
+     * @return Selected reward, or null if the table is missing
+     */
+    public RewardDef selectReward(WeightedTable<RewardDef> rewards) {
+        if (rewards == null) {
+            return null;
+        }
+        return rewards.pick(random.get());
+    }
+    
+    /**
+     * Roll {@code count} rewards from a crate's prebuilt table in one pass.
+     * 
+     * @param rewards Weighted reward table
+     * @param count Number of rolls
+     * @return Times each reward was rolled, in table order; empty if the table is missing
+     */
+    public Map<RewardDef, Integer> rollBatch(WeightedTable<RewardDef> rewards, int count) {
+        Map<RewardDef, Integer> rolled = new LinkedHashMap<>();
+        if (rewards == null || count <= 0) {
+            return rolled;
+        }
+        AliasSampler<RewardDef> sampler = rewards.sampler();
+        RandomGenerator random = this.random.get();
+        
+        int[] counts = new int[sampler.size()];
+        for (int i = 0; i < count; i++) {
+            counts[sampler.sampleIndex(random)]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                rolled.merge(sampler.items().get(i), counts[i], Integer::sum);
+            }
+        }
+        return rolled;
+    }
     
     /**
      * Select a reward from a list based on weights.
      * 
+     * Builds an alias table for the call; crates should sample their
+     * prebuilt {@link WeightedTable} instead.
+     * 
      * @param rewards List of rewards to choose from
      * @return Selected reward, or null if list is empty
      */
@@ -25,32 +86,19 @@ public class RewardProbabilityEngine {
         if (rewards == null || rewards.isEmpty()) {
             return null;
         }
+        RandomGenerator random = this.random.get();
         
-        // Calculate total weight
-        double totalWeight = 0.0;
+        AliasSampler.Builder<RewardDef> sampler = AliasSampler.builder();
+        boolean weighted = false;
         for (RewardDef reward : rewards) {
-            totalWeight += reward.weight();
+            sampler.add(reward, reward.weight());
+            weighted |= reward.weight() > 0;
         }
-        
-        if (totalWeight <= 0) {
-            // All weights are 0 or negative, select randomly
+        if (!weighted) {
+            // All weights are 0, select randomly
             return rewards.get(random.nextInt(rewards.size()));
         }
-        
-        // Generate random value between 0 and totalWeight
-        double randomValue = random.nextDouble() * totalWeight;
-        
-        // Find the reward corresponding to this value
-        double cumulative = 0.0;
-        for (RewardDef reward : rewards) {
-            cumulative += reward.weight();
-            if (randomValue <= cumulative) {
-                return reward;
-            }
-        }
-        
-        // Fallback (should not reach here)
-        return rewards.get(rewards.size() - 1);
+        return sampler.build().sample(random);
     }
     
     /**
@@ -168,7 +216,8 @@ public class RewardProbabilityEngine {
                 reward.items(),
                 reward.commands(),
                 reward.effects(),
-                reward.messages()
+                reward.messages(),
+                reward.permissions()
             );
             normalized.add(normalizedReward);
         }
@@ -7,7 +7,9 @@ import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -24,10 +26,14 @@ public class RewardSystemManager {
     private final RewardNotifier notifier;
     
     public RewardSystemManager(Plugin plugin, EconomyService economyService) {
+        this(plugin, economyService, new RewardHistoryTracker());
+    }
+    
+    public RewardSystemManager(Plugin plugin, EconomyService economyService, RewardHistoryTracker historyTracker) {
         this.plugin = plugin;
         this.executor = new CompositeRewardExecutor();
         this.probabilityEngine = new RewardProbabilityEngine();
-        this.historyTracker = new RewardHistoryTracker();
+        this.historyTracker = Objects.requireNonNull(historyTracker, "historyTracker");
         this.notifier = new RewardNotifier();
         
         // Register all executor types
@@ -51,32 +57,6 @@ public class RewardSystemManager {
         executor.register(new PermissionRewardExecutor());
     }
     
-    /**
-     * Execute reward for a player (used by animator).
-     * This method is called when animation completes.
-     */
-    public void executeReward(Player player, RewardDef reward) {
-        Objects.requireNonNull(player, "player");
-        Objects.requireNonNull(reward, "reward");
-        
-        // Execute reward
-        boolean success = executor.execute(player, reward);
-        
-        // Record history
-        RewardHistory history = success 
-            ? RewardHistory.success(player.getUniqueId(), player.getName(), 
-                                   "unknown", "Unknown Crate", reward)
-            : RewardHistory.failure(player.getUniqueId(), player.getName(), 
-                                   "unknown", "Unknown Crate", reward);
-        
-        historyTracker.record(history);
-        
-        // Notify player
-        if (success) {
-            notifier.notifyReward(player, reward, RewardNotifier.NotificationStyle.FULL);
-        }
-    }
-    
     /**
      * Select and grant a reward to a player.
      * 
@@ -89,10 +69,7 @@ public class RewardSystemManager {
         Objects.requireNonNull(crate, "crate");
         
         // Select reward based on probability
-        List<RewardDef> rewards = new ArrayList<>();
-        crate.rewards().forEach(rewards::add);
-        
-        RewardDef selectedReward = probabilityEngine.selectReward(rewards);
+        RewardDef selectedReward = probabilityEngine.selectReward(crate.rewards());
         
         if (selectedReward == null) {
             player.sendMessage("§cNo reward available!");
@@ -106,7 +83,7 @@ public class RewardSystemManager {
     }
     
     /**
-     * Grant a specific reward to a player.
+     * Grant a specific reward to a player (also the animator's completion callback).
      */
     public void grantReward(Player player, CrateDef crate, RewardDef reward) {
         Objects.requireNonNull(player, "player");
@@ -141,6 +118,57 @@ public class RewardSystemManager {
         }
     }
     
+    /**
+     * Roll and grant {@code count} rewards in one pass, with a single summary
+     * notification instead of one animation and notification per key.
+     * 
+     * All rolls are drawn from the crate's alias table before anything is
+     * granted; a roll whose reward fails to execute counts as failed so the
+     * caller can hand its key back.
+     * 
+     * @return rewards granted with their counts, and the number of failed rolls
+     */
+    public BatchResult grantBatch(Player player, CrateDef crate, int count) {
+        Objects.requireNonNull(player, "player");
+        Objects.requireNonNull(crate, "crate");
+        
+        Map<RewardDef, Integer> rolled = probabilityEngine.rollBatch(crate.rewards(), count);
+        Map<RewardDef, Integer> granted = new LinkedHashMap<>();
+        int failed = Math.max(0, count);
+        for (Map.Entry<RewardDef, Integer> entry : rolled.entrySet()) {
+            RewardDef reward = entry.getKey();
+            for (int i = 0; i < entry.getValue(); i++) {
+                boolean success = executor.execute(player, reward);
+                historyTracker.record(success
+                    ? RewardHistory.success(player.getUniqueId(), player.getName(), crate.id(), crate.name(), reward)
+                    : RewardHistory.failure(player.getUniqueId(), player.getName(), crate.id(), crate.name(), reward));
+                if (success) {
+                    granted.merge(reward, 1, Integer::sum);
+                    failed--;
+                }
+            }
+        }
+        
+        notifier.notifyBatch(player, crate.name(), granted);
+        if (!granted.isEmpty()) {
+            double total = crate.rewards().sampler().totalWeight();
+            for (RewardDef reward : granted.keySet()) {
+                if (reward.weight() * 100.0 / total < 5.0) {
+                    notifier.broadcastRareReward(player, reward);
+                }
+            }
+        }
+        return new BatchResult(granted, failed);
+    }
+    
+    /**
+     * Outcome of {@link #grantBatch}.
+     * 
+     * @param granted Rewards granted, keyed by reward with their counts
+     * @param failed Rolls that granted nothing; their keys are owed back
+     */
+    public record BatchResult(Map<RewardDef, Integer> granted, int failed) {}
+    
     /**
      * Get all rewards from a crate.
      */
@@ -0,0 +1,95 @@
+package net.orbis.zakum.crates.reward;
+
+import net.orbis.zakum.api.util.Template;
+import net.orbis.zakum.api.util.TemplateContext;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compiled reward strings (commands and messages).
+ *
+ * Each configured string is compiled once and cached by its text; each cache
+ * is dropped wholesale if reloads ever push it past {@link #MAX_CACHED}.
+ */
+final class RewardTemplates {
+
+    static final Template.Slots SLOTS = Template.Slots.of("player", "uuid", "world", "x", "y", "z");
+    static final int PLAYER = 0;
+    static final int PLAYER_UUID = 1;
+    static final int WORLD = 2;
+    static final int X = 3;
+    static final int Y = 4;
+    static final int Z = 5;
+
+    private static final String AS_PLAYER = "[player]";
+    private static final String AS_CONSOLE = "[console]";
+    private static final int MAX_CACHED = 4096;
+    private static final ConcurrentHashMap<String, Template> CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Template> COLORED = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, Template> COMMANDS = new ConcurrentHashMap<>();
+
+    private RewardTemplates() {}
+
+    static Template compile(String source) {
+        return cached(CACHE, source, UnaryOperator.identity());
+    }
+
+    /**
+     * Compiles a chat message with {@code &} color codes translated up front.
+     */
+    static Template compileColored(String source) {
+        return cached(COLORED, source, s -> s.replace('&', '§'));
+    }
+
+    /**
+     * Compiles a reward command without its {@code [player]}/{@code [console]} prefix.
+     */
+    static Template compileCommand(String command) {
+        return cached(COMMANDS, command, RewardTemplates::stripTarget);
+    }
+
+    static boolean runsAsPlayer(String command) {
+        return command.startsWith(AS_PLAYER);
+    }
+
+    private static String stripTarget(String command) {
+        if (command.startsWith(AS_PLAYER)) return command.substring(AS_PLAYER.length());
+        if (command.startsWith(AS_CONSOLE)) return command.substring(AS_CONSOLE.length());
+        return command;
+    }
+
+    /**
+     * Fills only the slots some template uses; location is read once at most.
+     */
+    static TemplateContext context(Player player, List<Template> templates) {
+        TemplateContext ctx = new TemplateContext(SLOTS);
+        boolean name = false, uuid = false, world = false, coords = false;
+        for (Template t : templates) {
+            name |= t.uses(PLAYER);
+            uuid |= t.uses(PLAYER_UUID);
+            world |= t.uses(WORLD);
+            coords |= t.uses(X) || t.uses(Y) || t.uses(Z);
+        }
+        if (name) ctx.set(PLAYER, player.getName());
+        if (uuid) ctx.set(PLAYER_UUID, player.getUniqueId().toString());
+        if (world) ctx.set(WORLD, player.getWorld().getName());
+        if (coords) {
+            Location loc = player.getLocation();
+            ctx.set(X, loc.getBlockX());
+            ctx.set(Y, loc.getBlockY());
+            ctx.set(Z, loc.getBlockZ());
+        }
+        return ctx;
+    }
+
+    private static Template cached(ConcurrentHashMap<String, Template> cache, String key, UnaryOperator<String> source) {
+        Template t = cache.get(key);
+        if (t != null) return t;
+        if (cache.size() >= MAX_CACHED) cache.clear();
+        return cache.computeIfAbsent(key, k -> Template.compile(source.apply(k), SLOTS));
+    }
+}
@@ -1,109 +1,394 @@
 package net.orbis.zakum.crates.storage;
 
 import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.db.DatabaseState;
+import net.orbis.zakum.api.util.UuidBytes;
+import org.bukkit.plugin.Plugin;
+
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Database-backed virtual key storage.
- * Uses optimistic locking for concurrent key operations.
+ * Virtual key balances with an in-memory authoritative copy for online players.
+ * 
+ * Balances are loaded at pre-login into per-crate {@link AtomicInteger}s, so
+ * spending a key is a CAS instead of a locked SQL round trip. Every change is
+ * merged into a write-behind journal of per-(player, crate) deltas, flushed in
+ * batches as additive upserts. Deltas from different servers commute; the
+ * row's version column lets a load or reconcile detect writes made elsewhere
+ * and fold them into the in-memory balance.
  */
 public class VirtualKeyStore {
     
+    private static final long FLUSH_TICKS = 40L;
+    private static final long RECONCILE_DELAY_TICKS = 100L;
+    private static final int BATCH_ROWS = 200;
+    
     private final ZakumApi zakum;
+    private final Plugin plugin;
     private final Executor async;
     private final String serverId;
+    private final Map<UUID, Map<String, Balance>> balances = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<JournalKey, Integer> journal = new ConcurrentHashMap<>();
+    private final Object syncLock = new Object();
+    private int flushTaskId = -1;
     
-    public VirtualKeyStore(ZakumApi zakum) {
+    public VirtualKeyStore(ZakumApi zakum, Plugin plugin) {
         this.zakum = zakum;
+        this.plugin = plugin;
         this.async = zakum.async();
         this.serverId = zakum.server().serverId();
     }
     
+    public void start() {
+        if (flushTaskId != -1) return;
+        flushTaskId = zakum.getScheduler().runTaskTimerAsynchronously(plugin, this::flush, FLUSH_TICKS, FLUSH_TICKS);
+    }
+    
+    /**
+     * Cancels the flush timer and writes the remaining journal on the calling thread.
+     */
+    public void stop() {
+        if (flushTaskId != -1) zakum.getScheduler().cancelTask(flushTaskId);
+        flushTaskId = -1;
+        flush();
+        balances.clear();
+    }
+    
+    /**
+     * Loads a player's balances. Blocking; call from an async thread such as pre-login.
+     * A second reconcile is scheduled shortly after to pick up a late flush from
+     * the server the player just left.
+     */
+    public void load(UUID playerId) {
+        balances.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>());
+        reconcile(playerId);
+        zakum.getScheduler().runTaskLater(plugin, () -> async.execute(() -> reconcile(playerId)), RECONCILE_DELAY_TICKS);
+    }
+    
+    /**
+     * Drops the in-memory copy; pending deltas stay in the journal and are flushed async.
+     */
+    public void unload(UUID playerId) {
+        if (balances.remove(playerId) == null) return;
+        async.execute(this::flush);
+    }
+    
+    public boolean isLoaded(UUID playerId) {
+        return balances.containsKey(playerId);
+    }
+    
+    /**
+     * In-memory balance of a loaded player, or -1 when not loaded.
+     */
+    public int balance(UUID playerId, String crateId) {
+        Map<String, Balance> map = balances.get(playerId);
+        if (map == null) return -1;
+        Balance b = map.get(crateId);
+        return b == null ? 0 : b.amount.get();
+    }
+    
+    /**
+     * Atomically takes exactly {@code amount} keys from a loaded player.
+     * 
+     * @return false when the player is not loaded or has fewer keys
+     */
+    public boolean tryReserve(UUID playerId, String crateId, int amount) {
+        if (amount <= 0) return true;
+        Map<String, Balance> map = balances.get(playerId);
+        if (map == null) return false;
+        Balance b = map.get(crateId);
+        if (b == null) return false;
+        while (true) {
+            int current = b.amount.get();
+            if (current < amount) return false;
+            if (b.amount.compareAndSet(current, current - amount)) break;
+        }
+        record(playerId, crateId, -amount);
+        return true;
+    }
+    
+    /**
+     * Takes up to {@code amount} keys from a loaded player's in-memory balance.
+     * 
+     * @return keys taken; 0 when the player is not loaded
+     */
+    public int takeLoaded(UUID playerId, String crateId, int amount) {
+        if (amount <= 0) return 0;
+        Map<String, Balance> map = balances.get(playerId);
+        if (map == null) return 0;
+        Balance b = map.get(crateId);
+        if (b == null) return 0;
+        int removed;
+        while (true) {
+            int current = b.amount.get();
+            removed = Math.min(amount, current);
+            if (removed == 0 || b.amount.compareAndSet(current, current - removed)) break;
+        }
+        if (removed > 0) record(playerId, crateId, -removed);
+        return removed;
+    }
+    
     public CompletableFuture<Integer> getKeyCount(UUID playerId, String crateId) {
+        int loaded = balance(playerId, crateId);
+        if (loaded >= 0) return CompletableFuture.completedFuture(loaded);
+        
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "SELECT quantity FROM orbis_crates_keys " +
-                        "WHERE server_id = ? AND player_uuid = ? AND crate_id = ?";
-
-            var rows = zakum.database().jdbc().query(
-              sql,
-              rs -> rs.getInt("quantity"),
-              serverId, playerId.toString(), crateId
+            Integer stored = zakum.database().jdbc().queryOne(
+              "SELECT quantity FROM orbis_crates_keys WHERE server_id = ? AND player_uuid = ? AND crate_id = ?",
+              rs -> rs.getInt(1),
+              serverId, UuidBytes.toBytes(playerId), crateId
             );
-            return rows.isEmpty() ? 0 : rows.get(0);
+            int pending = journal.getOrDefault(new JournalKey(playerId, crateId), 0);
+            return Math.max(0, (stored == null ? 0 : stored) + pending);
         }, async);
     }
     
     public CompletableFuture<Void> addKeys(UUID playerId, String crateId, int amount) {
-        return CompletableFuture.runAsync(() -> {
-            String sql = "INSERT INTO orbis_crates_keys (server_id, player_uuid, crate_id, quantity) " +
-                        "VALUES (?, ?, ?, ?) " +
-                        "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)";
-            zakum.database().jdbc().update(sql, serverId, playerId.toString(), crateId, amount);
-        }, async);
+        if (amount <= 0) return CompletableFuture.completedFuture(null);
+        Map<String, Balance> map = balances.get(playerId);
+        if (map != null) {
+            map.computeIfAbsent(crateId, k -> new Balance(0, 0, 0L)).amount.addAndGet(amount);
+        }
+        record(playerId, crateId, amount);
+        return CompletableFuture.completedFuture(null);
     }
     
+    /**
+     * Removes up to {@code amount} keys. Returns the amount actually removed.
+     * Loaded players are debited in memory; offline players go through a locked SQL update.
+     */
     public CompletableFuture<Integer> removeKeys(UUID playerId, String crateId, int amount) {
+        if (amount <= 0) return CompletableFuture.completedFuture(0);
+        if (isLoaded(playerId)) {
+            return CompletableFuture.completedFuture(takeLoaded(playerId, crateId, amount));
+        }
+        
         return CompletableFuture.supplyAsync(() -> {
-            try (var conn = zakum.database().dataSource().getConnection()) {
-                conn.setAutoCommit(false);
-                
-                try {
-                    // Lock row and get current quantity
-                    String selectSql = "SELECT quantity FROM orbis_crates_keys " +
-                                      "WHERE server_id = ? AND player_uuid = ? AND crate_id = ? FOR UPDATE";
-                    
-                    int currentQty = 0;
-                    try (var stmt = conn.prepareStatement(selectSql)) {
-                        stmt.setString(1, serverId);
-                        stmt.setString(2, playerId.toString());
-                        stmt.setString(3, crateId);
-                        
-                        try (var rs = stmt.executeQuery()) {
-                            if (rs.next()) {
-                                currentQty = rs.getInt("quantity");
-                            }
-                        }
+            synchronized (syncLock) {
+                flushLocked();
+                return removeStored(playerId, crateId, amount);
+            }
+        }, async);
+    }
+    
+    public void flush() {
+        if (journal.isEmpty() || zakum.database().state() != DatabaseState.ONLINE) return;
+        synchronized (syncLock) {
+            flushLocked();
+        }
+    }
+    
+    private void record(UUID playerId, String crateId, int delta) {
+        journal.merge(new JournalKey(playerId, crateId), delta, (a, b) -> {
+            int sum = a + b;
+            return sum == 0 ? null : sum;
+        });
+    }
+    
+    private void flushLocked() {
+        if (journal.isEmpty() || zakum.database().state() != DatabaseState.ONLINE) return;
+        
+        List<JournalKey> keys = new ArrayList<>(journal.keySet());
+        for (int i = 0; i < keys.size(); i += BATCH_ROWS) {
+            int end = Math.min(keys.size(), i + BATCH_ROWS);
+            List<JournalKey> chunkKeys = new ArrayList<>(end - i);
+            List<Integer> chunkDeltas = new ArrayList<>(end - i);
+            for (int j = i; j < end; j++) {
+                JournalKey key = keys.get(j);
+                // remove() is atomic against merge(): a concurrent delta starts a fresh entry.
+                Integer delta = journal.remove(key);
+                if (delta == null || delta == 0) continue;
+                chunkKeys.add(key);
+                chunkDeltas.add(delta);
+            }
+            if (chunkKeys.isEmpty()) continue;
+            
+            try {
+                upsert(chunkKeys, chunkDeltas);
+            } catch (RuntimeException ex) {
+                for (int j = 0; j < chunkKeys.size(); j++) {
+                    record(chunkKeys.get(j).playerId(), chunkKeys.get(j).crateId(), chunkDeltas.get(j));
+                }
+                plugin.getLogger().warning("Failed to flush " + chunkKeys.size() + " virtual key deltas: " + ex.getMessage());
+                return;
+            }
+            
+            syncFlushed(chunkKeys, chunkDeltas);
+        }
+    }
+    
+    /**
+     * Re-reads the rows just flushed for loaded players. The upsert clamps at 0
+     * and another server may have written in between, so the stored quantity is
+     * taken as read: whatever differs from our balance plus our delta is folded
+     * into the balance, as in reconcile.
+     */
+    private void syncFlushed(List<JournalKey> keys, List<Integer> deltas) {
+        Map<JournalKey, Integer> loaded = new HashMap<>();
+        for (int j = 0; j < keys.size(); j++) {
+            if (balances.containsKey(keys.get(j).playerId())) loaded.put(keys.get(j), deltas.get(j));
+        }
+        if (loaded.isEmpty()) return;
+        
+        List<Object> params = new ArrayList<>(1 + loaded.size() * 2);
+        StringBuilder sb = new StringBuilder(128);
+        sb.append("SELECT player_uuid, crate_id, quantity, version FROM orbis_crates_keys WHERE server_id = ? AND (player_uuid, crate_id) IN (");
+        params.add(serverId);
+        for (JournalKey key : loaded.keySet()) {
+            if (params.size() > 1) sb.append(',');
+            sb.append("(?,?)");
+            params.add(UuidBytes.toBytes(key.playerId()));
+            params.add(key.crateId());
+        }
+        sb.append(')');
+        
+        List<FlushedRow> rows;
+        try {
+            rows = zakum.database().jdbc().query(sb.toString(),
+              rs -> new FlushedRow(new JournalKey(UuidBytes.fromBytes(rs.getBytes(1)), rs.getString(2)), rs.getInt(3), rs.getLong(4)),
+              params.toArray());
+        } catch (RuntimeException ex) {
+            // Written but not read back: leave the version behind so the next reconcile re-reads.
+            for (Map.Entry<JournalKey, Integer> e : loaded.entrySet()) {
+                Balance b = trackedBalance(e.getKey());
+                if (b != null) b.synced += e.getValue();
+            }
+            plugin.getLogger().warning("Failed to read back " + loaded.size() + " virtual key rows: " + ex.getMessage());
+            return;
+        }
+        
+        for (FlushedRow row : rows) {
+            Integer delta = loaded.get(row.key());
+            Balance b = trackedBalance(row.key());
+            if (delta == null || b == null) continue;
+            int foreign = row.quantity() - (b.synced + delta);
+            if (foreign != 0) b.amount.updateAndGet(v -> Math.max(0, v + foreign));
+            b.synced = row.quantity();
+            b.version = row.version();
+        }
+    }
+    
+    private Balance trackedBalance(JournalKey key) {
+        Map<String, Balance> map = balances.get(key.playerId());
+        return map == null ? null : map.computeIfAbsent(key.crateId(), k -> new Balance(0, 0, 0L));
+    }
+    
+    private void upsert(List<JournalKey> keys, List<Integer> deltas) {
+        List<Object> params = new ArrayList<>(keys.size() * 4);
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("INSERT INTO orbis_crates_keys (server_id, player_uuid, crate_id, quantity, version) VALUES ");
+        for (int j = 0; j < keys.size(); j++) {
+            if (j > 0) sb.append(',');
+            sb.append("(?,?,?,?,1)");
+            params.add(serverId);
+            params.add(UuidBytes.toBytes(keys.get(j).playerId()));
+            params.add(keys.get(j).crateId());
+            params.add(deltas.get(j));
+        }
+        sb.append(" ON DUPLICATE KEY UPDATE quantity = GREATEST(0, quantity + VALUES(quantity)), version = version + 1");
+        zakum.database().jdbc().update(sb.toString(), params.toArray());
+    }
+    
+    /**
+     * Flushes our own deltas, then folds any change made by another server
+     * (detected by an unexpected version) into the in-memory balances.
+     */
+    private void reconcile(UUID playerId) {
+        if (zakum.database().state() != DatabaseState.ONLINE) return;
+        synchronized (syncLock) {
+            Map<String, Balance> map = balances.get(playerId);
+            if (map == null) return;
+            flushLocked();
+            
+            List<StoredRow> rows = zakum.database().jdbc().query(
+              "SELECT crate_id, quantity, version FROM orbis_crates_keys WHERE server_id = ? AND player_uuid = ?",
+              rs -> new StoredRow(rs.getString(1), rs.getInt(2), rs.getLong(3)),
+              serverId, UuidBytes.toBytes(playerId)
+            );
+            
+            for (StoredRow row : rows) {
+                Balance b = map.get(row.crateId());
+                if (b == null) {
+                    map.putIfAbsent(row.crateId(), new Balance(Math.max(0, row.quantity()), row.quantity(), row.version()));
+                    continue;
+                }
+                if (b.version == row.version()) continue;
+                int foreign = row.quantity() - b.synced;
+                b.amount.updateAndGet(v -> Math.max(0, v + foreign));
+                b.synced = row.quantity();
+                b.version = row.version();
+            }
+        }
+    }
+    
+    private int removeStored(UUID playerId, String crateId, int amount) {
+        byte[] uuid = UuidBytes.toBytes(playerId);
+        try (var conn = zakum.database().dataSource().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int currentQty = 0;
+                try (var stmt = conn.prepareStatement(
+                    "SELECT quantity FROM orbis_crates_keys " +
+                    "WHERE server_id = ? AND player_uuid = ? AND crate_id = ? FOR UPDATE")) {
+                    stmt.setString(1, serverId);
+                    stmt.setBytes(2, uuid);
+                    stmt.setString(3, crateId);
+                    try (var rs = stmt.executeQuery()) {
+                        if (rs.next()) currentQty = rs.getInt(1);
                     }
-                    
-                    // Calculate actual removal amount
-                    int removed = Math.min(amount, currentQty);
-                    int newQty = currentQty - removed;
-                    
-                    // Update or delete
-                    if (newQty > 0) {
-                        String updateSql = "UPDATE orbis_crates_keys SET quantity = ? " +
-                                          "WHERE server_id = ? AND player_uuid = ? AND crate_id = ?";
-                        try (var stmt = conn.prepareStatement(updateSql)) {
-                            stmt.setInt(1, newQty);
-                            stmt.setString(2, serverId);
-                            stmt.setString(3, playerId.toString());
-                            stmt.setString(4, crateId);
-                            stmt.executeUpdate();
-                        }
-                    } else {
-                        String deleteSql = "DELETE FROM orbis_crates_keys " +
-                                          "WHERE server_id = ? AND player_uuid = ? AND crate_id = ?";
-                        try (var stmt = conn.prepareStatement(deleteSql)) {
-                            stmt.setString(1, serverId);
-                            stmt.setString(2, playerId.toString());
-                            stmt.setString(3, crateId);
-                            stmt.executeUpdate();
-                        }
+                }
+                
+                int removed = Math.min(amount, currentQty);
+                if (removed > 0) {
+                    try (var stmt = conn.prepareStatement(
+                        "UPDATE orbis_crates_keys SET quantity = quantity - ?, version = version + 1 " +
+                        "WHERE server_id = ? AND player_uuid = ? AND crate_id = ?")) {
+                        stmt.setInt(1, removed);
+                        stmt.setString(2, serverId);
+                        stmt.setBytes(3, uuid);
+                        stmt.setString(4, crateId);
+                        stmt.executeUpdate();
                     }
-                    
-                    conn.commit();
-                    return removed;
-                    
-                } catch (SQLException e) {
-                    conn.rollback();
-                    throw e;
                 }
+                
+                conn.commit();
+                return removed;
             } catch (SQLException e) {
-                throw new RuntimeException("Failed to remove keys", e);
+                conn.rollback();
+                throw e;
             }
-        }, async);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to remove keys", e);
+        }
+    }
+    
+    /**
+     * Balance state; {@code synced}/{@code version} mirror the DB row and are guarded by syncLock.
+     */
+    private static final class Balance {
+        final AtomicInteger amount;
+        int synced;
+        long version;
+        
+        Balance(int amount, int synced, long version) {
+            this.amount = new AtomicInteger(amount);
+            this.synced = synced;
+            this.version = version;
+        }
     }
+    
+    private record JournalKey(UUID playerId, String crateId) {}
+    
+    private record StoredRow(String crateId, int quantity, long version) {}
+    
+    private record FlushedRow(JournalKey key, int quantity, long version) {}
 }
@@ -1,7 +1,7 @@
 package net.orbis.zakum.crates.util;
 
 /**
- * Packs XYZ into a long (26 X, 12 Y, 26 Z).
+ * Packs XYZ into a long (26 X, 12 Y, 26 Z), and chunk coordinates into a long (32 X, 32 Z).
  */
 public final class BlockKey {
 
@@ -10,4 +10,15 @@ public final class BlockKey {
   public static long pack(int x, int y, int z) {
     return ((long)(x & 0x3FFFFFF) << 38) | ((long)(z & 0x3FFFFFF) << 12) | (long)(y & 0xFFF);
   }
+
+  /**
+   * Same layout as Paper's {@code Chunk#getChunkKey()}.
+   */
+  public static long chunk(int chunkX, int chunkZ) {
+    return ((long) chunkX & 0xFFFFFFFFL) | (((long) chunkZ & 0xFFFFFFFFL) << 32);
+  }
+
+  public static long chunkOf(int blockX, int blockZ) {
+    return chunk(blockX >> 4, blockZ >> 4);
+  }
 }
@@ -0,0 +1,37 @@
+package net.orbis.zakum.crates;
+
+import net.orbis.zakum.api.luckperms.PermissionGrant;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CrateLoader permission command parsing.
+ *
+ * Verifies:
+ * - lp and permission commands aimed at the opener become typed grants
+ * - Commands aimed at a fixed player, or revoking, stay console commands
+ */
+class CrateLoaderTest {
+
+    @Test
+    void testOpenerGrantsAreParsed() {
+        assertEquals(new PermissionGrant("vip.fly", Duration.ofDays(1)),
+            CrateLoader.permissionCommand("lp user %player% permission set vip.fly true 1d"));
+        assertEquals(PermissionGrant.permanent("vip.fly"),
+            CrateLoader.permissionCommand("lp user {player} permission set vip.fly"));
+        assertEquals(PermissionGrant.permanent("kit.gold"),
+            CrateLoader.permissionCommand("perm add %player% kit.gold"));
+    }
+
+    @Test
+    void testOtherTargetsStayCommands() {
+        assertNull(CrateLoader.permissionCommand("lp user Notch permission set vip.fly"));
+        assertNull(CrateLoader.permissionCommand("permission add Notch kit.gold"));
+        assertNull(CrateLoader.permissionCommand("lp user %player% permission set vip.fly false"));
+        assertNull(CrateLoader.permissionCommand("lp user %player% parent add vip"));
+        assertNull(CrateLoader.permissionCommand("give %player% diamond 1"));
+    }
+}
@@ -0,0 +1,169 @@
+package net.orbis.zakum.crates.db;
+
+import net.orbis.zakum.api.db.Jdbc;
+import net.orbis.zakum.api.util.UuidBytes;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the legacy keys table upgrade, against H2 in MySQL mode.
+ *
+ * Verifies:
+ * - Uuids are re-encoded to BINARY(16) and unparseable rows are moved to a side table
+ * - Upgraded rows start at version 1 so key store reconcile picks them up
+ * - Running the upgrade again, or after an interrupted run, is a no-op / completes it
+ */
+class CratesSchemaTest {
+
+    private static final UUID ALEX = UUID.fromString("8667ba71-b85a-4004-af54-457a9734eed7");
+    private static final UUID STEVE = UUID.fromString("069a79f4-44e9-4726-a5be-fca90e38aaf5");
+
+    private static final Logger LOGGER = Logger.getLogger(CratesSchemaTest.class.getName());
+
+    private Jdbc jdbc;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:crates_schema;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        this.jdbc = new DataSourceJdbc(h2);
+        jdbc.update(
+            "CREATE TABLE orbis_crates_keys (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY," +
+                "server_id VARCHAR(64)," +
+                "player_uuid VARCHAR(36) NOT NULL," +
+                "crate_id VARCHAR(64)," +
+                "quantity INT NOT NULL DEFAULT 0," +
+                "UNIQUE KEY uk_player_crate (server_id, player_uuid, crate_id)" +
+            ")"
+        );
+        insertLegacy(ALEX, "vote", 3);
+        insertLegacy(STEVE, "vote", 5);
+        jdbc.update("INSERT INTO orbis_crates_keys (server_id, player_uuid, crate_id, quantity) VALUES ('s1', 'not-a-uuid', 'vote', 1)");
+        insertLegacy(ALEX, "legendary", 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void testUpgradeIsRepeatable() {
+        CratesSchema.upgradeKeys(jdbc, LOGGER);
+        CratesSchema.upgradeKeys(jdbc, LOGGER);
+
+        assertUpgraded();
+    }
+
+    @Test
+    void testInterruptedUpgradeCompletes() {
+        // Stopped after the version column, the binary column and one backfilled row.
+        jdbc.update("ALTER TABLE orbis_crates_keys ADD COLUMN version BIGINT NOT NULL DEFAULT 1 AFTER quantity");
+        jdbc.update("ALTER TABLE orbis_crates_keys ADD COLUMN player_uuid_bin BINARY(16) NULL AFTER player_uuid");
+        jdbc.update("UPDATE orbis_crates_keys SET player_uuid_bin=? WHERE player_uuid=?", UuidBytes.toBytes(STEVE), STEVE.toString());
+
+        CratesSchema.upgradeKeys(jdbc, LOGGER);
+        CratesSchema.upgradeKeys(jdbc, LOGGER);
+
+        assertUpgraded();
+    }
+
+    @Test
+    void testUpgradeStoppedBeforeRenameCompletes() {
+        CratesSchema.upgradeKeys(jdbc, LOGGER);
+        // Same table as if the old column was dropped but the rename never ran.
+        jdbc.update("ALTER TABLE orbis_crates_keys DROP INDEX uk_player_crate");
+        jdbc.update("ALTER TABLE orbis_crates_keys CHANGE COLUMN player_uuid player_uuid_bin BINARY(16) NULL");
+
+        CratesSchema.upgradeKeys(jdbc, LOGGER);
+
+        assertUpgraded();
+    }
+
+    private void assertUpgraded() {
+        assertEquals("binary", jdbc.queryOne(
+            "SELECT LOWER(data_type) FROM information_schema.columns WHERE table_name='orbis_crates_keys' AND column_name='player_uuid'",
+            rs -> rs.getString(1)));
+        assertEquals(0, count("SELECT COUNT(*) FROM information_schema.columns WHERE table_name='orbis_crates_keys' AND column_name='player_uuid_bin'"));
+        assertEquals(3, count("SELECT COUNT(*) FROM orbis_crates_keys"));
+        assertEquals(3, count("SELECT COUNT(*) FROM orbis_crates_keys WHERE version=1"));
+        assertEquals(3, quantity(ALEX, "vote"));
+        assertEquals(5, quantity(STEVE, "vote"));
+        assertEquals(1, quantity(ALEX, "legendary"));
+        assertEquals(List.of("s1:not-a-uuid:vote:1"), jdbc.query(
+            "SELECT server_id, player_uuid, crate_id, quantity FROM orbis_crates_keys_rejected",
+            rs -> rs.getString(1) + ":" + rs.getString(2) + ":" + rs.getString(3) + ":" + rs.getInt(4)));
+
+        // The unique key is back: the key store's upsert relies on it.
+        assertThrows(IllegalStateException.class, () -> jdbc.update(
+            "INSERT INTO orbis_crates_keys (server_id, player_uuid, crate_id, quantity) VALUES ('s1', ?, 'vote', 1)",
+            UuidBytes.toBytes(ALEX)));
+        // New rows default to version 0, like a freshly created table.
+        jdbc.update("INSERT INTO orbis_crates_keys (server_id, player_uuid, crate_id, quantity) VALUES ('s1', ?, 'rare', 1)",
+            UuidBytes.toBytes(STEVE));
+        assertEquals(1, count("SELECT COUNT(*) FROM orbis_crates_keys WHERE version=0"));
+    }
+
+    private void insertLegacy(UUID player, String crateId, int quantity) {
+        jdbc.update("INSERT INTO orbis_crates_keys (server_id, player_uuid, crate_id, quantity) VALUES ('s1', ?, ?, ?)",
+            player.toString(), crateId, quantity);
+    }
+
+    private int quantity(UUID player, String crateId) {
+        Integer q = jdbc.queryOne(
+            "SELECT quantity FROM orbis_crates_keys WHERE server_id='s1' AND player_uuid=? AND crate_id=?",
+            rs -> rs.getInt(1),
+            UuidBytes.toBytes(player), crateId);
+        return q == null ? -1 : q;
+    }
+
+    private long count(String sql) {
+        return jdbc.queryOne(sql, rs -> rs.getLong(1));
+    }
+
+    private record DataSourceJdbc(DataSource ds) implements Jdbc {
+
+        @Override
+        public int update(String sql, Object... params) {
+            try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+                bind(ps, params);
+                return ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> mapper, Object... params) {
+            try (Connection c = ds.getConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
+                bind(ps, params);
+                List<T> out = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) out.add(mapper.map(rs));
+                }
+                return out;
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static void bind(PreparedStatement ps, Object... params) throws SQLException {
+            for (int i = 0; i < params.length; i++) ps.setObject(i + 1, params[i]);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package net.orbis.zakum.crates.reward;
+
+import net.orbis.zakum.crates.model.RewardDef;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RewardHistoryTracker and HistoryRing.
+ *
+ * Verifies:
+ * - Rings keep only the newest entries, oldest-first in snapshots
+ * - Paginated reads come newest-first from the ring
+ * - Concurrent recording at well above 10k opens/minute loses nothing in range
+ */
+class RewardHistoryTrackerTest {
+
+    private static final RewardDef REWARD = new RewardDef("diamonds", "Diamonds", 1.0,
+        List.of(), List.of(), List.of(), List.of());
+
+    @Test
+    void testRingKeepsNewestEntries() {
+        HistoryRing ring = new HistoryRing(8);
+        UUID player = UUID.randomUUID();
+        for (int i = 0; i < 20; i++) {
+            ring.add(entry(player, i));
+        }
+
+        assertEquals(8, ring.size());
+        List<RewardHistory> snapshot = ring.snapshot();
+        assertEquals(8, snapshot.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals(12 + i, snapshot.get(i).timestamp().toEpochMilli());
+        }
+
+        ring.clear();
+        assertEquals(0, ring.size());
+        assertTrue(ring.snapshot().isEmpty());
+    }
+
+    @Test
+    void testPagesAreNewestFirst() throws Exception {
+        RewardHistoryTracker tracker = new RewardHistoryTracker(50, 100);
+        UUID player = UUID.randomUUID();
+        for (int i = 0; i < 30; i++) {
+            tracker.record(entry(player, i));
+        }
+
+        List<RewardHistory> first = tracker.getPlayerHistoryPage(player, 0, 10).get();
+        List<RewardHistory> third = tracker.getPlayerHistoryPage(player, 2, 10).get();
+        List<RewardHistory> past = tracker.getPlayerHistoryPage(player, 3, 10).get();
+
+        assertEquals(10, first.size());
+        assertEquals(29, first.get(0).timestamp().toEpochMilli());
+        assertEquals(10, third.size());
+        assertEquals(0, third.get(9).timestamp().toEpochMilli());
+        assertTrue(past.isEmpty(), "Nothing beyond the ring");
+        assertTrue(tracker.getPersistedHistoryPage(player, null, 10).get().rows().isEmpty(), "No store attached");
+        assertEquals(30, tracker.getPlayerRewardCount(player));
+    }
+
+    @Test
+    void testConcurrentOpensStress() throws Exception {
+        // 10k opens/minute is ~167/s; push a full minute's worth through 8 writers at once.
+        int opens = 10_000;
+        int writers = 8;
+        int players = 500;
+        RewardHistoryTracker tracker = new RewardHistoryTracker(100, 1000);
+        UUID[] ids = new UUID[players];
+        for (int i = 0; i < players; i++) ids[i] = UUID.randomUUID();
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        List<java.util.concurrent.Future<?>> futures = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = writer; i < opens; i += writers) {
+                    tracker.record(entry(ids[i % players], i));
+                }
+                return null;
+            }));
+        }
+        futures.add(pool.submit(() -> {
+            start.await();
+            while (writing.get()) {
+                tracker.getRecentGlobalHistory(50);
+                tracker.getPlayerHistoryPage(ids[(int) (reads.get() % players)], 0, 10).get();
+                reads.incrementAndGet();
+            }
+            return null;
+        }));
+
+        start.countDown();
+        for (int i = 0; i < writers; i++) futures.get(i).get(30, TimeUnit.SECONDS);
+        writing.set(false);
+        futures.get(writers).get(30, TimeUnit.SECONDS);
+        pool.shutdownNow();
+
+        int perPlayer = opens / players;
+        for (UUID id : ids) {
+            assertEquals(perPlayer, tracker.getPlayerRewardCount(id));
+        }
+        assertEquals(1024, tracker.getGlobalHistory().size());
+    }
+
+    private static RewardHistory entry(UUID player, long millis) {
+        return new RewardHistory(player, "p", "vote", "Vote", REWARD, Instant.ofEpochMilli(millis), true);
+    }
+}
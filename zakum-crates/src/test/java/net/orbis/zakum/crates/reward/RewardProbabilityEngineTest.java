@@ -0,0 +1,87 @@
+package net.orbis.zakum.crates.reward;
+
+import net.orbis.zakum.api.util.WeightedTable;
+import net.orbis.zakum.crates.model.RewardDef;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for RewardProbabilityEngine sampling.
+ *
+ * Verifies:
+ * - A batch rolls exactly the requested count, in table order
+ * - The same seed rolls the same batch
+ * - Batch counts follow the table weights
+ * - List selection samples the same weights, and falls back to uniform when all are zero
+ */
+class RewardProbabilityEngineTest {
+
+    private static final RewardDef COMMON = reward("common", 90.0);
+    private static final RewardDef RARE = reward("rare", 9.0);
+    private static final RewardDef MYTHIC = reward("mythic", 1.0);
+
+    private static final WeightedTable<RewardDef> TABLE = WeightedTable.<RewardDef>builder()
+        .add(COMMON, COMMON.weight())
+        .add(RARE, RARE.weight())
+        .add(MYTHIC, MYTHIC.weight())
+        .build();
+
+    @Test
+    void testBatchRollsRequestedCount() {
+        RewardProbabilityEngine engine = seeded(7L);
+
+        Map<RewardDef, Integer> rolled = engine.rollBatch(TABLE, 64);
+
+        assertEquals(64, rolled.values().stream().mapToInt(Integer::intValue).sum());
+        List<RewardDef> order = List.copyOf(rolled.keySet());
+        assertEquals(order, TABLE.items().stream().filter(rolled::containsKey).toList());
+        assertTrue(engine.rollBatch(TABLE, 0).isEmpty());
+        assertTrue(engine.rollBatch(null, 10).isEmpty());
+    }
+
+    @Test
+    void testBatchIsReproducible() {
+        assertEquals(seeded(42L).rollBatch(TABLE, 1_000), seeded(42L).rollBatch(TABLE, 1_000));
+    }
+
+    @Test
+    void testBatchFollowsWeights() {
+        int rolls = 100_000;
+        Map<RewardDef, Integer> rolled = seeded(11L).rollBatch(TABLE, rolls);
+
+        assertEquals(0.90, rolled.get(COMMON) / (double) rolls, 0.01);
+        assertEquals(0.09, rolled.get(RARE) / (double) rolls, 0.01);
+        assertEquals(0.01, rolled.get(MYTHIC) / (double) rolls, 0.005);
+    }
+
+    @Test
+    void testListSelectionFollowsWeights() {
+        RewardProbabilityEngine engine = seeded(3L);
+        List<RewardDef> rewards = List.of(COMMON, RARE, MYTHIC);
+
+        int rolls = 100_000;
+        int common = 0;
+        for (int i = 0; i < rolls; i++) {
+            if (engine.selectReward(rewards) == COMMON) common++;
+        }
+        assertEquals(0.90, common / (double) rolls, 0.01);
+
+        List<RewardDef> unweighted = List.of(reward("a", 0.0), reward("b", 0.0));
+        assertTrue(unweighted.contains(engine.selectReward(unweighted)));
+        assertNull(engine.selectReward(List.of()));
+    }
+
+    private static RewardProbabilityEngine seeded(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return new RewardProbabilityEngine(() -> random);
+    }
+
+    private static RewardDef reward(String id, double weight) {
+        return new RewardDef(id, id, weight, List.of(), List.of(), List.of(), List.of());
+    }
+}
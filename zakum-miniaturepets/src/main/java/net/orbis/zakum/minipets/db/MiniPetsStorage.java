@@ -2,13 +2,18 @@ package net.orbis.zakum.minipets.db;
 
 import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.db.DatabaseState;
+import net.orbis.zakum.api.db.Jdbc;
 import net.orbis.zakum.api.util.UuidBytes;
 import net.orbis.zakum.minipets.state.MiniPetPlayerState;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 public final class MiniPetsStorage {
 
+  private static final int SAVE_CHUNK = 200;
+
   private MiniPetsStorage() {}
 
   public static MiniPetPlayerState load(ZakumApi zakum, String serverId, UUID uuid) {
@@ -32,19 +37,38 @@ public final class MiniPetsStorage {
     return st;
   }
 
-  public static void save(ZakumApi zakum, String serverId, UUID uuid, MiniPetPlayerState st) {
-    if (zakum.database().state() != DatabaseState.ONLINE) return;
+  /**
+   * Upserts all rows with one multi-row statement per chunk.
+   */
+  public static void saveAll(ZakumApi zakum, String serverId, List<Snapshot> rows) {
+    if (rows.isEmpty() || zakum.database().state() != DatabaseState.ONLINE) return;
 
-    zakum.database().jdbc().update(
-      "INSERT INTO orbis_minipets_player (server_id, uuid, pet_id, hat, ride) VALUES (?,?,?,?,?) " +
-        "ON DUPLICATE KEY UPDATE pet_id=VALUES(pet_id), hat=VALUES(hat), ride=VALUES(ride)",
-      serverId,
-      UuidBytes.toBytes(uuid),
-      st.petId,
-      st.hat,
-      st.ride
-    );
+    Jdbc jdbc = zakum.database().jdbc();
+    for (int i = 0; i < rows.size(); i += SAVE_CHUNK) {
+      int end = Math.min(rows.size(), i + SAVE_CHUNK);
+      List<Object> params = new ArrayList<>((end - i) * 5);
+
+      StringBuilder sb = new StringBuilder(128 + (end - i) * 12);
+      sb.append("INSERT INTO orbis_minipets_player (server_id, uuid, pet_id, hat, ride) VALUES ");
+
+      for (int j = i; j < end; j++) {
+        if (j > i) sb.append(',');
+        sb.append("(?,?,?,?,?)");
+
+        Snapshot r = rows.get(j);
+        params.add(serverId);
+        params.add(UuidBytes.toBytes(r.uuid()));
+        params.add(r.petId() == null ? "" : r.petId());
+        params.add(r.hat());
+        params.add(r.ride());
+      }
+
+      sb.append(" ON DUPLICATE KEY UPDATE pet_id=VALUES(pet_id), hat=VALUES(hat), ride=VALUES(ride)");
+      jdbc.update(sb.toString(), params.toArray());
+    }
   }
 
+  public record Snapshot(UUID uuid, String petId, boolean hat, boolean ride) {}
+
   private record Row(String petId, boolean hat, boolean ride) {}
 }
@@ -0,0 +1,26 @@
+package net.orbis.zakum.minipets.runtime;
+
+import net.orbis.zakum.minipets.model.MiniPetDef;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * How summoned mini pets exist in the world: real entities or client-side packets.
+ */
+public interface MiniPetBackend {
+
+  void start(long intervalTicks);
+
+  void stop();
+
+  void summon(Player owner, MiniPetDef def);
+
+  void despawn(UUID owner);
+
+  /**
+   * @return the server entity of the owner's pet, or null (always null for packet pets)
+   */
+  Entity entity(UUID owner);
+}
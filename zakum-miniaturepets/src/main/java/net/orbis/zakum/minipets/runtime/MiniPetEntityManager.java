@@ -16,7 +16,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
-public final class MiniPetEntityManager {
+public final class MiniPetEntityManager implements MiniPetBackend {
 
   private final Plugin plugin;
   private final NamespacedKey keyOwner;
@@ -31,11 +31,20 @@ public final class MiniPetEntityManager {
     this.keyPetId = new NamespacedKey(plugin, "pet_id");
   }
 
+  @Override
+  public void start(long intervalTicks) {
+    startFollowTask(intervalTicks);
+  }
+
+  @Override
+  public void stop() {}
+
   public void startFollowTask(long intervalTicks) {
     long t = Math.max(1L, intervalTicks);
     ZakumApi.get().getScheduler().runTaskTimer(plugin, this::tick, t, t);
   }
 
+  @Override
   public void despawn(UUID owner) {
     UUID eId = active.remove(owner);
     if (eId == null) return;
@@ -44,6 +53,7 @@ public final class MiniPetEntityManager {
     if (e != null) e.remove();
   }
 
+  @Override
   public void summon(Player owner, MiniPetDef def) {
     despawn(owner.getUniqueId());
 
@@ -60,6 +70,7 @@ public final class MiniPetEntityManager {
     active.put(owner.getUniqueId(), e.getUniqueId());
   }
 
+  @Override
   public Entity entity(UUID owner) {
     UUID id = active.get(owner);
     if (id == null) return null;
@@ -1,6 +1,8 @@
 package net.orbis.zakum.minipets.runtime;
 
 import net.orbis.zakum.api.ZakumApi;
+import net.orbis.zakum.api.capability.ZakumCapabilities;
+import net.orbis.zakum.api.packet.VirtualEntityService;
 import net.orbis.zakum.minipets.MiniPetLoader;
 import net.orbis.zakum.minipets.db.MiniPetsStorage;
 import net.orbis.zakum.minipets.model.MiniPetDef;
@@ -12,6 +14,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,7 +28,7 @@ public final class MiniPetsRuntime {
   private final String serverId;
 
   private final Map<String, MiniPetDef> defs;
-  private final MiniPetEntityManager entities;
+  private final MiniPetBackend entities;
 
   private final ConcurrentMap<UUID, MiniPetPlayerState> state = new ConcurrentHashMap<>();
   private final ConcurrentHashMap.KeySetView<UUID, Boolean> dirty = ConcurrentHashMap.newKeySet();
@@ -37,12 +41,12 @@ public final class MiniPetsRuntime {
     this.serverId = zakum.server().serverId();
 
     this.defs = MiniPetLoader.load(plugin);
-    this.entities = new MiniPetEntityManager(plugin);
+    this.entities = createBackend();
   }
 
   public void start() {
     long interval = plugin.getConfig().getLong("follow.intervalTicks", 10L);
-    entities.startFollowTask(interval);
+    entities.start(interval);
 
     for (Player p : Bukkit.getOnlinePlayers()) loadAsync(p.getUniqueId());
 
@@ -51,9 +55,22 @@ public final class MiniPetsRuntime {
   }
 
   public void stop() {
+    entities.stop();
     flushAllAsync();
   }
 
+  private MiniPetBackend createBackend() {
+    String type = plugin.getConfig().getString("backend.type", "entity");
+    if (!"packet".equalsIgnoreCase(type)) return new MiniPetEntityManager(plugin);
+
+    VirtualEntityService packets = zakum.capability(ZakumCapabilities.VIRTUAL_ENTITIES).orElse(null);
+    if (packets == null || !packets.available()) {
+      plugin.getLogger().warning("Packet pets need PacketEvents; using real entities.");
+      return new MiniPetEntityManager(plugin);
+    }
+    return new PacketMiniPetManager(plugin, zakum.getScheduler(), packets);
+  }
+
   public Map<String, MiniPetDef> defs() { return defs; }
 
   public MiniPetPlayerState get(UUID uuid) { return state.get(uuid); }
@@ -157,21 +174,35 @@ public final class MiniPetsRuntime {
   private void flushDirtyAsync() {
     if (dirty.isEmpty()) return;
 
+    List<MiniPetsStorage.Snapshot> rows = new ArrayList<>(dirty.size());
     for (UUID uuid : dirty) {
       dirty.remove(uuid);
-      flushOneAsync(uuid);
+      MiniPetPlayerState st = state.get(uuid);
+      if (st != null) rows.add(snapshot(uuid, st));
     }
+    saveAsync(rows);
   }
 
   private void flushOneAsync(UUID uuid) {
     MiniPetPlayerState st = state.get(uuid);
     if (st == null) return;
 
-    zakum.async().execute(() -> MiniPetsStorage.save(zakum, serverId, uuid, st));
+    saveAsync(List.of(snapshot(uuid, st)));
   }
 
   private void flushAllAsync() {
-    for (UUID uuid : state.keySet()) flushOneAsync(uuid);
+    List<MiniPetsStorage.Snapshot> rows = new ArrayList<>(state.size());
+    for (Map.Entry<UUID, MiniPetPlayerState> en : state.entrySet()) rows.add(snapshot(en.getKey(), en.getValue()));
+    saveAsync(rows);
+  }
+
+  private void saveAsync(List<MiniPetsStorage.Snapshot> rows) {
+    if (rows.isEmpty()) return;
+    zakum.async().execute(() -> MiniPetsStorage.saveAll(zakum, serverId, rows));
+  }
+
+  private static MiniPetsStorage.Snapshot snapshot(UUID uuid, MiniPetPlayerState st) {
+    return new MiniPetsStorage.Snapshot(uuid, st.petId, st.hat, st.ride);
   }
 }
 
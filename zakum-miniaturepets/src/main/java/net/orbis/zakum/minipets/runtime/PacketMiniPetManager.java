@@ -0,0 +1,58 @@
+package net.orbis.zakum.minipets.runtime;
+
+import net.orbis.zakum.api.concurrent.ZakumScheduler;
+import net.orbis.zakum.api.packet.PacketFollower;
+import net.orbis.zakum.api.packet.VirtualEntityService;
+import net.orbis.zakum.minipets.model.MiniPetDef;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+
+/**
+ * Client-side mini pets, following from the owner's entity scheduler.
+ */
+public final class PacketMiniPetManager implements MiniPetBackend {
+
+  private final Plugin plugin;
+  private final PacketFollower followers;
+
+  public PacketMiniPetManager(Plugin plugin, ZakumScheduler scheduler, VirtualEntityService entities) {
+    this.plugin = plugin;
+    var cfg = plugin.getConfig();
+    this.followers = new PacketFollower(plugin, scheduler, entities, new PacketFollower.Settings(
+      1.3,
+      3.0,
+      cfg.getDouble("backend.packet.snapDistance", 16.0),
+      cfg.getDouble("backend.packet.smoothing", 0.35),
+      cfg.getDouble("backend.packet.viewDistance", 48.0),
+      cfg.getLong("backend.packet.periodTicks", 2L)
+    ));
+  }
+
+  @Override
+  public void start(long intervalTicks) {}
+
+  @Override
+  public void stop() {
+    followers.stopAll();
+  }
+
+  @Override
+  public void summon(Player owner, MiniPetDef def) {
+    if (!followers.follow(owner, def.entityType())) {
+      plugin.getLogger().warning("Could not summon packet pet " + def.id() + " for " + owner.getName());
+    }
+  }
+
+  @Override
+  public void despawn(UUID owner) {
+    followers.stop(owner);
+  }
+
+  @Override
+  public Entity entity(UUID owner) {
+    return null;
+  }
+}
@@ -5,7 +5,9 @@ import io.github.retrooper.packetevents.factory.spigot.SpigotPacketEventsBuilder
 import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.config.ZakumSettings;
 import net.orbis.zakum.api.packets.PacketService;
+import net.orbis.zakum.api.packets.SidebarPacketWriter;
 import net.orbis.zakum.packets.impl.PacketEventsPacketService;
+import net.orbis.zakum.packets.impl.PacketEventsSidebarWriter;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.HandlerList;
@@ -22,6 +24,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 public final class ZakumPacketsPlugin extends JavaPlugin implements Listener {
 
   private PacketService service;
+  private SidebarPacketWriter sidebarWriter;
 
   @Override
   public void onEnable() {
@@ -53,6 +56,9 @@ public final class ZakumPacketsPlugin extends JavaPlugin implements Listener {
         this.service = new PacketEventsPacketService(this, api, settings.packets());
     Bukkit.getServicesManager().register(PacketService.class, service, this, ServicePriority.Normal);
 
+    this.sidebarWriter = new PacketEventsSidebarWriter();
+    Bukkit.getServicesManager().register(SidebarPacketWriter.class, sidebarWriter, this, ServicePriority.Normal);
+
     Bukkit.getPluginManager().registerEvents(this, this);
 
     getLogger().info("ZakumPackets enabled (PacketEvents backend).");
@@ -66,6 +72,10 @@ public final class ZakumPacketsPlugin extends JavaPlugin implements Listener {
       try { Bukkit.getServicesManager().unregister(PacketService.class, service); } catch (Throwable ignored) {}
       service = null;
     }
+    if (sidebarWriter != null) {
+      try { Bukkit.getServicesManager().unregister(SidebarPacketWriter.class, sidebarWriter); } catch (Throwable ignored) {}
+      sidebarWriter = null;
+    }
 
     try {
       if (PacketEvents.getAPI() != null) PacketEvents.getAPI().terminate();
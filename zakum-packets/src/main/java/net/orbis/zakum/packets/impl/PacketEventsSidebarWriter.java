@@ -0,0 +1,146 @@
+package net.orbis.zakum.packets.impl;
+
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.manager.server.ServerVersion;
+import com.github.retrooper.packetevents.protocol.score.ScoreFormat;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDisplayScoreboard;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerScoreboardObjective;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerTeams;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerUpdateScore;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.orbis.zakum.api.packets.SidebarPacketWriter;
+import org.bukkit.entity.Player;
+
+import java.util.Optional;
+
+/**
+ * SidebarPacketWriter backed by PacketEvents wrappers.
+ *
+ * Wrappers are built per call; PacketEvents handles encoding on the netty thread.
+ */
+public final class PacketEventsSidebarWriter implements SidebarPacketWriter {
+
+  private static final int SIDEBAR_POSITION = 1;
+  private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+  private final boolean blankNumbers;
+
+  public PacketEventsSidebarWriter() {
+    this.blankNumbers = PacketEvents.getAPI().getServerManager().getVersion().isNewerThanOrEquals(ServerVersion.V_1_20_3);
+  }
+
+  @Override
+  public boolean supportsBlankNumberFormat() {
+    return blankNumbers;
+  }
+
+  @Override
+  public void createObjective(Player viewer, String objectiveId, String title) {
+    if (viewer == null || objectiveId == null) return;
+    send(viewer, new WrapperPlayServerScoreboardObjective(
+      objectiveId,
+      WrapperPlayServerScoreboardObjective.ObjectiveMode.CREATE,
+      text(title),
+      WrapperPlayServerScoreboardObjective.RenderType.INTEGER,
+      blankNumbers ? ScoreFormat.blankScore() : null
+    ));
+    send(viewer, new WrapperPlayServerDisplayScoreboard(SIDEBAR_POSITION, objectiveId));
+  }
+
+  @Override
+  public void updateTitle(Player viewer, String objectiveId, String title) {
+    if (viewer == null || objectiveId == null) return;
+    send(viewer, new WrapperPlayServerScoreboardObjective(
+      objectiveId,
+      WrapperPlayServerScoreboardObjective.ObjectiveMode.UPDATE,
+      text(title),
+      WrapperPlayServerScoreboardObjective.RenderType.INTEGER,
+      blankNumbers ? ScoreFormat.blankScore() : null
+    ));
+  }
+
+  @Override
+  public void removeObjective(Player viewer, String objectiveId) {
+    if (viewer == null || objectiveId == null) return;
+    send(viewer, new WrapperPlayServerScoreboardObjective(
+      objectiveId,
+      WrapperPlayServerScoreboardObjective.ObjectiveMode.REMOVE,
+      Component.empty(),
+      null,
+      null
+    ));
+  }
+
+  @Override
+  public void createLine(Player viewer, String objectiveId, String teamId, String entry, int score, String text) {
+    if (viewer == null || objectiveId == null || teamId == null || entry == null) return;
+    send(viewer, new WrapperPlayServerTeams(
+      teamId,
+      WrapperPlayServerTeams.TeamMode.CREATE,
+      Optional.of(teamInfo(text)),
+      entry
+    ));
+    send(viewer, new WrapperPlayServerUpdateScore(
+      entry,
+      WrapperPlayServerUpdateScore.Action.CREATE_OR_UPDATE_ITEM,
+      objectiveId,
+      score,
+      null,
+      blankNumbers ? ScoreFormat.blankScore() : null
+    ));
+  }
+
+  @Override
+  public void updateLine(Player viewer, String teamId, String text) {
+    if (viewer == null || teamId == null) return;
+    send(viewer, new WrapperPlayServerTeams(
+      teamId,
+      WrapperPlayServerTeams.TeamMode.UPDATE,
+      Optional.of(teamInfo(text))
+    ));
+  }
+
+  @Override
+  public void removeLine(Player viewer, String objectiveId, String teamId, String entry) {
+    if (viewer == null || teamId == null) return;
+    if (objectiveId != null && entry != null) {
+      send(viewer, new WrapperPlayServerUpdateScore(
+        entry,
+        WrapperPlayServerUpdateScore.Action.REMOVE_ITEM,
+        objectiveId,
+        0,
+        null,
+        null
+      ));
+    }
+    send(viewer, new WrapperPlayServerTeams(
+      teamId,
+      WrapperPlayServerTeams.TeamMode.REMOVE,
+      Optional.empty()
+    ));
+  }
+
+  private static WrapperPlayServerTeams.ScoreBoardTeamInfo teamInfo(String text) {
+    return new WrapperPlayServerTeams.ScoreBoardTeamInfo(
+      Component.empty(),
+      text(text),
+      Component.empty(),
+      WrapperPlayServerTeams.NameTagVisibility.NEVER,
+      WrapperPlayServerTeams.CollisionRule.NEVER,
+      null,
+      WrapperPlayServerTeams.OptionData.NONE
+    );
+  }
+
+  private static Component text(String legacy) {
+    if (legacy == null || legacy.isEmpty()) return Component.empty();
+    return LEGACY.deserialize(legacy);
+  }
+
+  private static void send(Player viewer, PacketWrapper<?> packet) {
+    if (!viewer.isOnline()) return;
+    PacketEvents.getAPI().getPlayerManager().sendPacket(viewer, packet);
+  }
+}
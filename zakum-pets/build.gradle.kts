@@ -7,6 +7,10 @@ dependencies {
   compileOnly(libs.annotations)
 
   compileOnly(project(":zakum-api"))
+
+  testImplementation(libs.junit.jupiter.api)
+  testRuntimeOnly(libs.junit.jupiter.engine)
+  testRuntimeOnly(libs.junit.platform.launcher)
 }
 
 tasks.processResources {
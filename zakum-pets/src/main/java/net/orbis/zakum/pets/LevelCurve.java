@@ -6,18 +6,60 @@ public final class LevelCurve {
   private final long base;
   private final double growth;
 
+  // cumulative[l] = total xp needed to go from level 1 to level l (saturating).
+  private final long[] cumulative;
+
   public LevelCurve(int maxLevel, long base, double growth) {
     this.maxLevel = Math.max(1, maxLevel);
     this.base = Math.max(1, base);
     this.growth = Math.max(1.0, growth);
+
+    this.cumulative = new long[this.maxLevel + 1];
+    for (int lvl = 1; lvl < this.maxLevel; lvl++) {
+      long need = need(lvl);
+      long prev = cumulative[lvl];
+      cumulative[lvl + 1] = prev > Long.MAX_VALUE - need ? Long.MAX_VALUE : prev + need;
+    }
   }
 
   public int maxLevel() { return maxLevel; }
 
   public long xpRequiredForNext(int currentLevel) {
     if (currentLevel >= maxLevel) return Long.MAX_VALUE;
+    int lvl = Math.max(1, currentLevel);
+    return cumulative[lvl + 1] - cumulative[lvl];
+  }
+
+  /**
+   * Applies an aggregated xp gain in one step, however many levels it spans.
+   * At max level the gain is ignored.
+   */
+  public Progress add(int level, long xp, long gain) {
+    int lvl = Math.max(1, Math.min(maxLevel, level));
+    if (lvl >= maxLevel || gain <= 0) return new Progress(lvl, xp);
+
+    long total = saturatingAdd(saturatingAdd(cumulative[lvl], Math.max(0, xp)), gain);
+
+    // Highest level whose threshold is reached.
+    int lo = lvl;
+    int hi = maxLevel;
+    while (lo < hi) {
+      int mid = (lo + hi + 1) >>> 1;
+      if (cumulative[mid] <= total) lo = mid;
+      else hi = mid - 1;
+    }
+    return new Progress(lo, total - cumulative[lo]);
+  }
+
+  private long need(int currentLevel) {
     double v = base * Math.pow(growth, Math.max(0, currentLevel - 1));
     long out = (long) Math.ceil(v);
     return Math.max(1, out);
   }
+
+  private static long saturatingAdd(long a, long b) {
+    return a > Long.MAX_VALUE - b ? Long.MAX_VALUE : a + b;
+  }
+
+  public record Progress(int level, long xp) {}
 }
@@ -2,13 +2,18 @@ package net.orbis.zakum.pets.db;
 
 import net.orbis.zakum.api.ZakumApi;
 import net.orbis.zakum.api.db.DatabaseState;
+import net.orbis.zakum.api.db.Jdbc;
 import net.orbis.zakum.api.util.UuidBytes;
 import net.orbis.zakum.pets.state.PetPlayerState;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 public final class PetsStorage {
 
+  private static final int SAVE_CHUNK = 200;
+
   private PetsStorage() {}
 
   public static PetPlayerState load(ZakumApi zakum, String serverId, UUID uuid) {
@@ -33,19 +38,38 @@ public final class PetsStorage {
     return st;
   }
 
-  public static void save(ZakumApi zakum, String serverId, UUID uuid, PetPlayerState st) {
-    if (zakum.database().state() != DatabaseState.ONLINE) return;
+  /**
+   * Upserts all rows with one multi-row statement per chunk.
+   */
+  public static void saveAll(ZakumApi zakum, String serverId, List<Snapshot> rows) {
+    if (rows.isEmpty() || zakum.database().state() != DatabaseState.ONLINE) return;
 
-    zakum.database().jdbc().update(
-      "INSERT INTO orbis_pets_player (server_id, uuid, pet_id, lvl, xp) VALUES (?,?,?,?,?) " +
-        "ON DUPLICATE KEY UPDATE pet_id=VALUES(pet_id), lvl=VALUES(lvl), xp=VALUES(xp)",
-      serverId,
-      UuidBytes.toBytes(uuid),
-      st.selectedPetId,
-      st.level,
-      st.xp
-    );
+    Jdbc jdbc = zakum.database().jdbc();
+    for (int i = 0; i < rows.size(); i += SAVE_CHUNK) {
+      int end = Math.min(rows.size(), i + SAVE_CHUNK);
+      List<Object> params = new ArrayList<>((end - i) * 5);
+
+      StringBuilder sb = new StringBuilder(128 + (end - i) * 12);
+      sb.append("INSERT INTO orbis_pets_player (server_id, uuid, pet_id, lvl, xp) VALUES ");
+
+      for (int j = i; j < end; j++) {
+        if (j > i) sb.append(',');
+        sb.append("(?,?,?,?,?)");
+
+        Snapshot r = rows.get(j);
+        params.add(serverId);
+        params.add(UuidBytes.toBytes(r.uuid()));
+        params.add(r.petId() == null ? "" : r.petId());
+        params.add(r.level());
+        params.add(r.xp());
+      }
+
+      sb.append(" ON DUPLICATE KEY UPDATE pet_id=VALUES(pet_id), lvl=VALUES(lvl), xp=VALUES(xp)");
+      jdbc.update(sb.toString(), params.toArray());
+    }
   }
 
+  public record Snapshot(UUID uuid, String petId, int level, long xp) {}
+
   private record Row(String petId, int lvl, long xp) {}
 }
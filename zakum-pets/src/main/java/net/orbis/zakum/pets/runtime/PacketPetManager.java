@@ -0,0 +1,56 @@
+package net.orbis.zakum.pets.runtime;
+
+import net.orbis.zakum.api.concurrent.ZakumScheduler;
+import net.orbis.zakum.api.packet.PacketFollower;
+import net.orbis.zakum.api.packet.VirtualEntityService;
+import net.orbis.zakum.pets.model.PetDef;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.UUID;
+
+/**
+ * Client-side pets.
+ *
+ * No server entity is spawned: each pet is a virtual mob that follows its
+ * owner from the owner's entity scheduler and is only sent to nearby viewers.
+ * Follow mode is ignored, since virtual mobs have no AI.
+ */
+public final class PacketPetManager implements PetBackend {
+
+  private final Plugin plugin;
+  private final PacketFollower followers;
+
+  public PacketPetManager(Plugin plugin, ZakumScheduler scheduler, VirtualEntityService entities) {
+    this.plugin = plugin;
+    var cfg = plugin.getConfig();
+    this.followers = new PacketFollower(plugin, scheduler, entities, new PacketFollower.Settings(
+      1.5,
+      3.0,
+      cfg.getDouble("backend.packet.snapDistance", 16.0),
+      cfg.getDouble("backend.packet.smoothing", 0.35),
+      cfg.getDouble("backend.packet.viewDistance", 48.0),
+      cfg.getLong("backend.packet.periodTicks", 2L)
+    ));
+  }
+
+  @Override
+  public void start() {}
+
+  @Override
+  public void stop() {
+    followers.stopAll();
+  }
+
+  @Override
+  public void summon(Player owner, PetDef def) {
+    if (!followers.follow(owner, def.entityType())) {
+      plugin.getLogger().warning("Could not summon packet pet " + def.id() + " for " + owner.getName());
+    }
+  }
+
+  @Override
+  public void despawn(UUID owner) {
+    followers.stop(owner);
+  }
+}
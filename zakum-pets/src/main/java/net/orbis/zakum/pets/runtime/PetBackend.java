@@ -0,0 +1,20 @@
+package net.orbis.zakum.pets.runtime;
+
+import net.orbis.zakum.pets.model.PetDef;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * How summoned pets exist in the world: real entities or client-side packets.
+ */
+public interface PetBackend {
+
+  void start();
+
+  void stop();
+
+  void summon(Player owner, PetDef def);
+
+  void despawn(UUID owner);
+}
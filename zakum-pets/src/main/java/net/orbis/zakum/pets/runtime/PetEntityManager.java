@@ -24,7 +24,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * - AI mode: rely on vanilla follow for tameables.
  * - TELEPORT mode: periodic repositioning behind the owner (single task).
  */
-public final class PetEntityManager {
+public final class PetEntityManager implements PetBackend {
 
   private final Plugin plugin;
   private final NamespacedKey keyOwner;
@@ -39,10 +39,19 @@ public final class PetEntityManager {
     this.keyPetId = new NamespacedKey(plugin, "pet_id");
   }
 
+  @Override
+  public void start() {
+    startFollowerTask();
+  }
+
+  @Override
+  public void stop() {}
+
   public void startFollowerTask() {
     ZakumApi.get().getScheduler().runTaskTimer(plugin, this::tickTeleportFollowers, 10L, 10L);
   }
 
+  @Override
   public void despawn(UUID owner) {
     Active a = active.remove(owner);
     if (a == null) return;
@@ -51,6 +60,7 @@ public final class PetEntityManager {
     if (e != null) e.remove();
   }
 
+  @Override
   public void summon(Player owner, PetDef def) {
     despawn(owner.getUniqueId());
 
@@ -5,7 +5,11 @@ import net.orbis.zakum.api.action.AceEngine;
 import net.orbis.zakum.api.actions.ActionEvent;
 import net.orbis.zakum.api.actions.ActionSubscription;
 import net.orbis.zakum.api.boosters.BoosterKind;
+import net.orbis.zakum.api.capability.ZakumCapabilities;
 import net.orbis.zakum.api.entitlements.EntitlementScope;
+import net.orbis.zakum.api.packet.VirtualEntityService;
+import net.orbis.zakum.api.util.Template;
+import net.orbis.zakum.api.util.TemplateContext;
 import net.orbis.zakum.pets.LevelCurve;
 import net.orbis.zakum.pets.PetLoader;
 import net.orbis.zakum.pets.db.PetsStorage;
@@ -16,6 +20,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,17 +31,30 @@ import java.util.concurrent.ConcurrentMap;
 
 public final class PetsRuntime {
 
+  // {pet_id} / %pet_id% etc. in lifecycle scripts.
+  private static final Template.Slots SCRIPT_SLOTS = Template.Slots.of("pet_id", "pet_name", "pet_level", "pet_xp");
+  private static final int SLOT_PET_ID = 0;
+  private static final int SLOT_PET_NAME = 1;
+  private static final int SLOT_PET_LEVEL = 2;
+  private static final int SLOT_PET_XP = 3;
+
   private final Plugin plugin;
   private final ZakumApi zakum;
 
   private final String serverId;
   private final Map<String, PetDef> defs;
+  private final Map<String, PetScripts> scripts;
   private final LevelCurve curve;
 
-  private final PetEntityManager entities;
+  private final PetBackend entities;
 
   private final ConcurrentMap<UUID, PetPlayerState> state = new ConcurrentHashMap<>();
   private final ConcurrentHashMap.KeySetView<UUID, Boolean> dirty = ConcurrentHashMap.newKeySet();
+  private final ConcurrentHashMap.KeySetView<UUID, Boolean> pendingXp = ConcurrentHashMap.newKeySet();
+
+  // Booster multipliers are re-read at most once per boosterCacheMillis per player.
+  private final ConcurrentHashMap<UUID, CachedMultiplier> multipliers = new ConcurrentHashMap<>();
+  private final long boosterCacheMillis;
 
   private volatile ActionSubscription sub;
 
@@ -46,22 +64,29 @@ public final class PetsRuntime {
 
     this.serverId = zakum.server().serverId();
     this.defs = PetLoader.load(plugin);
+    Map<String, PetScripts> compiled = new HashMap<>();
+    for (PetDef def : defs.values()) compiled.put(def.id(), PetScripts.compile(def));
+    this.scripts = Map.copyOf(compiled);
 
     int maxLvl = plugin.getConfig().getInt("levels.maxLevel", 50);
     long base = plugin.getConfig().getLong("levels.xpBase", 100);
     double growth = plugin.getConfig().getDouble("levels.xpGrowth", 1.15);
 
     this.curve = new LevelCurve(maxLvl, base, growth);
-    this.entities = new PetEntityManager(plugin);
+    this.boosterCacheMillis = Math.max(0L, plugin.getConfig().getLong("xp.boosterCacheSeconds", 5L)) * 1000L;
+    this.entities = createBackend();
   }
 
   public void start() {
-    entities.startFollowerTask();
+    entities.start();
 
     this.sub = zakum.actions().subscribe(this::onAction);
 
     for (Player p : Bukkit.getOnlinePlayers()) loadAsync(p.getUniqueId());
 
+    long applyTicks = Math.max(1L, plugin.getConfig().getLong("xp.applyIntervalTicks", 20L));
+    ZakumApi.get().getScheduler().runTaskTimer(plugin, this::applyPendingXp, applyTicks, applyTicks);
+
     int flushSeconds = Math.max(2, plugin.getConfig().getInt("flush.intervalSeconds", 5));
     ZakumApi.get().getScheduler().runTaskTimer(plugin, this::flushDirtyAsync, flushSeconds * 20L, flushSeconds * 20L);
   }
@@ -70,9 +95,24 @@ public final class PetsRuntime {
     if (sub != null) sub.close();
     sub = null;
 
+    entities.stop();
+
+    for (UUID uuid : state.keySet()) applyPendingXp(uuid);
     flushAllAsync();
   }
 
+  private PetBackend createBackend() {
+    String type = plugin.getConfig().getString("backend.type", "entity");
+    if (!"packet".equalsIgnoreCase(type)) return new PetEntityManager(plugin);
+
+    VirtualEntityService packets = zakum.capability(ZakumCapabilities.VIRTUAL_ENTITIES).orElse(null);
+    if (packets == null || !packets.available()) {
+      plugin.getLogger().warning("Packet pets need PacketEvents; using real entities.");
+      return new PetEntityManager(plugin);
+    }
+    return new PacketPetManager(plugin, zakum.getScheduler(), packets);
+  }
+
   public Map<String, PetDef> defs() { return defs; }
 
   public PetPlayerState get(UUID uuid) { return state.get(uuid); }
@@ -81,9 +121,12 @@ public final class PetsRuntime {
 
   public void onQuit(UUID uuid) {
     entities.despawn(uuid);
+    applyPendingXp(uuid);
     flushOneAsync(uuid);
     state.remove(uuid);
     dirty.remove(uuid);
+    pendingXp.remove(uuid);
+    multipliers.remove(uuid);
   }
 
   public void summon(Player p, String petId) {
@@ -98,7 +141,7 @@ public final class PetsRuntime {
     dirty.add(p.getUniqueId());
 
     entities.summon(p, def);
-    executeLifecycleScript(p, def, st, def.summonScript());
+    executeLifecycleScript(p, def, st, scripts(def).summon());
 
     p.sendMessage(Colors.color("&aSummoned pet: &f" + def.name()));
   }
@@ -107,7 +150,7 @@ public final class PetsRuntime {
     PetPlayerState st = state.get(p.getUniqueId());
     if (st != null && st.selectedPetId != null && !st.selectedPetId.isBlank()) {
       PetDef def = defs.get(st.selectedPetId);
-      executeLifecycleScript(p, def, st, def == null ? null : def.dismissScript());
+      executeLifecycleScript(p, def, st, def == null ? null : scripts(def).dismiss());
     }
     entities.despawn(p.getUniqueId());
     p.sendMessage(Colors.color("&7Pet dismissed."));
@@ -127,70 +170,82 @@ public final class PetsRuntime {
     long baseXp = def.xpPerMobKill();
     if (baseXp <= 0) return;
 
-    double mult = zakum.boosters().multiplier(e.playerId(), EntitlementScope.SERVER, serverId, BoosterKind.PETS_XP);
-    long xpGain = (long) Math.max(1, Math.floor(baseXp * mult));
+    long xpGain = (long) Math.max(1, Math.floor(baseXp * multiplier(e.playerId())));
+
+    st.pendingXp.add(xpGain);
+    pendingXp.add(e.playerId());
+  }
+
+  private double multiplier(UUID uuid) {
+    long now = System.currentTimeMillis();
+    CachedMultiplier cached = multipliers.get(uuid);
+    if (cached != null && cached.expiresAt > now) return cached.value;
+
+    double mult = zakum.boosters().multiplier(uuid, EntitlementScope.SERVER, serverId, BoosterKind.PETS_XP);
+    multipliers.put(uuid, new CachedMultiplier(mult, now + boosterCacheMillis));
+    return mult;
+  }
+
+  private void applyPendingXp() {
+    if (pendingXp.isEmpty()) return;
+
+    for (UUID uuid : pendingXp) {
+      pendingXp.remove(uuid);
+      applyPendingXp(uuid);
+    }
+  }
+
+  private void applyPendingXp(UUID uuid) {
+    PetPlayerState st = state.get(uuid);
+    if (st == null) return;
 
-    addXp(e.playerId(), st, xpGain);
+    long gain = st.pendingXp.sumThenReset();
+    if (gain > 0) addXp(uuid, st, gain);
   }
 
+  /**
+   * Folds an aggregated gain in at once; level-up side effects run once per
+   * batch for the final level, not once per level or kill.
+   */
   private void addXp(UUID uuid, PetPlayerState st, long xpGain) {
     if (st.level >= curve.maxLevel()) return;
 
-    st.xp += xpGain;
+    LevelCurve.Progress next = curve.add(st.level, st.xp, xpGain);
+    boolean leveled = next.level() > st.level;
+    st.level = next.level();
+    st.xp = next.xp();
     dirty.add(uuid);
 
-    // Level-up loop (safe guard)
-    int guard = 0;
-    while (st.level < curve.maxLevel() && guard++ < 50) {
-      long need = curve.xpRequiredForNext(st.level);
-      if (st.xp < need) break;
-
-      st.xp -= need;
-      st.level++;
-
-      Player p = Bukkit.getPlayer(uuid);
-      if (p != null && p.isOnline()) {
-        PetDef def = defs.get(st.selectedPetId);
-        executeLifecycleScript(p, def, st, def == null ? null : def.levelUpScript());
-        p.sendMessage(Colors.color("&aYour pet reached level &f" + st.level + "&a!"));
-      }
+    if (!leveled) return;
+    Player p = Bukkit.getPlayer(uuid);
+    if (p != null && p.isOnline()) {
+      PetDef def = defs.get(st.selectedPetId);
+      executeLifecycleScript(p, def, st, def == null ? null : scripts(def).levelUp());
+      p.sendMessage(Colors.color("&aYour pet reached level &f" + st.level + "&a!"));
     }
   }
 
 
-  private void executeLifecycleScript(Player player, PetDef def, PetPlayerState st, List<String> scriptLines) {
-    if (player == null || def == null || st == null || scriptLines == null || scriptLines.isEmpty()) return;
+  private void executeLifecycleScript(Player player, PetDef def, PetPlayerState st, List<Template> script) {
+    if (player == null || def == null || st == null || script == null || script.isEmpty()) return;
 
-    List<String> script = new java.util.ArrayList<>(scriptLines.size());
-    for (String raw : scriptLines) {
-      if (raw == null || raw.isBlank()) continue;
-      script.add(applyLifecyclePlaceholders(raw, def, st));
-    }
-    if (script.isEmpty()) return;
+    TemplateContext values = new TemplateContext(SCRIPT_SLOTS)
+      .set(SLOT_PET_ID, def.id() == null ? "" : def.id())
+      .set(SLOT_PET_NAME, def.name() == null ? "" : def.name())
+      .set(SLOT_PET_LEVEL, st.level)
+      .set(SLOT_PET_XP, st.xp);
 
     Map<String, Object> metadata = new HashMap<>();
     metadata.put("pet_id", def.id());
     metadata.put("pet_name", def.name());
     metadata.put("pet_level", st.level);
     metadata.put("pet_xp", st.xp);
-    zakum.getAceEngine().executeScript(script, new AceEngine.ActionContext(player, Optional.empty(), metadata));
-  }
-
-  private static String applyLifecyclePlaceholders(String raw, PetDef def, PetPlayerState st) {
-    if (raw == null) return "";
-    String petId = def.id() == null ? "" : def.id();
-    String petName = def.name() == null ? "" : def.name();
-    String petLevel = String.valueOf(st.level);
-    String petXp = String.valueOf(st.xp);
-    return raw
-      .replace("{pet_id}", petId)
-      .replace("{pet_name}", petName)
-      .replace("{pet_level}", petLevel)
-      .replace("{pet_xp}", petXp)
-      .replace("%pet_id%", petId)
-      .replace("%pet_name%", petName)
-      .replace("%pet_level%", petLevel)
-      .replace("%pet_xp%", petXp);
+    zakum.getAceEngine().executeScript(script, values, new AceEngine.ActionContext(player, Optional.empty(), metadata));
+  }
+
+  private PetScripts scripts(PetDef def) {
+    PetScripts compiled = scripts.get(def.id());
+    return compiled != null ? compiled : PetScripts.compile(def);
   }
 
   private void loadAsync(UUID uuid) {
@@ -203,21 +258,56 @@ public final class PetsRuntime {
   private void flushDirtyAsync() {
     if (dirty.isEmpty()) return;
 
+    List<PetsStorage.Snapshot> rows = new ArrayList<>(dirty.size());
     for (UUID uuid : dirty) {
       dirty.remove(uuid);
-      flushOneAsync(uuid);
+      PetPlayerState st = state.get(uuid);
+      if (st != null) rows.add(snapshot(uuid, st));
     }
+    saveAsync(rows);
   }
 
   private void flushOneAsync(UUID uuid) {
     PetPlayerState st = state.get(uuid);
     if (st == null) return;
 
-    zakum.async().execute(() -> PetsStorage.save(zakum, serverId, uuid, st));
+    saveAsync(List.of(snapshot(uuid, st)));
   }
 
   private void flushAllAsync() {
-    for (UUID uuid : state.keySet()) flushOneAsync(uuid);
+    List<PetsStorage.Snapshot> rows = new ArrayList<>(state.size());
+    for (Map.Entry<UUID, PetPlayerState> en : state.entrySet()) rows.add(snapshot(en.getKey(), en.getValue()));
+    saveAsync(rows);
   }
+
+  private void saveAsync(List<PetsStorage.Snapshot> rows) {
+    if (rows.isEmpty()) return;
+    zakum.async().execute(() -> PetsStorage.saveAll(zakum, serverId, rows));
+  }
+
+  // Values are copied here so the async write never races later xp updates.
+  private static PetsStorage.Snapshot snapshot(UUID uuid, PetPlayerState st) {
+    return new PetsStorage.Snapshot(uuid, st.selectedPetId, st.level, st.xp);
+  }
+
+  /**
+   * Lifecycle scripts compiled once per pet; blank lines are dropped.
+   */
+  private record PetScripts(List<Template> summon, List<Template> dismiss, List<Template> levelUp) {
+
+    static PetScripts compile(PetDef def) {
+      return new PetScripts(compileLines(def.summonScript()), compileLines(def.dismissScript()), compileLines(def.levelUpScript()));
+    }
+
+    private static List<Template> compileLines(List<String> lines) {
+      List<String> kept = new ArrayList<>(lines.size());
+      for (String line : lines) {
+        if (line != null && !line.isBlank()) kept.add(line);
+      }
+      return Template.compileAll(kept, SCRIPT_SLOTS);
+    }
+  }
+
+  private record CachedMultiplier(double value, long expiresAt) {}
 }
 
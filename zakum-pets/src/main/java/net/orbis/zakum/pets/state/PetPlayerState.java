@@ -1,7 +1,12 @@
 package net.orbis.zakum.pets.state;
 
+import java.util.concurrent.atomic.LongAdder;
+
 public final class PetPlayerState {
   public String selectedPetId = "";
   public int level = 1;
   public long xp = 0;
+
+  // Kill xp not yet folded into level/xp; drained by the runtime's apply task.
+  public final LongAdder pendingXp = new LongAdder();
 }
@@ -0,0 +1,65 @@
+package net.orbis.zakum.pets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for LevelCurve.
+ *
+ * Verifies:
+ * - The precomputed table matches the geometric per-level requirement
+ * - One aggregated gain lands on the same level/xp as per-kill application
+ * - Gains stop at max level
+ */
+class LevelCurveTest {
+
+    @Test
+    void requirementFollowsGrowth() {
+        LevelCurve curve = new LevelCurve(50, 100, 1.15);
+
+        assertEquals(100, curve.xpRequiredForNext(1));
+        assertEquals(115, curve.xpRequiredForNext(2));
+        assertEquals((long) Math.ceil(100 * Math.pow(1.15, 9)), curve.xpRequiredForNext(10));
+        assertEquals(Long.MAX_VALUE, curve.xpRequiredForNext(50));
+    }
+
+    @Test
+    void aggregatedGainMatchesPerKillGains() {
+        LevelCurve curve = new LevelCurve(50, 100, 1.15);
+
+        int level = 3;
+        long xp = 40;
+        for (int kill = 0; kill < 500; kill++) {
+            LevelCurve.Progress p = curve.add(level, xp, 12);
+            level = p.level();
+            xp = p.xp();
+        }
+
+        LevelCurve.Progress batched = curve.add(3, 40, 500L * 12);
+        assertEquals(level, batched.level());
+        assertEquals(xp, batched.xp());
+    }
+
+    @Test
+    void spansSeveralLevelsInOneStep() {
+        LevelCurve curve = new LevelCurve(10, 100, 1.0);
+
+        LevelCurve.Progress p = curve.add(1, 0, 350);
+        assertEquals(4, p.level());
+        assertEquals(50, p.xp());
+    }
+
+    @Test
+    void stopsAtMaxLevel() {
+        LevelCurve curve = new LevelCurve(5, 100, 1.0);
+
+        LevelCurve.Progress p = curve.add(1, 0, 10_000);
+        assertEquals(5, p.level());
+        assertEquals(10_000 - 400, p.xp());
+
+        LevelCurve.Progress capped = curve.add(5, 7, 1_000);
+        assertEquals(5, capped.level());
+        assertEquals(7, capped.xp());
+    }
+}